@@ -0,0 +1,51 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.SplittableRandom;
+
+/**
+ * A headless table shared by the benchmarks: seated players with random bots,
+ * a seeded deck and a game to play the cards through.
+ */
+final class BenchmarkTable {
+    final PlayerList players;
+    final Player[] seats;
+    final Deck deck;
+    final GameActions gameActions;
+    final Game game;
+    final HeadlessGameUI gameUI;
+
+    /**
+     * Constructor for a table.
+     *
+     * @param numOfPlayers
+     *          the number of seats
+     * @param seed
+     *          the seed of the deck and the bots
+     */
+    BenchmarkTable(int numOfPlayers, long seed) {
+        this.players = new PlayerList();
+        this.seats = new Player[numOfPlayers];
+        this.gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+        for (int i = 0; i < numOfPlayers; i++) {
+            String name = "Player " + (i + 1);
+            players.addPlayer(name);
+            seats[i] = players.getPlayer(name);
+            seats[i].setGameUI(gameUI);
+        }
+        this.deck = new Deck(seed);
+        this.gameActions = new GameActions();
+        this.game = new Game(players, deck, gameActions);
+        players.initializeTargetAffection();
+        gameUI.newGame(players.getPlayers(), new RandomDecisions(new SplittableRandom(Seeds.derive(seed, 0))));
+    }
+
+    /**
+     * Starts a fresh round: no tokens, a new deck and one card for every player.
+     */
+    void newRound() {
+        for (Player player : seats) {
+            player.setTokens(0);
+        }
+        game.startRound(players, deck, gameUI);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Building, shuffling and dealing the deck. The standard deck is used for
+ * up to four players, the premium deck above that.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({"2", "4", "8"})
+    int numOfPlayers;
+
+    private Deck deck;
+    private HeadlessGameUI gameUI;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(42);
+        gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+    }
+
+    @Benchmark
+    public int build() {
+        deck.build(numOfPlayers);
+        return deck.returnNumberOfCardsRemaining();
+    }
+
+    /**
+     * The shuffle is lazy, the cards are only picked when drawn, see drawAll.
+     */
+    @Benchmark
+    public int buildAndShuffle() {
+        deck.build(numOfPlayers);
+        deck.shuffle();
+        return deck.returnNumberOfCardsRemaining();
+    }
+
+    @Benchmark
+    public Card setDeck() {
+        deck.setDeck(numOfPlayers, gameUI);
+        return deck.getSetAsideCard();
+    }
+
+    @Benchmark
+    public void drawAll(Blackhole blackhole) {
+        deck.setDeck(numOfPlayers, gameUI);
+        while (deck.hasMoreCards()) {
+            blackhole.consume(deck.draw());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solving the turn of a round down to three cards in the deck, each call with an empty transposition table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndgameBenchmark {
+    @Param({"2", "3", "4"})
+    int numOfPlayers;
+
+    private BenchmarkTable table;
+    private Player user;
+    private EndgameSolver solver;
+
+    @Setup
+    public void setUp() {
+        int[] moves = new int[Moves.MAX_MOVES];
+        for (long seed = 42; user == null; seed++) {
+            table = new BenchmarkTable(numOfPlayers, seed);
+            table.game.trackBeliefs();
+            table.newRound();
+            SplittableRandom random = new SplittableRandom(seed);
+            while (table.players.moreThanSinglePlayerLeft() && table.deck.hasMoreCards()) {
+                Player player = table.game.beginTurn();
+                if (table.deck.returnNumberOfCardsRemaining() == EndgameSolver.DEFAULT_MAX_DECK_SIZE) {
+                    user = player;
+                    break;
+                }
+                table.game.apply(moves[random.nextInt(Moves.generate(table.game, moves))]);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        solver = new EndgameSolver();
+    }
+
+    @Benchmark
+    public int solve() {
+        return solver.solve(table.game, user, table.players.getBeliefs());
+    }
+}
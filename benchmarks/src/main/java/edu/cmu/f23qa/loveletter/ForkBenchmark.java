@@ -0,0 +1,51 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Forking a game in the middle of a round, alone and followed by one turn of the fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForkBenchmark {
+    @Param({"2", "4", "8"})
+    int numOfPlayers;
+
+    private BenchmarkTable table;
+
+    @Setup
+    public void setUp() {
+        table = new BenchmarkTable(numOfPlayers, 42);
+        table.newRound();
+        table.game.startTurn(table.players.getCurrentPlayer(), table.gameUI);
+    }
+
+    @Benchmark
+    public Game fork() {
+        return table.game.fork();
+    }
+
+    @Benchmark
+    public Game forkAndPlayTurn() {
+        Game fork = table.game.fork();
+        PlayerList players = fork.getPlayers();
+        fork.startTurn(players.getCurrentPlayer(), table.gameUI);
+        return fork;
+    }
+}
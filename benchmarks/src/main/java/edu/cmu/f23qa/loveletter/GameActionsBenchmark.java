@@ -0,0 +1,90 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every GameActions method, used by the first seat on the second one.
+ * Like PlayCardBenchmark, each call starts from a freshly dealt round,
+ * subtract RoundBenchmark.newRound to get the action alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameActionsBenchmark {
+    @Param({"useGuard", "usePriest", "useBaron", "useHandmaiden", "usePrince", "useKing", "usePrincess",
+            "useBishop", "useDowagerQueen", "useJester", "useBaroness", "useAssassin", "useCardinal"})
+    String action;
+
+    @Param({"4"})
+    int numOfPlayers;
+
+    private BenchmarkTable table;
+
+    @Setup
+    public void setUp() {
+        table = new BenchmarkTable(numOfPlayers, 42);
+    }
+
+    @Benchmark
+    public Object useAction() {
+        table.newRound();
+        GameActions gameActions = table.gameActions;
+        Player user = table.seats[0];
+        Player opponent = table.seats[1];
+        switch (action) {
+            case "useGuard":
+                return gameActions.useGuard(Card.PRIEST, opponent);
+            case "usePriest":
+                return gameActions.usePriest(opponent);
+            case "useBaron":
+                gameActions.useBaron(user, opponent, table.gameUI);
+                break;
+            case "useHandmaiden":
+                gameActions.useHandmaiden(user);
+                break;
+            case "usePrince":
+                gameActions.usePrince(opponent, table.deck);
+                break;
+            case "useKing":
+                gameActions.useKing(user, opponent);
+                break;
+            case "usePrincess":
+                gameActions.usePrincess(user);
+                break;
+            case "useBishop":
+                gameActions.useBishop(user, opponent, table.deck, table.players, table.gameUI);
+                break;
+            case "useDowagerQueen":
+                return gameActions.useDowagerQueen(user, opponent);
+            case "useJester":
+                gameActions.useJester(user, opponent);
+                break;
+            case "useBaroness":
+                gameActions.useBaroness(1, table.players, user, table.gameUI, false, null);
+                break;
+            case "useAssassin":
+                return gameActions.useAssassin(user, opponent, table.deck);
+            case "useCardinal":
+                gameActions.useCardinal(user, opponent, user, table.gameUI);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown action " + action);
+        }
+        return user;
+    }
+}
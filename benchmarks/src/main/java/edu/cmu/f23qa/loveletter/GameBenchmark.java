@@ -0,0 +1,48 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete headless games between random bots, reported in games per second.
+ * Every invocation plays a new game with the next seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    @Param({"2", "4", "8"})
+    int numOfPlayers;
+
+    private Simulation simulation;
+    private SimulationStats stats;
+    private HeadlessGameUI gameUI;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        simulation = new Simulation(numOfPlayers);
+        stats = new SimulationStats(numOfPlayers);
+        gameUI = new HeadlessGameUI(stats);
+    }
+
+    @Benchmark
+    public SimulationStats playGame() {
+        simulation.playGame(gameUI, Seeds.derive(42, seed++));
+        return stats;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Listing the legal actions of a turn, for every card held next to a Guard.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovesBenchmark {
+    @Param({"PRIEST", "BARON", "HANDMAIDEN", "PRINCE", "KING", "COUNTESS", "PRINCESS", "BISHOP",
+        "DOWAGERQUEEN", "CONSTABLE", "COUNT", "SYNCOPHANT", "BARONESS", "CARDINAL", "JESTER", "ASSASSIN"})
+    Card card;
+
+    private BenchmarkTable table;
+    private final int[] moves = new int[Moves.MAX_MOVES];
+
+    @Setup
+    public void setUp() {
+        table = new BenchmarkTable(8, 42);
+        table.newRound();
+        Hand hand = table.game.beginTurn().getHand();
+        hand.clear();
+        hand.add(Card.GUARD);
+        hand.add(card);
+    }
+
+    @Benchmark
+    public int generate() {
+        return Moves.generate(table.game, moves);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every branch of Game.playCard, played by the first seat against random bots.
+ * Each card is played on a freshly dealt round, so the cost of dealing is
+ * included; subtract RoundBenchmark.newRound to get the card alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayCardBenchmark {
+    @Param({"GUARD", "PRIEST", "BARON", "HANDMAIDEN", "PRINCE", "KING", "COUNTESS", "PRINCESS",
+            "ASSASSIN", "JESTER", "CARDINAL", "BARONESS", "SYNCOPHANT", "COUNT", "CONSTABLE",
+            "DOWAGERQUEEN", "BISHOP"})
+    Card card;
+
+    @Param({"4"})
+    int numOfPlayers;
+
+    private BenchmarkTable table;
+
+    @Setup
+    public void setUp() {
+        table = new BenchmarkTable(numOfPlayers, 42);
+    }
+
+    @Benchmark
+    public Player playCard() {
+        table.newRound();
+        Player user = table.seats[0];
+        table.game.playCard(card, user, table.gameUI, false, null);
+        return user;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The end of round and end of game queries of the player list, on a dealt table
+ * where every seat holds a card and a few players lead with tokens.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerListBenchmark {
+    @Param({"2", "4", "8"})
+    int numOfPlayers;
+
+    private PlayerList players;
+
+    @Setup
+    public void setUp() {
+        BenchmarkTable table = new BenchmarkTable(numOfPlayers, 42);
+        table.newRound();
+        table.seats[0].getDiscarded().add(Card.COUNT);
+        table.seats[numOfPlayers - 1].switchProtection();
+        for (Player player : table.seats) {
+            player.setTokens(table.players.targetAffectionPoints);
+        }
+        players = table.players;
+    }
+
+    @Benchmark
+    public List<Player> getRoundWinners() {
+        return players.getRoundWinners();
+    }
+
+    @Benchmark
+    public List<Player> getGameWinners() {
+        return players.getGameWinners();
+    }
+
+    @Benchmark
+    public List<Player> getTargetablePlayers() {
+        return players.getTargetablePlayers();
+    }
+}
@@ -0,0 +1,83 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replaying recorded games of random bots, reported in games and turns per second, and seeking
+ * a random turn of an indexed game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplayBenchmark {
+    private static final int NUM_OF_GAMES = 64;
+
+    @Param({"2", "4", "8"})
+    int numOfPlayers;
+
+    private Replay[] replays;
+    private SplittableRandom random;
+    private int game;
+
+    /**
+     * The turns replayed, reported per second next to the games.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Turns {
+        public long turns;
+    }
+
+    @Setup
+    public void setUp() {
+        replays = new Replay[NUM_OF_GAMES];
+        for (int i = 0; i < NUM_OF_GAMES; i++) {
+            long seed = Seeds.derive(42, i);
+            BenchmarkTable table = new BenchmarkTable(numOfPlayers, seed);
+            DecisionRecorder recorder = new DecisionRecorder(table.game, table.gameUI);
+            table.game.start(table.gameUI);
+            List<String> names = new ArrayList<>();
+            for (Player player : table.seats) {
+                names.add(player.getName());
+            }
+            replays[i] = new Replay(names, seed, recorder.getDecisions());
+            replays[i].index();
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Game replayGame(Turns turns) {
+        Replay replay = replays[game++ % NUM_OF_GAMES];
+        long before = replay.getTurnsPlayed();
+        Game played = replay.play();
+        turns.turns += replay.getTurnsPlayed() - before;
+        return played;
+    }
+
+    @Benchmark
+    public Game seek() {
+        Replay replay = replays[game++ % NUM_OF_GAMES];
+        int round = random.nextInt(replay.getRounds());
+        return replay.seek(round, random.nextInt(replay.getTurns(round)));
+    }
+}
@@ -0,0 +1,148 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The decisions a seat has to make during a game played by AsyncGame. Every method returns at once
+ * with a future of the answer, for example one completed when a player's message arrives, and the
+ * game goes on once it completes. A future completed exceptionally ends the game with that error.
+ *
+ * The arguments are those DecisionProvider gets, the players of the game itself. The game waits
+ * while a question is asked, so they may be read until the future completes, but never changed.
+ * An answer the rules do not allow, like a protected target, ends the game with an
+ * IllegalArgumentException.
+ */
+public interface AsyncDecisionProvider {
+
+    /**
+     * Called once when the game starts or resumes, before any decision is asked.
+     *
+     * @see DecisionProvider#joinGame(Game)
+     */
+    default void joinGame(Game game) {
+    }
+
+    /**
+     * Picks the card to play from the two cards in the user's hand.
+     * Unlike DecisionProvider, the card stays in the hand, the game removes it.
+     *
+     * @param user
+     *          the current player
+     * @return
+     *          the chosen card
+     */
+    CompletableFuture<Card> getCard(Player user);
+
+    /**
+     * Picks the target of a card.
+     *
+     * @see DecisionProvider#getOpponent(PlayerList, Player, boolean, Player, boolean)
+     */
+    CompletableFuture<Player> getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf);
+
+    /**
+     * Picks the card guessed with a Guard, any card but the Guard.
+     *
+     * @see DecisionProvider#getGuardGuess(Player)
+     */
+    CompletableFuture<Card> getGuardGuess(Player user);
+
+    /**
+     * Picks the card value guessed with a Bishop.
+     *
+     * @see DecisionProvider#getBishopGuess(Player)
+     */
+    CompletableFuture<Integer> getBishopGuess(Player user);
+
+    /**
+     * Picks how many opponents to look at with a Baroness.
+     *
+     * @see DecisionProvider#getNumOfPlayerForBaroness(PlayerList, Player)
+     */
+    CompletableFuture<Integer> getNumOfPlayerForBaroness(PlayerList players, Player user);
+
+    /**
+     * Picks which of the two players swapped by a Cardinal to look at.
+     *
+     * @see DecisionProvider#cardinalPeekOne(Player, Player, Player)
+     */
+    CompletableFuture<Player> cardinalPeekOne(Player user, Player one, Player two);
+
+    /**
+     * Asks the opponent whose card was guessed with a Bishop if they want to swap it.
+     *
+     * @see DecisionProvider#getUserSwapConfirmation(Player)
+     */
+    CompletableFuture<Boolean> getUserSwapConfirmation(Player opponent);
+
+    /**
+     * Picks which of the tied round winners starts the next round.
+     *
+     * @see DecisionProvider#getStartingPlayer(List)
+     */
+    CompletableFuture<Player> getStartingPlayer(List<Player> players);
+
+    /**
+     * Takes the decisions of a blocking provider, a bot for example, on the threads of an executor.
+     *
+     * @param decisions
+     *          the blocking provider
+     * @param executor
+     *          the executor running its decisions
+     * @return
+     *          the asynchronous provider
+     */
+    static AsyncDecisionProvider of(DecisionProvider decisions, Executor executor) {
+        return new AsyncDecisionProvider() {
+            @Override
+            public void joinGame(Game game) {
+                decisions.joinGame(game);
+            }
+
+            @Override
+            public CompletableFuture<Card> getCard(Player user) {
+                // the blocking provider takes the card out of a copy of the hand, the game's hand stays as it is
+                Player chooser = user.handCopy();
+                return CompletableFuture.supplyAsync(() -> decisions.getCard(chooser), executor);
+            }
+
+            @Override
+            public CompletableFuture<Player> getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+                return CompletableFuture.supplyAsync(
+                    () -> decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, includeSelf), executor);
+            }
+
+            @Override
+            public CompletableFuture<Card> getGuardGuess(Player user) {
+                return CompletableFuture.supplyAsync(() -> decisions.getGuardGuess(user), executor);
+            }
+
+            @Override
+            public CompletableFuture<Integer> getBishopGuess(Player user) {
+                return CompletableFuture.supplyAsync(() -> decisions.getBishopGuess(user), executor);
+            }
+
+            @Override
+            public CompletableFuture<Integer> getNumOfPlayerForBaroness(PlayerList players, Player user) {
+                return CompletableFuture.supplyAsync(() -> decisions.getNumOfPlayerForBaroness(players, user), executor);
+            }
+
+            @Override
+            public CompletableFuture<Player> cardinalPeekOne(Player user, Player one, Player two) {
+                return CompletableFuture.supplyAsync(() -> decisions.cardinalPeekOne(user, one, two), executor);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> getUserSwapConfirmation(Player opponent) {
+                return CompletableFuture.supplyAsync(() -> decisions.getUserSwapConfirmation(opponent), executor);
+            }
+
+            @Override
+            public CompletableFuture<Player> getStartingPlayer(List<Player> players) {
+                return CompletableFuture.supplyAsync(() -> decisions.getStartingPlayer(players), executor);
+            }
+        };
+    }
+}
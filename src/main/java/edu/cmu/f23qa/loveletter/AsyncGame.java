@@ -0,0 +1,416 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Plays a game without ever blocking a thread on a decision. The game is a state machine: it runs
+ * until a seat has to decide, asks the AsyncDecisionProvider, keeps the step it stopped at and
+ * returns. The answer resumes it at that step, on the thread completing the future. A server can
+ * keep thousands of games waiting on their players this way with a handful of threads.
+ *
+ * The steps are those of Game.start, cut at every question: dealing a round, drawing the card of
+ * a turn, and each question a card asks. Between two questions the game is played by the methods
+ * of Game and GameActions the blocking game is made of, so both play by the same rules and show
+ * the same messages. Every answer is checked with the rules the GameUI applies to what a player
+ * types. An illegal answer ends the game with an IllegalArgumentException, where the GameUI would
+ * ask again.
+ *
+ * Every seat decides through the AsyncDecisionProvider: the DecisionProviders attached to the seats
+ * are not asked, and no hints are shown. One thread at a time plays the game, the caller's until the
+ * first question and then the one completing each answer, nothing else may touch the game meanwhile.
+ */
+public final class AsyncGame {
+    private static final int BISHOP_GUESSES = 10;
+
+    private enum Step {
+        ROUND_START, STARTER, TURN, CARD, TARGET, GUARD_GUESS, BISHOP_GUESS, BISHOP_SWAP,
+        BARONESS_COUNT, BARONESS_TARGET, CARDINAL_ONE, CARDINAL_TWO, CARDINAL_PEEK, ROUND_END, GAME_END
+    }
+
+    private final Game game;
+    private final PlayerList players;
+    private final GameActions gameActions;
+    private final GameUI gameUI;
+    private final AsyncDecisionProvider decisions;
+    private final CompletableFuture<Player> winner = new CompletableFuture<>();
+
+    /**
+     * The step to play next, or the question the game waits for.
+     */
+    private Step step;
+    private List<Player> roundWinners = new ArrayList<>();
+    private List<Player> starters;
+
+    /*
+     * The turn being played: the player, the card and the Sycophant choice it is played with,
+     * and the players chosen so far. The opponent is the target of a Guard or a Bishop and the
+     * first player of a Cardinal, the other player is the second player of a Cardinal or the
+     * last player peeked with a Baroness.
+     */
+    private Player user;
+    private Card card;
+    private boolean syncophantFlag;
+    private Player syncophantChosenPlayer;
+    private Player opponent;
+    private Player other;
+    private int peeksLeft;
+    private boolean askedAgain;
+
+    /**
+     * Constructor for an asynchronous game.
+     *
+     * @param game
+     *          the game, with all its players seated
+     * @param gameUI
+     *          gameUI to show the game, its questions are never asked
+     * @param decisions
+     *          the decisions of every seat
+     */
+    public AsyncGame(Game game, GameUI gameUI, AsyncDecisionProvider decisions) {
+        this.game = game;
+        this.players = game.getPlayers();
+        this.gameActions = game.getGameActions();
+        this.gameUI = gameUI;
+        this.decisions = decisions;
+    }
+
+    /**
+     * Starts the game and plays it until the first question.
+     *
+     * @return the winner of the game, completed exceptionally if an answer failed or was illegal
+     */
+    public CompletableFuture<Player> start() {
+        begin(Step.ROUND_START);
+        game.beginGame();
+        run();
+        return winner;
+    }
+
+    /**
+     * Continues a game restored in the middle of a round, as Game.resume does, until the first question.
+     *
+     * @return the winner of the game, completed exceptionally if an answer failed or was illegal
+     */
+    public CompletableFuture<Player> resume() {
+        begin(game.isUndecided() ? Step.TURN : Step.GAME_END);
+        run();
+        return winner;
+    }
+
+    private void begin(Step step) {
+        if (this.step != null) {
+            throw new IllegalStateException("The game was started already");
+        }
+        this.step = step;
+        decisions.joinGame(game);
+    }
+
+    /**
+     * Plays on until a question is not answered yet or the game is over. Answers already there
+     * are taken in the loop rather than in a callback, so the stack does not grow with the game.
+     */
+    private void run() {
+        try {
+            CompletableFuture<?> question;
+            while ((question = proceed()) != null) {
+                if (!question.isDone()) {
+                    CompletableFuture<?> asked = question;
+                    asked.whenComplete((answer, error) -> {
+                        if (take(asked)) {
+                            run();
+                        }
+                    });
+                    return;
+                }
+                if (!take(question)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            winner.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Plays the steps of the game loop, as Game.play does, up to the next question.
+     *
+     * @return the question the game waits for, null once the game is over
+     */
+    private CompletableFuture<?> proceed() {
+        while (true) {
+            switch (step) {
+                case ROUND_START:
+                    game.dealRound(gameUI);
+                    starters = players.getPlayersInGame(roundWinners);
+                    if (starters.size() > 1) {
+                        step = Step.STARTER;
+                        break;
+                    }
+                    if (starters.size() == 1) {
+                        players.setRoundStarter(starters.get(0));
+                    }
+                    step = Step.TURN;
+                    break;
+
+                case TURN:
+                    if (game.isRoundOver()) {
+                        step = game.isUndecided() ? Step.ROUND_END : Step.GAME_END;
+                        break;
+                    }
+                    user = players.getCurrentPlayer();
+                    if (!user.getHand().hasCards()) {
+                        endTurn();
+                        break;
+                    }
+                    Card drawn = game.drawTurnCard(user, gameUI);
+                    user.turnOffProtection();
+                    user.getHand().add(drawn);
+                    int countessPos = Game.getForcedCardPos(user.getHand());
+                    if (countessPos != -1) {
+                        play(user.getHand().remove(countessPos));
+                    } else {
+                        step = Step.CARD;
+                    }
+                    break;
+
+                case ROUND_END:
+                    roundWinners = game.endRound(gameUI);
+                    step = game.isUndecided() ? Step.ROUND_START : Step.GAME_END;
+                    break;
+
+                case GAME_END:
+                    winner.complete(game.endGame(gameUI));
+                    return null;
+
+                default:
+                    return ask();
+            }
+        }
+    }
+
+    /**
+     * Asks the question of the step the game waits at.
+     */
+    private CompletableFuture<?> ask() {
+        switch (step) {
+            case STARTER:
+                return decisions.getStartingPlayer(starters);
+            case CARD:
+                return decisions.getCard(user);
+            case TARGET:
+                return decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, Game.canTargetSelf(card));
+            case GUARD_GUESS:
+                return decisions.getGuardGuess(user);
+            case BISHOP_GUESS:
+                return decisions.getBishopGuess(user);
+            case BISHOP_SWAP:
+                return decisions.getUserSwapConfirmation(opponent);
+            case BARONESS_COUNT:
+                return decisions.getNumOfPlayerForBaroness(players, user);
+            case BARONESS_TARGET:
+                return decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, false);
+            case CARDINAL_ONE:
+                return decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, true);
+            case CARDINAL_TWO:
+                // The second opponent is for sure not a Sycophant marked player.
+                return decisions.getOpponent(players, user, false, null, true);
+            case CARDINAL_PEEK:
+                return decisions.cardinalPeekOne(user, opponent, other);
+            default:
+                throw new IllegalStateException("No question is asked at " + step);
+        }
+    }
+
+    /**
+     * Plays the answer of a completed question, the game then goes on from the next step.
+     *
+     * @return false if the question failed or the answer was illegal, the game then fails with it
+     */
+    private boolean take(CompletableFuture<?> question) {
+        try {
+            answer(question.join());
+            return true;
+        } catch (CompletionException | CancellationException e) {
+            winner.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            winner.completeExceptionally(e);
+        }
+        return false;
+    }
+
+    private void answer(Object answer) {
+        switch (step) {
+            case STARTER:
+                Player starter = (Player) answer;
+                check(starters.contains(starter), starter);
+                players.setRoundStarter(starter);
+                step = Step.TURN;
+                break;
+
+            case CARD:
+                Card chosen = (Card) answer;
+                int pos = chosen == null ? -1 : user.getHand().getCardPos(chosen);
+                check(pos != -1, chosen);
+                play(user.getHand().remove(pos));
+                break;
+
+            case TARGET:
+                Player target = (Player) answer;
+                checkTarget(target, syncophantFlag, syncophantChosenPlayer, Game.canTargetSelf(card));
+                game.logTarget(target);
+                if (card != Card.GUARD && card != Card.BISHOP) {
+                    game.useCard(card, user, target, gameUI);
+                    endTurn();
+                } else if (target == null) {
+                    endTurn();
+                } else {
+                    opponent = target;
+                    step = card == Card.GUARD ? Step.GUARD_GUESS : Step.BISHOP_GUESS;
+                }
+                break;
+
+            case GUARD_GUESS:
+                Card guess = (Card) answer;
+                check(guess != null && guess != Card.GUARD, guess);
+                game.useGuard(user, opponent, guess, gameUI);
+                endTurn();
+                break;
+
+            case BISHOP_GUESS:
+                Integer value = (Integer) answer;
+                check(value != null && value >= 0 && value < BISHOP_GUESSES, value);
+                if (gameActions.bishopGuessed(user, opponent, value, players, gameUI)) {
+                    step = Step.BISHOP_SWAP;
+                } else {
+                    endTurn();
+                }
+                break;
+
+            case BISHOP_SWAP:
+                Boolean swap = (Boolean) answer;
+                check(swap != null, swap);
+                gameActions.bishopSwap(opponent, swap, game.getDeck());
+                endTurn();
+                break;
+
+            case BARONESS_COUNT:
+                Integer count = (Integer) answer;
+                // one or two players, but no more than the other players that can be targeted
+                int targetable = players.getTargetablePlayers().size();
+                check(count != null && (targetable <= 2 ? count == targetable - 1 : count == 1 || count == 2), count);
+                if (count == 0) {
+                    gameUI.printWhenNoPlayerCanBeTarget();
+                    endTurn();
+                } else {
+                    peeksLeft = count;
+                    other = null;
+                    askedAgain = false;
+                    step = Step.BARONESS_TARGET;
+                }
+                break;
+
+            case BARONESS_TARGET:
+                Player peek = (Player) answer;
+                checkTarget(peek, syncophantFlag, syncophantChosenPlayer, false);
+                check(peek != null, null);
+                if (!askedAgain && peek == syncophantChosenPlayer) {
+                    syncophantChosenPlayer = null;
+                    syncophantFlag = false;
+                }
+                askedAgain = peek == other;
+                if (askedAgain) {
+                    gameUI.printWhenBaronessOnSameOpponent();
+                    break;
+                }
+                gameActions.baronessPeek(user, peek, gameUI);
+                other = peek;
+                if (--peeksLeft == 0) {
+                    endTurn();
+                }
+                break;
+
+            case CARDINAL_ONE:
+                opponent = (Player) answer;
+                checkTarget(opponent, syncophantFlag, syncophantChosenPlayer, true);
+                check(opponent != null, null);
+                step = Step.CARDINAL_TWO;
+                break;
+
+            case CARDINAL_TWO:
+                Player two = (Player) answer;
+                checkTarget(two, false, null, true);
+                check(two != null, null);
+                if (two == opponent) {
+                    gameUI.printNotSamePlayers();
+                    break;
+                }
+                other = two;
+                game.logTarget(opponent);
+                game.logTarget(other);
+                opponent.getHand().swapWith(other.getHand());
+                step = Step.CARDINAL_PEEK;
+                break;
+
+            case CARDINAL_PEEK:
+                Player peeked = (Player) answer;
+                check(peeked == null || peeked == opponent || peeked == other, peeked);
+                gameActions.cardinalPeek(user, peeked, gameUI);
+                endTurn();
+                break;
+
+            default:
+                throw new IllegalStateException("No question is asked at " + step);
+        }
+    }
+
+    /**
+     * Plays a card taken out of the hand of the player of the turn, as Game.playTurn and Game.playCard do,
+     * up to its first question.
+     */
+    private void play(Card played) {
+        card = played;
+        syncophantFlag = game.isSyncophantFlag();
+        syncophantChosenPlayer = syncophantFlag ? game.getSyncophantChosenPlayer() : null;
+        game.setSyncophantChosenPlayer(null);
+        game.setSyncophantFlag(false);
+        game.discardPlayedCard(card, user);
+
+        if (card == Card.BARONESS) {
+            step = Step.BARONESS_COUNT;
+        } else if (card == Card.CARDINAL) {
+            List<Player> targetablePlayers = players.getTargetablePlayers();
+            // If less than two targetale players in the round, this card does nothing.
+            if (targetablePlayers.size() >= 2) {
+                gameUI.printTargetablePlayers(targetablePlayers);
+                step = Step.CARDINAL_ONE;
+            } else {
+                endTurn();
+            }
+        } else if (Game.hasTarget(card)) {
+            step = Step.TARGET;
+        } else {
+            game.useCard(card, user, null, gameUI);
+            endTurn();
+        }
+    }
+
+    private void endTurn() {
+        // It's possible that the game ends early without a round winner.
+        step = game.isUndecided() ? Step.TURN : Step.GAME_END;
+    }
+
+    private void checkTarget(Player target, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        check(players.isValidTarget(user, target, syncophantFlag, syncophantChosenPlayer, includeSelf), target);
+    }
+
+    private void check(boolean legal, Object answer) {
+        if (!legal) {
+            String name = answer instanceof Player ? ((Player) answer).getName() : String.valueOf(answer);
+            throw new IllegalArgumentException(name + " is not a legal answer to the " + step + " question");
+        }
+    }
+}
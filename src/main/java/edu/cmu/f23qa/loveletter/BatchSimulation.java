@@ -0,0 +1,889 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Headless batch simulation that plays many games side by side. The state of every game
+ * is kept in flat primitive arrays, one entry per game (a lane) or per seat of a game,
+ * instead of Player, Hand, DiscardPile and Deck objects. Every sweep over the lanes
+ * advances each game by one turn, and a lane whose game ended starts the next one.
+ *
+ * The lanes go in lockstep: every lane plays its card up to the comparison of the hands of
+ * a Baron or a Dowager Queen, then the hands are compared for all the lanes at once with the
+ * Vector API, and the next sweep ends the turn and the round of every lane before playing its
+ * next card. The hand values and discard values at the end of a round are compared over all
+ * the seats of a lane at once too.
+ *
+ * The rules and the random bots are the same as in Game and RandomDecisions, and the
+ * random numbers are drawn in the same order, so a run gives exactly the statistics
+ * of Simulation for the same number of games, players and seed.
+ *
+ * The Vector API is an incubator module of Java 17, the JVM must be started with
+ * --add-modules jdk.incubator.vector.
+ *
+ * Usage: BatchSimulation [number of games] [number of players] [seed] [number of lanes]
+ */
+public class BatchSimulation {
+    private static final int DEFAULT_GAMES = 100000;
+    private static final int DEFAULT_PLAYERS = 4;
+    private static final int DEFAULT_LANES = 64;
+
+    private static final Card[] CARDS = Card.values();
+    private static final byte[] VALUES = new byte[CARDS.length];
+    private static final int DECK_CAPACITY = Deck.edition(Integer.MAX_VALUE).length;
+    private static final int NO_SEAT = -1;
+
+    /**
+     * The lanes compared at once for a Baron or a Dowager Queen.
+     */
+    private static final VectorSpecies<Integer> LANES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * The seats of a lane compared at once at the end of a round, 8 at most.
+     */
+    private static final VectorSpecies<Integer> SEATS = IntVector.SPECIES_256;
+    private static final IntVector SEAT_BITS =
+        IntVector.broadcast(SEATS, 1).lanewise(VectorOperators.LSHL, IntVector.zero(SEATS).addIndex(1));
+
+    private static final byte GUARD = (byte) Card.GUARD.ordinal();
+    private static final byte PRINCE = (byte) Card.PRINCE.ordinal();
+    private static final byte KING = (byte) Card.KING.ordinal();
+    private static final byte COUNTESS = (byte) Card.COUNTESS.ordinal();
+    private static final byte PRINCESS = (byte) Card.PRINCESS.ordinal();
+    private static final byte DOWAGERQUEEN = (byte) Card.DOWAGERQUEEN.ordinal();
+    private static final byte BISHOP = (byte) Card.BISHOP.ordinal();
+    private static final byte CONSTABLE = (byte) Card.CONSTABLE.ordinal();
+    private static final byte COUNT = (byte) Card.COUNT.ordinal();
+    private static final byte ASSASSIN = (byte) Card.ASSASSIN.ordinal();
+
+    static {
+        for (Card card : CARDS) {
+            VALUES[card.ordinal()] = (byte) card.value();
+        }
+    }
+
+    private final int numOfPlayers;
+    private final int lanes;
+    private final int targetAffectionPoints;
+
+    /*
+     * Per lane. The deck holds card ordinals with the top at the end, like Deck.
+     * Seat masks have bit i set for seat i, like the masks of PlayerList.
+     */
+    private final boolean[] playing;
+    private final boolean[] roundStarting;
+    private final SplittableRandom[] deckRandom;
+    private final SplittableRandom[] decisionRandom;
+    private final byte[] deck;
+    private final int[] deckSize;
+    private final byte[] setAsideCard;
+    private final int[] inGameSeats;
+    private final int[] seatsWithCard;
+    private final int[] protectedSeats;
+    private final int[] cursor;
+    private final boolean[] sycophantFlag;
+    private final int[] sycophantSeat;
+    private final int[] leaderTokens;
+    private final int[] numOfLeaders;
+    private final int[] roundWinners;
+    private final int[] numOfRoundWinners;
+
+    /*
+     * Per lane, the turn of the sweep: whether a turn was played, and the comparison of the hands
+     * of a Baron or a Dowager Queen waiting for compareHands, no compared seat if there is none.
+     */
+    private final boolean[] turnPlayed;
+    private final byte[] comparingCard;
+    private final int[] comparingSeat;
+    private final int[] comparedSeat;
+    private final int[] comparingValue;
+    private final int[] comparedValue;
+    private final int[] comparison;
+
+    /*
+     * Per seat, at lane * numOfPlayers + seat. Hands have two slots per seat.
+     * Only the Count and Constable cards matter in a discard pile besides its value.
+     */
+    private final byte[] hand;
+    private final byte[] handSize;
+    private final int[] discardValue;
+    private final byte[] discardedCounts;
+    private final byte[] discardedConstables;
+    private final int[] tokens;
+    private final int[] jesterToken;
+
+    private final int[] winners;
+    private final int[] seatValues;
+    private SimulationStats stats;
+
+    /**
+     * Constructor for a batch simulation.
+     *
+     * @param numOfPlayers
+     *          the number of players at every table, 2 to 8
+     * @param lanes
+     *          the number of games played side by side
+     */
+    public BatchSimulation(int numOfPlayers, int lanes) {
+        if (numOfPlayers < 2 || numOfPlayers > 8) {
+            throw new IllegalArgumentException("A game needs 2 to 8 players, got " + numOfPlayers);
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("A batch needs at least one lane, got " + lanes);
+        }
+        this.numOfPlayers = numOfPlayers;
+        this.lanes = lanes;
+        this.targetAffectionPoints = new PlayerList().getTargetAffectionPoints(numOfPlayers);
+
+        this.playing = new boolean[lanes];
+        this.roundStarting = new boolean[lanes];
+        this.deckRandom = new SplittableRandom[lanes];
+        this.decisionRandom = new SplittableRandom[lanes];
+        this.deck = new byte[lanes * DECK_CAPACITY];
+        this.deckSize = new int[lanes];
+        this.setAsideCard = new byte[lanes];
+        this.inGameSeats = new int[lanes];
+        this.seatsWithCard = new int[lanes];
+        this.protectedSeats = new int[lanes];
+        this.cursor = new int[lanes];
+        this.sycophantFlag = new boolean[lanes];
+        this.sycophantSeat = new int[lanes];
+        this.leaderTokens = new int[lanes];
+        this.numOfLeaders = new int[lanes];
+        this.roundWinners = new int[lanes * numOfPlayers];
+        this.numOfRoundWinners = new int[lanes];
+
+        this.turnPlayed = new boolean[lanes];
+        this.comparingCard = new byte[lanes];
+        this.comparingSeat = new int[lanes];
+        this.comparedSeat = new int[lanes];
+        Arrays.fill(comparedSeat, NO_SEAT);
+        this.comparingValue = new int[lanes];
+        this.comparedValue = new int[lanes];
+        this.comparison = new int[lanes];
+
+        int seats = lanes * numOfPlayers;
+        this.hand = new byte[2 * seats];
+        this.handSize = new byte[seats];
+        this.discardValue = new int[seats];
+        this.discardedCounts = new byte[seats];
+        this.discardedConstables = new byte[seats];
+        this.tokens = new int[seats];
+        this.jesterToken = new int[seats];
+
+        this.winners = new int[numOfPlayers];
+        this.seatValues = new int[SEATS.length()];
+    }
+
+    public int getNumberOfPlayers() {
+        return numOfPlayers;
+    }
+
+    public int getNumberOfLanes() {
+        return lanes;
+    }
+
+    /**
+     * Plays the given number of games to the end.
+     *
+     * @param games
+     *          the number of games to play
+     * @param seed
+     *          the master seed, every game is played with its own seed derived from it
+     * @return
+     *          the statistics of all played games
+     */
+    public SimulationStats run(long games, long seed) {
+        return run(0, games, seed);
+    }
+
+    /**
+     * Plays the games [from, to) of a run to the end.
+     *
+     * @param from
+     *          the index of the first game
+     * @param to
+     *          the index after the last game
+     * @param seed
+     *          the master seed of the run
+     * @return
+     *          the statistics of the played games
+     */
+    SimulationStats run(long from, long to, long seed) {
+        stats = new SimulationStats(numOfPlayers);
+        long next = from;
+        int active = 0;
+        for (int lane = 0; lane < lanes && next < to; lane++) {
+            startGame(lane, Seeds.derive(seed, next++));
+            beginStep(lane);
+            active++;
+        }
+        while (active > 0) {
+            compareHands();
+            // every lane ends the turn of the last sweep and begins its next one
+            for (int lane = 0; lane < lanes; lane++) {
+                if (!playing[lane]) {
+                    continue;
+                }
+                if (endStep(lane)) {
+                    if (next >= to) {
+                        playing[lane] = false;
+                        active--;
+                        continue;
+                    }
+                    startGame(lane, Seeds.derive(seed, next++));
+                }
+                beginStep(lane);
+            }
+        }
+        SimulationStats result = stats;
+        stats = null;
+        return result;
+    }
+
+    /*
+     * Game flow, following Game.start.
+     */
+
+    private void startGame(int lane, long gameSeed) {
+        deckRandom[lane] = new SplittableRandom(gameSeed);
+        decisionRandom[lane] = new SplittableRandom(Seeds.derive(gameSeed, 0));
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            int i = lane * numOfPlayers + seat;
+            handSize[i] = 0;
+            clearDiscards(i);
+            tokens[i] = 0;
+            jesterToken[i] = NO_SEAT;
+        }
+        playing[lane] = true;
+        roundStarting[lane] = true;
+        inGameSeats[lane] = (1 << numOfPlayers) - 1;
+        seatsWithCard[lane] = 0;
+        protectedSeats[lane] = 0;
+        cursor[lane] = 0;
+        numOfRoundWinners[lane] = 0;
+        countLeaders(lane);
+    }
+
+    /**
+     * Plays the card of a turn of a game, starting a new round first when needed. The hands
+     * a Baron or a Dowager Queen compares are only compared by compareHands.
+     */
+    private void beginStep(int lane) {
+        if (roundStarting[lane]) {
+            startRound(lane);
+            roundStarting[lane] = false;
+        }
+        turnPlayed[lane] = roundGoesOn(lane);
+        if (turnPlayed[lane]) {
+            playTurn(lane, currentPlayer(lane));
+        }
+    }
+
+    /**
+     * Ends the turn begun by beginStep once the hands are compared, and the round if it is over.
+     *
+     * @return true if the game is over
+     */
+    private boolean endStep(int lane) {
+        if (comparedSeat[lane] != NO_SEAT) {
+            endComparison(lane);
+        }
+        if (turnPlayed[lane]) {
+            if (numOfLeaders[lane] == 1) {
+                return finishGame(lane);
+            }
+            if (roundGoesOn(lane)) {
+                return false;
+            }
+        }
+        if (numOfLeaders[lane] == 1) {
+            return finishGame(lane);
+        }
+        declareRoundWinners(lane);
+        if (numOfLeaders[lane] == 1) {
+            return finishGame(lane);
+        }
+        roundStarting[lane] = true;
+        return false;
+    }
+
+    private boolean roundGoesOn(int lane) {
+        return Integer.bitCount(inGameSeats[lane] & seatsWithCard[lane]) > 1 && deckSize[lane] > 0;
+    }
+
+    private boolean finishGame(int lane) {
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            if (isLeader(lane, seat)) {
+                stats.recordGame(seat);
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void startRound(int lane) {
+        if (numOfLeaders[lane] > 1) {
+            removeLosers(lane);
+        }
+        int inGame = inGameSeats[lane];
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            if ((inGame & (1 << seat)) != 0) {
+                int i = lane * numOfPlayers + seat;
+                handSize[i] = 0;
+                clearDiscards(i);
+                jesterToken[i] = NO_SEAT;
+            }
+        }
+        seatsWithCard[lane] &= ~inGame;
+        protectedSeats[lane] &= ~inGame;
+
+        setDeck(lane, Integer.bitCount(inGame));
+        for (int n = 0, seat = cursor[lane]; n < numOfPlayers; n++, seat = (seat + 1) % numOfPlayers) {
+            if ((inGame & (1 << seat)) != 0) {
+                addToHand(lane, seat, draw(lane));
+            }
+        }
+        sycophantFlag[lane] = false;
+        sycophantSeat[lane] = NO_SEAT;
+
+        // the round starter, as in PlayerList.setRoundStarter
+        int base = lane * numOfPlayers;
+        int starters = 0;
+        for (int n = 0; n < numOfRoundWinners[lane]; n++) {
+            int winner = roundWinners[base + n];
+            if ((inGame & (1 << winner)) != 0) {
+                winners[starters++] = winner;
+            }
+        }
+        if (starters == 1) {
+            cursor[lane] = winners[0];
+        } else if (starters > 1) {
+            cursor[lane] = winners[decisionRandom[lane].nextInt(starters)];
+        }
+    }
+
+    private void removeLosers(int lane) {
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            if (!isLeader(lane, seat)) {
+                inGameSeats[lane] &= ~(1 << seat);
+            }
+        }
+        if (inGameSeats[lane] == 0) {
+            return;
+        }
+        while ((inGameSeats[lane] & (1 << cursor[lane])) == 0) {
+            cursor[lane] = (cursor[lane] + 1) % numOfPlayers;
+        }
+        countLeaders(lane);
+    }
+
+    /**
+     * Picks the player taking the turn and moves the cursor past them,
+     * as in PlayerList.getCurrentPlayer.
+     */
+    private int currentPlayer(int lane) {
+        int candidates = inGameSeats[lane] & seatsWithCard[lane];
+        int seat = cursor[lane];
+        if (candidates != 0) {
+            int atOrAfter = candidates & -(1 << seat);
+            seat = Integer.numberOfTrailingZeros(atOrAfter != 0 ? atOrAfter : candidates);
+        }
+        cursor[lane] = nextSeat(lane, seat);
+        return seat;
+    }
+
+    private int nextSeat(int lane, int seat) {
+        int inGame = inGameSeats[lane];
+        int after = inGame & -(2 << seat);
+        return Integer.numberOfTrailingZeros(after != 0 ? after : inGame);
+    }
+
+    /*
+     * Turns and cards, following Game.playTurn, Game.playCard and GameActions.
+     */
+
+    private void playTurn(int lane, int user) {
+        stats.recordTurn();
+        byte drawn = draw(lane);
+        protectedSeats[lane] &= ~(1 << user);
+        addToHand(lane, user, drawn);
+
+        int i = lane * numOfPlayers + user;
+        boolean royalty = handContains(i, PRINCE) || handContains(i, KING);
+        int countessPos = handPos(i, COUNTESS);
+        byte card;
+        if (royalty && countessPos != -1) {
+            card = removeFromHand(lane, user, countessPos);
+        } else {
+            // RandomDecisions.getCard, the Princess is never discarded
+            int idx = decisionRandom[lane].nextInt(2);
+            if (hand[2 * i + idx] == PRINCESS) {
+                idx = 1 - idx;
+            }
+            card = removeFromHand(lane, user, idx);
+        }
+
+        if (sycophantFlag[lane]) {
+            int chosen = sycophantSeat[lane];
+            sycophantFlag[lane] = false;
+            sycophantSeat[lane] = NO_SEAT;
+            playCard(lane, user, card, true, chosen);
+        } else {
+            playCard(lane, user, card, false, NO_SEAT);
+        }
+    }
+
+    private void playCard(int lane, int user, byte card, boolean flag, int sycophant) {
+        discard(lane * numOfPlayers + user, card);
+        SplittableRandom random = decisionRandom[lane];
+        int opponent;
+        switch (CARDS[card]) {
+            case GUARD:
+                opponent = opponent(lane, user, flag, sycophant, false);
+                if (opponent != NO_SEAT) {
+                    byte guess = (byte) (1 + random.nextInt(CARDS.length - 1));
+                    int o = lane * numOfPlayers + opponent;
+                    if (handContains(o, ASSASSIN)) {
+                        eliminate(lane, user);
+                        removeFromHand(lane, opponent, handPos(o, ASSASSIN));
+                        discard(o, ASSASSIN);
+                        addToHand(lane, opponent, deckSize[lane] > 0 ? draw(lane) : setAsideCard[lane]);
+                    } else if (hand[2 * o] == guess) {
+                        eliminate(lane, opponent);
+                    }
+                }
+                break;
+
+            case PRIEST:
+                opponent(lane, user, flag, sycophant, false);
+                break;
+
+            case BARON:
+            case DOWAGERQUEEN:
+                opponent = opponent(lane, user, flag, sycophant, false);
+                if (opponent != NO_SEAT) {
+                    beginComparison(lane, card, user, opponent);
+                }
+                break;
+
+            case HANDMAIDEN:
+                protectedSeats[lane] ^= 1 << user;
+                break;
+
+            case PRINCE:
+                opponent = opponent(lane, user, flag, sycophant, true);
+                if (opponent != NO_SEAT) {
+                    int o = lane * numOfPlayers + opponent;
+                    if (hand[2 * o] == PRINCESS) {
+                        eliminate(lane, opponent);
+                    } else {
+                        byte replacement = deckSize[lane] > 0 ? draw(lane) : setAsideCard[lane];
+                        discard(o, removeFromHand(lane, opponent, 0));
+                        addToHand(lane, opponent, replacement);
+                    }
+                }
+                break;
+
+            case KING:
+                opponent = opponent(lane, user, flag, sycophant, false);
+                if (opponent != NO_SEAT) {
+                    swapHands(lane, user, opponent);
+                }
+                break;
+
+            case PRINCESS:
+                eliminate(lane, user);
+                break;
+
+            case BISHOP:
+                opponent = opponent(lane, user, flag, sycophant, false);
+                if (opponent != NO_SEAT) {
+                    useBishop(lane, user, opponent);
+                }
+                break;
+
+            case SYNCOPHANT:
+                sycophantSeat[lane] = opponent(lane, user, flag, sycophant, true);
+                sycophantFlag[lane] = true;
+                break;
+
+            case JESTER:
+                opponent = opponent(lane, user, flag, sycophant, true);
+                jesterToken[lane * numOfPlayers + opponent] = user;
+                break;
+
+            case BARONESS:
+                useBaroness(lane, user, flag, sycophant);
+                break;
+
+            case CARDINAL:
+                if (Integer.bitCount(targetableSeats(lane)) >= 2) {
+                    int one = opponent(lane, user, flag, sycophant, true);
+                    int two = opponent(lane, user, false, NO_SEAT, true);
+                    while (one == two) {
+                        two = opponent(lane, user, false, NO_SEAT, true);
+                    }
+                    swapHands(lane, one, two);
+                    // the peeked player, nothing to show
+                    random.nextBoolean();
+                }
+                break;
+
+            default:
+                // Countess, Constable, Count and Assassin have no action
+                break;
+        }
+    }
+
+    private void useBishop(int lane, int user, int opponent) {
+        SplittableRandom random = decisionRandom[lane];
+        int guessedValue = random.nextInt(10);
+        int o = lane * numOfPlayers + opponent;
+        byte opponentCard = hand[2 * o];
+        if (VALUES[opponentCard] != guessedValue) {
+            return;
+        }
+        addToken(lane, user);
+        if (numOfLeaders[lane] != 0) {
+            return;
+        }
+        boolean swapConfirmation = random.nextBoolean();
+        if (swapConfirmation && deckSize[lane] > 0) {
+            if (opponentCard == PRINCESS) {
+                eliminate(lane, opponent);
+            } else {
+                removeFromHand(lane, opponent, 0);
+                discard(o, opponentCard);
+                addToHand(lane, opponent, draw(lane));
+            }
+        }
+    }
+
+    private void useBaroness(int lane, int user, boolean flag, int sycophant) {
+        int targetable = Integer.bitCount(targetableSeats(lane));
+        int numOfPeeks;
+        if (targetable <= 1) {
+            numOfPeeks = 0;
+        } else if (targetable == 2) {
+            numOfPeeks = 1;
+        } else {
+            numOfPeeks = 1 + decisionRandom[lane].nextInt(2);
+        }
+        int previous = NO_SEAT;
+        for (int n = 0; n < numOfPeeks; n++) {
+            int opponent = opponent(lane, user, flag, sycophant, false);
+            if (opponent != NO_SEAT && opponent == sycophant) {
+                sycophant = NO_SEAT;
+                flag = false;
+            }
+            while (previous != NO_SEAT && opponent == previous) {
+                opponent = opponent(lane, user, flag, sycophant, false);
+            }
+            previous = opponent;
+        }
+    }
+
+    /**
+     * Picks a target like RandomDecisions.getOpponent.
+     */
+    private int opponent(int lane, int user, boolean flag, int sycophant, boolean includeSelf) {
+        int targets = targetableSeats(lane);
+        if (!includeSelf) {
+            targets &= ~(1 << user);
+        }
+        if (flag && sycophant != NO_SEAT && (targets & (1 << sycophant)) != 0) {
+            return sycophant;
+        }
+        int count = Integer.bitCount(targets);
+        if (count == 0) {
+            return NO_SEAT;
+        }
+        for (int pick = decisionRandom[lane].nextInt(count); pick > 0; pick--) {
+            targets &= targets - 1;
+        }
+        return Integer.numberOfTrailingZeros(targets);
+    }
+
+    private int targetableSeats(int lane) {
+        return inGameSeats[lane] & seatsWithCard[lane] & ~protectedSeats[lane];
+    }
+
+    /**
+     * Keeps the values of the hands a Baron or a Dowager Queen compares, for compareHands.
+     */
+    private void beginComparison(int lane, byte card, int user, int opponent) {
+        int base = lane * numOfPlayers;
+        comparingCard[lane] = card;
+        comparingSeat[lane] = user;
+        comparedSeat[lane] = opponent;
+        comparingValue[lane] = VALUES[hand[2 * (base + user)]];
+        comparedValue[lane] = VALUES[hand[2 * (base + opponent)]];
+    }
+
+    /**
+     * Compares the hands of every lane at once, the lanes without a comparison included: 1 if
+     * the player of the card holds the higher card, -1 if the other player does, 0 on a tie.
+     */
+    private void compareHands() {
+        IntVector zero = IntVector.zero(LANES);
+        int bound = LANES.loopBound(lanes);
+        int lane = 0;
+        for (; lane < bound; lane += LANES.length()) {
+            IntVector comparing = IntVector.fromArray(LANES, comparingValue, lane);
+            IntVector compared = IntVector.fromArray(LANES, comparedValue, lane);
+            zero.blend(1, comparing.compare(VectorOperators.GT, compared))
+                .blend(-1, comparing.compare(VectorOperators.LT, compared))
+                .intoArray(comparison, lane);
+        }
+        for (; lane < lanes; lane++) {
+            comparison[lane] = Integer.compare(comparingValue[lane], comparedValue[lane]);
+        }
+    }
+
+    /**
+     * Knocks out the player with the lower card for a Baron, the higher one for a Dowager Queen.
+     */
+    private void endComparison(int lane) {
+        int user = comparingSeat[lane];
+        int opponent = comparedSeat[lane];
+        comparedSeat[lane] = NO_SEAT;
+        int higher = comparingCard[lane] == DOWAGERQUEEN ? -comparison[lane] : comparison[lane];
+        if (higher > 0) {
+            eliminate(lane, opponent);
+        } else if (higher < 0) {
+            eliminate(lane, user);
+        }
+    }
+
+    private void eliminate(int lane, int seat) {
+        int i = lane * numOfPlayers + seat;
+        if (discardedConstables[i] > 0) {
+            addToken(lane, seat);
+        }
+        discard(i, removeFromHand(lane, seat, 0));
+    }
+
+    /*
+     * End of round, following PlayerList.getRoundWinners and Game.declareRoundWinner.
+     */
+
+    private void declareRoundWinners(int lane) {
+        int base = lane * numOfPlayers;
+        int candidates = inGameSeats[lane] & seatsWithCard[lane];
+        if (Integer.bitCount(candidates) > 1) {
+            candidates = filterByHandValue(lane, candidates);
+        }
+        if (Integer.bitCount(candidates) > 1) {
+            for (int seat = 0; seat < SEATS.length(); seat++) {
+                seatValues[seat] = (candidates & (1 << seat)) != 0 ? discardValue[base + seat] : Integer.MIN_VALUE;
+            }
+            candidates = highest(seatValues);
+        }
+
+        int n = 0;
+        for (int k = 0, seat = cursor[lane]; k < numOfPlayers; k++, seat = (seat + 1) % numOfPlayers) {
+            if ((candidates & (1 << seat)) != 0) {
+                winners[n++] = seat;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int winner = winners[k];
+            roundWinners[base + k] = winner;
+            addToken(lane, winner);
+            if (jesterToken[base + winner] != NO_SEAT) {
+                addToken(lane, jesterToken[base + winner]);
+            }
+        }
+        numOfRoundWinners[lane] = n;
+        stats.recordRound(winners, n);
+    }
+
+    private int filterByHandValue(int lane, int candidates) {
+        int base = lane * numOfPlayers;
+        int bishops = 0;
+        boolean princess = false;
+        for (int m = candidates; m != 0; m &= m - 1) {
+            int seat = Integer.numberOfTrailingZeros(m);
+            byte card = hand[2 * (base + seat)];
+            if (card == BISHOP) {
+                bishops |= 1 << seat;
+            }
+            princess |= card == PRINCESS;
+        }
+
+        // the Princess beats the first Bishop in turn order, regardless of Counts
+        if (bishops != 0 && princess) {
+            int atOrAfter = bishops & -(1 << cursor[lane]);
+            candidates &= ~Integer.lowestOneBit(atOrAfter != 0 ? atOrAfter : bishops);
+        }
+        for (int seat = 0; seat < SEATS.length(); seat++) {
+            seatValues[seat] = (candidates & (1 << seat)) != 0
+                ? VALUES[hand[2 * (base + seat)]] + discardedCounts[base + seat] : Integer.MIN_VALUE;
+        }
+        return highest(seatValues);
+    }
+
+    /**
+     * Finds the seats with the highest value, compared all at once.
+     *
+     * @param values
+     *          the value of every seat, Integer.MIN_VALUE for the seats left out
+     * @return the seats holding the highest value
+     */
+    private static int highest(int[] values) {
+        IntVector vector = IntVector.fromArray(SEATS, values, 0);
+        int max = vector.reduceLanes(VectorOperators.MAX);
+        return IntVector.zero(SEATS).blend(SEAT_BITS, vector.compare(VectorOperators.EQ, max))
+            .reduceLanes(VectorOperators.OR);
+    }
+
+    /*
+     * Tokens and game winners, following the leader tracking of PlayerList.
+     */
+
+    private void addToken(int lane, int seat) {
+        tokens[lane * numOfPlayers + seat]++;
+        countLeaders(lane);
+    }
+
+    private void countLeaders(int lane) {
+        int lead = 0;
+        int leaders = 0;
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            int t = tokens[lane * numOfPlayers + seat];
+            if ((inGameSeats[lane] & (1 << seat)) == 0 || t < targetAffectionPoints) {
+                continue;
+            }
+            if (leaders == 0 || t > lead) {
+                lead = t;
+                leaders = 1;
+            } else if (t == lead) {
+                leaders++;
+            }
+        }
+        leaderTokens[lane] = lead;
+        numOfLeaders[lane] = leaders;
+    }
+
+    private boolean isLeader(int lane, int seat) {
+        return (inGameSeats[lane] & (1 << seat)) != 0 && numOfLeaders[lane] > 0
+            && tokens[lane * numOfPlayers + seat] == leaderTokens[lane];
+    }
+
+    /*
+     * Deck, hands and discard piles, following Deck, Hand and DiscardPile.
+     */
+
+    private void setDeck(int lane, int numOfPlayer) {
+        byte[] cards = Deck.edition(numOfPlayer);
+        System.arraycopy(cards, 0, deck, lane * DECK_CAPACITY, cards.length);
+        deckSize[lane] = cards.length;
+        setAsideCard[lane] = draw(lane);
+        if (numOfPlayer == 2) {
+            // three cards are set aside face up
+            for (int n = 0; n < 3; n++) {
+                draw(lane);
+            }
+        }
+    }
+
+    /**
+     * Draws a random remaining card, the lazy shuffle of Deck.
+     */
+    private byte draw(int lane) {
+        int base = lane * DECK_CAPACITY;
+        int top = deckSize[lane] - 1;
+        int j = base + deckRandom[lane].nextInt(top + 1);
+        byte card = deck[j];
+        deck[j] = deck[base + top];
+        deck[base + top] = card;
+        deckSize[lane] = top;
+        return card;
+    }
+
+    private void addToHand(int lane, int seat, byte card) {
+        int i = lane * numOfPlayers + seat;
+        hand[2 * i + handSize[i]] = card;
+        if (handSize[i]++ == 0) {
+            seatsWithCard[lane] |= 1 << seat;
+        }
+    }
+
+    private byte removeFromHand(int lane, int seat, int idx) {
+        int i = lane * numOfPlayers + seat;
+        byte card = hand[2 * i + idx];
+        if (idx == 0) {
+            hand[2 * i] = hand[2 * i + 1];
+        }
+        if (--handSize[i] == 0) {
+            seatsWithCard[lane] &= ~(1 << seat);
+        }
+        return card;
+    }
+
+    private boolean handContains(int i, byte card) {
+        return handPos(i, card) != -1;
+    }
+
+    private int handPos(int i, byte card) {
+        if (handSize[i] > 0 && hand[2 * i] == card) {
+            return 0;
+        }
+        if (handSize[i] > 1 && hand[2 * i + 1] == card) {
+            return 1;
+        }
+        return -1;
+    }
+
+    private void swapHands(int lane, int one, int two) {
+        int a = lane * numOfPlayers + one;
+        int b = lane * numOfPlayers + two;
+        byte first = hand[2 * a];
+        byte second = hand[2 * a + 1];
+        byte size = handSize[a];
+        hand[2 * a] = hand[2 * b];
+        hand[2 * a + 1] = hand[2 * b + 1];
+        handSize[a] = handSize[b];
+        hand[2 * b] = first;
+        hand[2 * b + 1] = second;
+        handSize[b] = size;
+        if ((handSize[a] == 0) != (handSize[b] == 0)) {
+            seatsWithCard[lane] ^= (1 << one) | (1 << two);
+        }
+    }
+
+    private void discard(int i, byte card) {
+        discardValue[i] += VALUES[card];
+        if (card == COUNT) {
+            discardedCounts[i]++;
+        } else if (card == CONSTABLE) {
+            discardedConstables[i]++;
+        }
+    }
+
+    private void clearDiscards(int i) {
+        discardValue[i] = 0;
+        discardedCounts[i] = 0;
+        discardedConstables[i] = 0;
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        int numOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int lanes = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_LANES;
+
+        BatchSimulation simulation = new BatchSimulation(numOfPlayers, lanes);
+        long start = System.nanoTime();
+        SimulationStats stats = simulation.run(games, seed);
+        long elapsed = System.nanoTime() - start;
+
+        Simulation.printReport(stats, elapsed, seed);
+    }
+}
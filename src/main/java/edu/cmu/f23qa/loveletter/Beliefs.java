@@ -0,0 +1,286 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What every seat knows of the cards of the round: how many copies of each card it has not seen yet,
+ * and the card of each opponent it was shown. A seat has seen its own hand, every discarded card,
+ * the face up cards, the cards shown to it by a Priest, a Baroness, a Cardinal or a Baron or Dowager
+ * Queen tie, and the card it gave away with a King or a Cardinal. A seen card in a hand stays known
+ * while it moves with King and Cardinal swaps, until its holder discards it. A Guard or a Bishop
+ * guessing wrong rules out the guessed cards for the hand of the target, as every seat sees, until the
+ * target discards it as well.
+ *
+ * The tracker is kept up to date by the PlayerList on every discard, peek and swap, each event changes
+ * a couple of counters of every seat, and every query takes constant time. A redrawn card needs no
+ * event of its own: the discard that comes before it already forgets the known card.
+ *
+ * An opponent whose card is not known is assumed to hold any unseen card not ruled out for them, so the
+ * chance they hold a card is its unseen copies over all the unseen cards they may hold, as seen from the
+ * asking seat. Each opponent is weighed on its own, what is ruled out for one does not shift the others.
+ */
+public final class Beliefs {
+    private static final Card[] CARDS = Card.values();
+    private static final int UNKNOWN = -1;
+
+    private final PlayerList players;
+    private int numOfSeats;
+
+    /**
+     * The copies of each card not seen by each seat, own hand included: unseen[observer * CARDS.length + card].
+     */
+    private int[] unseen = new int[0];
+    private int[] numOfUnseen = new int[0];
+
+    /**
+     * The card ordinal each seat knows in the hand of each other seat: known[observer * numOfSeats + holder].
+     */
+    private int[] known = new int[0];
+
+    /**
+     * The cards each seat knows are not in the hand of each other seat, a bit per card ordinal:
+     * ruledOut[observer * numOfSeats + holder].
+     */
+    private int[] ruledOut = new int[0];
+
+    Beliefs(PlayerList players) {
+        this.players = players;
+    }
+
+    /**
+     * Copies the beliefs for a forked list of players.
+     */
+    Beliefs copy(PlayerList forkedPlayers) {
+        Beliefs copy = new Beliefs(forkedPlayers);
+        copy.numOfSeats = numOfSeats;
+        copy.unseen = unseen.clone();
+        copy.numOfUnseen = numOfUnseen.clone();
+        copy.known = known.clone();
+        copy.ruledOut = ruledOut.clone();
+        return copy;
+    }
+
+    /**
+     * Forgets every peek, and counts the unseen cards from the discard piles and the face up cards.
+     * Called when a round is dealt, or when tracking starts in the middle of one.
+     */
+    void reset(Deck deck) {
+        numOfSeats = players.getNumberOfSeats();
+        if (numOfUnseen.length < numOfSeats) {
+            unseen = new int[numOfSeats * CARDS.length];
+            numOfUnseen = new int[numOfSeats];
+            known = new int[numOfSeats * numOfSeats];
+            ruledOut = new int[numOfSeats * numOfSeats];
+        }
+        Arrays.fill(known, UNKNOWN);
+        Arrays.fill(ruledOut, 0);
+
+        byte[] edition = Deck.edition(players.getNumberOfPlayers());
+        Arrays.fill(unseen, 0, CARDS.length, 0);
+        for (byte ordinal : edition) {
+            unseen[ordinal]++;
+        }
+        numOfUnseen[0] = edition.length;
+        for (int observer = 1; observer < numOfSeats; observer++) {
+            System.arraycopy(unseen, 0, unseen, observer * CARDS.length, CARDS.length);
+            numOfUnseen[observer] = edition.length;
+        }
+
+        for (Card card : deck.getFaceUpCards()) {
+            revealed(card);
+        }
+        for (int m = players.getInGameSeats(); m != 0; m &= m - 1) {
+            List<Card> discarded = players.getPlayerAt(Integer.numberOfTrailingZeros(m)).getDiscarded().getCards();
+            for (int i = 0; i < discarded.size(); i++) {
+                revealed(discarded.get(i));
+            }
+        }
+    }
+
+    /**
+     * A card every seat sees, face up or discarded.
+     */
+    private void revealed(Card card) {
+        for (int observer = 0; observer < numOfSeats; observer++) {
+            see(observer, card.ordinal());
+        }
+    }
+
+    /**
+     * The holder discarded a card: the seats who knew it was that card forget it, the others see it.
+     */
+    void discarded(int holder, Card card) {
+        int ordinal = card.ordinal();
+        for (int observer = 0; observer < numOfSeats; observer++) {
+            int idx = observer * numOfSeats + holder;
+            // the card left in the hand may be the one drawn since
+            ruledOut[idx] = 0;
+            if (observer != holder && known[idx] == ordinal) {
+                known[idx] = UNKNOWN;
+            } else {
+                see(observer, ordinal);
+            }
+        }
+    }
+
+    /**
+     * A guess on the only card of the holder missed, every other seat knows it is none of the cards.
+     *
+     * @param cards
+     *          the cards guessed, a bit per card ordinal
+     */
+    void guessMissed(int holder, int cards) {
+        for (int observer = 0; observer < numOfSeats; observer++) {
+            if (observer != holder) {
+                ruledOut[observer * numOfSeats + holder] |= cards;
+            }
+        }
+    }
+
+    /**
+     * The viewer was shown the only card of the holder.
+     */
+    void shown(int viewer, int holder) {
+        Hand hand = players.getPlayerAt(holder).getHand();
+        if (viewer != holder && hand.size() == 1) {
+            learn(viewer, holder, hand.peek(0).ordinal());
+        }
+    }
+
+    /**
+     * Two seats swapped their hands, called after the swap. Everybody else swaps what they knew
+     * of the two hands, each of the two seats now knows the card it gave away.
+     */
+    void swapped(int one, int two) {
+        for (int observer = 0; observer < numOfSeats; observer++) {
+            if (observer == one || observer == two) {
+                int other = observer == one ? two : one;
+                int idx = observer * numOfSeats + other;
+                if (known[idx] != UNKNOWN) {
+                    // the known card is in the hand of the observer now, which counts as unseen
+                    unseen[observer * CARDS.length + known[idx]]++;
+                    numOfUnseen[observer]++;
+                    known[idx] = UNKNOWN;
+                }
+                ruledOut[idx] = 0;
+                shown(observer, other);
+            } else {
+                int idxOne = observer * numOfSeats + one;
+                int idxTwo = observer * numOfSeats + two;
+                int card = known[idxOne];
+                known[idxOne] = known[idxTwo];
+                known[idxTwo] = card;
+                int cards = ruledOut[idxOne];
+                ruledOut[idxOne] = ruledOut[idxTwo];
+                ruledOut[idxTwo] = cards;
+            }
+        }
+    }
+
+    private void learn(int viewer, int holder, int ordinal) {
+        int idx = viewer * numOfSeats + holder;
+        if (known[idx] == ordinal) {
+            return;
+        }
+        if (known[idx] != UNKNOWN) {
+            unseen[viewer * CARDS.length + known[idx]]++;
+            numOfUnseen[viewer]++;
+        }
+        known[idx] = ordinal;
+        see(viewer, ordinal);
+    }
+
+    private void see(int observer, int ordinal) {
+        unseen[observer * CARDS.length + ordinal]--;
+        numOfUnseen[observer]--;
+    }
+
+    /**
+     * Gets the card the observer knows in the hand of the holder.
+     *
+     * @return the known card, null if the observer does not know it
+     */
+    public Card getKnownCard(Player observer, Player holder) {
+        return getKnownCard(observer.getSeat(), holder.getSeat());
+    }
+
+    Card getKnownCard(int observer, int holder) {
+        int card = known[observer * numOfSeats + holder];
+        return card == UNKNOWN ? null : CARDS[card];
+    }
+
+    /**
+     * Tells whether the observer knows the holder does not have the card, from a guess that missed.
+     */
+    public boolean isRuledOut(Player observer, Player holder, Card card) {
+        return (getRuledOut(observer.getSeat(), holder.getSeat()) & 1 << card.ordinal()) != 0;
+    }
+
+    /**
+     * @return the cards the observer ruled out for the hand of the holder, a bit per card ordinal
+     */
+    int getRuledOut(int observer, int holder) {
+        return ruledOut[observer * numOfSeats + holder];
+    }
+
+    /**
+     * Counts the copies of a card the observer did not see yet, in the deck, the set-aside card
+     * or the hands of opponents whose card is not known.
+     *
+     * @return the number of unseen copies
+     */
+    public int getUnseenCount(Player observer, Card card) {
+        return unseen[observer.getSeat() * CARDS.length + card.ordinal()] - countInHand(observer.getHand(), card);
+    }
+
+    /**
+     * Counts all the cards the observer did not see yet.
+     */
+    public int getUnseenCount(Player observer) {
+        return numOfUnseen[observer.getSeat()] - observer.getHand().size();
+    }
+
+    /**
+     * Gets the chance, as the observer sees it, that the holder has the given card.
+     *
+     * @param observer
+     *          the seat asking
+     * @param holder
+     *          the seat whose hand is guessed
+     * @param card
+     *          the card
+     * @return the probability, between 0 and 1
+     */
+    public double getProbability(Player observer, Player holder, Card card) {
+        if (observer == holder) {
+            return observer.getHand().contains(card) ? 1 : 0;
+        }
+        if (!holder.getHand().hasCards()) {
+            return 0;
+        }
+        Card knownCard = getKnownCard(observer, holder);
+        if (knownCard != null) {
+            return knownCard == card ? 1 : 0;
+        }
+        int cards = getRuledOut(observer.getSeat(), holder.getSeat());
+        if ((cards & 1 << card.ordinal()) != 0) {
+            return 0;
+        }
+        int total = getUnseenCount(observer);
+        for (; cards != 0; cards &= cards - 1) {
+            total -= getUnseenCount(observer, CARDS[Integer.numberOfTrailingZeros(cards)]);
+        }
+        return total > 0 ? (double) getUnseenCount(observer, card) / total : 0;
+    }
+
+    private static int countInHand(Hand hand, Card card) {
+        int count = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.peek(i) == card) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,5 +1,9 @@
 package edu.cmu.f23qa.loveletter;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 public enum Card {
     GUARD("Guard", 1),
     PRIEST("Priest", 2),
@@ -22,6 +26,8 @@ public enum Card {
     private String name;
     private int value;
 
+    private static final Map<String, Card> BY_NAME = new HashMap<>();
+
     /**
      * All possible card names.
      */
@@ -45,6 +51,24 @@ public enum Card {
         "assassin"
     };
 
+    static {
+        // CARD_NAMES follows the order of the cards
+        for (Card card : values()) {
+            BY_NAME.put(CARD_NAMES[card.ordinal()], card);
+        }
+    }
+
+    /**
+     * Finds a card by its name, in any case.
+     *
+     * @param name
+     *          the name of the card, such as "dowager queen"
+     * @return the card, or null if no card has that name
+     */
+    public static Card forName(String name) {
+        return BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Constructor for a card object.
      *
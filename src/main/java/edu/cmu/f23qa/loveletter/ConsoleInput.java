@@ -0,0 +1,120 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * The answers typed by the players, read line by line. The console reads them with a BufferedReader,
+ * which does not match every line against a pattern as a Scanner does, the tests feed them
+ * through a Scanner. GameServer feeds the lines a seat typed so far, and asks again once more arrive.
+ */
+final class ConsoleInput {
+    private final BufferedReader reader;
+    private final Scanner scanner;
+    private final Iterator<String> lines;
+
+    /**
+     * Constructor for the input of the console.
+     *
+     * @param reader
+     *          the reader of the lines typed
+     */
+    ConsoleInput(BufferedReader reader) {
+        this.reader = reader;
+        this.scanner = null;
+        this.lines = null;
+    }
+
+    /**
+     * Constructor for an input fed through a Scanner.
+     *
+     * @param scanner
+     *          the scanner of the lines typed
+     */
+    ConsoleInput(Scanner scanner) {
+        this.reader = null;
+        this.scanner = scanner;
+        this.lines = null;
+    }
+
+    /**
+     * Constructor for an input of the lines already typed, it ends where they do.
+     *
+     * @param lines
+     *          the lines typed, without their line terminators
+     */
+    ConsoleInput(Iterator<String> lines) {
+        this.reader = null;
+        this.scanner = null;
+        this.lines = lines;
+    }
+
+    /**
+     * Reads the next line, without its line terminator.
+     *
+     * @return the line
+     * @throws NoSuchElementException
+     *          if the input ended, as a Scanner does
+     */
+    String readLine() {
+        if (scanner != null) {
+            return scanner.nextLine();
+        }
+        if (lines != null) {
+            return lines.next();
+        }
+        try {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new NoSuchElementException("No line found");
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the console input", e);
+        }
+    }
+
+    /**
+     * Parses a whole number typed by a player, surrounding spaces are ignored. Never throws.
+     *
+     * @param text
+     *          the text typed
+     * @param invalid
+     *          the number returned when the text is not a number
+     * @return the number, or the invalid number
+     */
+    static int parseNumber(String text, int invalid) {
+        int end = text.length();
+        int start = 0;
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        boolean negative = start < end && text.charAt(start) == '-';
+        if (negative || start < end && text.charAt(start) == '+') {
+            start++;
+        }
+        if (start == end) {
+            return invalid;
+        }
+        long number = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return invalid;
+            }
+            number = number * 10 + (c - '0');
+            if (number > Integer.MAX_VALUE + 1L) {
+                return invalid;
+            }
+        }
+        number = negative ? -number : number;
+        return number > Integer.MAX_VALUE ? invalid : (int) number;
+    }
+}
@@ -0,0 +1,143 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the console output of the game into one frame and writes it out at once, rather than
+ * writing and flushing every line on its own. GameUI flushes the frame before it reads an input,
+ * before a new turn is shown and at the end of a round and of the game.
+ *
+ * The display strings of the cards are built once. The discard piles are shown to the player
+ * about to play only when they changed since that seat last saw them.
+ */
+final class ConsoleRenderer {
+    private static final Card[] CARDS = Card.values();
+    private static final String[] CARD_STRINGS = new String[CARDS.length];
+
+    static {
+        for (Card card : CARDS) {
+            CARD_STRINGS[card.ordinal()] = card.toString();
+        }
+    }
+
+    private final PrintStream out;
+    private final StringBuilder frame = new StringBuilder(4096);
+
+    /*
+     * For every viewing seat and every seat, the pile shown last and how many changes it had then.
+     */
+    private DiscardPile[][] shownPiles = new DiscardPile[0][];
+    private int[][] shownChanges = new int[0][];
+
+    /**
+     * Constructor for a renderer.
+     *
+     * @param out
+     *          the stream the frames are written to
+     */
+    ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    ConsoleRenderer print(String text) {
+        frame.append(text);
+        return this;
+    }
+
+    ConsoleRenderer print(Card card) {
+        frame.append(CARD_STRINGS[card.ordinal()]);
+        return this;
+    }
+
+    ConsoleRenderer print(int number) {
+        frame.append(number);
+        return this;
+    }
+
+    ConsoleRenderer println(String text) {
+        frame.append(text).append('\n');
+        return this;
+    }
+
+    ConsoleRenderer println(Card card) {
+        frame.append(CARD_STRINGS[card.ordinal()]).append('\n');
+        return this;
+    }
+
+    ConsoleRenderer println() {
+        frame.append('\n');
+        return this;
+    }
+
+    /**
+     * Adds a list of cards, one per line.
+     */
+    ConsoleRenderer cards(List<Card> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            println(cards.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the name and discard pile of every player.
+     */
+    void usedPiles(List<Player> players) {
+        for (int i = 0; i < players.size(); i++) {
+            usedPile(players.get(i));
+        }
+    }
+
+    /**
+     * Adds the name and discard pile of the players whose pile changed since the viewer last saw it.
+     *
+     * @param viewer
+     *          the player about to play
+     * @param players
+     *          the players of the game
+     */
+    void usedPiles(Player viewer, List<Player> players) {
+        int seat = viewer.getSeat();
+        if (seat < 0) {
+            usedPiles(players);
+            return;
+        }
+        if (seat >= shownPiles.length) {
+            shownPiles = Arrays.copyOf(shownPiles, seat + 1);
+            shownChanges = Arrays.copyOf(shownChanges, seat + 1);
+        }
+        if (shownPiles[seat] == null || shownPiles[seat].length < players.size()) {
+            shownPiles[seat] = new DiscardPile[players.size()];
+            shownChanges[seat] = new int[players.size()];
+        }
+        DiscardPile[] piles = shownPiles[seat];
+        int[] changes = shownChanges[seat];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            DiscardPile pile = player.getDiscarded();
+            if (pile != piles[i] || pile.getChanges() != changes[i]) {
+                usedPile(player);
+                piles[i] = pile;
+                changes[i] = pile.getChanges();
+            }
+        }
+    }
+
+    private void usedPile(Player player) {
+        frame.append('\n').append(player.getName()).append('\n');
+        cards(player.getDiscarded().getCards());
+    }
+
+    /**
+     * Writes the frame with a single write and starts an empty one.
+     */
+    void flush() {
+        if (frame.length() > 0) {
+            out.print(frame);
+            out.flush();
+            frame.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+
+/**
+ * The decisions a seat has to make during the game. The console GameUI is one
+ * implementation, bots implement it directly and are attached to their seat with
+ * {@link Player#setDecisionProvider(DecisionProvider)}.
+ *
+ * Every method receives the player who has to decide, so one provider can serve several seats.
+ */
+public interface DecisionProvider {
+
+    /**
+     * Picks the card to play from the two cards in the user's hand.
+     * The chosen card is removed from the hand.
+     *
+     * @param user
+     *          the current player
+     * @return
+     *          the chosen card
+     */
+    Card getCard(Player user);
+
+    /**
+     * Picks the target of a card.
+     * @param players
+     *          the list of players
+     * @param user
+     *          the player choosing an opponent
+     * @param syncophantFlag
+     *          flag to indicate if a player is marked with Syncophant
+     * @param syncophantChosenPlayer
+     *          the player is marked by Sycophant
+     * @param includeSelf
+     *          if the target player can be the player himself
+     * @return
+     *          the chosen target player, null if no player can be targeted
+     */
+    Player getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf);
+
+    /**
+     * Picks the card guessed with a Guard, any card but the Guard.
+     *
+     * @param user
+     *          the player using the Guard
+     * @return
+     *          the guessed card
+     */
+    Card getGuardGuess(Player user);
+
+    /**
+     * Picks the card value guessed with a Bishop.
+     *
+     * @param user
+     *          the player using the Bishop
+     * @return
+     *          the guessed value, 0 to 9
+     */
+    int getBishopGuess(Player user);
+
+    /**
+     * Picks how many opponents to look at with a Baroness.
+     *
+     * @param players
+     *          the list of players
+     * @param user
+     *          the player using the Baroness
+     * @return
+     *          the number of opponents, 0 if nobody can be targeted
+     */
+    int getNumOfPlayerForBaroness(PlayerList players, Player user);
+
+    /**
+     * Picks which of the two players swapped by a Cardinal to look at.
+     *
+     * @param user
+     *          the player using the Cardinal
+     * @param one
+     *          the first swapped player
+     * @param two
+     *          the second swapped player
+     * @return
+     *          one or two, or null to not look at any card
+     */
+    Player cardinalPeekOne(Player user, Player one, Player two);
+
+    /**
+     * Asks the opponent whose card was guessed with a Bishop if they want to swap it.
+     *
+     * @param opponent
+     *          the player whose card was guessed
+     * @return
+     *          true to discard the card and draw a new one
+     */
+    boolean getUserSwapConfirmation(Player opponent);
+
+    /**
+     * Picks which of the tied round winners starts the next round.
+     *
+     * @param players
+     *          the tied round winners
+     * @return
+     *          the starting player
+     */
+    Player getStartingPlayer(List<Player> players);
+
+    /**
+     * Called when a game with this provider at one of its seats starts or resumes.
+     * Bots that search the game keep it, the default does nothing.
+     *
+     * @param game
+     *          the game
+     */
+    default void joinGame(Game game) {
+    }
+
+    /**
+     * Returns the provider deciding for the given seat.
+     *
+     * @param player
+     *          the deciding player
+     * @param fallback
+     *          the provider to use when the seat has none attached, usually the GameUI
+     * @return
+     *          the seat's provider or the fallback
+     */
+    static DecisionProvider forSeat(Player player, DecisionProvider fallback) {
+        DecisionProvider seat = player.getDecisionProvider();
+        return seat != null ? seat : fallback;
+    }
+}
@@ -0,0 +1,130 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records every decision taken in a game, in order, as a stream of ints. Together with the seed of
+ * the game, the stream is all a Replay needs to play the game again.
+ *
+ * A card is recorded as its ordinal, a player as its seat or -1 for no player, a confirmation
+ * as 1 or 0 and a number as itself.
+ */
+public final class DecisionRecorder {
+    private int[] decisions = new int[64];
+    private int size;
+
+    /**
+     * Constructor for a recorder of the decisions of every seat of a game, attached to the seats
+     * before the game starts.
+     *
+     * @param game
+     *          the game to record, with all its players seated
+     * @param fallback
+     *          the decision provider of the seats without their own, usually the UI of the game
+     */
+    public DecisionRecorder(Game game, DecisionProvider fallback) {
+        PlayerList players = game.getPlayers();
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            Player player = players.getPlayerAt(seat);
+            player.setDecisionProvider(new Seat(DecisionProvider.forSeat(player, fallback)));
+        }
+    }
+
+    /**
+     * @return the number of decisions recorded
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the decisions recorded so far
+     */
+    public int[] getDecisions() {
+        return Arrays.copyOf(decisions, size);
+    }
+
+    private void record(int decision) {
+        if (size == decisions.length) {
+            decisions = Arrays.copyOf(decisions, size * 2);
+        }
+        decisions[size++] = decision;
+    }
+
+    private static int seatOf(Player player) {
+        return player == null ? -1 : player.getSeat();
+    }
+
+    /**
+     * Passes the decisions of one seat on to its provider and records them.
+     */
+    private final class Seat implements DecisionProvider {
+        private final DecisionProvider decisions;
+
+        Seat(DecisionProvider decisions) {
+            this.decisions = decisions;
+        }
+
+        @Override
+        public void joinGame(Game game) {
+            decisions.joinGame(game);
+        }
+
+        @Override
+        public Card getCard(Player user) {
+            Card card = decisions.getCard(user);
+            record(card.ordinal());
+            return card;
+        }
+
+        @Override
+        public Player getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+            Player opponent = decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, includeSelf);
+            record(seatOf(opponent));
+            return opponent;
+        }
+
+        @Override
+        public Card getGuardGuess(Player user) {
+            Card guess = decisions.getGuardGuess(user);
+            record(guess.ordinal());
+            return guess;
+        }
+
+        @Override
+        public int getBishopGuess(Player user) {
+            int guess = decisions.getBishopGuess(user);
+            record(guess);
+            return guess;
+        }
+
+        @Override
+        public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+            int numOfPlayers = decisions.getNumOfPlayerForBaroness(players, user);
+            record(numOfPlayers);
+            return numOfPlayers;
+        }
+
+        @Override
+        public Player cardinalPeekOne(Player user, Player one, Player two) {
+            Player peeked = decisions.cardinalPeekOne(user, one, two);
+            record(seatOf(peeked));
+            return peeked;
+        }
+
+        @Override
+        public boolean getUserSwapConfirmation(Player opponent) {
+            boolean swap = decisions.getUserSwapConfirmation(opponent);
+            record(swap ? 1 : 0);
+            return swap;
+        }
+
+        @Override
+        public Player getStartingPlayer(List<Player> players) {
+            Player starter = decisions.getStartingPlayer(players);
+            record(seatOf(starter));
+            return starter;
+        }
+    }
+}
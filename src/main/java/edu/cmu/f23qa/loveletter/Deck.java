@@ -2,16 +2,109 @@ package edu.cmu.f23qa.loveletter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EmptyStackException;
 import java.util.List;
-import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * The deck of cards, stored as card ordinals. The top of the deck is the end of the array.
+ *
+ * Shuffling is lazy: shuffle() only marks the deck as shuffled, and every draw picks a random
+ * remaining card and swaps it to the top (one step of a Fisher-Yates shuffle). Cards that are
+ * never drawn are never shuffled.
+ */
 public class Deck {
-    private Stack<Card> deck;
     private static int MAX_STANDARD_PLAYER = 4;
+    private static final Card[] CARDS = Card.values();
+
+    /**
+     * The cards of each edition, in the order they are put on the deck.
+     */
+    private static final byte[] STANDARD_CARDS = ordinals(standardCards());
+    private static final byte[] PREMIUM_CARDS = ordinals(premiumCards());
+
+    private byte[] deck;
+    private int size;
+    private boolean shuffled;
+
+    /**
+     * True when the top card was already picked by viewNextCard and must be the next one drawn.
+     */
+    private boolean topPicked;
     private Card setAsideCard;
 
+    /**
+     * The cards set aside face up in a two player round, never changed once dealt.
+     */
+    private List<Card> faceUpCards = List.of();
+
+    /**
+     * True while the cards may be shared with a fork or the deck it was forked from,
+     * the array is copied before it changes.
+     */
+    private boolean shared;
+
+    /**
+     * The sum of the Zobrist keys of the cards left and the set-aside card, kept on every draw.
+     */
+    private long hash;
+
+    /**
+     * Every deck owns its generator, so decks of parallel games never share state,
+     * and the same seed always gives the same order of cards.
+     */
+    private final long seed;
+    private final SplitMixRandom random;
+
+    /**
+     * Constructor for a deck with a random seed.
+     */
     public Deck() {
-        this.deck = new Stack<>();
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for a deck replaying the shuffles of the given seed.
+     *
+     * @param seed
+     *          the seed of the game
+     */
+    public Deck(long seed) {
+        this.deck = new byte[PREMIUM_CARDS.length];
+        this.seed = seed;
+        this.random = new SplitMixRandom(seed);
+    }
+
+    private Deck(Deck parent) {
+        this.deck = parent.deck;
+        this.size = parent.size;
+        this.shuffled = parent.shuffled;
+        this.topPicked = parent.topPicked;
+        this.setAsideCard = parent.setAsideCard;
+        this.faceUpCards = parent.faceUpCards;
+        this.hash = parent.hash;
+        this.seed = parent.seed;
+        this.random = new SplitMixRandom(parent.random.getState());
+        this.shared = true;
+        parent.shared = true;
+    }
+
+    /**
+     * Copies the deck for a forked game. The fork draws the same cards as this deck
+     * would, and the cards are only copied once either deck shuffles or is rebuilt.
+     */
+    Deck fork() {
+        return new Deck(this);
+    }
+
+    /**
+     * Takes a private copy of the cards before changing them.
+     */
+    private void ownCards() {
+        if (shared) {
+            deck = deck.clone();
+            shared = false;
+        }
     }
 
     /**
@@ -20,7 +113,10 @@ public class Deck {
     public void setDeck(int numOfPlayer, GameUI gameUI) {
         build(numOfPlayer);
         shuffle();
+        hash -= Zobrist.setAside(setAsideCard);
         setAsideCard = draw();
+        hash += Zobrist.setAside(setAsideCard);
+        faceUpCards = List.of();
         // If two players are playing the game, then three
         // cards should be set aside face up.
         if(numOfPlayer == 2) {
@@ -28,68 +124,206 @@ public class Deck {
             for (int i=0; i<3; i++){
                 cards.add(draw());
             }
+            faceUpCards = Collections.unmodifiableList(cards);
             gameUI.showFaceUpSetAsideCards(cards);
         }
     }
 
+    /**
+     * Puts all the cards of the edition back in the deck, unshuffled.
+     */
     public void build(int numOfPlayer) {
-        deck.clear();
+        byte[] cards = edition(numOfPlayer);
+        ownCards();
+        System.arraycopy(cards, 0, deck, 0, cards.length);
+        size = cards.length;
+        shuffled = false;
+        topPicked = false;
+        rehash();
+    }
+
+    /**
+     * Sums the keys of the cards left and the set-aside card from scratch.
+     */
+    private void rehash() {
+        hash = Zobrist.setAside(setAsideCard);
+        for (int i = 0; i < size; i++) {
+            hash += Zobrist.deck(deck[i]);
+        }
+    }
 
+    /**
+     * Gets the card ordinals of the edition played by the given number of players,
+     * in the order they are put on the deck. The array is shared and must not be modified.
+     */
+    static byte[] edition(int numOfPlayer) {
+        // Additional cards are added for Premium version
+        return numOfPlayer > MAX_STANDARD_PLAYER ? PREMIUM_CARDS : STANDARD_CARDS;
+    }
+
+    private static List<Card> standardCards() {
+        List<Card> cards = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
-            deck.push(Card.GUARD);
+            cards.add(Card.GUARD);
         }
 
         for (int i = 0; i < 2; i++) {
-            deck.push(Card.PRIEST);
-            deck.push(Card.BARON);
-            deck.push(Card.HANDMAIDEN);
-            deck.push(Card.PRINCE);
+            cards.add(Card.PRIEST);
+            cards.add(Card.BARON);
+            cards.add(Card.HANDMAIDEN);
+            cards.add(Card.PRINCE);
         }
 
-        deck.push(Card.KING);
-        deck.push(Card.COUNTESS);
-        deck.push(Card.PRINCESS);
+        cards.add(Card.KING);
+        cards.add(Card.COUNTESS);
+        cards.add(Card.PRINCESS);
+        return cards;
+    }
 
-        // Additional cards are added for Premium version
-        if (numOfPlayer > MAX_STANDARD_PLAYER) {
-            deck.push(Card.BISHOP);
-            deck.push(Card.DOWAGERQUEEN);
-            deck.push(Card.CONSTABLE);
-            deck.push(Card.JESTER);
-            deck.push(Card.ASSASSIN);
-
-            for (int i = 0; i < 2; i++) {
-                deck.push(Card.COUNT);
-                deck.push(Card.SYNCOPHANT);
-                deck.push(Card.BARONESS);
-                deck.push(Card.CARDINAL);
-            }
+    private static List<Card> premiumCards() {
+        List<Card> cards = standardCards();
+        cards.add(Card.BISHOP);
+        cards.add(Card.DOWAGERQUEEN);
+        cards.add(Card.CONSTABLE);
+        cards.add(Card.JESTER);
+        cards.add(Card.ASSASSIN);
 
-            for (int i = 0; i < 3; i++) {
-                deck.push(Card.GUARD);
-            }
+        for (int i = 0; i < 2; i++) {
+            cards.add(Card.COUNT);
+            cards.add(Card.SYNCOPHANT);
+            cards.add(Card.BARONESS);
+            cards.add(Card.CARDINAL);
         }
+
+        for (int i = 0; i < 3; i++) {
+            cards.add(Card.GUARD);
+        }
+        return cards;
+    }
+
+    private static byte[] ordinals(List<Card> cards) {
+        byte[] ordinals = new byte[cards.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) cards.get(i).ordinal();
+        }
+        return ordinals;
     }
 
+    /**
+     * Marks the deck as shuffled, the cards are picked at random when they are drawn.
+     */
     public void shuffle() {
-        Collections.shuffle(deck);
+        shuffled = true;
+    }
+
+    /**
+     * Moves a random remaining card to the top of the deck, once per drawn card.
+     */
+    private void pickTop() {
+        if (shuffled && !topPicked) {
+            int top = size - 1;
+            int j = random.nextInt(size);
+            ownCards();
+            byte card = deck[j];
+            deck[j] = deck[top];
+            deck[top] = card;
+        }
+        topPicked = true;
     }
 
     public Card draw() {
-        return deck.pop();
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        pickTop();
+        topPicked = false;
+        byte card = deck[--size];
+        hash -= Zobrist.deck(card);
+        return CARDS[card];
     }
 
     public boolean hasMoreCards() {
-        return !deck.isEmpty();
+        return size > 0;
     }
 
     public int returnNumberOfCardsRemaining(){
-        return deck.size();
+        return size;
     }
 
     public Card viewNextCard() {
-        return deck.peek();
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        pickTop();
+        return CARDS[deck[size - 1]];
     }
 
     public Card getSetAsideCard() { return setAsideCard; }
+
+    /**
+     * @return the cards set aside face up in a two player round, seen by everybody, empty otherwise
+     */
+    public List<Card> getFaceUpCards() {
+        return faceUpCards;
+    }
+
+    void setFaceUpCards(List<Card> faceUpCards) {
+        this.faceUpCards = List.copyOf(faceUpCards);
+    }
+
+    /**
+     * @return the seed the deck was created with, a game can be replayed from it
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /*
+     * The raw state of the deck, read and restored by GameSnapshot.
+     */
+
+    byte ordinalAt(int idx) {
+        return deck[idx];
+    }
+
+    boolean isShuffled() {
+        return shuffled;
+    }
+
+    boolean isTopPicked() {
+        return topPicked;
+    }
+
+    long getRandomState() {
+        return random.getState();
+    }
+
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Restores the remaining cards and the generator of a snapshot.
+     *
+     * @param ordinals
+     *          the buffer holding the card ordinals, bottom of the deck first
+     * @param offset
+     *          the position of the bottom card in the buffer
+     * @param size
+     *          the number of remaining cards
+     */
+    void restore(byte[] ordinals, int offset, int size, boolean shuffled, boolean topPicked,
+                 Card setAsideCard, long randomState) {
+        if (size > deck.length) {
+            throw new IllegalArgumentException("A deck holds at most " + deck.length + " cards, got " + size);
+        }
+        ownCards();
+        System.arraycopy(ordinals, offset, deck, 0, size);
+        this.size = size;
+        this.shuffled = shuffled;
+        this.topPicked = topPicked;
+        this.setAsideCard = setAsideCard;
+        random.setState(randomState);
+        rehash();
+    }
 }
@@ -1,34 +1,141 @@
 package edu.cmu.f23qa.loveletter;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * The cards discarded by a player, in the order they were discarded.
+ * The total value and the number of copies of each card are kept up to date
+ * on every change, so querying them does not walk the pile.
+ *
+ * A forked pile shares its cards with the pile it was forked from, until
+ * either of them changes: that one copies the cards first.
+ */
 public class DiscardPile {
     private ArrayList<Card> cards;
+    private List<Card> view;
+
+    /**
+     * The player discarding into the pile, told about every card and when the pile is cleared,
+     * null for a pile without owner.
+     */
+    private final Player owner;
+    private int[] counts;
+    private int value;
+
+    /**
+     * Counts the changes of the pile, to tell whether it changed since it was last shown.
+     */
+    private int changes;
+
+    /**
+     * True while the cards may be shared with a fork or the pile it was forked from.
+     */
+    private boolean shared;
 
     public DiscardPile() {
+        this(null);
+    }
+
+    DiscardPile(Player owner) {
+        this.owner = owner;
         this.cards = new ArrayList<>();
+        this.counts = new int[Card.values().length];
+    }
+
+    private DiscardPile(DiscardPile parent, Player owner) {
+        this.owner = owner;
+        this.cards = parent.cards;
+        this.counts = parent.counts;
+        this.value = parent.value;
+        this.changes = parent.changes;
+        this.shared = true;
+        parent.shared = true;
+    }
+
+    /**
+     * Copies the pile for a forked game, the cards are only copied once either pile changes.
+     */
+    DiscardPile fork(Player owner) {
+        return new DiscardPile(this, owner);
     }
 
     public void add(Card card) {
+        if (this.shared) {
+            this.cards = new ArrayList<>(this.cards);
+            this.counts = this.counts.clone();
+            this.shared = false;
+        }
         this.cards.add(card);
+        this.counts[card.ordinal()]++;
+        this.value += card.value();
+        this.changes++;
+        if (this.owner != null) {
+            this.owner.cardDiscarded(card);
+        }
     }
 
     public int value() {
-        int value = 0;
-        for (Card c : this.cards) {
-            value += c.value();
-        }
-        return value;
+        return this.value;
     }
 
     public void clear() {
-        this.cards.clear();
+        if (this.shared) {
+            this.cards = new ArrayList<>();
+            this.counts = new int[this.counts.length];
+            this.shared = false;
+        } else {
+            this.cards.clear();
+            Arrays.fill(this.counts, 0);
+        }
+        this.value = 0;
+        this.changes++;
+        if (this.owner != null) {
+            this.owner.discardsCleared();
+        }
+    }
+
+    /**
+     * @return the number of cards added and clears of the pile so far
+     */
+    int getChanges() {
+        return this.changes;
     }
 
-    public List<Card> getCards() { return this.cards; }
+    /**
+     * @return a read-only view of the discarded cards, oldest first, it follows the changes of the pile
+     */
+    public List<Card> getCards() {
+        if (this.view == null) {
+            this.view = new AbstractList<Card>() {
+                @Override
+                public Card get(int idx) {
+                    return cards.get(idx);
+                }
+
+                @Override
+                public int size() {
+                    return cards.size();
+                }
+            };
+        }
+        return this.view;
+    }
+
+    /**
+     * Counts the copies of a card in the pile.
+     *
+     * @param card
+     *          the card to count
+     * @return the number of copies of the card
+     */
+    public int count(Card card) {
+        return this.counts[card.ordinal()];
+    }
 
     public boolean containsConstable (){
-        return this.cards.contains(Card.CONSTABLE);
+        return count(Card.CONSTABLE) > 0;
     }
 }
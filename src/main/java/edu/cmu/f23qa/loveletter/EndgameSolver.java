@@ -0,0 +1,1268 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Solves the end of a round exactly once only a handful of cards are left in the deck,
+ * and picks the action with the best chance to win the round.
+ *
+ * The solver plays the rest of the round on forks of the game with Moves and Game.apply, so it
+ * follows the same rules as every other bot. It takes the expectation over:
+ * - the hands the user cannot see, dealt from the cards the Beliefs of the table count as unseen,
+ *   leaving out the cards a missed guess ruled out
+ * - the cards drawn, every card left to draw being as likely to come next
+ * - the actions of the opponents, who play like RandomDecisions: either card with the same chance,
+ *   never the Princess, then any action of that card with the same chance. They do not look at
+ *   the hidden cards, and the target of a Bishop never swaps.
+ *
+ * The next turn of the user is played without the hidden cards too: the user takes one action for
+ * all the positions that look the same to them, the same public cards, their hand and the cards
+ * they know from the Beliefs, the one with the best chance to win summed over those positions. So
+ * the search stops at every position from which the user may play again, and goes on from there
+ * once with the chances of all the ways to it. A deck of at most 3 cards leaves the user one more
+ * turn at most, and the chance to win is then exact against these opponents, for a user who does
+ * not remember which wrong guesses were made. A turn after that takes the best action of the position.
+ *
+ * Nobody looks at a hidden hand before its player plays or is targeted, so until then the card is
+ * one of the unseen cards like the deck and the set-aside card, and it is only dealt at that point.
+ * Only the hands with cards ruled out are dealt from the start. An opponent whose card is not dealt
+ * plays the card they draw, which is as likely as playing the card they keep for a hand dealt either
+ * way round; the hands with the Princess or with the Countess and a King or a Prince are searched
+ * again with both cards dealt to make up the difference. Positions then only differ by the cards
+ * seen, and the positions between two turns after which the user does not play again are kept in
+ * a transposition table of a fixed size, a new position replaces the one in its slot. They do not
+ * depend on the deal they come from, so the table is shared by all the deals and all the turns the
+ * solver is asked for. Actions that only differ by what their player sees are played once: every
+ * wrong guess of a Guard or a Bishop, the targets of a Priest or a Baroness and the peek of a
+ * Cardinal, for the opponents and for the user past their next turn.
+ *
+ * A solve searches at most a given number of positions, so that a turn takes a few milliseconds even
+ * with 4 players. A solve that would search more gives up and returns UNSOLVED, and the caller decides
+ * the turn another way.
+ */
+public final class EndgameSolver {
+    /**
+     * The deck size at and below which the user plays at most once more, so that the solve is exact.
+     */
+    public static final int DEFAULT_MAX_DECK_SIZE = 3;
+
+    /**
+     * The number of positions a solve searches at most by default, about 10 ms.
+     */
+    public static final long DEFAULT_MAX_POSITIONS = 6_000;
+
+    /**
+     * What solve returns when the search needs more positions than it may search.
+     */
+    public static final int UNSOLVED = -1;
+
+    private static final int DEFAULT_TABLE_BITS = 16;
+    private static final Card[] CARDS = Card.values();
+    private static final int NUM_CARDS = CARDS.length;
+    private static final int MAX_SEATS = Integer.SIZE;
+
+    /*
+     * The keys added to the hash of the game for what it does not hold: the size of the deck, the user,
+     * the seats whose card is not dealt yet and, for what the user sees, the card they kept, whether
+     * each opponent is in the round and the card the user knows they hold.
+     */
+    private static final long[] DECK_SIZE = new long[Moves.MAX_MOVES];
+    private static final long[] USER = new long[MAX_SEATS];
+    private static final long[] UNDEALT = new long[MAX_SEATS];
+    private static final long[] KEPT = new long[NUM_CARDS];
+    private static final long[] IN_ROUND = new long[MAX_SEATS];
+    private static final long[] KNOWN = new long[MAX_SEATS * NUM_CARDS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0xE4D6A3EL);
+        for (long[] keys : new long[][] { DECK_SIZE, USER, UNDEALT, KEPT, IN_ROUND, KNOWN }) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+    }
+
+    private final int maxDeckSize;
+    private final int tableMask;
+    private final long maxPositions;
+
+    /**
+     * The transposition table, an entry is the key of a position followed by the bits of the chance
+     * of the user to win from there.
+     */
+    private final long[] table;
+    private int numOfSeats;
+    private int inGameSeats;
+    private int targetAffectionPoints;
+
+    /**
+     * The turns searched from the positions the user may play again from, by key, for the solve.
+     */
+    private final Map<Long, Expansion> expansions = new HashMap<>();
+
+    /*
+     * The state of a solve: the seat of the user, the UI the forks play with, whether the search is
+     * on its way to the next turn of the user and the turn it searches then.
+     */
+    private int user;
+    private HeadlessGameUI silentUI;
+    private boolean forward;
+    private Expansion expansion;
+
+    /**
+     * The buffers of the turns, by depth.
+     */
+    private final List<Frame> frames = new ArrayList<>();
+
+    private double winProbability;
+    private long positions;
+
+    /**
+     * A deal of the hands with cards ruled out, the other unseen cards laid out in any order, and its chance.
+     */
+    private static final class Deal {
+        final Game game;
+        final int undealt;
+        final double weight;
+
+        Deal(Game game, int undealt, double weight) {
+            this.game = game;
+            this.undealt = undealt;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The actions of the turns of the user that look the same to them, and the chance to win of each
+     * summed over those turns, weighted by the chance to reach them.
+     */
+    private static final class InfoSet {
+        final double[] sums;
+
+        InfoSet(int numOfMoves) {
+            sums = new double[numOfMoves];
+        }
+    }
+
+    /**
+     * A position between two turns, and the chance to reach it summed over the ways it is reached.
+     */
+    private static final class Reached {
+        final Game game;
+        final int undealt;
+        double reach;
+
+        Reached(Game game, int undealt, double reach) {
+            this.game = game;
+            this.undealt = undealt;
+            this.reach = reach;
+        }
+    }
+
+    /**
+     * The search on from a position the user may play again from, as if it was reached for sure: the
+     * chance to win over the ways the user does not play again, and the next turns of the user by what
+     * the user sees. Until the turn from the position is folded, it also holds the positions after that
+     * turn the user still may play again from, by key, with the chance to reach them.
+     */
+    private static final class Expansion {
+        double value;
+        final Map<Long, Reached> reached = new HashMap<>();
+        final Map<Long, InfoSet> turns = new HashMap<>();
+    }
+
+    /**
+     * The actions of a turn with their chances or values and the undealt seats each of them targets,
+     * then a group of the actions targeting the same seats, before and after merging the actions
+     * with the same outcome.
+     */
+    private static final class Frame {
+        final int[] actions = new int[Moves.MAX_MOVES];
+        final double[] weights = new double[Moves.MAX_MOVES];
+        final int[] seats = new int[Moves.MAX_MOVES];
+        final int[] group = new int[Moves.MAX_MOVES];
+        final double[] groupWeights = new double[Moves.MAX_MOVES];
+        final int[] merged = new int[Moves.MAX_MOVES];
+        final double[] mergedWeights = new double[Moves.MAX_MOVES];
+    }
+
+    /**
+     * Thrown to leave the search once it went over the positions it may search.
+     */
+    private static final class PositionsExceeded extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        PositionsExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final PositionsExceeded POSITIONS_EXCEEDED = new PositionsExceeded();
+
+    /**
+     * What is searched once the cards looked at are dealt.
+     */
+    private interface Search {
+        double value(Game game, int undealt, double reach);
+    }
+
+    /**
+     * Constructor for a solver with the default deck size and positions, and a table of 65536 positions.
+     */
+    public EndgameSolver() {
+        this(DEFAULT_MAX_DECK_SIZE, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Constructor for a solver searching at most the default number of positions.
+     *
+     * @param maxDeckSize
+     *          the largest deck the solver takes on
+     * @param tableBits
+     *          the transposition table holds 2^tableBits positions
+     */
+    public EndgameSolver(int maxDeckSize, int tableBits) {
+        this(maxDeckSize, tableBits, DEFAULT_MAX_POSITIONS);
+    }
+
+    /**
+     * Constructor for a solver.
+     *
+     * @param maxDeckSize
+     *          the largest deck the solver takes on
+     * @param tableBits
+     *          the transposition table holds 2^tableBits positions
+     * @param maxPositions
+     *          the number of positions a solve searches before it gives up, Long.MAX_VALUE to always solve
+     */
+    public EndgameSolver(int maxDeckSize, int tableBits, long maxPositions) {
+        if (maxDeckSize < 0) {
+            throw new IllegalArgumentException("The deck size cannot be negative, got " + maxDeckSize);
+        }
+        if (tableBits < 1 || tableBits > 24) {
+            throw new IllegalArgumentException("The table takes 1 to 24 bits, got " + tableBits);
+        }
+        if (maxPositions < 1) {
+            throw new IllegalArgumentException("A solve searches at least one position, got " + maxPositions);
+        }
+        this.maxDeckSize = maxDeckSize;
+        this.tableMask = (1 << tableBits) - 1;
+        this.maxPositions = maxPositions;
+        this.table = new long[2 << tableBits];
+    }
+
+    public int getMaxDeckSize() {
+        return maxDeckSize;
+    }
+
+    /**
+     * Checks the deck of the game is small enough to solve the rest of the round.
+     */
+    public boolean canSolve(Game game) {
+        return game.getDeck().returnNumberOfCardsRemaining() <= maxDeckSize;
+    }
+
+    /**
+     * Gets the chance to win the round of the action chosen by the last solve, NaN if it gave up.
+     */
+    public double getWinProbability() {
+        return winProbability;
+    }
+
+    /**
+     * Gets the number of positions searched by the last solve, the table hits included.
+     */
+    public long getPositions() {
+        return positions;
+    }
+
+    /**
+     * Solves the turn of the user, who holds the card they drew.
+     *
+     * @param game
+     *          the game, the deck holding at most getMaxDeckSize cards
+     * @param user
+     *          the player of the turn, holding two cards
+     * @param beliefs
+     *          what the seats know of the cards, null if only the discarded and face up cards are known
+     * @return the best action, as encoded by Moves, or UNSOLVED if the search needs more positions than allowed
+     */
+    public int solve(Game game, Player user, Beliefs beliefs) {
+        Deck deck = game.getDeck();
+        if (deck.returnNumberOfCardsRemaining() > maxDeckSize) {
+            throw new IllegalStateException("The deck holds " + deck.returnNumberOfCardsRemaining()
+                + " cards, more than the " + maxDeckSize + " the solver takes on");
+        }
+        if (user.getHand().size() != 2) {
+            throw new IllegalStateException(user.getName() + " has not drawn their card");
+        }
+
+        // the next turn of the user is told apart by what the user knows, forked along
+        Game root = beliefs != null ? game.forkWithBeliefs() : game.fork();
+        root.trackBeliefs();
+        root.silence();
+        silentUI = root.silentUI();
+        root.setTurnPlayer(root.getPlayers().getPlayerAt(user.getSeat()));
+        int[] rootMoves = new int[Moves.MAX_MOVES];
+        int n = Moves.generate(root, rootMoves);
+
+        PlayerList players = game.getPlayers();
+        clearTable(players);
+        int[] unseen = new int[NUM_CARDS];
+        int hidden = countUnseen(game, user, beliefs, unseen);
+        int remaining = 0;
+        for (int count : unseen) {
+            remaining += count;
+        }
+        remaining -= Integer.bitCount(hidden);
+        int size = deck.returnNumberOfCardsRemaining();
+        if (remaining != size && remaining != size + 1) {
+            throw new IllegalStateException("The unseen cards do not add up to the deck and the set-aside card");
+        }
+
+        // the hands with cards ruled out are not like the other unseen cards, they are dealt now
+        int ruledOut = 0;
+        for (int m = hidden; beliefs != null && m != 0; m &= m - 1) {
+            int seat = Integer.numberOfTrailingZeros(m);
+            if (beliefs.getRuledOut(user.getSeat(), seat) != 0) {
+                ruledOut |= 1 << seat;
+            }
+        }
+        List<Deal> deals = new ArrayList<>();
+        int total = remaining + Integer.bitCount(hidden);
+        deal(root, user, beliefs, ruledOut, hidden & ~ruledOut, unseen, total, 1.0, deals);
+        if (deals.isEmpty()) {
+            // the guesses ruled out every card left, which only a stale Beliefs can do
+            deal(root, user, null, 0, hidden, unseen, total, 1.0, deals);
+        }
+        double dealsWeight = 0;
+        for (Deal deal : deals) {
+            dealsWeight += deal.weight;
+        }
+
+        this.user = user.getSeat();
+        positions = 0;
+        double[] sums = new double[n];
+        int best = 0;
+        try {
+            for (int i = 0; i < n; i++) {
+                int same = i - 1;
+                while (same >= 0 && !surelyMissSame(root, hidden, unseen, rootMoves[i], rootMoves[same])) {
+                    same--;
+                }
+                sums[i] = same >= 0 ? sums[same] : search(deals, dealsWeight, rootMoves[i]);
+                if (sums[i] > sums[best]) {
+                    best = i;
+                }
+            }
+        } catch (PositionsExceeded e) {
+            // the positions in the table were searched to the end, they are kept for the next solve
+            winProbability = Double.NaN;
+            return UNSOLVED;
+        } finally {
+            expansions.clear();
+        }
+        winProbability = sums[best];
+        return rootMoves[best];
+    }
+
+    /**
+     * Checks two guesses at the same target both miss whatever the card of the target, so they
+     * end the same as the user does not remember which wrong guesses were made.
+     */
+    private static boolean surelyMissSame(Game root, int hidden, int[] unseen, int action, int other) {
+        int target = Moves.target(action);
+        if (Moves.slot(action) != Moves.slot(other) || target == Moves.NO_SEAT || target != Moves.target(other)) {
+            return false;
+        }
+        Card card = root.getTurnPlayer().getHand().peek(Moves.slot(action));
+        if (card != Card.GUARD && card != Card.BISHOP) {
+            return false;
+        }
+        return surelyMisses(root, hidden, unseen, card, target, Moves.guess(action))
+            && surelyMisses(root, hidden, unseen, card, target, Moves.guess(other));
+    }
+
+    private static boolean surelyMisses(Game root, int hidden, int[] unseen, Card card, int target, int guess) {
+        if ((hidden & 1 << target) == 0) {
+            Card held = root.getPlayers().getPlayerAt(target).getHand().peek(0);
+            return (card == Card.GUARD ? held.ordinal() : held.value()) != guess;
+        }
+        for (Card unseenCard : CARDS) {
+            if (unseen[unseenCard.ordinal()] > 0 && (card == Card.GUARD ? unseenCard.ordinal() : unseenCard.value()) == guess) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clears the transposition table if the positions of the last solve came from another game.
+     */
+    private void clearTable(PlayerList players) {
+        if (players.getNumberOfSeats() != numOfSeats || players.getInGameSeats() != inGameSeats
+            || players.targetAffectionPoints != targetAffectionPoints) {
+            numOfSeats = players.getNumberOfSeats();
+            inGameSeats = players.getInGameSeats();
+            targetAffectionPoints = players.targetAffectionPoints;
+            Arrays.fill(table, 0);
+        }
+    }
+
+    /**
+     * Counts the copies of each card the user has not seen, in the hands of opponents
+     * whose card they do not know, the deck and the set-aside card.
+     *
+     * @return the seats whose card is hidden from the user
+     */
+    private int countUnseen(Game game, Player user, Beliefs beliefs, int[] unseen) {
+        PlayerList players = game.getPlayers();
+        int hidden = 0;
+        for (int m = players.getInGameSeats() & ~(1 << user.getSeat()); m != 0; m &= m - 1) {
+            Player opponent = players.getPlayerAt(Integer.numberOfTrailingZeros(m));
+            if (opponent.getHand().hasCards() && (beliefs == null || beliefs.getKnownCard(user, opponent) == null)) {
+                hidden |= 1 << opponent.getSeat();
+            }
+        }
+
+        if (beliefs != null) {
+            for (Card card : CARDS) {
+                unseen[card.ordinal()] = beliefs.getUnseenCount(user, card);
+            }
+            return hidden;
+        }
+        for (byte ordinal : Deck.edition(players.getNumberOfPlayers())) {
+            unseen[ordinal]++;
+        }
+        for (Card card : game.getDeck().getFaceUpCards()) {
+            unseen[card.ordinal()]--;
+        }
+        for (int m = players.getInGameSeats(); m != 0; m &= m - 1) {
+            DiscardPile discarded = players.getPlayerAt(Integer.numberOfTrailingZeros(m)).getDiscarded();
+            for (Card card : CARDS) {
+                unseen[card.ordinal()] -= discarded.count(card);
+            }
+        }
+        Hand hand = user.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            unseen[hand.peek(i).ordinal()]--;
+        }
+        return hidden;
+    }
+
+    /**
+     * Deals the hands with cards ruled out one seat after the other, each distinct card once with
+     * the weight of its copies, and forks the game for every deal with the other unseen cards laid out.
+     */
+    private void deal(Game root, Player user, Beliefs beliefs, int ruledOut, int undealt, int[] unseen, int total,
+                      double weight, List<Deal> deals) {
+        if (ruledOut == 0) {
+            Game dealt = root.forkWithBeliefs();
+            arrange(dealt, undealt, unseen, -1);
+            deals.add(new Deal(dealt, undealt, weight));
+            return;
+        }
+        int seat = Integer.numberOfTrailingZeros(ruledOut);
+        Player opponent = root.getPlayers().getPlayerAt(seat);
+        for (int card = 0; card < NUM_CARDS; card++) {
+            int copies = unseen[card];
+            if (copies == 0 || (beliefs != null && beliefs.isRuledOut(user, opponent, CARDS[card]))) {
+                continue;
+            }
+            opponent.getHand().setHand(CARDS[card]);
+            unseen[card]--;
+            deal(root, user, beliefs, ruledOut & (ruledOut - 1), undealt, unseen, total - 1, weight * copies / total, deals);
+            unseen[card]++;
+        }
+    }
+
+    /**
+     * Searches a root action over every deal. The search stops at the positions from which the user
+     * may play again and goes on from each of them once, until the next turn of the user: there every
+     * action is searched to the end of the round, and the actions with the best sums over the
+     * positions that look the same to the user are taken.
+     *
+     * @return the chance of the user to win the round
+     */
+    private double search(List<Deal> deals, double dealsWeight, int action) {
+        Expansion root = new Expansion();
+        expansion = root;
+        forward = true;
+        for (Deal deal : deals) {
+            double weight = deal.weight / dealsWeight;
+            root.value += weight * dealTo(deal.game, deal.undealt, targets(action), weight,
+                (game, undealt, reach) -> play(game, undealt, action, reach, 0));
+        }
+        forward = false;
+        fold(root);
+        return root.value + choices(root.turns);
+    }
+
+    /**
+     * Searches on from a position the user may play again from, once for the solve.
+     */
+    private Expansion expand(long key, Reached position) {
+        Expansion turn = expansions.get(key);
+        if (turn == null) {
+            turn = new Expansion();
+            expansion = turn;
+            forward = true;
+            turn.value = turn(position.game, position.undealt, 1, 0);
+            forward = false;
+            fold(turn);
+            expansions.put(key, turn);
+        }
+        return turn;
+    }
+
+    /**
+     * Adds to a turn what the positions it reached lead to, and lets go of these positions.
+     */
+    private void fold(Expansion turn) {
+        for (Map.Entry<Long, Reached> entry : turn.reached.entrySet()) {
+            Reached position = entry.getValue();
+            Expansion after = expand(entry.getKey(), position);
+            turn.value += position.reach * after.value;
+            for (Map.Entry<Long, InfoSet> userTurn : after.turns.entrySet()) {
+                double[] sums = userTurn.getValue().sums;
+                double[] total = turn.turns.computeIfAbsent(userTurn.getKey(), key -> new InfoSet(sums.length)).sums;
+                for (int i = 0; i < sums.length; i++) {
+                    total[i] += position.reach * sums[i];
+                }
+            }
+        }
+        turn.reached.clear();
+    }
+
+    /**
+     * Sums the chance to win of the best action of every turn of the user, over the positions that
+     * look the same to them.
+     */
+    private static double choices(Map<Long, InfoSet> infoSets) {
+        double value = 0;
+        for (InfoSet infoSet : infoSets.values()) {
+            double best = infoSet.sums[0];
+            for (double sum : infoSet.sums) {
+                best = Math.max(best, sum);
+            }
+            value += best;
+        }
+        return value;
+    }
+
+    /**
+     * Deals the cards of the given seats if they are not dealt yet, each unseen card in turn.
+     *
+     * @param seats
+     *          the seats whose card is looked at next
+     * @param reach
+     *          the chance to reach the position, for the choices of the next turn of the user
+     * @return the chance of the user to win the round
+     */
+    private double dealTo(Game game, int undealt, int seats, double reach, Search next) {
+        seats &= undealt;
+        if (seats == 0) {
+            return next.value(game, undealt, reach);
+        }
+        int seat = Integer.numberOfTrailingZeros(seats);
+        int rest = undealt & ~(1 << seat);
+        int[] pool = new int[NUM_CARDS];
+        int poolSize = countPool(game, undealt, pool);
+        double value = 0;
+        for (int card = 0; card < NUM_CARDS; card++) {
+            if (pool[card] == 0) {
+                continue;
+            }
+            double p = (double) pool[card] / poolSize;
+            Game dealt = fork(game);
+            setCard(dealt.getPlayers().getPlayerAt(seat).getHand(), card);
+            pool[card]--;
+            arrange(dealt, rest, pool, -1);
+            pool[card]++;
+            value += p * dealTo(dealt, rest, seats, reach * p, next);
+        }
+        return value;
+    }
+
+    /**
+     * Plays an action of a begun turn on a fork of the game, once its targets are dealt. If the action
+     * draws a card, every unseen card is played as the one drawn.
+     *
+     * @return the chance of the user to win the round after the action
+     */
+    private double play(Game game, int undealt, int action, double reach, int depth) {
+        Deck deck = game.getDeck();
+        int size = deck.returnNumberOfCardsRemaining();
+        Card setAside = deck.getSetAsideCard();
+        int top = size > 0 ? deck.ordinalAt(size - 1) : setAside != null ? setAside.ordinal() : -1;
+        Game played = fork(game);
+        if (!apply(played, action)) {
+            return between(played, undealt, reach, depth);
+        }
+
+        // the action drew the card on top, which could have been any unseen card
+        int[] pool = new int[NUM_CARDS];
+        int poolSize = countPool(game, undealt, pool);
+        double p = (double) pool[top] / poolSize;
+        double value = p * between(played, undealt, reach * p, depth);
+        for (int card = 0; card < NUM_CARDS; card++) {
+            if (pool[card] == 0 || card == top) {
+                continue;
+            }
+            p = (double) pool[card] / poolSize;
+            played = fork(game);
+            arrange(played, undealt, pool, card);
+            apply(played, action);
+            value += p * between(played, undealt, reach * p, depth);
+        }
+        return value;
+    }
+
+    /**
+     * Applies an action to a fork. The set-aside card drawn once the deck is empty stays with the deck
+     * in Game, as the round ends with the turn, so it is taken out here not to be counted unseen twice.
+     *
+     * @return true if the action drew a card
+     */
+    private boolean apply(Game played, int action) {
+        Deck deck = played.getDeck();
+        int size = deck.returnNumberOfCardsRemaining();
+        int held = size == 0 ? countHeld(played) : 0;
+        played.apply(action, silentUI);
+        count();
+        if (size > 0) {
+            return deck.returnNumberOfCardsRemaining() < size;
+        }
+        if (countHeld(played) == held) {
+            return false;
+        }
+        deck.restore(new byte[0], 0, 0, false, false, null, 0);
+        return true;
+    }
+
+    /**
+     * Counts the cards in the hands and the discard piles, which only grows by a draw from the
+     * set-aside card once the deck is empty.
+     */
+    private static int countHeld(Game game) {
+        PlayerList players = game.getPlayers();
+        int held = 0;
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            Player player = players.getPlayerAt(seat);
+            held += player.getHand().size() + player.getDiscarded().getCards().size();
+        }
+        return held;
+    }
+
+    /**
+     * Searches a position between two turns: the next turn draws any unseen card.
+     *
+     * @return the chance of the user to win the round
+     */
+    private double between(Game game, int undealt, double reach, int depth) {
+        count();
+        PlayerList players = game.getPlayers();
+        if (!players.getPlayerAt(user).getHand().hasCards() && players.isZeroGameWinner()) {
+            // a user out of the round can neither win it nor get a token before it ends
+            return 0;
+        }
+        boolean over = !players.moreThanSinglePlayerLeft() || !game.getDeck().hasMoreCards() || !players.isZeroGameWinner();
+        if (!over && forward && userMayPlay(game)) {
+            // searched with the other positions of the next turn, once the chances of all the ways to it are summed
+            long key = positionKey(game, undealt) + knownKey(game);
+            Reached position = expansion.reached.get(key);
+            if (position == null) {
+                expansion.reached.put(key, new Reached(game, undealt, reach));
+            } else {
+                position.reach += reach;
+            }
+            return 0;
+        }
+
+        long key = positionKey(game, undealt);
+        int slot = 2 * (int) ((key ^ key >>> 32) & tableMask);
+        if (table[slot] == key) {
+            return Double.longBitsToDouble(table[slot + 1]);
+        }
+        double value;
+        if (over) {
+            int[] pool = new int[NUM_CARDS];
+            value = score(game, undealt, pool, countPool(game, undealt, pool));
+        } else {
+            boolean above = forward;
+            forward = false;
+            value = turn(game, undealt, reach, depth);
+            forward = above;
+        }
+        table[slot] = key;
+        table[slot + 1] = Double.doubleToRawLongBits(value);
+        return value;
+    }
+
+    /**
+     * Counts a position searched, and leaves the search if it went over the positions it may search.
+     */
+    private void count() {
+        if (++positions > maxPositions) {
+            throw POSITIONS_EXCEEDED;
+        }
+    }
+
+    /**
+     * Checks the user may play again before the deck runs out. Every turn draws a card and knocks out
+     * at most one player, so at least half the opponents to play before the user take a turn first.
+     */
+    private boolean userMayPlay(Game game) {
+        int opponents = game.getPlayers().countTurnsBefore(user);
+        return (opponents + 1) / 2 < game.getDeck().returnNumberOfCardsRemaining();
+    }
+
+    /**
+     * Searches the next turn from a position between two turns, which draws any unseen card.
+     *
+     * @return the chance of the user to win the round
+     */
+    private double turn(Game game, int undealt, double reach, int depth) {
+        int[] pool = new int[NUM_CARDS];
+        int poolSize = countPool(game, undealt, pool);
+        double value = 0;
+        int mover = user;
+        for (int card = 0; card < NUM_CARDS; card++) {
+            if (pool[card] == 0) {
+                continue;
+            }
+            double p = (double) pool[card] / poolSize;
+            Game turn = fork(game);
+            arrange(turn, undealt, pool, card);
+            mover = turn.beginTurn().getSeat();
+            if (mover == user) {
+                value += p * userTurn(turn, undealt, reach * p, depth + 1);
+            } else if ((undealt & 1 << mover) == 0) {
+                Hand hand = turn.getTurnPlayer().getHand();
+                value += p * opponentTurn(turn, undealt, reach * p, depth + 1,
+                    playChance(hand.peek(0), hand.peek(1)), playChance(hand.peek(1), hand.peek(0)));
+            } else {
+                // the card of the opponent stays unseen, they play the card drawn until told otherwise
+                value += p * opponentTurn(turn, undealt, reach * p, depth + 1, 0, playsDrawn(card));
+            }
+        }
+        if (mover != user && (undealt & 1 << mover) != 0) {
+            value += unevenHands(game, undealt, mover, pool, poolSize, reach, depth + 1);
+        }
+        return value;
+    }
+
+    /**
+     * Scores the end of the round for the user, over every deal of the hands not dealt yet.
+     */
+    private double score(Game game, int undealt, int[] pool, int poolSize) {
+        PlayerList players = game.getPlayers();
+        if (undealt == 0) {
+            List<Player> winners = players.isZeroGameWinner() ? players.getRoundWinners() : players.getGameWinners();
+            for (Player winner : winners) {
+                if (winner.getSeat() == user) {
+                    return 1.0 / winners.size();
+                }
+            }
+            return 0;
+        }
+        Hand hand = players.getPlayerAt(Integer.numberOfTrailingZeros(undealt)).getHand();
+        double value = 0;
+        for (int card = 0; card < NUM_CARDS; card++) {
+            if (pool[card] == 0) {
+                continue;
+            }
+            double p = (double) pool[card] / poolSize;
+            hand.setHand(CARDS[card]);
+            pool[card]--;
+            value += p * score(game, undealt & (undealt - 1), pool, poolSize - 1);
+            pool[card]++;
+        }
+        return value;
+    }
+
+    /**
+     * Searches a later turn of the user. On the next turn every action is added to the sums of the
+     * positions that look the same to the user, and counts from there. On a turn after that, which
+     * only a deck of more than 3 cards leaves room for, the user takes the best action of the position.
+     */
+    private double userTurn(Game game, int undealt, double reach, int depth) {
+        Frame frame = frame(depth);
+        int n = Moves.generate(game, frame.actions);
+        InfoSet infoSet = forward ? expansion.turns.computeIfAbsent(infoSetKey(game), key -> new InfoSet(n)) : null;
+        boolean above = forward;
+        forward = false;
+        Hand hand = game.getTurnPlayer().getHand();
+        for (int i = 0; i < n; i++) {
+            frame.weights[i] = 0;
+            frame.seats[i] = seatsLookedAt(hand.peek(Moves.slot(frame.actions[i])), frame.actions[i], undealt);
+        }
+
+        // the actions looking at the same undealt seats are searched together once these are dealt
+        for (int i = 0; i < n; i++) {
+            int seats = frame.seats[i];
+            if (seats < 0) {
+                continue;
+            }
+            int size = 0;
+            for (int j = i; j < n; j++) {
+                if (frame.seats[j] == seats) {
+                    frame.group[size++] = j;
+                    frame.seats[j] = -1;
+                }
+            }
+            int groupSize = size;
+            dealTo(game, undealt, seats, 1, (dealt, left, chance) -> playUser(dealt, left, chance, depth, n, groupSize));
+        }
+        forward = above;
+
+        double best = 0;
+        for (int i = 0; i < n; i++) {
+            if (infoSet != null) {
+                infoSet.sums[i] += reach * frame.weights[i];
+            }
+            best = Math.max(best, frame.weights[i]);
+        }
+        return infoSet != null ? 0 : best;
+    }
+
+    /**
+     * Plays a group of actions of the user once the seats they look at are dealt, the actions with
+     * the same outcome once: past the next turn of the user, what the user sees no longer matters.
+     *
+     * @param chance
+     *          the chance of the deal, the chance to win of each action of the group is added to
+     *          its weight in the frame with it
+     * @param n
+     *          the number of actions of the turn
+     * @return 0, the chances to win are in the frame
+     */
+    private double playUser(Game game, int undealt, double chance, int depth, int n, int size) {
+        Frame frame = frame(depth);
+        Hand hand = game.getTurnPlayer().getHand();
+        int distinct = 0;
+        for (int k = 0; k < size; k++) {
+            int i = frame.group[k];
+            int action = sameOutcome(game, hand, frame.actions, n, frame.actions[i]);
+            int j = 0;
+            while (j < distinct && frame.merged[j] != action) {
+                j++;
+            }
+            if (j == distinct) {
+                frame.merged[distinct] = action;
+                frame.mergedWeights[distinct++] = play(game, undealt, action, 1, depth);
+            }
+            frame.weights[i] += chance * frame.mergedWeights[j];
+        }
+        return 0;
+    }
+
+    /**
+     * Corrects the turns of an opponent whose card is not dealt, searched as if they played the card
+     * drawn but the Princess. A hand of two cards is as likely as not to be dealt either way round, so
+     * this is how RandomDecisions plays but for the hands with the Princess or the forced Countess, and
+     * the difference is searched for these hands with both cards dealt.
+     *
+     * @return the difference of the chance of the user to win the round
+     */
+    private double unevenHands(Game game, int undealt, int mover, int[] pool, int poolSize, double reach, int depth) {
+        int rest = undealt & ~(1 << mover);
+        double value = 0;
+        for (int kept = 0; kept < NUM_CARDS; kept++) {
+            if (pool[kept] == 0) {
+                continue;
+            }
+            pool[kept]--;
+            for (int drawn = kept; drawn < NUM_CARDS; drawn++) {
+                if (pool[drawn] == 0) {
+                    continue;
+                }
+                // the chance of the hand and how much more each card is played than searched
+                double p = (kept == drawn ? 1.0 : 2.0) * (pool[kept] + 1) * pool[drawn] / poolSize / (poolSize - 1);
+                double keptChance = kept == drawn ? 1 - playsDrawn(drawn) : unevenChance(kept, drawn);
+                double drawnChance = kept == drawn ? 0 : unevenChance(drawn, kept);
+                if (keptChance == 0 && drawnChance == 0) {
+                    continue;
+                }
+                Game turn = fork(game);
+                arrange(turn, rest, pool, drawn);
+                setCard(turn.getPlayers().getPlayerAt(mover).getHand(), kept);
+                turn.beginTurn();
+                value += p * opponentTurn(turn, rest, reach * p, depth, keptChance, drawnChance);
+            }
+            pool[kept]++;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the chance RandomDecisions plays a card rather than the other one of the hand: never the
+     * Princess, always the forced Countess, else one card or the other.
+     */
+    private static double playChance(Card card, Card other) {
+        if (card == Card.PRINCESS || forcesCountess(card, other)) {
+            return 0;
+        }
+        if (other == Card.PRINCESS || forcesCountess(other, card)) {
+            return 1;
+        }
+        return 0.5;
+    }
+
+    /**
+     * Gets how much more RandomDecisions plays a card of a hand of two different cards than the search
+     * with an undealt card does. A Prince or a King held with the Countess is searched by neither.
+     */
+    private static double unevenChance(int card, int other) {
+        if (forcesCountess(CARDS[card], CARDS[other])) {
+            return 0;
+        }
+        return playChance(CARDS[card], CARDS[other]) - playsDrawn(card) / 2;
+    }
+
+    private static boolean forcesCountess(Card card, Card other) {
+        return (card == Card.PRINCE || card == Card.KING) && other == Card.COUNTESS;
+    }
+
+    /**
+     * Gets the chance an opponent whose card is not dealt plays the card drawn: always but the Princess.
+     */
+    private static double playsDrawn(int card) {
+        return card == Card.PRINCESS.ordinal() ? 0 : 1;
+    }
+
+    /**
+     * Searches a begun turn of an opponent, who plays the card of each slot with the given chance and
+     * then any action of the card with the same chance.
+     */
+    private double opponentTurn(Game game, int undealt, double reach, int depth, double chance0, double chance1) {
+        Frame frame = frame(depth);
+        Hand hand = game.getTurnPlayer().getHand();
+        // two identical cards are played once, but for a first card not dealt yet
+        if (hand.peek(0) == hand.peek(1) && (undealt & 1 << game.getTurnPlayer().getSeat()) == 0) {
+            chance0 += chance1;
+            chance1 = 0;
+        }
+        int n = 0;
+        for (int slot = 0; slot < 2; slot++) {
+            double chance = slot == 0 ? chance0 : chance1;
+            if (chance == 0) {
+                continue;
+            }
+            int from = n;
+            n = Moves.generate(game, slot, frame.actions, n);
+            for (int i = from; i < n; i++) {
+                frame.weights[i] = chance / (n - from);
+                frame.seats[i] = seatsLookedAt(hand.peek(slot), frame.actions[i], undealt);
+            }
+        }
+
+        // the actions looking at the same undealt seats are searched together once these are dealt
+        double value = 0;
+        for (int i = 0; i < n; i++) {
+            int seats = frame.seats[i];
+            if (seats < 0) {
+                continue;
+            }
+            int size = 0;
+            for (int j = i; j < n; j++) {
+                if (frame.seats[j] == seats) {
+                    frame.group[size] = frame.actions[j];
+                    frame.groupWeights[size++] = frame.weights[j];
+                    frame.seats[j] = -1;
+                }
+            }
+            int groupSize = size;
+            value += dealTo(game, undealt, seats, reach, (dealt, left, r) -> playGroup(dealt, left, r, depth, groupSize));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the undealt seats whose card an action looks at: the seats it targets, but for a peek,
+     * which does not need the card of its target.
+     */
+    private static int seatsLookedAt(Card card, int action, int undealt) {
+        return card == Card.PRIEST || card == Card.BARONESS ? 0 : targets(action) & undealt;
+    }
+
+    /**
+     * Plays a group of actions of an opponent, the actions with the same outcome once.
+     */
+    private double playGroup(Game game, int undealt, double reach, int depth, int size) {
+        Frame frame = frame(depth);
+        Hand hand = game.getTurnPlayer().getHand();
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            int action = sameOutcome(game, hand, frame.group, size, frame.group[i]);
+            int j = 0;
+            while (j < distinct && frame.merged[j] != action) {
+                j++;
+            }
+            if (j == distinct) {
+                frame.merged[distinct] = action;
+                frame.mergedWeights[distinct++] = frame.groupWeights[i];
+            } else {
+                frame.mergedWeights[j] += frame.groupWeights[i];
+            }
+        }
+
+        double value = 0;
+        for (int i = 0; i < distinct; i++) {
+            double chance = frame.mergedWeights[i];
+            value += chance * playOpponent(game, undealt, frame.merged[i], reach * chance, depth);
+        }
+        return value;
+    }
+
+    /**
+     * Plays an action of an opponent, once their card is dealt if the action looks at it.
+     */
+    private double playOpponent(Game game, int undealt, int action, double reach, int depth) {
+        Hand hand = game.getTurnPlayer().getHand();
+        int mover = 1 << game.getTurnPlayer().getSeat();
+        int slot = Moves.slot(action);
+        if ((undealt & mover) != 0) {
+            if (needsKeptCard(game, undealt, hand.peek(slot), action)) {
+                return dealTo(game, undealt, mover, reach, (dealt, left, r) -> playOpponent(dealt, left, action, r, depth));
+            }
+        } else if (forcesCountess(hand.peek(slot), hand.peek(1 - slot))) {
+            // left out like unevenHands does, for a card drawn with the Countess dealt after
+            return 0;
+        }
+        return play(game, undealt, action, reach, depth);
+    }
+
+    /**
+     * Checks an action of an opponent whose card is not dealt looks at that card: to compare it, swap
+     * it, discard it when they are knocked out by their Princess or the Assassin of the target of their
+     * Guard, or because it may be the Countess that forbids their Prince.
+     */
+    private static boolean needsKeptCard(Game game, int undealt, Card card, int action) {
+        switch (card) {
+            case BARON:
+            case KING:
+            case DOWAGERQUEEN:
+            case PRINCESS:
+                return true;
+
+            case GUARD:
+                int target = Moves.target(action);
+                return target != Moves.NO_SEAT && game.getPlayers().getPlayerAt(target).getHand().peek(0) == Card.ASSASSIN;
+
+            case PRINCE:
+                int[] pool = new int[NUM_CARDS];
+                countPool(game, undealt, pool);
+                return pool[Card.COUNTESS.ordinal()] > 0;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Maps an action of an opponent to the first one with the same outcome for the user: a wrong guess
+     * to one wrong guess, a Priest or Baroness peek to the first one, a Cardinal swap to the one
+     * without peeking the second target.
+     */
+    private static int sameOutcome(Game game, Hand hand, int[] actions, int n, int action) {
+        int slot = Moves.slot(action);
+        int target = Moves.target(action);
+        switch (hand.peek(slot)) {
+            case GUARD:
+                if (target == Moves.NO_SEAT) {
+                    return action;
+                }
+                Card held = game.getPlayers().getPlayerAt(target).getHand().peek(0);
+                if (Moves.guess(action) == held.ordinal()) {
+                    return action;
+                }
+                return Moves.of(slot, target, Moves.NO_SEAT, held.ordinal() == 1 ? 2 : 1, false);
+
+            case BISHOP:
+                if (target == Moves.NO_SEAT) {
+                    return action;
+                }
+                int value = game.getPlayers().getPlayerAt(target).getHand().peek(0).value();
+                if (Moves.guess(action) == value) {
+                    return action;
+                }
+                return Moves.of(slot, target, Moves.NO_SEAT, value == 0 ? 1 : 0, false);
+
+            case PRIEST:
+            case BARONESS:
+                for (int i = 0; i < n; i++) {
+                    if (Moves.slot(actions[i]) == slot) {
+                        return actions[i];
+                    }
+                }
+                return action;
+
+            case CARDINAL:
+                return Moves.of(slot, target, Moves.secondTarget(action), 0, false);
+
+            default:
+                return action;
+        }
+    }
+
+    /**
+     * @return the seats an action targets
+     */
+    private static int targets(int action) {
+        int target = Moves.target(action);
+        int second = Moves.secondTarget(action);
+        return (target == Moves.NO_SEAT ? 0 : 1 << target) | (second == Moves.NO_SEAT ? 0 : 1 << second);
+    }
+
+    /**
+     * Forks a position, with what the seats know of the cards on the way to the next turn of the user.
+     */
+    private Game fork(Game game) {
+        return forward ? game.forkWithBeliefs() : game.fork();
+    }
+
+    /**
+     * Keys a position between two turns: the hash of the game, with the set-aside card and the cards
+     * not dealt yet counted among the cards to draw as the order of these cards does not matter.
+     */
+    private long positionKey(Game game, int undealt) {
+        Deck deck = game.getDeck();
+        Card setAside = deck.getSetAsideCard();
+        long key = game.getHash() + DECK_SIZE[deck.returnNumberOfCardsRemaining()] + USER[user];
+        if (setAside != null) {
+            key += Zobrist.deck(setAside.ordinal()) - Zobrist.setAside(setAside);
+        }
+        PlayerList players = game.getPlayers();
+        for (int m = undealt; m != 0; m &= m - 1) {
+            int seat = Integer.numberOfTrailingZeros(m);
+            Card card = players.getPlayerAt(seat).getHand().peek(0);
+            key += Zobrist.deck(card.ordinal()) - Zobrist.hand(seat, card) + UNDEALT[seat];
+        }
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * Keys a turn of the user by what they see: the public cards, their hand, the cards they know
+     * other seats hold and the size of the deck. The hand is keyed in the order of its slots, as the
+     * actions of the turn are.
+     */
+    private long infoSetKey(Game game) {
+        PlayerList players = game.getPlayers();
+        Deck deck = game.getDeck();
+        long key = game.getHash() - deck.getHash() + DECK_SIZE[deck.returnNumberOfCardsRemaining()] + knownKey(game)
+            + KEPT[players.getPlayerAt(user).getHand().peek(0).ordinal()];
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            Hand hand = players.getPlayerAt(seat).getHand();
+            if (seat != user && hand.hasCards()) {
+                key -= Zobrist.hand(seat, hand);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Keys what the user knows of the hands of the other seats: whether each one is in the round
+     * and the card the user knows they hold.
+     */
+    private long knownKey(Game game) {
+        PlayerList players = game.getPlayers();
+        Beliefs beliefs = players.getBeliefs();
+        long key = 0;
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            if (seat == user || !players.getPlayerAt(seat).getHand().hasCards()) {
+                continue;
+            }
+            Card known = beliefs.getKnownCard(user, seat);
+            key += known == null ? IN_ROUND[seat] : KNOWN[seat * NUM_CARDS + known.ordinal()];
+        }
+        return key;
+    }
+
+    /**
+     * Counts the copies of each unseen card: in the deck, the set-aside card and the hands not dealt yet.
+     *
+     * @return the number of unseen cards
+     */
+    private static int countPool(Game game, int undealt, int[] pool) {
+        Deck deck = game.getDeck();
+        int size = deck.returnNumberOfCardsRemaining();
+        for (int i = 0; i < size; i++) {
+            pool[deck.ordinalAt(i)]++;
+        }
+        Card setAside = deck.getSetAsideCard();
+        if (setAside != null) {
+            pool[setAside.ordinal()]++;
+            size++;
+        }
+        PlayerList players = game.getPlayers();
+        for (int m = undealt; m != 0; m &= m - 1) {
+            pool[players.getPlayerAt(Integer.numberOfTrailingZeros(m)).getHand().peek(0).ordinal()]++;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Lays out the unseen cards: the given card on top of the deck, or set aside if the deck is empty,
+     * and the others in order in the hands not dealt yet, the deck and the set-aside card.
+     *
+     * @param top
+     *          the ordinal of the card to draw next, -1 for none
+     */
+    private static void arrange(Game game, int undealt, int[] pool, int top) {
+        int total = 0;
+        for (int copies : pool) {
+            total += copies;
+        }
+        byte[] cards = new byte[total];
+        int n = 0;
+        for (int card = 0; card < NUM_CARDS; card++) {
+            for (int copies = pool[card] - (card == top ? 1 : 0); copies > 0; copies--) {
+                cards[n++] = (byte) card;
+            }
+        }
+
+        int next = 0;
+        PlayerList players = game.getPlayers();
+        for (int m = undealt; m != 0; m &= m - 1) {
+            setCard(players.getPlayerAt(Integer.numberOfTrailingZeros(m)).getHand(), cards[next++]);
+        }
+        Deck deck = game.getDeck();
+        int size = deck.returnNumberOfCardsRemaining();
+        boolean onTop = top >= 0 && size > 0;
+        byte[] ordinals = Arrays.copyOfRange(cards, next, next + size);
+        next += onTop ? size - 1 : size;
+        if (onTop) {
+            ordinals[size - 1] = (byte) top;
+        }
+        Card setAside = null;
+        if (deck.getSetAsideCard() != null) {
+            setAside = top >= 0 && size == 0 ? CARDS[top] : CARDS[cards[next]];
+        }
+        deck.restore(ordinals, 0, size, false, false, setAside, 0);
+    }
+
+    /**
+     * Replaces the card not dealt yet of a hand, its first card, keeping the card drawn in the second slot.
+     */
+    private static void setCard(Hand hand, int card) {
+        Card drawn = hand.size() == 2 ? hand.peek(1) : null;
+        hand.setHand(CARDS[card]);
+        if (drawn != null) {
+            hand.add(drawn);
+        }
+    }
+
+    private Frame frame(int depth) {
+        while (frames.size() <= depth) {
+            frames.add(new Frame());
+        }
+        return frames.get(depth);
+    }
+}
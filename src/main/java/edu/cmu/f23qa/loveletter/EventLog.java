@@ -0,0 +1,407 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only binary log of what happens in games: every draw, card played, target, guess,
+ * peek, swap, elimination, token, and the start and end of every round and game.
+ *
+ * The events are written to segment files of a fixed size in a directory, events-000000.log,
+ * events-000001.log and so on, each mapped into memory. Writing an event only puts a few bytes
+ * into a small array, copied into the mapped segment once it is full, and the operating system
+ * writes the segment to the disk on its own. A full segment is handed to a background thread that
+ * forces it to the disk, so the game thread never waits on the disk, and the next segment is mapped.
+ *
+ * Every event is a varint holding its type in the low 4 bits and its one or two small operands
+ * above: a seat, a card ordinal, a guess or the reason of a token. Most events take one or two
+ * bytes. The start of a game also holds its seed as 8 bytes. The unwritten end of a segment is
+ * zeros, and no event starts with a zero byte.
+ *
+ * A log is written by one thread at a time, games played in parallel need a log each.
+ */
+public final class EventLog implements Closeable {
+    /**
+     * The size of a segment file, a million games of 4 players take about 540 MB of events.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    /*
+     * The types of the events.
+     */
+    public static final int GAME_START = 1;
+    public static final int ROUND_START = 2;
+    public static final int DRAW = 3;
+    public static final int PLAY = 4;
+    public static final int TARGET = 5;
+    public static final int GUARD_GUESS = 6;
+    public static final int BISHOP_GUESS = 7;
+    public static final int PEEK = 8;
+    public static final int SWAP = 9;
+    public static final int ELIMINATION = 10;
+    public static final int TOKEN = 11;
+    public static final int ROUND_END = 12;
+    public static final int GAME_END = 13;
+
+    /*
+     * The reasons of a token.
+     */
+    public static final int ROUND_WIN = 0;
+    public static final int JESTER = 1;
+    public static final int CONSTABLE = 2;
+    public static final int BISHOP = 3;
+
+    private static final int TYPE_BITS = 4;
+    private static final int OPERAND_BITS = 5;
+    private static final int MAX_EVENT_SIZE = 2 * 5 + Long.BYTES;
+    private static final String PREFIX = "events-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private MappedByteBuffer segment;
+    private int numOfSegments;
+    private long events;
+
+    /**
+     * The events not copied into the segment yet, a put into an array is much cheaper than a put
+     * into a mapped buffer.
+     */
+    private final byte[] buffer;
+    private final int limit;
+    private int pos;
+
+    /**
+     * Forces the full segments to the disk, off the game thread.
+     */
+    private final ExecutorService forcer;
+
+    /**
+     * Constructor for a log with segments of the default size.
+     *
+     * @param directory
+     *          the directory of the segment files, created if missing, its old segments are deleted
+     */
+    public EventLog(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor for a log.
+     *
+     * @param directory
+     *          the directory of the segment files, created if missing, its old segments are deleted
+     * @param segmentSize
+     *          the size of a segment file in bytes
+     */
+    public EventLog(Path directory, int segmentSize) {
+        if (segmentSize < MAX_EVENT_SIZE) {
+            throw new IllegalArgumentException("A segment takes at least " + MAX_EVENT_SIZE + " bytes, got " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.buffer = new byte[Math.min(1 << 16, segmentSize)];
+        this.limit = buffer.length - MAX_EVENT_SIZE;
+        this.forcer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-log-forcer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(directory);
+            // the segments of an older log would be read after the new ones
+            int index = 0;
+            while (Files.deleteIfExists(segmentPath(directory, index))) {
+                index++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the event log directory " + directory, e);
+        }
+        nextSegment();
+    }
+
+    /**
+     * Maps the next segment file, and hands the full one to the forcing thread.
+     */
+    private void nextSegment() {
+        MappedByteBuffer full = segment;
+        if (full != null) {
+            forcer.execute(full::force);
+        }
+        Path path = segmentPath(directory, numOfSegments);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // the mapping stays valid once the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the event log segment " + path, e);
+        }
+        numOfSegments++;
+    }
+
+    private static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", PREFIX, index, SUFFIX));
+    }
+
+    /**
+     * @return the number of events written
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * @return the number of segment files written
+     */
+    public int getSegments() {
+        return numOfSegments;
+    }
+
+    /*
+     * The events, written by Game, GameActions and the players.
+     */
+
+    void gameStart(long seed, int numOfPlayers) {
+        write(GAME_START, numOfPlayers);
+        for (int shift = Long.SIZE - 8; shift >= 0; shift -= 8) {
+            buffer[pos++] = (byte) (seed >>> shift);
+        }
+    }
+
+    void roundStart() {
+        write(ROUND_START, 0);
+    }
+
+    void draw(Player player, Card card) {
+        write(DRAW, player.getSeat(), card.ordinal());
+    }
+
+    void play(Player player, Card card) {
+        write(PLAY, player.getSeat(), card.ordinal());
+    }
+
+    void target(Player player) {
+        write(TARGET, player.getSeat());
+    }
+
+    void guardGuess(Card card) {
+        write(GUARD_GUESS, card.ordinal());
+    }
+
+    void bishopGuess(int value) {
+        write(BISHOP_GUESS, value);
+    }
+
+    void peek(Player viewer, Player holder) {
+        write(PEEK, viewer.getSeat(), holder.getSeat());
+    }
+
+    void swap(Player one, Player two) {
+        write(SWAP, one.getSeat(), two.getSeat());
+    }
+
+    void elimination(Player player) {
+        write(ELIMINATION, player.getSeat());
+    }
+
+    void token(Player player, int reason) {
+        write(TOKEN, player.getSeat(), reason);
+    }
+
+    /**
+     * @param winnerSeats
+     *          the seats of the round winners, bit i standing for seat i
+     */
+    void roundEnd(int winnerSeats) {
+        if (pos > limit) {
+            flush();
+        }
+        events++;
+        putVarint((winnerSeats & 0xFFFFFFFFL) << TYPE_BITS | ROUND_END);
+    }
+
+    void gameEnd(Player winner) {
+        write(GAME_END, winner.getSeat());
+    }
+
+    private void write(int type, int first, int second) {
+        write(type, first << OPERAND_BITS | second);
+    }
+
+    /**
+     * Writes an event whose operands fit an int with the type, nearly all of them fit one or two bytes.
+     */
+    private void write(int type, int operand) {
+        if (pos > limit) {
+            flush();
+        }
+        events++;
+        int value = operand << TYPE_BITS | type;
+        byte[] buffer = this.buffer;
+        int pos = this.pos;
+        if ((value & ~0x7F) == 0) {
+            buffer[pos] = (byte) value;
+            this.pos = pos + 1;
+        } else if ((value & ~0x3FFF) == 0) {
+            buffer[pos] = (byte) (value | 0x80);
+            buffer[pos + 1] = (byte) (value >>> 7);
+            this.pos = pos + 2;
+        } else {
+            putVarint(value & 0xFFFFFFFFL);
+        }
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte) value;
+    }
+
+    /**
+     * Copies the events written so far into the mapped segment, where a Reader sees them.
+     * Nothing is forced to the disk.
+     */
+    public void flush() {
+        if (segment.remaining() < pos) {
+            // an event never spans two segments
+            nextSegment();
+        }
+        segment.put(buffer, 0, pos);
+        pos = 0;
+    }
+
+    /**
+     * Forces the last segment to the disk and stops the forcing thread, waiting for it to finish.
+     */
+    @Override
+    public void close() {
+        flush();
+        forcer.shutdown();
+        segment.force();
+        try {
+            forcer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the events of a log back, one segment after the other.
+     */
+    public static final class Reader {
+        private final Path directory;
+        private int nextSegment;
+        private MappedByteBuffer segment;
+
+        private int type;
+        private int first;
+        private int second;
+        private long seed;
+
+        /**
+         * Constructor for a reader of the log in the given directory.
+         */
+        public Reader(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Reads the next event.
+         *
+         * @return false once all the events were read
+         */
+        public boolean next() {
+            while (segment == null || !segment.hasRemaining() || peekByte() == 0) {
+                if (!openNext()) {
+                    return false;
+                }
+            }
+            long value = varint();
+            type = (int) (value & ((1 << TYPE_BITS) - 1));
+            long operands = value >>> TYPE_BITS;
+            if (type == DRAW || type == PLAY || type == PEEK || type == SWAP || type == TOKEN) {
+                first = (int) (operands >>> OPERAND_BITS);
+                second = (int) (operands & ((1 << OPERAND_BITS) - 1));
+            } else {
+                first = (int) operands;
+                second = 0;
+            }
+            if (type == GAME_START) {
+                seed = segment.getLong();
+            }
+            return true;
+        }
+
+        private int peekByte() {
+            return segment.get(segment.position());
+        }
+
+        private boolean openNext() {
+            Path path = segmentPath(directory, nextSegment);
+            if (!Files.exists(path)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map the event log segment " + path, e);
+            }
+            nextSegment++;
+            return true;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = segment.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in the event log");
+        }
+
+        /**
+         * @return the type of the event, one of the event constants of EventLog
+         */
+        public int getType() {
+            return type;
+        }
+
+        /**
+         * Gets the first operand: the seat of the player for the events of a player, the number of
+         * players at the start of a game, the card ordinal of a Guard guess, the value of a Bishop guess,
+         * and the seats of the winners, bit i standing for seat i, at the end of a round.
+         */
+        public int getFirst() {
+            return first;
+        }
+
+        /**
+         * Gets the second operand: the card ordinal of a draw or a play, the seat of the holder of a peek,
+         * the other seat of a swap or the reason of a token.
+         */
+        public int getSecond() {
+            return second;
+        }
+
+        /**
+         * @return the seed of the last game started
+         */
+        public long getSeed() {
+            return seed;
+        }
+    }
+}
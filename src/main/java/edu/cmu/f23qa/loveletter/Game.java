@@ -15,6 +15,55 @@ public class Game {
     private boolean SyncophantFlag;
     private Player SyncophantChosenPlayer;
 
+    /**
+     * The player who drew a card with beginTurn and plays it with apply, null between turns.
+     */
+    private Player turnPlayer;
+
+    /**
+     * Takes the decisions of the turns played with apply, and the UI dropping their messages.
+     */
+    private MoveDecisions moveDecisions;
+    private HeadlessGameUI silentUI;
+
+    /**
+     * The loveletter.checkHash system property, read once: the default of hashChecked.
+     */
+    private static final boolean CHECK_HASH = Boolean.getBoolean("loveletter.checkHash");
+
+    /**
+     * True to check the kept hash against a hash summed from scratch every time it is read.
+     */
+    private boolean hashChecked;
+
+    /**
+     * True to show the human players the chances of the cards their opponents may hold.
+     */
+    private boolean hintsShown;
+
+    /**
+     * Told about the rounds and turns of a game played with start or resume, null if nobody watches.
+     */
+    private Watcher watcher;
+
+    /**
+     * Follows a game played with start or resume from one turn to the next, for example to index
+     * a replay. A fork is not watched.
+     */
+    interface Watcher {
+        /**
+         * Called once a round is dealt and its starter set, before its first turn.
+         */
+        void roundStarted(Game game);
+
+        /**
+         * Called between two turns, before the next player draws.
+         *
+         * @return false to stop the game there, resume plays on from that turn and asks again
+         */
+        boolean beforeTurn(Game game);
+    }
+
     /**
      * Public constructor for a Game object.
      * @param players    the player list
@@ -29,15 +78,86 @@ public class Game {
         // Required for Syncophant operations
         this.SyncophantFlag = false;
         this.SyncophantChosenPlayer = null;
+        this.hashChecked = CHECK_HASH;
+    }
+
+    /**
+     * Copies the game for a what-if branch. The players, hands, discard piles and deck are
+     * copied, the discard piles and the cards of the deck are shared until either game
+     * changes them. Nothing done to the fork changes this game, and the fork deals the
+     * same cards as this game would.
+     *
+     * @return the copy of the game
+     */
+    public Game fork() {
+        return fork(players.fork());
+    }
+
+    /**
+     * Copies the game like fork, along with what the seats know of the cards if it is tracked.
+     */
+    Game forkWithBeliefs() {
+        return fork(players.forkWithBeliefs());
+    }
+
+    private Game fork(PlayerList forkedPlayers) {
+        Game fork = new Game(forkedPlayers, deck.fork(), gameActions);
+        fork.SyncophantFlag = this.SyncophantFlag;
+        fork.SyncophantChosenPlayer = players.playerIn(forkedPlayers, this.SyncophantChosenPlayer);
+        fork.turnPlayer = players.playerIn(forkedPlayers, this.turnPlayer);
+        fork.hashChecked = this.hashChecked;
+        return fork;
+    }
+
+    /**
+     * Gets a 64 bit hash of the state of the game: the hands, discard piles, protection, tokens and
+     * Jester tokens of the players, the cards left in the deck and the set-aside card, and the turn.
+     * The order of the cards in a hand, a discard pile or the deck does not change it. The hash is
+     * kept up to date on every change, reading it takes constant time.
+     *
+     * @return the hash of the game
+     */
+    public long getHash() {
+        long hash = players.getHash() + deck.getHash() + turnKey();
+        if (hashChecked) {
+            long expected = Zobrist.compute(this);
+            if (hash != expected) {
+                throw new IllegalStateException("The kept hash " + Long.toHexString(hash)
+                    + " differs from the hash " + Long.toHexString(expected) + " of the game");
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Turns the debug check of getHash on or off: the kept hash is then compared with
+     * a hash summed from scratch, and a difference throws an IllegalStateException.
+     */
+    public void setHashChecked(boolean hashChecked) {
+        this.hashChecked = hashChecked;
+    }
+
+    /**
+     * Sums the Zobrist keys of the turn, which are not kept but read from the game.
+     */
+    long turnKey() {
+        return Zobrist.turn(players.getCursor(), players.getInGameSeats(), seatOf(turnPlayer),
+            SyncophantFlag ? seatOf(SyncophantChosenPlayer) : -1);
+    }
+
+    private static int seatOf(Player player) {
+        return player == null ? -1 : player.getSeat();
     }
 
     /**
-     * Sets up the players that make up the player list.
+     * Sets up the players that make up the player list, joining the bots already seated.
      */
     public void setPlayers(GameUI gameUI) {
-        List<String> players = gameUI.getPlayers();
+        int seated = this.players.getNumberOfPlayers();
+        List<String> players = seated == 0 ? gameUI.getPlayers() : gameUI.getPlayers(seated);
         for(String player : players) {
             this.players.addPlayer(player);
+            this.players.getPlayer(player).setGameUI(gameUI);
         }
     }
 
@@ -57,54 +177,196 @@ public class Game {
         return deck;
     }
 
+    /**
+     * Starts tracking what every seat knows of the cards, for bots and hints to human players.
+     *
+     * @return the beliefs, kept up to date from now on
+     */
+    public Beliefs trackBeliefs() {
+        return players.trackBeliefs(deck);
+    }
+
+    /**
+     * Shows every human player before their turn the chance of each card in the hands of their
+     * opponents, or stops showing it. Showing the hints tracks the beliefs. Bots track the beliefs
+     * too, but the hints are only shown when asked for here.
+     */
+    public void setHintsShown(boolean hintsShown) {
+        if (hintsShown) {
+            trackBeliefs();
+        }
+        this.hintsShown = hintsShown;
+    }
+
+    /**
+     * Writes every event of the game to a log from now on. A fork does not log its events.
+     *
+     * @param eventLog
+     *          the log, null to stop logging
+     */
+    public void logEvents(EventLog eventLog) {
+        players.setEventLog(eventLog);
+    }
+
+    /**
+     * @param watcher
+     *          the watcher of the rounds and turns played from now on, null to stop watching
+     */
+    void watch(Watcher watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Get the seed of the game, the same seed deals the same cards again.
+     * It should be part of every bug report.
+     */
+    public long getSeed()
+    {
+        return deck.getSeed();
+    }
+
 
     /**
      * The main game loop.
      */
     public void start(GameUI gameUI) {
-        // initialize affection points based on number of players
-        players.initializeTargetAffection();
-        List<Player> roundWinners = new ArrayList<>();
+        beginGame();
+        play(gameUI, false);
+    }
+
+    /**
+     * Continues a game restored in the middle of a round, for example from a GameSnapshot.
+     * The current round is played to its end, then the game goes on as usual.
+     */
+    public void resume(GameUI gameUI) {
+        play(gameUI, true);
+    }
 
-        while (players.isZeroGameWinner() || players.isTwoOrMoreGameWinners()) {
-            // If there is tie between winners then
-            // round is played to resolve the tie
-            if (players.isTwoOrMoreGameWinners()){
-                players.removeLosers();
+    private void play(GameUI gameUI, boolean inRound) {
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            DecisionProvider decisions = players.getPlayerAt(seat).getDecisionProvider();
+            if (decisions != null) {
+                decisions.joinGame(this);
             }
+        }
+        List<Player> roundWinners = new ArrayList<>();
 
-            startRound(players, deck, gameUI);
-            
-            // set the game starter
-            players.setRoundStarter(roundWinners, gameUI);
-            while (players.moreThanSinglePlayerLeft() && deck.hasMoreCards()) {
+        while (isUndecided()) {
+            if (!inRound) {
+                beginRound(roundWinners, gameUI);
+                if (watcher != null) {
+                    watcher.roundStarted(this);
+                }
+            }
+            inRound = false;
+            while (!isRoundOver()) {
+                if (watcher != null && !watcher.beforeTurn(this)) {
+                    return;
+                }
                 Player turn = players.getCurrentPlayer();
                 startTurn(turn, gameUI);
 
                 // It's possible that the game ends early without a round winner.
                 // check if only one round winner.
-                if (!(players.isZeroGameWinner() || players.isTwoOrMoreGameWinners())){
+                if (!isUndecided()) {
                     break;
                 }
-                    
             }
 
             // It's possible that the game ends early without a round winner.
             // check if only one round winner.
-            if (!(players.isZeroGameWinner() || players.isTwoOrMoreGameWinners())){
+            if (!isUndecided()) {
                 break;
             }
 
-            roundWinners = declareRoundWinner(players);
-            gameUI.showRoundWinners(roundWinners);
+            roundWinners = endRound(gameUI);
+        }
+        endGame(gameUI);
+    }
+
+    /**
+     * Initializes affection points based on number of players, before the first round.
+     * This method and the ones below are the steps of the main game loop, AsyncGame takes them one by one.
+     */
+    void beginGame() {
+        players.initializeTargetAffection();
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.gameStart(getSeed(), players.getNumberOfPlayers());
+        }
+    }
+
+    /**
+     * @return true while no player or more than one player won the game
+     */
+    boolean isUndecided() {
+        return players.isZeroGameWinner() || players.isTwoOrMoreGameWinners();
+    }
+
+    /**
+     * @return true once a single player is left in the round or the deck is empty
+     */
+    boolean isRoundOver() {
+        return !players.moreThanSinglePlayerLeft() || !deck.hasMoreCards();
+    }
+
+    /**
+     * Deals a new round, started by one of the winners of the last round.
+     *
+     * @param roundWinners
+     *          the winners of the last round, empty before the first round
+     * @param gameUI
+     *          gameUI to facilitate user input
+     */
+    void beginRound(List<Player> roundWinners, GameUI gameUI) {
+        dealRound(gameUI);
 
-            List<Player> playersList = players.getPlayers();
-            gameUI.printPlayers(playersList);
+        // set the game starter
+        players.setRoundStarter(roundWinners, gameUI);
+    }
+
+    /**
+     * Deals a new round, its starter is not set yet.
+     */
+    void dealRound(GameUI gameUI) {
+        // If there is tie between winners then
+        // round is played to resolve the tie
+        if (players.isTwoOrMoreGameWinners()){
+            players.removeLosers();
         }
+
+        startRound(players, deck, gameUI);
+    }
+
+    /**
+     * Gives the tokens of a round that is over and shows them.
+     *
+     * @return the winners of the round
+     */
+    List<Player> endRound(GameUI gameUI) {
+        List<Player> roundWinners = declareRoundWinner(players);
+        gameUI.showRoundWinners(roundWinners);
+
+        List<Player> playersList = players.getPlayers();
+        gameUI.printPlayers(playersList);
+        return roundWinners;
+    }
+
+    /**
+     * Shows the winner of a game that is decided.
+     *
+     * @return the winner
+     */
+    Player endGame(GameUI gameUI) {
         // the loop will terminate only if there is one winner
         Player gameWinner = players.getGameWinners().get(0);
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.gameEnd(gameWinner);
+        }
         String winner = gameWinner.getName();
         gameUI.showGameWinner(winner);
+        return gameWinner;
     }
 
     /**
@@ -117,19 +379,142 @@ public class Game {
      */
     public void startTurn(Player turn, GameUI gameUI) {
         if (turn.getHand().hasCards()) {
-            // show all players used piles
-            List<Player> playersList = players.getPlayers();
-            gameUI.printUsedPiles(playersList);
+            Card card = drawTurnCard(turn, gameUI);
 
-            // show player info
-            String playerName = turn.getName();
-            gameUI.showPlayerTurn(playerName);
+            // player plays his turn
+            playTurn(turn, card, gameUI);
+        }
+    }
 
-            // player draws a card
+    /**
+     * Shows whose turn it is and draws the card of the turn.
+     *
+     * @return the card drawn
+     */
+    Card drawTurnCard(Player turn, GameUI gameUI) {
+        // show the used piles that changed since the player last saw them
+        List<Player> playersList = players.getPlayers();
+        gameUI.printUsedPiles(turn, playersList);
+
+        // show player info
+        String playerName = turn.getName();
+        gameUI.showPlayerTurn(playerName);
+
+        // player draws a card
+        Card card = deck.draw();
+        logDraw(turn, card);
+        return card;
+    }
+
+    /**
+     * Starts the turn of the next player without asking for any decision: protection is reset
+     * and a card is drawn. The turn is then played with apply, one of the actions listed by
+     * Moves.generate. Calling it again before apply gives the same player.
+     *
+     * @return the player whose turn it is
+     */
+    public Player beginTurn() {
+        if (turnPlayer == null) {
+            if (!players.moreThanSinglePlayerLeft() || !deck.hasMoreCards()) {
+                throw new IllegalStateException("The round is over");
+            }
+            Player turn = players.getCurrentPlayer();
+            turn.turnOffProtection();
             Card card = deck.draw();
+            turn.getHand().add(card);
+            logDraw(turn, card);
+            turnPlayer = turn;
+        }
+        return turnPlayer;
+    }
 
-            // player plays his turn
-            playTurn(turn, card, gameUI);
+    /**
+     * @return the player who began a turn with beginTurn and did not play it yet, null between turns
+     */
+    public Player getTurnPlayer() {
+        return turnPlayer;
+    }
+
+    void setTurnPlayer(Player turnPlayer) {
+        this.turnPlayer = turnPlayer;
+    }
+
+    /**
+     * Plays the turn begun with beginTurn, all messages are dropped.
+     *
+     * @param action
+     *          the action, as encoded by Moves
+     */
+    public void apply(int action) {
+        apply(action, silentUI());
+    }
+
+    /**
+     * @return the UI of apply and of a silenced game, with statistics sized to the table so it can end a round too
+     */
+    HeadlessGameUI silentUI() {
+        if (silentUI == null) {
+            if (moveDecisions == null) {
+                moveDecisions = new MoveDecisions();
+            }
+            silentUI = new HeadlessGameUI(new SimulationStats(players.getNumberOfSeats()));
+            silentUI.newGame(List.of(), moveDecisions);
+        }
+        return silentUI;
+    }
+
+    /**
+     * Turns a fork into a playout copy: the seats lose their decision providers and
+     * their UI drops every message, so the fork can only be played with apply.
+     */
+    void silence() {
+        HeadlessGameUI ui = silentUI();
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            Player player = players.getPlayerAt(seat);
+            player.setDecisionProvider(null);
+            player.setGameUI(ui);
+        }
+    }
+
+    /**
+     * Plays the turn begun with beginTurn. Every decision of the player is taken from the action,
+     * only the Bishop swap is still asked to the seat of the opponent.
+     *
+     * @param action
+     *          the action, as encoded by Moves
+     * @param gameUI
+     *          gameUI to show the results
+     */
+    public void apply(int action, GameUI gameUI) {
+        Player turn = turnPlayer;
+        if (turn == null) {
+            throw new IllegalStateException("No turn was begun");
+        }
+        Hand hand = turn.getHand();
+        int slot = Moves.slot(action);
+        if (!Moves.isLegal(this, action)) {
+            throw new IllegalArgumentException("Illegal action " + Integer.toHexString(action));
+        }
+        if (moveDecisions == null) {
+            moveDecisions = new MoveDecisions();
+        }
+
+        DecisionProvider seatDecisions = turn.getDecisionProvider();
+        moveDecisions.set(action);
+        turn.setDecisionProvider(moveDecisions);
+        turnPlayer = null;
+        try {
+            Card useCard = hand.remove(slot);
+            if (this.SyncophantFlag) {
+                Player localSyncophantChosenPlayer = this.SyncophantChosenPlayer;
+                this.SyncophantChosenPlayer = null;
+                this.SyncophantFlag = false;
+                playCard(useCard, turn, gameUI, true, localSyncophantChosenPlayer);
+            } else {
+                playCard(useCard, turn, gameUI, false, null);
+            }
+        } finally {
+            turn.setDecisionProvider(seatDecisions);
         }
     }
 
@@ -151,16 +536,20 @@ public class Game {
         turn.turnOffProtection();
         turn.getHand().add(cardDrawn);
 
+        // human players asking for hints see what their seat knows
+        if (hintsShown && turn.getDecisionProvider() == null) {
+            gameUI.showHints(turn, players);
+        }
+
         Card useCard;
-        int royaltyPos = turn.getHand().getRoyaltyPos();
-        int countessPos = turn.getHand().getCardPos(Card.COUNTESS);
+        int countessPos = getForcedCardPos(turn.getHand());
 
         // If one card is royal card and other is countess
         // then use countess, else ask the user
-        if (royaltyPos != -1 && countessPos != -1) {
+        if (countessPos != -1) {
             useCard = turn.getHand().remove(countessPos);
         } else {
-            useCard = gameUI.getCard(turn);
+            useCard = DecisionProvider.forSeat(turn, gameUI).getCard(turn);
         }
 
         // If condition added to accomodate Syncophant card logic
@@ -179,6 +568,17 @@ public class Game {
         
     }
 
+    /**
+     * Finds the card a player has to play: the Countess, when the other card is a royal card.
+     *
+     * @return the position of the Countess in the hand, -1 if the player can choose
+     */
+    static int getForcedCardPos(Hand hand) {
+        int royaltyPos = hand.getRoyaltyPos();
+        int countessPos = hand.getCardPos(Card.COUNTESS);
+        return royaltyPos != -1 ? countessPos : -1;
+    }
+
     /**
      * Perform card action based on card
      * @param card
@@ -189,33 +589,126 @@ public class Game {
      *      gameUI to facilitate user input
      */
     public void playCard(Card card, Player user, GameUI gameUI, boolean localSyncophantFlag, Player localSyncophantChosenPlayer) {
-        user.getDiscarded().add(card);
+        discardPlayedCard(card, user);
 
+        // the decisions are taken by the user's seat, the GameUI only shows the results
+        DecisionProvider decisions = DecisionProvider.forSeat(user, gameUI);
         Player opponent;
         switch (card) {
             case GUARD:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
+                opponent = logTarget(decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false));
                 if(opponent != null){
-                    String cardName = gameUI.getGuardGuess();
-                    if (gameActions.useAssassin(user, opponent, deck)) {
-                        gameUI.assassinResult(user, opponent);
-                    } else {
-                        boolean correctGuess = gameActions.useGuard(cardName, opponent);
-                            gameUI.showGuardGuess(correctGuess);
+                    useGuard(user, opponent, decisions.getGuardGuess(user), gameUI);
+                }
+                break;
+
+            case BISHOP:
+                opponent = logTarget(decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false));
+                // It is always preferred to avoid passing gameUI to GameActions calls, but this case is an exception
+                // since there is a lot of gameUI logic associated with bishop card action
+                if(opponent != null) {
+                    gameActions.useBishop(user, opponent, deck, players, gameUI);
+                }
+                break;
+
+            case BARONESS:
+                int numOfPlayers = decisions.getNumOfPlayerForBaroness(players, user);
+                if (numOfPlayers == 0) {
+                    gameUI.printWhenNoPlayerCanBeTarget();
+                    break;
+                }
+                gameActions.useBaroness(numOfPlayers, players, user, gameUI, localSyncophantFlag, localSyncophantChosenPlayer);
+                break;
+            
+            case CARDINAL:
+                List<Player> targetablePlayers = players.getTargetablePlayers();
+                // If less than two targetale players in the round, this card does nothing.
+                if (targetablePlayers.size() >= 2) {
+                    gameUI.printTargetablePlayers(targetablePlayers);
+                    Player opponentOne = decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, true);
+                    // The second opponent is for sure not a Sycophant marked player.
+                    Player opponentTwo = decisions.getOpponent(players, user, false, null, true);
+                    while (opponentOne.getName().equals(opponentTwo.getName())) {
+                        gameUI.printNotSamePlayers();
+                        opponentTwo = decisions.getOpponent(players, user, false, null, true);
                     }
+                    logTarget(opponentOne);
+                    logTarget(opponentTwo);
+                    gameActions.useCardinal(user, opponentOne, opponentTwo, gameUI);
+                }
+                break;
+
+            default:
+                opponent = null;
+                if (hasTarget(card)) {
+                    opponent = logTarget(decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, canTargetSelf(card)));
                 }
+                useCard(card, user, opponent, gameUI);
                 break;
+        }
+    }
 
+    /**
+     * @return true if the card is played on a single player chosen with getOpponent
+     */
+    static boolean hasTarget(Card card) {
+        switch (card) {
+            case GUARD:
+            case PRIEST:
+            case BARON:
+            case PRINCE:
+            case KING:
+            case DOWAGERQUEEN:
+            case BISHOP:
+            case SYNCOPHANT:
+            case JESTER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true if the player of the card may choose themselves as its target
+     */
+    static boolean canTargetSelf(Card card) {
+        return card == Card.PRINCE || card == Card.SYNCOPHANT || card == Card.JESTER;
+    }
+
+    /**
+     * Puts the card played on the discard pile of the user, before its effect.
+     */
+    void discardPlayedCard(Card card, Player user) {
+        user.getDiscarded().add(card);
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.play(user, card);
+        }
+    }
+
+    /**
+     * Plays the effect of a card asking nothing more than its target, once the target is chosen.
+     * The Guard, the Bishop, the Baroness and the Cardinal ask more questions and are played apart.
+     * @param card
+     *      the card played
+     * @param user
+     *      the player who is using the card
+     * @param opponent
+     *      the target, null if the card has none or nobody could be targeted
+     * @param gameUI
+     *      gameUI to show the results
+     */
+    void useCard(Card card, Player user, Player opponent, GameUI gameUI) {
+        switch (card) {
             case PRIEST:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
                 if(opponent != null) {
                     Card opponetCard = gameActions.usePriest(opponent);
-                    gameUI.showCard(opponent.getName(), opponetCard);
+                    user.sawCardOf(opponent);
+                    gameUI.showCard(user, opponent.getName(), opponetCard);
                 }
                 break;
 
             case BARON:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
                 if(opponent != null) {
                     gameActions.useBaron(user, opponent, gameUI);
                 }
@@ -227,14 +720,12 @@ public class Game {
                 break;
 
             case PRINCE:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, true);
                 if(opponent != null) {
                     gameActions.usePrince(opponent, deck);
                 }
                 break;
 
             case KING:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
                 if(opponent != null) {
                     gameActions.useKing(user, opponent);
                 }
@@ -248,20 +739,13 @@ public class Game {
                 break;
 
             case DOWAGERQUEEN: 
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
-                String DowagerQueenResult = gameActions.useDowagerQueen(user, opponent);
-                gameUI.dowagerQueenResult(DowagerQueenResult, user, opponent);
-                break;
-
-            case BISHOP:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
-                // It is always preferred to avoid passing gameUI to GameActions calls, but this case is an exception
-                // since there is a lot of gameUI logic associated with bishop card action
-                gameActions.useBishop(user, opponent, deck, players, gameUI);
+                if(opponent != null) {
+                    String DowagerQueenResult = gameActions.useDowagerQueen(user, opponent);
+                    gameUI.dowagerQueenResult(DowagerQueenResult, user, opponent);
+                }
                 break;
 
             case SYNCOPHANT:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, true);
                 this.SyncophantChosenPlayer = opponent;
                 this.SyncophantFlag = true;
                 break;
@@ -275,46 +759,70 @@ public class Game {
                 break;
 
             case JESTER:
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, true);
                 gameActions.useJester(user, opponent);
                 break;
 
-            case BARONESS:
-                int numOfPlayers = gameUI.getNumOfPlayerForBaroness(players);
-                if (numOfPlayers == 0) {
-                    gameUI.printWhenNoPlayerCanBeTarget();
-                    break;
-                }
-                gameActions.useBaroness(numOfPlayers, players, user, gameUI, localSyncophantFlag, localSyncophantChosenPlayer);
-                break;
-            
             case ASSASSIN:
                 // No Action
                 break;
-            
-            case CARDINAL:
-                List<Player> targetablePlayers = players.getTargetablePlayers();
-                // If less than two targetale players in the round, this card does nothing.
-                if (targetablePlayers.size() >= 2) {
-                    gameUI.printTargetablePlayers(targetablePlayers);
-                    Player opponentOne = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, true);
-                    // The second opponent is for sure not a Sycophant marked player.
-                    Player opponentTwo = gameUI.getOpponent(players, user, false, null, true);
-                    while (opponentOne.getName().equals(opponentTwo.getName())) {
-                        gameUI.printNotSamePlayers();
-                        opponentTwo = gameUI.getOpponent(players, user, false, null, true);
-                    }
-                    gameActions.useCardinal(opponentOne, opponentTwo, gameUI);
-                }
-                break;
+
+            default:
+                throw new IllegalArgumentException("The " + card + " asks more than a target");
         }
     }
 
+    /**
+     * Plays the effect of a Guard on its target, once the card is guessed.
+     */
+    void useGuard(Player user, Player opponent, Card guess, GameUI gameUI) {
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.guardGuess(guess);
+        }
+        if (gameActions.useAssassin(user, opponent, deck)) {
+            gameUI.assassinResult(user, opponent);
+        } else {
+            boolean correctGuess = gameActions.useGuard(guess, opponent);
+            if (!correctGuess) {
+                players.guessMissed(opponent, 1 << guess.ordinal());
+            }
+            gameUI.showGuardGuess(correctGuess);
+        }
+    }
+
+    /**
+     * Logs the target chosen for a card.
+     *
+     * @return the target
+     */
+    Player logTarget(Player target) {
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null && target != null) {
+            eventLog.target(target);
+        }
+        return target;
+    }
+
+    GameActions getGameActions() {
+        return gameActions;
+    }
+
     /**
      * All methods below are private methods for the game.
      */
 
+    private void logDraw(Player player, Card card) {
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.draw(player, card);
+        }
+    }
+
     public void startRound(PlayerList players, Deck deck, GameUI gameUI) {
+        EventLog eventLog = players.getEventLog();
+        if (eventLog != null) {
+            eventLog.roundStart();
+        }
         players.reset();
         deck.setDeck(players.getNumberOfPlayers(), gameUI);
         players.dealCards(deck);
@@ -333,6 +841,8 @@ public class Game {
      */
     public List<Player> declareRoundWinner(PlayerList players) {
         List<Player> winners = players.getRoundWinners();
+        EventLog eventLog = players.getEventLog();
+        int winnerSeats = 0;
         for(Player winner: winners){
             winner.addToken();
 
@@ -341,10 +851,28 @@ public class Game {
             if (winner.getJesterToken() != null) {
                 winner.getJesterToken().addToken();
             }
+            if (eventLog != null) {
+                eventLog.token(winner, EventLog.ROUND_WIN);
+                if (winner.getJesterToken() != null) {
+                    eventLog.token(winner.getJesterToken(), EventLog.JESTER);
+                }
+                winnerSeats |= 1 << winner.getSeat();
+            }
+        }
+        if (eventLog != null) {
+            eventLog.roundEnd(winnerSeats);
         }
         return winners;
     }
 
+    boolean isSyncophantFlag() {
+        return this.SyncophantFlag;
+    }
+
+    Player getSyncophantChosenPlayer() {
+        return this.SyncophantChosenPlayer;
+    }
+
     public void setSyncophantFlag(boolean value){
         this.SyncophantFlag = value;
     }
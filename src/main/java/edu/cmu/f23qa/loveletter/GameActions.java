@@ -9,16 +9,16 @@ public class GameActions {
      * Allows the user to guess a card that a player's hand contains (excluding another guard).
      * If the user is correct, the opponent loses the round and must lay down their card.
      * If the user is incorrect, the opponent is not affected.
-     * @param cardName
-     *          the input stream
+     * @param guess
+     *          the guessed card
      * @param opponent
      *          the targeted player
      * @return
      *          true if opponent is eliminated
      */
-    public boolean useGuard(String cardName, Player opponent) {
+    public boolean useGuard(Card guess, Player opponent) {
         Card opponentCard = opponent.getHand().peek(0);
-        if (opponentCard.getName().equalsIgnoreCase(cardName)) {
+        if (opponentCard == guess) {
             opponent.eliminate();
             return true;
         }
@@ -51,6 +51,10 @@ public class GameActions {
         if(looser != null) {
             looser.eliminate();
             gameUI.showGuardWinner(user != looser);
+        } else {
+            // a tie shows both players they hold the same card
+            user.sawCardOf(opponent);
+            opponent.sawCardOf(user);
         }
     }
 
@@ -110,6 +114,7 @@ public class GameActions {
             card = d.getSetAsideCard();
         }
         opponent.replaceHandCard(card);
+        logDraw(opponent, card);
     }
 
     /**
@@ -121,10 +126,7 @@ public class GameActions {
      *          the targeted player
      */
     public void useKing(Player user, Player opponent) {
-        Card userCard = user.getHand().remove(0);
-        Card opponentCard = opponent.getHand().remove(0);
-        user.getHand().add(opponentCard);
-        opponent.getHand().add(userCard);
+        user.getHand().swapWith(opponent.getHand());
     }
 
     /**
@@ -156,31 +158,71 @@ public class GameActions {
      * 
      */
     public void useBishop(Player user, Player opponent, Deck deck, PlayerList players, GameUI gameUI) {
-        int guessedValue = gameUI.getBishopGuess();
-        Card opponentCard = opponent.getHand().peek(0);
-        if (opponentCard.value() == guessedValue) {
+        int guessedValue = DecisionProvider.forSeat(user, gameUI).getBishopGuess(user);
+        if (bishopGuessed(user, opponent, guessedValue, players, gameUI)) {
+            // the opponent decides whether to swap
+            boolean swapConfirmation = DecisionProvider.forSeat(opponent, gameUI).getUserSwapConfirmation(opponent);
+            bishopSwap(opponent, swapConfirmation, deck);
+        }
+    }
+
+    /**
+     * Scores the guess of a Bishop and shows the result, the first half of useBishop.
+     * @param guessedValue
+     *          the card value guessed by the user
+     * @return
+     *          true if the opponent is then asked whether to swap their card
+     */
+    boolean bishopGuessed(Player user, Player opponent, int guessedValue, PlayerList players, GameUI gameUI) {
+        EventLog eventLog = user.eventLog();
+        if (eventLog != null) {
+            eventLog.bishopGuess(guessedValue);
+        }
+        if (opponent.getHand().peek(0).value() == guessedValue) {
             gameUI.printGetAToken();
             user.addToken(); // Add a token to the user's collection
+            if (eventLog != null) {
+                eventLog.token(user, EventLog.BISHOP);
+            }
 
             // Check for immediate win condition
             if (!players.isZeroGameWinner()) {
                 // Do nothing, as this logic is taken care in Game.java:start() loop
-                return;
+                return false;
             }
             gameUI.showBishopResults("UserWin");
-            boolean swapConfirmation = gameUI.getUserSwapConfirmation();
-            if (swapConfirmation && deck.hasMoreCards()) {
-                // Opponent discards and draws a new card
-                if (opponentCard.value() == 8) {
-                    usePrincess(opponent);
-                } else {
-                    opponent.getHand().remove(0);
-                    opponent.getDiscarded().add(opponentCard);
-                    opponent.getHand().add(deck.draw());
-                }
+            return true;
+        }
+        int guessed = 0;
+        for (Card card : Card.values()) {
+            if (card.value() == guessedValue) {
+                guessed |= 1 << card.ordinal();
+            }
+        }
+        players.guessMissed(opponent, guessed);
+        gameUI.showBishopResults("UserLose");
+        return false;
+    }
+
+    /**
+     * The opponent whose card was guessed with a Bishop discards it and draws a new one,
+     * if they want to and the deck has a card left. The second half of useBishop.
+     * @param swapConfirmation
+     *          the answer of the opponent
+     */
+    void bishopSwap(Player opponent, boolean swapConfirmation, Deck deck) {
+        Card opponentCard = opponent.getHand().peek(0);
+        if (swapConfirmation && deck.hasMoreCards()) {
+            // Opponent discards and draws a new card
+            if (opponentCard.value() == 8) {
+                usePrincess(opponent);
+            } else {
+                opponent.getHand().remove(0);
+                opponent.getDiscarded().add(opponentCard);
+                Card card = deck.draw();
+                opponent.getHand().add(card);
+                logDraw(opponent, card);
             }
-        } else {
-            gameUI.showBishopResults("UserLose");
         }
     }
 
@@ -214,7 +256,9 @@ public class GameActions {
             opponent.eliminate();
             return "UserWin";
         } else {
-            // It's a tie, nothing happens
+            // It's a tie, nothing happens but both players know the other card
+            user.sawCardOf(opponent);
+            opponent.sawCardOf(user);
             return "Tie";
         }
     }
@@ -239,9 +283,10 @@ public class GameActions {
     public void useBaroness(int numOfPlayers, PlayerList players, Player user, GameUI gameUI, 
         boolean localSyncophantFlag, Player localSyncophantChosenPlayer) {
             
+        DecisionProvider decisions = DecisionProvider.forSeat(user, gameUI);
         String prevPlayerToPeak = null;
         for (int i = 0; i < numOfPlayers; i++) {
-            Player opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
+            Player opponent = decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
             if (opponent != null && localSyncophantChosenPlayer != null && opponent.getName().equals(localSyncophantChosenPlayer.getName())) {
                 localSyncophantChosenPlayer = null;
                 localSyncophantFlag = false;
@@ -249,15 +294,27 @@ public class GameActions {
 
             while (opponent.getName().equals(prevPlayerToPeak)) {
                 gameUI.printWhenBaronessOnSameOpponent();
-                opponent = gameUI.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
+                opponent = decisions.getOpponent(players, user, localSyncophantFlag, localSyncophantChosenPlayer, false);
             }
 
-            Card opponentCard = opponent.getHand().peek(0);
-            gameUI.showCard(opponent.getName(), opponentCard);
+            baronessPeek(user, opponent, gameUI);
             prevPlayerToPeak = opponent.getName();
         }
     }
 
+    /**
+     * Shows the user the card of one opponent chosen with a Baroness.
+     */
+    void baronessPeek(Player user, Player opponent, GameUI gameUI) {
+        EventLog eventLog = user.eventLog();
+        if (eventLog != null) {
+            eventLog.target(opponent);
+        }
+        Card opponentCard = opponent.getHand().peek(0);
+        user.sawCardOf(opponent);
+        gameUI.showCard(user, opponent.getName(), opponentCard);
+    }
+
     /**
      * useAssassin checks whether the opponent has the Assassin card.
      * If yes, the current player is eliminiated from the round. 
@@ -272,13 +329,21 @@ public class GameActions {
      *          True when opponent has Assassin; otherwise, false.
      */
     boolean useAssassin(Player user, Player opponent, Deck deck) {
-        if (opponent.getHand().getCards().contains(Card.ASSASSIN)) {
+        if (opponent.getHand().contains(Card.ASSASSIN)) {
             user.eliminate();
             int assassinIndex = opponent.getHand().getCardPos(Card.ASSASSIN);
 
             opponent.getHand().remove(assassinIndex);
             opponent.getDiscarded().add(Card.ASSASSIN);
-            opponent.getHand().add(deck.draw());
+            // the set aside card is used when the deck is empty, same as for the Prince
+            Card card;
+            if (deck.hasMoreCards()) {
+                card = deck.draw();
+            } else {
+                card = deck.getSetAsideCard();
+            }
+            opponent.getHand().add(card);
+            logDraw(opponent, card);
             return true;
         }
 
@@ -287,6 +352,8 @@ public class GameActions {
 
     /**
      * useCardinal asks for two players to swap their cards and print out one of their cards based on the user's choice.
+     * @param user
+     *          the player using the Cardinal
      * @param one
      *          the first player
      * @param two
@@ -294,13 +361,29 @@ public class GameActions {
      * @param gameUI
      *          UI to interact 
      */
-    public void useCardinal(Player one, Player two, GameUI gameUI) {
+    public void useCardinal(Player user, Player one, Player two, GameUI gameUI) {
         // Swap Hand Card
-        Card temp = one.getHand().getCard();
-        one.getHand().setHand(two.getHand().getCard());
-        two.getHand().setHand(temp);
+        one.getHand().swapWith(two.getHand());
 
         // Peek one of the player's card
-        gameUI.cardinalPeekOne(one, two);
+        Player peeked = DecisionProvider.forSeat(user, gameUI).cardinalPeekOne(user, one, two);
+        cardinalPeek(user, peeked, gameUI);
+    }
+
+    /**
+     * Shows the user the card of the player peeked after a Cardinal swap, if any.
+     */
+    void cardinalPeek(Player user, Player peeked, GameUI gameUI) {
+        if (peeked != null) {
+            user.sawCardOf(peeked);
+            gameUI.showCardinalPeek(user, peeked.getName(), peeked.getHand().getCard());
+        }
+    }
+
+    private static void logDraw(Player player, Card card) {
+        EventLog eventLog = player.eventLog();
+        if (eventLog != null) {
+            eventLog.draw(player, card);
+        }
     }
 }
@@ -0,0 +1,634 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many tables of human players in one JVM. A player connects over a local TCP or Unix-domain
+ * socket, types a name and is seated at the next table with a free seat. Once a table is full it
+ * plays its game: every seat types its answers on its own connection, the questions and the cards
+ * in hand only go to the seat answering, the cards a player peeks at only to that player's seat, and
+ * everything else to the whole table.
+ *
+ * One thread serves every table. It waits on a Selector for the lines the players type, and each
+ * table is an AsyncGame that stops at every question rather than blocking on it. A question is
+ * asked by the GameUI of the table with the lines its seat typed so far, and asked again whenever
+ * a line arrives until it has its answer, so the players see the prompts and checks of the console.
+ * The output of a seat is queued and written when its socket takes it. A player that stops reading
+ * is dropped once the queue is full, which closes the table rather than stalling the others.
+ */
+public final class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 4321;
+
+    /**
+     * The longest line a player may type, the names and answers are short.
+     */
+    private static final int LINE_BUFFER_SIZE = 256;
+
+    /**
+     * The lines a seat may type ahead or the GameUI may refuse before the seat is dropped.
+     */
+    private static final int MAX_LINES = 64;
+
+    /**
+     * The output a seat may leave unread before it is dropped, many times a whole game.
+     */
+    private static final int MAX_QUEUED = 1 << 16;
+
+    private static final byte[] NAME_PROMPT = "Enter player name: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TABLE_CLOSED = "A player left, the table is closed\n".getBytes(StandardCharsets.UTF_8);
+
+    private final SocketAddress address;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final int seatsPerTable;
+    private final Set<Table> tables = ConcurrentHashMap.newKeySet();
+    private int numOfTables;
+    private Thread loop;
+    private volatile boolean closed;
+
+    /**
+     * The table taking the next players, null until a player joins.
+     */
+    private Table forming;
+
+    /**
+     * Constructor for a server, it listens at once but accepts players only once started.
+     *
+     * @param address
+     *          an InetSocketAddress for TCP, port 0 for any free port, or a UnixDomainSocketAddress
+     * @param seatsPerTable
+     *          the number of players of every table
+     */
+    public GameServer(SocketAddress address, int seatsPerTable) throws IOException {
+        if (seatsPerTable < 2 || seatsPerTable > GameUI.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A table has 2 to " + GameUI.MAX_PLAYERS + " seats, got " + seatsPerTable);
+        }
+        this.address = address;
+        this.seatsPerTable = seatsPerTable;
+        this.server = address instanceof UnixDomainSocketAddress
+            ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+            : ServerSocketChannel.open();
+        this.server.bind(address, 1024);
+        this.server.configureBlocking(false);
+        this.selector = Selector.open();
+        this.server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * @return the address the server listens at, with the port picked for port 0
+     */
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * @return the number of tables playing or waiting for players
+     */
+    public int getOpenTables() {
+        return tables.size();
+    }
+
+    /**
+     * Starts serving the players on a thread of its own.
+     */
+    public void start() {
+        loop = new Thread(this::serve, "game-server");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    private void serve() {
+        try {
+            while (!closed) {
+                selector.select(this::handle);
+            }
+        } catch (IOException e) {
+            System.err.println("The server stopped serving players: " + e);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (key.channel() == server) {
+            accept();
+            return;
+        }
+        Seat seat = (Seat) key.attachment();
+        if (key.isValid() && key.isWritable()) {
+            seat.write();
+        }
+        if (key.isValid() && key.isReadable()) {
+            seat.read();
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                Seat seat = new Seat(channel);
+                seat.key = channel.register(selector, SelectionKey.OP_READ, seat);
+                seat.send(NAME_PROMPT);
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot accept a player: " + e);
+        }
+    }
+
+    /**
+     * Seats a new player at the forming table under the name typed, and starts its game once it is full.
+     */
+    private void join(Seat seat, String name) {
+        name = name.trim();
+        if (name.isEmpty()) {
+            seat.send(NAME_PROMPT);
+            return;
+        }
+        if (forming == null) {
+            forming = new Table(++numOfTables);
+            tables.add(forming);
+        }
+        if (forming.names.contains(name)) {
+            seat.send("Player is already in the game\nEnter player name: ".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        seat.table = forming;
+        forming.names.add(name);
+        forming.seats.add(seat);
+        int missing = seatsPerTable - forming.seats.size();
+        if (missing > 0) {
+            seat.send(("Waiting for " + missing + " more player" + (missing > 1 ? "s" : "") + "\n").getBytes(StandardCharsets.UTF_8));
+        } else {
+            Table full = forming;
+            forming = null;
+            full.start();
+        }
+    }
+
+    /**
+     * Stops serving players and closes every table.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        if (loop != null) {
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        tables.clear();
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+    }
+
+    /**
+     * The connection of one player, with the lines typed but not answered yet and the output not written yet.
+     */
+    private final class Seat {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(LINE_BUFFER_SIZE);
+        private final List<String> lines = new ArrayList<>();
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        private SelectionKey key;
+        private int queued;
+        private Table table;
+        private boolean finishing;
+        private boolean left;
+
+        Seat(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads what the player typed, a name before the player is seated and answers after.
+         */
+        void read() {
+            try {
+                int read;
+                while ((read = channel.read(in)) > 0) {
+                    takeLines();
+                }
+                if (read < 0) {
+                    leave();
+                }
+            } catch (IOException e) {
+                leave();
+            }
+        }
+
+        private void takeLines() {
+            in.flip();
+            int start = 0;
+            for (int i = 0; i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    int end = i > start && in.get(i - 1) == '\r' ? i - 1 : i;
+                    typed(new String(in.array(), start, end - start, StandardCharsets.UTF_8));
+                    start = i + 1;
+                }
+            }
+            in.position(start).compact();
+            if (!in.hasRemaining() && !left) {
+                // a line longer than any name or answer
+                leave();
+            }
+        }
+
+        private void typed(String line) {
+            if (left || finishing) {
+                return;
+            }
+            if (table == null) {
+                join(this, line);
+            } else if (lines.size() == MAX_LINES) {
+                leave();
+            } else {
+                lines.add(line);
+                table.typed(this);
+            }
+        }
+
+        /**
+         * Writes the output at once as far as the socket takes it, and queues the rest.
+         */
+        void send(byte[] bytes) {
+            if (left) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                if (out.isEmpty()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                leave();
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                return;
+            }
+            queued += buffer.remaining();
+            if (queued > MAX_QUEUED) {
+                leave();
+                return;
+            }
+            out.add(buffer);
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+
+        /**
+         * Writes the queued output the socket takes now.
+         */
+        void write() {
+            try {
+                while (!out.isEmpty()) {
+                    ByteBuffer buffer = out.peek();
+                    queued -= channel.write(buffer);
+                    if (buffer.hasRemaining()) {
+                        return;
+                    }
+                    out.poll();
+                }
+                key.interestOps(SelectionKey.OP_READ);
+                if (finishing) {
+                    channel.shutdownOutput();
+                }
+            } catch (IOException e) {
+                leave();
+            }
+        }
+
+        /**
+         * Ends the connection once the game is over and the output is written. The answers typed too
+         * many are still read until the player closes, closing a socket with unread input would reset
+         * it and lose the end of the output.
+         */
+        void finish() {
+            finishing = true;
+            if (out.isEmpty() && !left) {
+                try {
+                    channel.shutdownOutput();
+                } catch (IOException e) {
+                    leave();
+                }
+            }
+        }
+
+        /**
+         * Closes the connection of a player who left or was dropped, and leaves the table.
+         */
+        void leave() {
+            if (left) {
+                return;
+            }
+            left = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing left to do with the connection
+            }
+            if (table != null) {
+                table.leave(this);
+            }
+        }
+    }
+
+    /**
+     * The output of a table, sent to every seat, or kept while the GameUI asks a question of a seat.
+     */
+    private static final class TableOutput extends OutputStream {
+        private final List<Seat> seats;
+        private ByteArrayOutputStream asked;
+
+        TableOutput(List<Seat> seats) {
+            this.seats = seats;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            if (asked != null) {
+                asked.write(bytes, off, len);
+                return;
+            }
+            byte[] copy = Arrays.copyOfRange(bytes, off, off + len);
+            for (Seat seat : seats) {
+                seat.send(copy);
+            }
+        }
+    }
+
+    /**
+     * The lines a seat typed for the question being asked, read from the first on every attempt.
+     */
+    private static final class Typed implements Iterator<String> {
+        private List<String> lines = List.of();
+        private int read;
+
+        void from(List<String> lines) {
+            this.lines = lines;
+            this.read = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read < lines.size();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No line found");
+            }
+            return lines.get(read++);
+        }
+    }
+
+    /**
+     * A table taking players, then playing one game once all its players are seated.
+     */
+    private final class Table implements AsyncDecisionProvider {
+        private final int id;
+        private final List<Seat> seats = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final TableOutput output = new TableOutput(seats);
+        private final Typed typed = new Typed();
+        private final GameUI gameUI = new GameUI(new ConsoleInput(typed), new PrintStream(output, false, StandardCharsets.UTF_8));
+        private PlayerList players;
+        private Question<?> question;
+        private boolean playing;
+        private boolean abandoned;
+        private boolean over;
+
+        Table(int id) {
+            this.id = id;
+        }
+
+        void start() {
+            playing = true;
+            players = new PlayerList();
+            for (String name : names) {
+                players.addPlayer(name);
+            }
+            for (Player player : players.getPlayers()) {
+                player.setGameUI(gameUI);
+            }
+            gameUI.setPlayerOutput((viewer, text) -> seatOf(viewer).send(text.getBytes(StandardCharsets.UTF_8)));
+            Game game = new Game(players, new Deck(), new GameActions());
+            gameUI.showSeed(game.getSeed());
+            new AsyncGame(game, gameUI, this).start().whenComplete((winner, error) -> end(error));
+        }
+
+        private void end(Throwable error) {
+            over = true;
+            gameUI.flush();
+            if (error != null) {
+                if (!(error instanceof NoSuchElementException)) {
+                    System.err.println("Table " + id + " failed: " + error);
+                }
+                output.write(TABLE_CLOSED, 0, TABLE_CLOSED.length);
+            }
+            for (Seat seat : seats) {
+                seat.finish();
+            }
+            tables.remove(this);
+        }
+
+        /**
+         * A seat left: a forming table frees the seat, a playing table ends at its question.
+         */
+        void leave(Seat seat) {
+            if (!playing) {
+                int at = seats.indexOf(seat);
+                seats.remove(at);
+                names.remove(at);
+                if (seats.isEmpty() && forming == this) {
+                    forming = null;
+                    tables.remove(this);
+                }
+            } else if (!over) {
+                abandoned = true;
+                if (question == null) {
+                    // the game is between two questions, it ends at the next one
+                    return;
+                }
+                Question<?> unanswered = question;
+                question = null;
+                unanswered.answer.completeExceptionally(new NoSuchElementException("A player left"));
+            }
+        }
+
+        /**
+         * A seat typed a line, the question asked of the seat is asked again.
+         */
+        void typed(Seat seat) {
+            if (question != null && question.seat == seat) {
+                question.attempt();
+            }
+        }
+
+        private Seat seatOf(Player player) {
+            return seats.get(players.getPlayers().indexOf(player));
+        }
+
+        private <T> CompletableFuture<T> ask(Player player, Supplier<T> decision) {
+            if (abandoned) {
+                return CompletableFuture.failedFuture(new NoSuchElementException("A player left"));
+            }
+            gameUI.flush();
+            Question<T> asked = new Question<>(this, seatOf(player), decision);
+            question = asked;
+            asked.attempt();
+            return asked.answer;
+        }
+
+        @Override
+        public CompletableFuture<Card> getCard(Player user) {
+            // the card stays in the hand, the game removes it
+            return ask(user, () -> {
+                gameUI.printCards(user.getHand().getCards());
+                return user.getHand().peek(gameUI.chooseCard());
+            });
+        }
+
+        @Override
+        public CompletableFuture<Player> getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+            return ask(user, () -> gameUI.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, includeSelf));
+        }
+
+        @Override
+        public CompletableFuture<Card> getGuardGuess(Player user) {
+            return ask(user, () -> gameUI.getGuardGuess(user));
+        }
+
+        @Override
+        public CompletableFuture<Integer> getBishopGuess(Player user) {
+            return ask(user, () -> gameUI.getBishopGuess(user));
+        }
+
+        @Override
+        public CompletableFuture<Integer> getNumOfPlayerForBaroness(PlayerList players, Player user) {
+            return ask(user, () -> gameUI.getNumOfPlayerForBaroness(players, user));
+        }
+
+        @Override
+        public CompletableFuture<Player> cardinalPeekOne(Player user, Player one, Player two) {
+            return ask(user, () -> gameUI.cardinalPeekOne(user, one, two));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> getUserSwapConfirmation(Player opponent) {
+            return ask(opponent, () -> gameUI.getUserSwapConfirmation(opponent));
+        }
+
+        @Override
+        public CompletableFuture<Player> getStartingPlayer(List<Player> players) {
+            return ask(players.get(0), () -> gameUI.getStartingPlayer(players));
+        }
+    }
+
+    /**
+     * A question asked of a seat. The GameUI asks it with the lines the seat typed so far and runs out
+     * of input until the seat typed an answer it takes. It shows the same prompts and checks every
+     * time, the seat only gets what it was not shown yet.
+     */
+    private static final class Question<T> {
+        private final Table table;
+        private final Seat seat;
+        private final Supplier<T> decision;
+        private final CompletableFuture<T> answer = new CompletableFuture<>();
+        private int shown;
+
+        Question(Table table, Seat seat, Supplier<T> decision) {
+            this.table = table;
+            this.seat = seat;
+            this.decision = decision;
+        }
+
+        void attempt() {
+            ByteArrayOutputStream asked = new ByteArrayOutputStream();
+            table.output.asked = asked;
+            table.typed.from(seat.lines);
+            T value = null;
+            boolean answered = false;
+            try {
+                value = decision.get();
+                answered = true;
+            } catch (NoSuchElementException e) {
+                // the seat has not typed an answer the GameUI takes yet
+            } finally {
+                table.gameUI.flush();
+                table.output.asked = null;
+            }
+            byte[] bytes = asked.toByteArray();
+            if (bytes.length > shown) {
+                seat.send(Arrays.copyOfRange(bytes, shown, bytes.length));
+                shown = bytes.length;
+            }
+            if (answered && table.question == this) {
+                seat.lines.subList(0, table.typed.read).clear();
+                table.question = null;
+                answer.complete(value);
+            }
+        }
+    }
+
+    /**
+     * Runs a server until it is killed.
+     *
+     * @param args
+     *          the TCP port on the loopback address or the path of a Unix-domain socket,
+     *          and the number of players of every table
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String where = args.length > 0 ? args[0] : String.valueOf(DEFAULT_PORT);
+        int seatsPerTable = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        SocketAddress address = where.chars().allMatch(Character::isDigit)
+            ? new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(where))
+            : UnixDomainSocketAddress.of(Path.of(where));
+        try (GameServer server = new GameServer(address, seatsPerTable)) {
+            server.start();
+            System.out.println("Serving tables of " + seatsPerTable + " players at " + server.getAddress());
+            server.loop.join();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+
+/**
+ * Binary snapshots of a game taken between two turns or after Game.beginTurn, used for
+ * checkpoints, search and sending a game to another process. A snapshot holds the players
+ * and their seats, tokens, protection, Jester tokens, hands and discard piles in order, the
+ * turn, the player who began a turn, the Sycophant state, and the remaining cards, set-aside
+ * card, face up cards and generator of the deck. Decoding gives a working game that deals the
+ * same cards as the original, it goes on with Game.resume.
+ *
+ * Counts and seats are written as varints and cards as one byte ordinals, so four
+ * players with short names fit in about 70 bytes. Encoding never allocates.
+ */
+public final class GameSnapshot {
+    private static final Card[] CARDS = Card.values();
+    private static final int VERSION = 1;
+    private static final int NO_SEAT = -1;
+
+    private static final int PROTECTED = 1 << 2;
+    private static final int SHUFFLED = 1;
+    private static final int TOP_PICKED = 1 << 1;
+    private static final int SET_ASIDE = 1 << 2;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Computes the number of bytes the snapshot of a game takes.
+     *
+     * @param game
+     *          the game, between two turns
+     * @return the size of the snapshot in bytes
+     */
+    public static int encodedSize(Game game) {
+        return write(game, null, 0);
+    }
+
+    /**
+     * Writes the snapshot of a game into a buffer.
+     *
+     * @param game
+     *          the game, between two turns
+     * @param buffer
+     *          the buffer, encodedSize bytes must be left from the offset
+     * @param offset
+     *          the position of the first byte of the snapshot
+     * @return the position after the last byte of the snapshot
+     */
+    public static int encode(Game game, byte[] buffer, int offset) {
+        if (buffer == null) {
+            throw new NullPointerException("buffer");
+        }
+        return write(game, buffer, offset);
+    }
+
+    /**
+     * Writes the snapshot of a game into a new array.
+     */
+    public static byte[] encode(Game game) {
+        byte[] buffer = new byte[encodedSize(game)];
+        write(game, buffer, 0);
+        return buffer;
+    }
+
+    /**
+     * Writes the snapshot, only counting its bytes when the buffer is null.
+     */
+    private static int write(Game game, byte[] buffer, int pos) {
+        PlayerList players = game.getPlayers();
+        int numOfSeats = players.getNumberOfSeats();
+
+        pos = putVarint(buffer, pos, VERSION);
+        pos = putVarint(buffer, pos, numOfSeats);
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            String name = players.getPlayerAt(seat).getName();
+            pos = putVarint(buffer, pos, name.length());
+            for (int i = 0; i < name.length(); i++) {
+                pos = putVarint(buffer, pos, name.charAt(i));
+            }
+        }
+        pos = putVarint(buffer, pos, players.getInGameSeats());
+        pos = putVarint(buffer, pos, players.getCursor());
+        pos = putVarint(buffer, pos, players.targetAffectionPoints);
+        pos = putByte(buffer, pos, game.isSyncophantFlag() ? 1 : 0);
+        pos = putSeat(buffer, pos, game.getSyncophantChosenPlayer());
+        pos = putSeat(buffer, pos, game.getTurnPlayer());
+
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            Player player = players.getPlayerAt(seat);
+            Hand hand = player.getHand();
+            pos = putVarint(buffer, pos, player.getTokens());
+            pos = putByte(buffer, pos, hand.size() | (player.isProtected() ? PROTECTED : 0));
+            pos = putSeat(buffer, pos, player.getJesterToken());
+            for (int i = 0; i < hand.size(); i++) {
+                pos = putByte(buffer, pos, hand.peek(i).ordinal());
+            }
+            List<Card> discarded = player.getDiscarded().getCards();
+            pos = putVarint(buffer, pos, discarded.size());
+            for (int i = 0; i < discarded.size(); i++) {
+                pos = putByte(buffer, pos, discarded.get(i).ordinal());
+            }
+        }
+
+        Deck deck = game.getDeck();
+        int size = deck.returnNumberOfCardsRemaining();
+        Card setAside = deck.getSetAsideCard();
+        pos = putLong(buffer, pos, deck.getSeed());
+        pos = putLong(buffer, pos, deck.getRandomState());
+        pos = putVarint(buffer, pos, size);
+        for (int i = 0; i < size; i++) {
+            pos = putByte(buffer, pos, deck.ordinalAt(i));
+        }
+        pos = putByte(buffer, pos, (deck.isShuffled() ? SHUFFLED : 0) | (deck.isTopPicked() ? TOP_PICKED : 0)
+            | (setAside != null ? SET_ASIDE : 0));
+        if (setAside != null) {
+            pos = putByte(buffer, pos, setAside.ordinal());
+        }
+        List<Card> faceUp = deck.getFaceUpCards();
+        pos = putVarint(buffer, pos, faceUp.size());
+        for (int i = 0; i < faceUp.size(); i++) {
+            pos = putByte(buffer, pos, faceUp.get(i).ordinal());
+        }
+        return pos;
+    }
+
+    /**
+     * Rebuilds a game from its snapshot.
+     *
+     * @param buffer
+     *          the buffer holding the snapshot
+     * @param offset
+     *          the position of the first byte of the snapshot
+     * @param gameUI
+     *          the UI the players of the game report to
+     * @return the game, ready to resume
+     */
+    public static Game decode(byte[] buffer, int offset, GameUI gameUI) {
+        Reader in = new Reader(buffer, offset);
+        int version = in.varint();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unknown snapshot version " + version);
+        }
+
+        PlayerList players = new PlayerList();
+        int numOfSeats = in.varint();
+        StringBuilder name = new StringBuilder();
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            name.setLength(0);
+            for (int length = in.varint(); length > 0; length--) {
+                name.append((char) in.varint());
+            }
+            if (!players.addPlayer(name.toString())) {
+                throw new IllegalArgumentException("Player " + name + " is seated twice");
+            }
+            players.getPlayer(name.toString()).setGameUI(gameUI);
+        }
+        int inGameSeats = in.varint();
+        int cursor = in.varint();
+        int targetAffectionPoints = in.varint();
+        boolean syncophantFlag = in.next() != 0;
+        int syncophantSeat = in.seat();
+        int turnSeat = in.seat();
+
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            Player player = players.getPlayerAt(seat);
+            player.setTokens(in.varint());
+            int flags = in.next();
+            int jesterSeat = in.seat();
+            for (int i = flags & ~PROTECTED; i > 0; i--) {
+                player.getHand().add(in.card());
+            }
+            for (int i = in.varint(); i > 0; i--) {
+                player.getDiscarded().add(in.card());
+            }
+            player.setProtected((flags & PROTECTED) != 0);
+            player.setJesterToken(playerAt(players, jesterSeat));
+        }
+        players.restore(inGameSeats, cursor, targetAffectionPoints);
+
+        Deck deck = new Deck(in.fixed64());
+        long randomState = in.fixed64();
+        int size = in.varint();
+        int cards = in.skip(size);
+        for (int i = 0; i < size; i++) {
+            checkCard(buffer[cards + i]);
+        }
+        int flags = in.next();
+        Card setAside = (flags & SET_ASIDE) != 0 ? in.card() : null;
+        deck.restore(buffer, cards, size, (flags & SHUFFLED) != 0, (flags & TOP_PICKED) != 0, setAside, randomState);
+        int numOfFaceUp = in.varint();
+        if (numOfFaceUp > 0) {
+            Card[] faceUp = new Card[numOfFaceUp];
+            for (int i = 0; i < numOfFaceUp; i++) {
+                faceUp[i] = in.card();
+            }
+            deck.setFaceUpCards(List.of(faceUp));
+        }
+
+        Game game = new Game(players, deck, new GameActions());
+        game.setSyncophantFlag(syncophantFlag);
+        game.setSyncophantChosenPlayer(playerAt(players, syncophantSeat));
+        game.setTurnPlayer(playerAt(players, turnSeat));
+        return game;
+    }
+
+    private static Player playerAt(PlayerList players, int seat) {
+        if (seat == NO_SEAT) {
+            return null;
+        }
+        if (seat >= players.getNumberOfSeats()) {
+            throw new IllegalArgumentException("No seat " + seat + " at a table of " + players.getNumberOfSeats() + " seats");
+        }
+        return players.getPlayerAt(seat);
+    }
+
+    private static Card checkCard(int ordinal) {
+        if (ordinal < 0 || ordinal >= CARDS.length) {
+            throw new IllegalArgumentException("Unknown card " + ordinal);
+        }
+        return CARDS[ordinal];
+    }
+
+    /*
+     * Writers, they only count the bytes when the buffer is null.
+     */
+
+    private static int putByte(byte[] buffer, int pos, int value) {
+        if (buffer != null) {
+            buffer[pos] = (byte) value;
+        }
+        return pos + 1;
+    }
+
+    private static int putVarint(byte[] buffer, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            pos = putByte(buffer, pos, (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        return putByte(buffer, pos, value);
+    }
+
+    /**
+     * Writes the seat of a player, 0 standing for no player.
+     */
+    private static int putSeat(byte[] buffer, int pos, Player player) {
+        return putVarint(buffer, pos, player == null ? 0 : player.getSeat() + 1);
+    }
+
+    private static int putLong(byte[] buffer, int pos, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            pos = putByte(buffer, pos, (int) (value >>> shift));
+        }
+        return pos;
+    }
+
+    /**
+     * Reads a snapshot from a buffer, byte after byte.
+     */
+    private static final class Reader {
+        private final byte[] buffer;
+        private int pos;
+
+        Reader(byte[] buffer, int pos) {
+            this.buffer = buffer;
+            this.pos = pos;
+        }
+
+        int next() {
+            if (pos >= buffer.length) {
+                throw new IllegalArgumentException("The snapshot is truncated");
+            }
+            return buffer[pos++] & 0xFF;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                int b = next();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in the snapshot");
+        }
+
+        int seat() {
+            return varint() - 1;
+        }
+
+        Card card() {
+            return checkCard(next());
+        }
+
+        long fixed64() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | next();
+            }
+            return value;
+        }
+
+        /**
+         * Skips the given number of bytes.
+         *
+         * @return the position of the first skipped byte
+         */
+        int skip(int length) {
+            if (length > buffer.length - pos) {
+                throw new IllegalArgumentException("The snapshot is truncated");
+            }
+            int start = pos;
+            pos += length;
+            return start;
+        }
+    }
+}
@@ -1,18 +1,84 @@
 package edu.cmu.f23qa.loveletter;
 
+import java.io.BufferedReader;
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
-public class GameUI {
+/**
+ * The console UI of the game. It shows the game to the players and takes
+ * the decisions of every seat that has no other DecisionProvider attached.
+ */
+public class GameUI implements DecisionProvider {
     private static int MIN_PLAYERS = 2;
-    private static int MAX_PLAYERS = 8;
+    static final int MAX_PLAYERS = 8;
 
-    private final Scanner in;
+    private final ConsoleInput in;
+    private final ConsoleRenderer out;
+
+    /**
+     * Where the output shown to one player alone goes, null when it is shown with everything else.
+     */
+    private PlayerOutput playerOutput;
+
+    /**
+     * The output shown to one player alone, such as the card of another player they peek at.
+     */
+    interface PlayerOutput {
+        /**
+         * Shows the text to the viewer and nobody else.
+         */
+        void show(Player viewer, String text);
+    }
 
     GameUI(Scanner in) {
+        this(new ConsoleInput(in), System.out);
+    }
+
+    GameUI(BufferedReader in) {
+        this(new ConsoleInput(in), System.out);
+    }
+
+    GameUI(ConsoleInput in, PrintStream out) {
         this.in = in;
+        this.out = new ConsoleRenderer(out);
+    }
+
+    /**
+     * Writes out everything shown so far.
+     */
+    void flush() {
+        out.flush();
+    }
+
+    /**
+     * Sends the output shown to one player alone to that player, rather than with everything else.
+     * @param playerOutput
+     *          the output of the players, null to show it with everything else
+     */
+    void setPlayerOutput(PlayerOutput playerOutput) {
+        this.playerOutput = playerOutput;
+    }
+
+    /**
+     * Shows a line to the viewer alone, after everything shown so far.
+     */
+    private void showTo(Player viewer, String line) {
+        if (playerOutput == null) {
+            out.println(line);
+        } else {
+            out.flush();
+            playerOutput.show(viewer, line + '\n');
+        }
+    }
+
+    /**
+     * Reads a line of input, once everything shown so far is written out.
+     */
+    private String readLine() {
+        out.flush();
+        return in.readLine();
     }
 
     /**
@@ -22,33 +88,48 @@ public class GameUI {
      *      a list of player names
      */
     List<String> getPlayers() {
+        return getPlayers(0);
+    }
+
+    /**
+     * The method get the names of the players joining the players already seated,
+     * for example bots, an empty name indicates all the player names are entered
+     * @param seated
+     *      the number of players already seated
+     * @return
+     *      a list of player names
+     */
+    List<String> getPlayers(int seated) {
         List<String> playerNames = new ArrayList<>();
-        System.out.print("Enter player name (empty when done): ");
-        String name = in.nextLine().trim();
+        if (seated >= MAX_PLAYERS) {
+            return playerNames;
+        }
+        out.print("Enter player name (empty when done): ");
+        String name = readLine().trim();
 
-        while (!canStart(name.isEmpty(), playerNames.size())) {
+        while (!canStart(name.isEmpty(), seated + playerNames.size())) {
             if(name.isEmpty()){
-                if (playerNames.size() == 0) {
-                    System.out.println("No player to start the game");
+                if (seated + playerNames.size() == 0) {
+                    out.println("No player to start the game");
                 }
-                if (playerNames.size() == 1) {
-                    System.out.println("One player cannot start the game");
+                if (seated + playerNames.size() == 1) {
+                    out.println("One player cannot start the game");
                 }
             }
             else if(playerNames.contains(name)){
-                System.out.println("Player is already in the game");
+                out.println("Player is already in the game");
             } else {
                 playerNames.add(name);
             }
 
             // Start the game if there are eight players
             // as premium edition can have a max of eight players
-            if(playerNames.size() == MAX_PLAYERS) {
+            if(seated + playerNames.size() == MAX_PLAYERS) {
                 break;
             }
 
-            System.out.print("Enter player name (empty when done): ");
-            name = in.nextLine().trim();
+            out.print("Enter player name (empty when done): ");
+            name = readLine().trim();
         }
         return playerNames;
     }
@@ -72,7 +153,7 @@ public class GameUI {
      *          name of the round winner
      */
     void showRoundWinner(String name) {
-        System.out.println(name + " has won this round!");
+        out.println(name + " has won this round!");
     }
 
     /**
@@ -92,7 +173,8 @@ public class GameUI {
      *          name of the game winner
      */
     void showGameWinner(String name) {
-        System.out.println(name+ " has won the game and the heart of the princess!");
+        out.print(name).println(" has won the game and the heart of the princess!");
+        out.flush();
     }
 
     /**
@@ -101,7 +183,7 @@ public class GameUI {
      *          name of the person with the turn
      */
     void showPlayerTurn(String name) {
-        System.out.println("\n" + name + "'s turn:");
+        out.println().print(name).println("'s turn:");
     }
 
     /**
@@ -119,7 +201,8 @@ public class GameUI {
      * @return 
      *              the chosen target player
      */
-    Player getOpponent(PlayerList playerList, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+    @Override
+    public Player getOpponent(PlayerList playerList, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
         Player opponent = null;
 
         if (syncophantFlag && (syncophantChosenPlayer != null)) {
@@ -131,22 +214,22 @@ public class GameUI {
         boolean validTarget = false;
 
         if (!playerList.isOpponentsAvailable(user) && !includeSelf) {
-            System.out.println("No opponent available.");
+            out.println("No opponent available.");
             return null;
         }
 
         while (!validTarget) {
-            System.out.print("Who would you like to target: ");
-            String opponentName = in.nextLine().trim();
+            out.print("Who would you like to target: ");
+            String opponentName = readLine().trim();
             opponent = playerList.getPlayer(opponentName);
             if (opponent == null) {
-                System.out.println("This player is not in the game.");
+                out.println("This player is not in the game.");
             } else if (opponent.isProtected()) {
-                System.out.println("This player is protected by a handmaiden.");
+                out.println("This player is protected by a handmaiden.");
             } else if (opponent.getName().equals(user.getName()) && !includeSelf) {
-                System.out.println("You cannot target yourself.");
+                out.println("You cannot target yourself.");
             } else if (!opponent.getHand().hasCards()) {
-                System.out.println("This player is out of cards.");
+                out.println("This player is out of cards.");
             } else {
                 validTarget = true;
             }
@@ -159,7 +242,8 @@ public class GameUI {
      * @return 
      *      the number of opponents
      */
-    public int getNumOfPlayerForBaroness(PlayerList players) {
+    @Override
+    public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
         List<Player> targetablePlayers = players.getTargetablePlayers();
 
         if (targetablePlayers.size() == 1) {
@@ -170,17 +254,15 @@ public class GameUI {
         // If there's only two active players in the round, the current player can only choose
         // one opponent to peak.
         if (targetablePlayers.size() == 2) {
-            System.out.println("You can only check one other player in the round.");
+            out.println("You can only check one other player in the round.");
             return 1;
         }
 
-        System.out.print("How many players do you want to check? Please enter 1 or 2: ");
-        String numString = in.nextLine().trim();
-        int num = Integer.parseInt(numString);
+        out.print("How many players do you want to check? Please enter 1 or 2: ");
+        int num = ConsoleInput.parseNumber(readLine(), -1);
         while (num != 1 && num != 2) {
-            System.out.println("You can only view 1 or 2 other players. Please re-enter: ");
-            numString = in.nextLine();
-            num = Integer.parseInt(numString);
+            out.println("You can only view 1 or 2 other players. Please re-enter: ");
+            num = ConsoleInput.parseNumber(readLine(), -1);
         }
 
         return num;
@@ -190,7 +272,7 @@ public class GameUI {
      * When the player wants to check two other players, the player shouldn't input two same player name.
      */
     public void printWhenBaronessOnSameOpponent() {
-        System.out.println("You can't check for the same player. Please reenter with another player.");
+        out.println("You can't check for the same player. Please reenter with another player.");
     }
 
     /**
@@ -198,27 +280,26 @@ public class GameUI {
      * @return
      */
     public void printWhenNoPlayerCanBeTarget() {
-        System.out.println("All other players are out or protected. ");
+        out.println("All other players are out or protected. ");
     }
 
     /**
      * Get the opponent card guess while using Guard
      * @return
-     *      the card name guessed
+     *      the card guessed
      */
-    String getGuardGuess() {
-        ArrayList<String> cardNames = new ArrayList<>(Arrays.asList(Card.CARD_NAMES));
-
-        System.out.print("Which card would you like to guess: ");
-        String cardName = in.nextLine().trim();
-
-        while (!cardNames.contains(cardName.toLowerCase()) || cardName.equalsIgnoreCase("guard")) {
-            System.out.println("Invalid card name");
-            System.out.print("Which card would you like to guess: ");
-            cardName = in.nextLine().trim();
+    @Override
+    public Card getGuardGuess(Player user) {
+        out.print("Which card would you like to guess: ");
+        Card guess = Card.forName(readLine().trim());
+
+        while (guess == null || guess == Card.GUARD) {
+            out.println("Invalid card name");
+            out.print("Which card would you like to guess: ");
+            guess = Card.forName(readLine().trim());
         }
 
-        return cardName;
+        return guess;
     }
 
     /**
@@ -228,9 +309,9 @@ public class GameUI {
      */
     void showGuardGuess(boolean isCorrect) {
         if (isCorrect) {
-            System.out.println("You have guessed correctly!");
+            out.println("You have guessed correctly!");
         } else {
-            System.out.println("You have guessed incorrectly.");
+            out.println("You have guessed incorrectly.");
         }
     }
 
@@ -240,35 +321,75 @@ public class GameUI {
      *      the index of the chosen card, possible value -- 0, 1
      */
     int chooseCard() {
-        System.out.println();
-        System.out.print("Which card would you like to play (0 for first, 1 for second): ");
-        String cardPosition = in.nextLine().trim();
+        out.println();
+        out.print("Which card would you like to play (0 for first, 1 for second): ");
+        String cardPosition = readLine().trim();
         while (!cardPosition.equals("0") && !cardPosition.equals("1")) {
-            System.out.println("Please enter a valid card position");
-            System.out.print("Which card would you like to play (0 for first, 1 for second): ");
-            cardPosition = in.nextLine().trim();
+            out.println("Please enter a valid card position");
+            out.print("Which card would you like to play (0 for first, 1 for second): ");
+            cardPosition = readLine().trim();
         }
 
-        int idx = Integer.parseInt(cardPosition);
-        return idx;
+        return cardPosition.charAt(0) - '0';
     }
 
     /**
-     * Show the opponent card
+     * Show the opponent card to the viewer
+     * @param viewer
+     *          the player shown the card
      * @param opponentName
      *          name of the opponent
      * @param opponentCard
      *          card of the opponent
      */
-    void showCard(String opponentName, Card opponentCard) {
-        System.out.println(opponentName + " shows you a " + opponentCard);
+    void showCard(Player viewer, String opponentName, Card opponentCard) {
+        showTo(viewer, opponentName + " shows you a " + opponentCard);
+    }
+
+    /**
+     * Show the viewer the card of the player peeked after a Cardinal swap
+     * @param viewer
+     *          the player shown the card
+     * @param name
+     *          name of the player peeked
+     * @param card
+     *          card of the player peeked
+     */
+    void showCardinalPeek(Player viewer, String name, Card card) {
+        showTo(viewer, name + " shows you a " + card.getName());
+    }
+
+    /**
+     * Shows the player the chance of each card in the hands of the opponents still in the round,
+     * from what their seat has seen so far.
+     * @param user
+     *          the player about to play
+     * @param players
+     *          the list of players, tracking the beliefs
+     */
+    void showHints(Player user, PlayerList players) {
+        Beliefs beliefs = players.getBeliefs();
+        showTo(user, "Cards you have not seen: " + beliefs.getUnseenCount(user));
+        for (Player opponent : players.getPlayers()) {
+            if (opponent == user || !opponent.getHand().hasCards()) {
+                continue;
+            }
+            StringBuilder hint = new StringBuilder(opponent.getName()).append(" may hold:");
+            for (Card card : Card.values()) {
+                double probability = beliefs.getProbability(user, opponent, card);
+                if (probability > 0) {
+                    hint.append(' ').append(card.getName()).append(' ').append(Math.round(probability * 100)).append('%');
+                }
+            }
+            showTo(user, hint.toString());
+        }
     }
 
     /**
      * Display protection message
      */
     void showProtection() {
-        System.out.println("You are now protected until your next turn.");
+        out.println("You are now protected until your next turn.");
     }
 
     /**
@@ -278,9 +399,9 @@ public class GameUI {
      */
     void showGuardWinner(boolean isUserWinner){
         if (isUserWinner) {
-            System.out.println("You have won the comparison!");
+            out.println("You have won the comparison!");
         } else {
-            System.out.println("You have lost the comparison.");
+            out.println("You have lost the comparison.");
         }
     }
 
@@ -290,12 +411,21 @@ public class GameUI {
      *          player that we want to display
      */
     public void printUsedPiles(List<Player> players) {
-        for (Player p : players) {
-            System.out.println("\n" + p.getName());
-            DiscardPile pile = p.getDiscarded();
-            List<Card> cards = pile.getCards();
-            printCards(cards);
-        }
+        out.flush();
+        out.usedPiles(players);
+    }
+
+    /**
+     * Starts the output of a new turn with the player names and cards of the discard piles that
+     * changed since the player about to play last saw them
+     * @param viewer
+     *          the player about to play
+     * @param players
+     *          the players of the game
+     */
+    public void printUsedPiles(Player viewer, List<Player> players) {
+        out.flush();
+        out.usedPiles(viewer, players);
     }
 
     /**
@@ -304,9 +434,7 @@ public class GameUI {
      *           a list of cards to display
      */
     public void printCards(List<Card> cards) {
-        for (Card c : cards) {
-            System.out.println(c);
-        }
+        out.cards(cards);
     }
 
     /**
@@ -315,11 +443,12 @@ public class GameUI {
      *          a list of players to display
      */
     public void printPlayers(List<Player> players) {
-        System.out.println();
+        out.println();
         for (Player p : players) {
-            System.out.println(p);
+            out.print(p.getName()).print(" (").print(p.getTokens()).println(" tokens)");
         }
-        System.out.println();
+        out.println();
+        out.flush();
     }
 
     /**
@@ -330,6 +459,7 @@ public class GameUI {
      *
      * @return the chosen card
      */
+    @Override
     public Card getCard(Player user) {
         Hand hand = user.getHand();
 
@@ -343,16 +473,15 @@ public class GameUI {
     /**
      * Get the card number guess when bishop card is played
      */
-    int getBishopGuess() {
-        System.out.print("Which card number would you like to guess (0-9): ");
-        String inputValue = in.nextLine().trim();
-        int guessedValue = Integer.parseInt(inputValue);
+    @Override
+    public int getBishopGuess(Player user) {
+        out.print("Which card number would you like to guess (0-9): ");
+        int guessedValue = ConsoleInput.parseNumber(readLine(), -1);
 
         while (guessedValue < 0 || guessedValue > 9) {
-            System.out.println("Invalid card number");
-            System.out.print("Which card number would you like to guess (0-9): ");
-            inputValue = in.nextLine().trim();
-            guessedValue = Integer.parseInt(inputValue);
+            out.println("Invalid card number");
+            out.print("Which card number would you like to guess (0-9): ");
+            guessedValue = ConsoleInput.parseNumber(readLine(), -1);
         }
 
         return guessedValue;
@@ -362,14 +491,15 @@ public class GameUI {
      * When the player plays bishop card and wins, the opponent 
      * is asked whether he wants to swap a card with deck
      */
-    public boolean getUserSwapConfirmation() {
-        System.out.print("Does opponent want to swap card? (yes/no): ");
-        String response = in.nextLine().trim().toLowerCase();
+    @Override
+    public boolean getUserSwapConfirmation(Player opponent) {
+        out.print("Does opponent want to swap card? (yes/no): ");
+        String response = readLine().trim().toLowerCase();
     
         while (!response.equals("yes") && !response.equals("no")) {
-            System.out.println("Invalid input. Please answer with 'yes' or 'no'.");
-            System.out.print("Do you want to swap your card? (yes/no): ");
-            response = in.nextLine().trim().toLowerCase();
+            out.println("Invalid input. Please answer with 'yes' or 'no'.");
+            out.print("Do you want to swap your card? (yes/no): ");
+            response = readLine().trim().toLowerCase();
         }
     
         return response.equals("yes");
@@ -382,9 +512,9 @@ public class GameUI {
      */
     public void showBishopResults(String result) {
         if (result.equals("UserWin")) {
-            System.out.println("You have guessed correctly. You win a token of affection!");
+            out.println("You have guessed correctly. You win a token of affection!");
         } else if (result.equals("UserLose")) {
-            System.out.println("You have guessed incorrectly");
+            out.println("You have guessed incorrectly");
         }
     }
 
@@ -396,16 +526,16 @@ public class GameUI {
     public void dowagerQueenResult(String result, Player user, Player opponent) {
         switch (result) {
             case "UserLose":
-                System.out.println(user.getName() + " has a higher card. " + user.getName() + " is knocked out of the round.");
+                out.println(user.getName() + " has a higher card. " + user.getName() + " is knocked out of the round.");
                 break;
             case "UserWin":
-                System.out.println(opponent.getName() + " has a higher card. " + opponent.getName() + " is knocked out of the round.");
+                out.println(opponent.getName() + " has a higher card. " + opponent.getName() + " is knocked out of the round.");
                 break;
             case "Tie":
-                System.out.println("It's a tie! No one is knocked out of the round.");
+                out.println("It's a tie! No one is knocked out of the round.");
                 break;
             default:
-                System.out.println("Invalid result.");
+                out.println("Invalid result.");
                 break;
         }
     }
@@ -415,76 +545,88 @@ public class GameUI {
      * @param user
      */
     public void assassinResult(Player user, Player opponent) {
-        System.out.println(user.getName() + " is eliminated b/c " + opponent.getName() + " has Assassin in hand.");
+        out.println(user.getName() + " is eliminated b/c " + opponent.getName() + " has Assassin in hand.");
     }
 
     /**
-     * Ask for the user which player to check and print of the player's card.
+     * Ask for the user which player to check.
+     * @param user
+     *        the player using the Cardinal
      * @param one
      *        the first player to choose
      * @param two
      *        the second player to choose
+     * @return
+     *        the chosen player
      */
-    public void cardinalPeekOne(Player one, Player two) {
-        System.out.println("After swap, what's the player's card you want to peek: ");
-        String name = in.nextLine().trim();
+    @Override
+    public Player cardinalPeekOne(Player user, Player one, Player two) {
+        out.println("After swap, what's the player's card you want to peek: ");
+        String name = readLine().trim();
         while (!name.equals(one.getName()) && !name.equals(two.getName())) {
-            System.out.println("The player name is invalid or not in chosen for swapping. Please enter a valid player to peek: ");
-            name = in.nextLine().trim();
-        }
-        if (name.equals(one.getName())) {
-            System.out.println(name + " shows you a " + one.getHand().getCard().getName());
-        } else {
-            System.out.println(name + " shows you a " + two.getHand().getCard().getName());
+            out.println("The player name is invalid or not in chosen for swapping. Please enter a valid player to peek: ");
+            name = readLine().trim();
         }
+        return name.equals(one.getName()) ? one : two;
     }
 
     public void printConstable(String name) {
-        System.out.println(name +" has a Constable in discarded pile. Hence, he earns an affection token.");
+        out.println(name +" has a Constable in discarded pile. Hence, he earns an affection token.");
     }
 
     public void printGetAToken() {
-        System.out.println("Correct guess! You receive a Token of Affection.");
+        out.println("Correct guess! You receive a Token of Affection.");
     }
 
     public void printException(String exception) {
-        System.out.println("This is an Exception: " + exception);
+        out.println("This is an Exception: " + exception);
+        out.flush();
     }
 
     public void printTargetablePlayers(List<Player> players) {
-        System.out.println("Please choose two players from the following list: ");
+        out.println("Please choose two players from the following list: ");
 
         String nameList = players.get(0).getName();
         for (int i = 1; i < players.size(); i++) {
             nameList = nameList + ", " + players.get(i).getName();
         }
-        System.out.println(nameList);
+        out.println(nameList);
     }
 
     public void printNotSamePlayers() {
-        System.out.println("Please enter a different player. ");
+        out.println("Please enter a different player. ");
     }
 
     public void printForChosenSycophant(Player player) {
-        System.out.println("The player " + player.getName() + " is automatically selected as a Sycophant marked player. ");
+        out.println("The player " + player.getName() + " is automatically selected as a Sycophant marked player. ");
+    }
+
+    /**
+     * Display the seed of the game, needed to replay it
+     * @param seed
+     *          the seed of the game
+     */
+    public void showSeed(long seed) {
+        out.println("Game seed: " + seed);
     }
 
     public void showFaceUpSetAsideCards(List<Card> cards) {
-        System.out.println("The cards set aside are: "  + cards);
+        out.println("The cards set aside are: "  + cards);
     }
 
-    public String getStartingPlayerName(List<Player> players) {
+    @Override
+    public Player getStartingPlayer(List<Player> players) {
         List<String> playerNames = new ArrayList<>();
         for (Player player: players) {
             playerNames.add(player.getName());
         }
 
-        System.out.println("There are multiple winners, the round is started by the one who is recently on a date, choose among: " + players);
-        String name = in.nextLine().trim();
+        out.println("There are multiple winners, the round is started by the one who is recently on a date, choose among: " + players);
+        String name = readLine().trim();
         while (!playerNames.contains(name)) {
-            System.out.println("The player name is invalid, choose from these players: "+players);
-            name = in.nextLine().trim();
+            out.println("The player name is invalid, choose from these players: "+players);
+            name = readLine().trim();
         }
-        return name;
+        return players.get(playerNames.indexOf(name));
     }
 }
@@ -1,13 +1,39 @@
 package edu.cmu.f23qa.loveletter;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
+/**
+ * The cards held by a player. A hand never holds more than two cards, so they
+ * are kept in two slots of card ordinals and no operation allocates.
+ * The owner is told whenever the cards of the hand change,
+ * and when it is swapped with the hand of another player.
+ */
 public class Hand {
-    private ArrayList<Card> hand;
+    private static final Card[] CARDS = Card.values();
+    private static final int MAX_CARDS = 2;
+
+    private byte first;
+    private byte second;
+    private int size;
+
+    /**
+     * The player holding the hand, null for a hand without owner.
+     */
+    private final Player owner;
+
+    /**
+     * Read-only view of the hand, it always shows the current cards.
+     * Created on first use.
+     */
+    private List<Card> view;
 
     public Hand() {
-        this.hand  = new ArrayList<>();
+        this(null);
+    }
+
+    Hand(Player owner) {
+        this.owner = owner;
     }
 
     /**
@@ -19,11 +45,21 @@ public class Hand {
      * @return the card held by the player
      */
     public Card peek(int idx) {
-        return this.hand.get(idx);
+        checkIndex(idx);
+        return CARDS[idx == 0 ? first : second];
     }
 
     public void add(Card card) {
-        this.hand.add(card);
+        if (size == MAX_CARDS) {
+            throw new IllegalStateException("A hand cannot hold more than " + MAX_CARDS + " cards");
+        }
+        if (size == 0) {
+            first = (byte) card.ordinal();
+        } else {
+            second = (byte) card.ordinal();
+        }
+        size++;
+        cardsChanged();
     }
 
     /**
@@ -35,7 +71,26 @@ public class Hand {
      * @return the card at the given index
      */
     public Card remove(int idx) {
-        return this.hand.remove(idx);
+        checkIndex(idx);
+        Card card = CARDS[idx == 0 ? first : second];
+        if (idx == 0) {
+            first = second;
+        }
+        size--;
+        cardsChanged();
+        return card;
+    }
+
+    private void cardsChanged() {
+        if (owner != null) {
+            owner.handChanged();
+        }
+    }
+
+    private void checkIndex(int idx) {
+        if (idx < 0 || idx >= size) {
+            throw new IndexOutOfBoundsException("Index " + idx + " out of bounds for a hand of " + size + " cards");
+        }
     }
 
     /**
@@ -44,8 +99,9 @@ public class Hand {
      * @return the position of a royal card, -1 if no royal card is in hand
      */
     public int getRoyaltyPos() {
-        for (int i = 0; i < hand.size(); i++) {
-            if (hand.get(i) == Card.PRINCE || hand.get(i) == Card.KING) {
+        for (int i = 0; i < size; i++) {
+            Card card = peek(i);
+            if (card == Card.PRINCE || card == Card.KING) {
                 return i;
             }
         }
@@ -58,28 +114,53 @@ public class Hand {
      * @return the position of a countess card, -1 if no countess card is in hand
      */
     public int getCardPos(Card card) {
-        for (int i = 0; i < hand.size(); i++) {
-            if(hand.get(i) == card){
-                return i;
-            }
+        byte ordinal = (byte) card.ordinal();
+        if (size > 0 && first == ordinal) {
+            return 0;
+        }
+        if (size > 1 && second == ordinal) {
+            return 1;
         }
         return -1;
     }
 
+    public boolean contains(Card card) {
+        return getCardPos(card) != -1;
+    }
+
     public boolean hasCards() {
-        return !this.hand.isEmpty();
+        return this.size > 0;
+    }
+
+    public int size() {
+        return this.size;
     }
 
     public void clear() {
-        this.hand.clear();
+        if (this.size > 0) {
+            this.size = 0;
+            cardsChanged();
+        }
     }
 
+    /**
+     * @return a read-only view of the cards, it follows the changes of the hand
+     */
     public List<Card> getCards() {
-        List<Card> cards = new ArrayList<>();
-        for (Card c : this.hand) {
-            cards.add(c);
+        if (view == null) {
+            view = new AbstractList<Card>() {
+                @Override
+                public Card get(int idx) {
+                    return peek(idx);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
         }
-        return cards;
+        return view;
     }
 
     /**
@@ -88,16 +169,52 @@ public class Hand {
      * @return The only card present in a player's hand.
      */
     public Card getCard() {
-        if (hand.size() == 1) {
-            Card c = hand.get(0);
-            return c;
+        if (size == 1) {
+            return CARDS[first];
         } else {
             return null;
         }
     }
 
     public void setHand(Card card) {
-        this.hand.clear();
-        this.hand.add(card);
+        this.first = (byte) card.ordinal();
+        this.size = 1;
+        cardsChanged();
+    }
+
+    /**
+     * Replaces the cards of this hand with copies of the cards of another hand.
+     *
+     * @param other
+     *          the hand to copy
+     */
+    void copyFrom(Hand other) {
+        this.first = other.first;
+        this.second = other.second;
+        this.size = other.size;
+        cardsChanged();
+    }
+
+    /**
+     * Exchanges all the cards of this hand with the cards of another hand.
+     *
+     * @param other
+     *          the hand to swap with
+     */
+    public void swapWith(Hand other) {
+        byte otherFirst = other.first;
+        byte otherSecond = other.second;
+        int otherSize = other.size;
+        other.first = this.first;
+        other.second = this.second;
+        other.size = this.size;
+        this.first = otherFirst;
+        this.second = otherSecond;
+        this.size = otherSize;
+        this.cardsChanged();
+        other.cardsChanged();
+        if (owner != null && other.owner != null) {
+            owner.handSwapped(other.owner);
+        }
     }
 }
@@ -0,0 +1,183 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * A GameUI that never touches the console. Every message is dropped, only the
+ * aggregate statistics of the played games are kept.
+ *
+ * Seats without their own DecisionProvider are played by the default provider.
+ */
+public class HeadlessGameUI extends GameUI {
+    private DecisionProvider decisions;
+    private final SimulationStats stats;
+    private Player[] seats;
+    private final int[] winnerSeats;
+
+    /**
+     * Constructor for a headless UI.
+     *
+     * @param stats
+     *          the statistics to record the played games into
+     */
+    public HeadlessGameUI(SimulationStats stats) {
+        super((Scanner) null);
+        this.stats = stats;
+        this.seats = new Player[0];
+        this.winnerSeats = new int[stats.getNumberOfSeats()];
+    }
+
+    /**
+     * Registers the players of the next game, seats follow the order of the list.
+     *
+     * @param players
+     *          the players of the game about to start
+     * @param decisions
+     *          the decision provider of the seats without their own
+     */
+    void newGame(List<Player> players, DecisionProvider decisions) {
+        this.seats = players.toArray(new Player[0]);
+        this.decisions = decisions;
+    }
+
+    @Override
+    public Card getCard(Player user) {
+        return decisions.getCard(user);
+    }
+
+    @Override
+    public Player getOpponent(PlayerList playerList, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        return decisions.getOpponent(playerList, user, syncophantFlag, syncophantChosenPlayer, includeSelf);
+    }
+
+    @Override
+    public Card getGuardGuess(Player user) {
+        return decisions.getGuardGuess(user);
+    }
+
+    @Override
+    public int getBishopGuess(Player user) {
+        return decisions.getBishopGuess(user);
+    }
+
+    @Override
+    public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+        return decisions.getNumOfPlayerForBaroness(players, user);
+    }
+
+    @Override
+    public Player cardinalPeekOne(Player user, Player one, Player two) {
+        return decisions.cardinalPeekOne(user, one, two);
+    }
+
+    @Override
+    public boolean getUserSwapConfirmation(Player opponent) {
+        return decisions.getUserSwapConfirmation(opponent);
+    }
+
+    @Override
+    public Player getStartingPlayer(List<Player> players) {
+        return decisions.getStartingPlayer(players);
+    }
+
+    @Override
+    void showRoundWinners(List<Player> players) {
+        int numOfWinners = 0;
+        for (Player player : players) {
+            winnerSeats[numOfWinners++] = player.getSeat();
+        }
+        stats.recordRound(winnerSeats, numOfWinners);
+    }
+
+    @Override
+    void showGameWinner(String name) {
+        for (Player player : seats) {
+            if (player.getName().equals(name)) {
+                stats.recordGame(player.getSeat());
+                return;
+            }
+        }
+    }
+
+    @Override
+    void showPlayerTurn(String name) {
+        stats.recordTurn();
+    }
+
+    /*
+     * All messages below are dropped.
+     */
+
+    @Override
+    void showRoundWinner(String name) {}
+
+    @Override
+    public void printWhenBaronessOnSameOpponent() {}
+
+    @Override
+    public void printWhenNoPlayerCanBeTarget() {}
+
+    @Override
+    void showGuardGuess(boolean isCorrect) {}
+
+    @Override
+    void showCard(Player viewer, String opponentName, Card opponentCard) {}
+
+    @Override
+    void showCardinalPeek(Player viewer, String name, Card card) {}
+
+    @Override
+    void showHints(Player user, PlayerList players) {}
+
+    @Override
+    void showProtection() {}
+
+    @Override
+    void showGuardWinner(boolean isUserWinner) {}
+
+    @Override
+    public void printUsedPiles(List<Player> players) {}
+
+    @Override
+    public void printUsedPiles(Player viewer, List<Player> players) {}
+
+    @Override
+    public void printCards(List<Card> cards) {}
+
+    @Override
+    public void printPlayers(List<Player> players) {}
+
+    @Override
+    public void showBishopResults(String result) {}
+
+    @Override
+    public void dowagerQueenResult(String result, Player user, Player opponent) {}
+
+    @Override
+    public void assassinResult(Player user, Player opponent) {}
+
+    @Override
+    public void printConstable(String name) {}
+
+    @Override
+    public void printGetAToken() {}
+
+    @Override
+    public void printException(String exception) {}
+
+    @Override
+    public void printTargetablePlayers(List<Player> players) {}
+
+    @Override
+    public void printNotSamePlayers() {}
+
+    @Override
+    public void printForChosenSycophant(Player player) {}
+
+    @Override
+    public void showSeed(long seed) {}
+
+    @Override
+    public void showFaceUpSetAsideCards(List<Card> cards) {}
+}
@@ -0,0 +1,494 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bot searching its turns with information set Monte Carlo tree search (single observer ISMCTS).
+ *
+ * Every iteration deals a determinization: a fork of the game where the cards the bot cannot see,
+ * the hands of its opponents, the deck and the set-aside card, are dealt at random from the cards
+ * not seen yet, as counted by the Beliefs of the table. The opponents whose card the bot knows keep
+ * it, for example after a Priest or a King swap, and the others never get a card a missed Guard or
+ * Bishop guess ruled out for them. The iteration walks down one tree of
+ * actions shared by all the determinizations, picking with UCB among the actions available in its
+ * deal, adds one action and plays the round to its end at random. Round winners share a reward of 1,
+ * or the game winners if the round ended the game.
+ *
+ * The tree is searched by several threads, each forking its determinizations from a root of its own.
+ * A thread counts its visit as soon as it walks through a node and only adds the reward at the end
+ * of the iteration (a virtual loss), so the other threads spread out over other actions meanwhile.
+ *
+ * The card and all the choices that go with it are decided in getCard, the following prompts of the
+ * turn are answered from the chosen action. The bot must see the game it plays, which it gets from
+ * Game.start or Game.resume through joinGame.
+ */
+public class IsmctsDecisions implements DecisionProvider, AutoCloseable {
+    private static final Card[] CARDS = Card.values();
+    private static final double EXPLORATION = 0.7;
+    private static final int MOVER_SHIFT = 20;
+
+    /**
+     * A card at or above this value is kept when a Bishop guessed it right.
+     */
+    private static final int KEEP_VALUE = 5;
+
+    private final int threads;
+    private final long timeBudgetNanos;
+    private final int maxIterations;
+    private final SplittableRandom random;
+    private ExecutorService pool;
+
+    private Game game;
+    private Beliefs beliefs;
+    private EndgameSolver endgame;
+    private final MoveDecisions decisions = new MoveDecisions();
+
+    /**
+     * Constructor for a bot using every core for the given time per turn.
+     *
+     * @param timeBudgetMillis
+     *          the search time of a turn
+     */
+    public IsmctsDecisions(long timeBudgetMillis) {
+        this(Runtime.getRuntime().availableProcessors(), timeBudgetMillis, Integer.MAX_VALUE, System.nanoTime());
+    }
+
+    /**
+     * Constructor for a bot. With one thread and a time budget it never reaches,
+     * the bot decides the same way for the same seed.
+     *
+     * @param threads
+     *          the number of threads searching a turn
+     * @param timeBudgetMillis
+     *          the search time of a turn
+     * @param maxIterations
+     *          the number of iterations after which the search of a turn stops
+     * @param seed
+     *          the seed of the determinizations and playouts
+     */
+    public IsmctsDecisions(int threads, long timeBudgetMillis, int maxIterations, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed, got " + threads);
+        }
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("At least one iteration is needed, got " + maxIterations);
+        }
+        this.threads = threads;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxIterations = maxIterations;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Lets the solver decide the turns once the deck is small enough for it, instead of the search.
+     * A turn the solver gives up on is searched.
+     *
+     * @param endgame
+     *          the solver, null to always search
+     */
+    public void setEndgameSolver(EndgameSolver endgame) {
+        this.endgame = endgame;
+    }
+
+    @Override
+    public void joinGame(Game game) {
+        this.game = game;
+        this.beliefs = game.trackBeliefs();
+    }
+
+    /**
+     * Stops the search threads.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    @Override
+    public Card getCard(Player user) {
+        if (game == null) {
+            throw new IllegalStateException("The bot has not joined a game");
+        }
+        int action = search(user);
+        decisions.set(action);
+        return user.getHand().remove(Moves.slot(action));
+    }
+
+    @Override
+    public Player getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        return decisions.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, includeSelf);
+    }
+
+    @Override
+    public Card getGuardGuess(Player user) {
+        return decisions.getGuardGuess(user);
+    }
+
+    @Override
+    public int getBishopGuess(Player user) {
+        return decisions.getBishopGuess(user);
+    }
+
+    @Override
+    public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+        return decisions.getNumOfPlayerForBaroness(players, user);
+    }
+
+    @Override
+    public Player cardinalPeekOne(Player user, Player one, Player two) {
+        return decisions.cardinalPeekOne(user, one, two);
+    }
+
+    /**
+     * Swaps a weak card the Bishop revealed, and keeps the strong ones.
+     */
+    @Override
+    public boolean getUserSwapConfirmation(Player opponent) {
+        Hand hand = opponent.getHand();
+        return hand.hasCards() && hand.peek(0).value() < KEEP_VALUE;
+    }
+
+    @Override
+    public Player getStartingPlayer(List<Player> players) {
+        return players.get(0);
+    }
+
+    /**
+     * Searches the turn of the user, who holds the card they drew.
+     *
+     * @return the chosen action, as encoded by Moves
+     */
+    private int search(Player user) {
+        Game root = game.fork();
+        root.silence();
+        root.setTurnPlayer(root.getPlayers().getPlayerAt(user.getSeat()));
+        int[] moves = new int[Moves.MAX_MOVES];
+        int n = Moves.generate(root, moves);
+        if (n == 1) {
+            return moves[0];
+        }
+        if (endgame != null && endgame.canSolve(game)) {
+            int action = endgame.solve(game, user, beliefs);
+            if (action != EndgameSolver.UNSOLVED) {
+                return action;
+            }
+        }
+
+        // what the bot knows is read once, the searchers never touch the game
+        PlayerList players = game.getPlayers();
+        int[] unseen = new int[CARDS.length];
+        for (Card card : CARDS) {
+            unseen[card.ordinal()] = beliefs.getUnseenCount(user, card);
+        }
+        Card[] known = new Card[players.getNumberOfSeats()];
+        int[] ruledOut = new int[known.length];
+        for (int seat = 0; seat < known.length; seat++) {
+            if (seat != user.getSeat()) {
+                known[seat] = beliefs.getKnownCard(user, players.getPlayerAt(seat));
+                ruledOut[seat] = beliefs.getRuledOut(user.getSeat(), seat);
+            }
+        }
+
+        Node tree = new Node(Moves.NO_SEAT, 0);
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        AtomicInteger iterations = new AtomicInteger();
+        List<Searcher> searchers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            // forking writes to the game forked, so every searcher gets a root of its own, forked
+            // and silenced here before the searchers start
+            Game own = root;
+            if (threads > 1) {
+                own = root.fork();
+                own.silence();
+            }
+            searchers.add(new Searcher(own, user.getSeat(), unseen, known, ruledOut, tree, deadline, iterations, random.split()));
+        }
+        if (threads == 1) {
+            searchers.get(0).call();
+        } else {
+            runAll(searchers);
+        }
+        return tree.mostVisited(moves[0]);
+    }
+
+    private void runAll(List<Searcher> searchers) {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "ismcts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(searchers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed", e.getCause());
+        }
+    }
+
+    /**
+     * A node of the tree, reached by an action of a seat. The statistics of a node are guarded by
+     * the lock of its parent, which changes them while choosing among its children.
+     */
+    private static final class Node {
+        final int mover;
+        final int action;
+        int visits;
+        int availability;
+        double reward;
+        private Map<Integer, Node> children;
+
+        Node(int mover, int action) {
+            this.mover = mover;
+            this.action = action;
+        }
+
+        /**
+         * Picks the action of the most visited child, or the fallback when nothing was visited.
+         */
+        synchronized int mostVisited(int fallback) {
+            int best = fallback;
+            int bestVisits = 0;
+            if (children != null) {
+                for (Node child : children.values()) {
+                    if (child.visits > bestVisits) {
+                        bestVisits = child.visits;
+                        best = child.action;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * One thread of the search, it owns its generator and buffers.
+     */
+    private final class Searcher implements Callable<Void> {
+        private final Game root;
+        private final int seat;
+        private final int[] unseenOfSeat;
+        private final Card[] known;
+        private final int[] ruledOut;
+        private final Node tree;
+        private final long deadline;
+        private final AtomicInteger iterations;
+        private final SplittableRandom random;
+
+        private final int[] moves = new int[Moves.MAX_MOVES];
+        private final int[] unseen = new int[CARDS.length];
+        private final byte[] hidden = new byte[Deck.edition(Integer.MAX_VALUE).length];
+        private final List<Node> path = new ArrayList<>();
+        private final double[] rewards;
+        private boolean expanded;
+
+        Searcher(Game root, int seat, int[] unseenOfSeat, Card[] known, int[] ruledOut, Node tree, long deadline,
+                 AtomicInteger iterations, SplittableRandom random) {
+            this.root = root;
+            this.seat = seat;
+            this.unseenOfSeat = unseenOfSeat;
+            this.known = known;
+            this.ruledOut = ruledOut;
+            this.tree = tree;
+            this.deadline = deadline;
+            this.iterations = iterations;
+            this.random = random;
+            this.rewards = new double[root.getPlayers().getNumberOfSeats()];
+        }
+
+        @Override
+        public Void call() {
+            while (System.nanoTime() < deadline && iterations.getAndIncrement() < maxIterations
+                    && !Thread.currentThread().isInterrupted()) {
+                iterate();
+            }
+            return null;
+        }
+
+        private void iterate() {
+            Game playout = determinize();
+            path.clear();
+            Node node = tree;
+            expanded = false;
+            while (!expanded && !isOver(playout)) {
+                Player mover = playout.beginTurn();
+                int n = Moves.generate(playout, moves);
+                node = select(node, mover.getSeat(), n);
+                path.add(node);
+                playout.apply(node.action);
+            }
+            while (!isOver(playout)) {
+                playout.beginTurn();
+                playout.apply(randomMove(playout, Moves.generate(playout, moves)));
+            }
+
+            score(playout.getPlayers());
+            Node parent = tree;
+            for (Node child : path) {
+                synchronized (parent) {
+                    child.reward += rewards[child.mover];
+                }
+                parent = child;
+            }
+        }
+
+        /**
+         * Chooses the child of the node for one of the available actions: an untried action if any,
+         * else the best by UCB. The visit of the child is counted right away.
+         */
+        private Node select(Node node, int mover, int n) {
+            synchronized (node) {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                Node best = null;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                int untried = 0;
+                int untriedKey = 0;
+                for (int i = 0; i < n; i++) {
+                    int key = mover << MOVER_SHIFT | moves[i];
+                    Node child = node.children.get(key);
+                    if (child == null) {
+                        // reservoir sampling, every untried action is as likely to be picked
+                        if (random.nextInt(++untried) == 0) {
+                            untriedKey = key;
+                        }
+                        continue;
+                    }
+                    child.availability++;
+                    double score = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = child;
+                    }
+                }
+                if (untried > 0) {
+                    best = new Node(mover, untriedKey & ((1 << MOVER_SHIFT) - 1));
+                    best.availability = 1;
+                    node.children.put(untriedKey, best);
+                    expanded = true;
+                }
+                best.visits++;
+                return best;
+            }
+        }
+
+        /**
+         * Picks a random action, avoiding to discard the Princess like RandomDecisions.
+         */
+        private int randomMove(Game playout, int n) {
+            Hand hand = playout.getTurnPlayer().getHand();
+            int action = moves[random.nextInt(n)];
+            if (hand.peek(Moves.slot(action)) == Card.PRINCESS && n > 1) {
+                int other = 1 - Moves.slot(action);
+                for (int i = 0; i < n; i++) {
+                    if (Moves.slot(moves[i]) == other) {
+                        return moves[i];
+                    }
+                }
+            }
+            return action;
+        }
+
+        /**
+         * Checks the round is over, a begun turn is still played even if its card was the last one.
+         */
+        private boolean isOver(Game playout) {
+            PlayerList players = playout.getPlayers();
+            return playout.getTurnPlayer() == null
+                && (!players.moreThanSinglePlayerLeft() || !playout.getDeck().hasMoreCards() || !players.isZeroGameWinner());
+        }
+
+        /**
+         * Splits a reward of 1 among the game winners, or the round winners if the game goes on.
+         */
+        private void score(PlayerList players) {
+            Arrays.fill(rewards, 0);
+            List<Player> winners = players.isZeroGameWinner() ? players.getRoundWinners() : players.getGameWinners();
+            for (Player winner : winners) {
+                rewards[winner.getSeat()] += 1.0 / winners.size();
+            }
+        }
+
+        /**
+         * Forks the root and deals the cards the bot cannot see at random.
+         */
+        private Game determinize() {
+            Game playout = root.fork();
+            PlayerList players = playout.getPlayers();
+            Deck deck = playout.getDeck();
+
+            // the opponents whose card is known keep it, the others are dealt from the unseen cards
+            System.arraycopy(unseenOfSeat, 0, unseen, 0, unseen.length);
+            int dealt = 0;
+            for (int m = players.getInGameSeats() & ~(1 << seat); m != 0; m &= m - 1) {
+                int opponent = Integer.numberOfTrailingZeros(m);
+                Hand hand = players.getPlayerAt(opponent).getHand();
+                if (!hand.hasCards()) {
+                    continue;
+                }
+                if (known[opponent] != null) {
+                    hand.setHand(known[opponent]);
+                } else {
+                    dealt |= 1 << opponent;
+                }
+            }
+
+            int numOfHidden = 0;
+            for (int ordinal = 0; ordinal < unseen.length; ordinal++) {
+                for (int i = 0; i < unseen[ordinal]; i++) {
+                    hidden[numOfHidden++] = (byte) ordinal;
+                }
+            }
+            int size = deck.returnNumberOfCardsRemaining();
+            boolean setAside = deck.getSetAsideCard() != null;
+            if (numOfHidden != Integer.bitCount(dealt) + size + (setAside ? 1 : 0)) {
+                // the set-aside card was drawn by a Prince at the end of the round, nothing to hide
+                return playout;
+            }
+            for (int i = numOfHidden - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                byte card = hidden[i];
+                hidden[i] = hidden[j];
+                hidden[j] = card;
+            }
+
+            // an opponent gets the first shuffled card not ruled out for them, any of them is as likely
+            int next = 0;
+            for (int m = dealt; m != 0; m &= m - 1) {
+                int opponent = Integer.numberOfTrailingZeros(m);
+                for (int i = next; i < numOfHidden; i++) {
+                    if ((ruledOut[opponent] & 1 << hidden[i]) == 0) {
+                        byte card = hidden[i];
+                        hidden[i] = hidden[next];
+                        hidden[next] = card;
+                        break;
+                    }
+                }
+                players.getPlayerAt(opponent).getHand().setHand(CARDS[hidden[next++]]);
+            }
+            Card setAsideCard = setAside ? CARDS[hidden[next++]] : null;
+            deck.restore(hidden, next, size, true, false, setAsideCard, random.nextLong());
+            return playout;
+        }
+    }
+}
@@ -1,20 +1,54 @@
 package edu.cmu.f23qa.loveletter;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Main {
+    private static final String BOT_OPTION = "--bot=";
+    private static final String HINTS_OPTION = "--hints";
+    private static final long BOT_TIME_BUDGET_MILLIS = 1000;
 
+    /**
+     * Starts a console game, an optional seed argument replays the cards of a previous game.
+     * Every --bot=NAME argument seats a search bot under that name before the human players,
+     * --hints shows the human players the chances of the cards their opponents may hold.
+     */
     public static void main(String[] args) {
        
         PlayerList players = new PlayerList();
-        Deck deck = new Deck();
-        Scanner in = new Scanner(System.in);
+        List<String> bots = new ArrayList<>();
+        String seed = null;
+        boolean hints = false;
+        for (String arg : args) {
+            if (arg.equals(HINTS_OPTION)) {
+                hints = true;
+            } else if (arg.startsWith(BOT_OPTION)) {
+                bots.add(arg.substring(BOT_OPTION.length()));
+            } else {
+                seed = arg;
+            }
+        }
+        Deck deck = seed != null ? new Deck(Long.parseLong(seed)) : new Deck();
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
         GameActions gameActions = new GameActions();
 
         Game game = new Game(players, deck, gameActions);
         GameUI gameUI= new GameUI(in);
 
+        for (String name : bots) {
+            if (players.getNumberOfPlayers() < GameUI.MAX_PLAYERS && players.addPlayer(name)) {
+                players.getPlayer(name).setGameUI(gameUI);
+                IsmctsDecisions bot = new IsmctsDecisions(BOT_TIME_BUDGET_MILLIS);
+                bot.setEndgameSolver(new EndgameSolver());
+                players.getPlayer(name).setDecisionProvider(bot);
+            }
+        }
+
+        gameUI.showSeed(game.getSeed());
         game.setPlayers(gameUI);
+        game.setHintsShown(hints);
         game.start(gameUI);
     }
 
@@ -0,0 +1,70 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+
+/**
+ * The decisions of a turn played with Game.apply, all read from the action.
+ * Seats asked for a Bishop swap through this provider keep their card.
+ */
+final class MoveDecisions implements DecisionProvider {
+    private static final Card[] CARDS = Card.values();
+
+    private int action;
+
+    /**
+     * The number of targets chosen so far in the turn.
+     */
+    private int targets;
+
+    /**
+     * Sets the action of the next turn.
+     */
+    void set(int action) {
+        this.action = action;
+        this.targets = 0;
+    }
+
+    @Override
+    public Card getCard(Player user) {
+        return user.getHand().remove(Moves.slot(action));
+    }
+
+    @Override
+    public Player getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        int seat = targets++ == 0 ? Moves.target(action) : Moves.secondTarget(action);
+        return seat == Moves.NO_SEAT ? null : players.getPlayerAt(seat);
+    }
+
+    @Override
+    public Card getGuardGuess(Player user) {
+        return CARDS[Moves.guess(action)];
+    }
+
+    @Override
+    public int getBishopGuess(Player user) {
+        return Moves.guess(action);
+    }
+
+    @Override
+    public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+        if (Moves.target(action) == Moves.NO_SEAT) {
+            return 0;
+        }
+        return Moves.secondTarget(action) == Moves.NO_SEAT ? 1 : 2;
+    }
+
+    @Override
+    public Player cardinalPeekOne(Player user, Player one, Player two) {
+        return Moves.peeksSecond(action) ? two : one;
+    }
+
+    @Override
+    public boolean getUserSwapConfirmation(Player opponent) {
+        return false;
+    }
+
+    @Override
+    public Player getStartingPlayer(List<Player> players) {
+        return players.get(0);
+    }
+}
@@ -0,0 +1,341 @@
+package edu.cmu.f23qa.loveletter;
+
+/**
+ * The legal actions of a turn, each packed into an int so that search bots and fuzzers
+ * can list and play them without allocating. An action holds:
+ * - the slot of the played card in the hand, 0 or 1
+ * - the target seat and the second target seat (Baroness, Cardinal), or none
+ * - the guess: a card ordinal for the Guard, a value 0-9 for the Bishop
+ * - for the Cardinal, whether the card of the second target is peeked
+ *
+ * A turn is begun with Game.beginTurn, its actions are listed with generate and
+ * one of them is played with Game.apply. The rules are those of Game.playTurn and
+ * the decisions of RandomDecisions: the Countess is forced with a Prince or a King,
+ * a valid Sycophant choice is forced as the (first) target, protected players and
+ * players out of the round cannot be targeted, and the Guard cannot guess the Guard.
+ */
+public final class Moves {
+    /**
+     * Enough room for the actions of any turn of an 8 player game.
+     */
+    public static final int MAX_MOVES = 256;
+
+    /**
+     * The seat of an action without target.
+     */
+    public static final int NO_SEAT = -1;
+
+    private static final Card[] CARDS = Card.values();
+    private static final int BISHOP_GUESSES = 10;
+
+    private static final int SLOT_BITS = 1;
+    private static final int SEAT_BITS = 6;
+    private static final int GUESS_BITS = 5;
+    private static final int TARGET_SHIFT = SLOT_BITS;
+    private static final int SECOND_SHIFT = TARGET_SHIFT + SEAT_BITS;
+    private static final int GUESS_SHIFT = SECOND_SHIFT + SEAT_BITS;
+    private static final int PEEK_SECOND = 1 << (GUESS_SHIFT + GUESS_BITS);
+    private static final int SEAT_MASK = (1 << SEAT_BITS) - 1;
+    private static final int GUESS_MASK = (1 << GUESS_BITS) - 1;
+
+    private Moves() {
+    }
+
+    /**
+     * Packs an action.
+     *
+     * @param slot
+     *          the slot of the played card, 0 or 1
+     * @param target
+     *          the seat of the target, NO_SEAT for none
+     * @param secondTarget
+     *          the seat of the second target, NO_SEAT for none
+     * @param guess
+     *          the ordinal of the card guessed with a Guard, or the value guessed with a Bishop
+     * @param peekSecond
+     *          true to peek the card of the second target of a Cardinal
+     * @return the action
+     */
+    public static int of(int slot, int target, int secondTarget, int guess, boolean peekSecond) {
+        return slot
+            | (target + 1) << TARGET_SHIFT
+            | (secondTarget + 1) << SECOND_SHIFT
+            | guess << GUESS_SHIFT
+            | (peekSecond ? PEEK_SECOND : 0);
+    }
+
+    public static int slot(int action) {
+        return action & 1;
+    }
+
+    public static int target(int action) {
+        return ((action >>> TARGET_SHIFT) & SEAT_MASK) - 1;
+    }
+
+    public static int secondTarget(int action) {
+        return ((action >>> SECOND_SHIFT) & SEAT_MASK) - 1;
+    }
+
+    public static int guess(int action) {
+        return (action >>> GUESS_SHIFT) & GUESS_MASK;
+    }
+
+    public static boolean peeksSecond(int action) {
+        return (action & PEEK_SECOND) != 0;
+    }
+
+    /**
+     * Lists every legal action of the turn begun with Game.beginTurn. Playing either of two
+     * identical cards is listed once, from slot 0.
+     *
+     * @param game
+     *          the game, after beginTurn
+     * @param moves
+     *          the buffer to fill, MAX_MOVES is always enough for 8 players
+     * @return the number of actions written to the buffer
+     */
+    public static int generate(Game game, int[] moves) {
+        Player user = turnPlayer(game);
+        Hand hand = user.getHand();
+        boolean forcedCountess = isCountessForced(hand);
+        int n = 0;
+        for (int slot = 0; slot < hand.size(); slot++) {
+            Card card = hand.peek(slot);
+            if ((slot == 1 && card == hand.peek(0)) || (forcedCountess && card != Card.COUNTESS)) {
+                continue;
+            }
+            n = generate(game, user, slot, card, moves, n);
+        }
+        return n;
+    }
+
+    /**
+     * Lists the actions of the card in one slot of the turn begun with Game.beginTurn, whatever
+     * the other card is: the Countess is not forced and an identical card does not hide the slot.
+     *
+     * @param n
+     *          the number of actions already in the buffer
+     * @return the number of actions in the buffer
+     */
+    static int generate(Game game, int slot, int[] moves, int n) {
+        Player user = turnPlayer(game);
+        return generate(game, user, slot, user.getHand().peek(slot), moves, n);
+    }
+
+    private static int generate(Game game, Player user, int slot, Card card, int[] moves, int n) {
+        int targetable = game.getPlayers().getTargetableSeats();
+        int self = 1 << user.getSeat();
+        int opponents = targetable & ~self;
+        int forcedOpponent = forcedTarget(game, opponents);
+        int forced = forcedTarget(game, targetable | self);
+
+        switch (card) {
+            case GUARD:
+                if (opponents == 0) {
+                    moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                }
+                for (int m = only(opponents, forcedOpponent); m != 0; m &= m - 1) {
+                    for (int guess = 1; guess < CARDS.length; guess++) {
+                        moves[n++] = of(slot, Integer.numberOfTrailingZeros(m), NO_SEAT, guess, false);
+                    }
+                }
+                return n;
+
+            case BISHOP:
+                if (opponents == 0) {
+                    moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                }
+                for (int m = only(opponents, forcedOpponent); m != 0; m &= m - 1) {
+                    for (int guess = 0; guess < BISHOP_GUESSES; guess++) {
+                        moves[n++] = of(slot, Integer.numberOfTrailingZeros(m), NO_SEAT, guess, false);
+                    }
+                }
+                return n;
+
+            case PRIEST:
+            case BARON:
+            case KING:
+            case DOWAGERQUEEN:
+                if (opponents == 0) {
+                    moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                }
+                for (int m = only(opponents, forcedOpponent); m != 0; m &= m - 1) {
+                    moves[n++] = of(slot, Integer.numberOfTrailingZeros(m), NO_SEAT, 0, false);
+                }
+                return n;
+
+            case PRINCE:
+            case SYNCOPHANT:
+            case JESTER:
+                for (int m = only(targetable | self, forced); m != 0; m &= m - 1) {
+                    moves[n++] = of(slot, Integer.numberOfTrailingZeros(m), NO_SEAT, 0, false);
+                }
+                return n;
+
+            case BARONESS:
+                if (Integer.bitCount(targetable) <= 1) {
+                    moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                    return n;
+                }
+                boolean twoPeeks = Integer.bitCount(targetable) > 2;
+                for (int m = only(opponents, forcedOpponent); m != 0; m &= m - 1) {
+                    int first = Integer.numberOfTrailingZeros(m);
+                    moves[n++] = of(slot, first, NO_SEAT, 0, false);
+                    // a forced first peek goes with any other, else each pair is listed once
+                    int others = forcedOpponent != NO_SEAT ? opponents & ~(1 << first) : opponents & -(2 << first);
+                    for (int o = twoPeeks ? others : 0; o != 0; o &= o - 1) {
+                        moves[n++] = of(slot, first, Integer.numberOfTrailingZeros(o), 0, false);
+                    }
+                }
+                return n;
+
+            case CARDINAL:
+                int swappable = targetable | self;
+                if (Integer.bitCount(swappable) < 2) {
+                    moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                    return n;
+                }
+                for (int m = only(swappable, forced); m != 0; m &= m - 1) {
+                    int one = Integer.numberOfTrailingZeros(m);
+                    int others = forced != NO_SEAT ? swappable & ~(1 << one) : swappable & -(2 << one);
+                    for (int o = others; o != 0; o &= o - 1) {
+                        int two = Integer.numberOfTrailingZeros(o);
+                        moves[n++] = of(slot, one, two, 0, false);
+                        moves[n++] = of(slot, one, two, 0, true);
+                    }
+                }
+                return n;
+
+            default:
+                // Handmaiden, Countess, Princess, Constable, Count and Assassin have no choice
+                moves[n++] = of(slot, NO_SEAT, NO_SEAT, 0, false);
+                return n;
+        }
+    }
+
+    /**
+     * Checks an action against the turn begun with Game.beginTurn, with the same rules as generate.
+     *
+     * @param game
+     *          the game, after beginTurn
+     * @param action
+     *          the action
+     * @return true if the action is legal
+     */
+    public static boolean isLegal(Game game, int action) {
+        Player user = turnPlayer(game);
+        Hand hand = user.getHand();
+        int slot = slot(action);
+        if (slot >= hand.size() || (isCountessForced(hand) && hand.peek(slot) != Card.COUNTESS)) {
+            return false;
+        }
+
+        int targetable = game.getPlayers().getTargetableSeats();
+        int self = 1 << user.getSeat();
+        int opponents = targetable & ~self;
+        int target = target(action);
+        int second = secondTarget(action);
+        int guess = guess(action);
+        boolean peekSecond = peeksSecond(action);
+        if (!isSeat(target) || !isSeat(second)) {
+            return false;
+        }
+
+        switch (hand.peek(slot)) {
+            case GUARD:
+                return second == NO_SEAT && !peekSecond && isSingleTarget(opponents, forcedTarget(game, opponents), target)
+                    && (target == NO_SEAT ? guess == 0 : guess >= 1 && guess < CARDS.length);
+
+            case BISHOP:
+                return second == NO_SEAT && !peekSecond && isSingleTarget(opponents, forcedTarget(game, opponents), target)
+                    && (target == NO_SEAT ? guess == 0 : guess < BISHOP_GUESSES);
+
+            case PRIEST:
+            case BARON:
+            case KING:
+            case DOWAGERQUEEN:
+                return second == NO_SEAT && guess == 0 && !peekSecond
+                    && isSingleTarget(opponents, forcedTarget(game, opponents), target);
+
+            case PRINCE:
+            case SYNCOPHANT:
+            case JESTER:
+                return second == NO_SEAT && guess == 0 && !peekSecond && target != NO_SEAT
+                    && isSingleTarget(targetable | self, forcedTarget(game, targetable | self), target);
+
+            case BARONESS:
+                if (guess != 0 || peekSecond) {
+                    return false;
+                }
+                if (Integer.bitCount(targetable) <= 1) {
+                    return target == NO_SEAT && second == NO_SEAT;
+                }
+                return target != NO_SEAT && isSingleTarget(opponents, forcedTarget(game, opponents), target)
+                    && (second == NO_SEAT || (Integer.bitCount(targetable) > 2 && second != target && contains(opponents, second)));
+
+            case CARDINAL:
+                int swappable = targetable | self;
+                if (guess != 0) {
+                    return false;
+                }
+                if (Integer.bitCount(swappable) < 2) {
+                    return target == NO_SEAT && second == NO_SEAT && !peekSecond;
+                }
+                return target != NO_SEAT && isSingleTarget(swappable, forcedTarget(game, targetable | self), target)
+                    && second != target && contains(swappable, second);
+
+            default:
+                return target == NO_SEAT && second == NO_SEAT && guess == 0 && !peekSecond;
+        }
+    }
+
+    private static Player turnPlayer(Game game) {
+        Player user = game.getTurnPlayer();
+        if (user == null) {
+            throw new IllegalStateException("No turn was begun");
+        }
+        return user;
+    }
+
+    private static boolean isCountessForced(Hand hand) {
+        return hand.getRoyaltyPos() != -1 && hand.getCardPos(Card.COUNTESS) != -1;
+    }
+
+    /**
+     * Finds the seat the Sycophant forces as target: the chosen player, if they can be
+     * targeted by the card, like RandomDecisions does.
+     *
+     * @param targets
+     *          the seats the card can target
+     * @return the forced seat, NO_SEAT if any target can be chosen
+     */
+    private static int forcedTarget(Game game, int targets) {
+        Player chosen = game.isSyncophantFlag() ? game.getSyncophantChosenPlayer() : null;
+        if (chosen == null || !contains(targets, chosen.getSeat())) {
+            return NO_SEAT;
+        }
+        return chosen.getSeat();
+    }
+
+    /**
+     * Restricts the targets to the forced one, if any.
+     */
+    private static int only(int targets, int forced) {
+        return forced == NO_SEAT ? targets : targets & (1 << forced);
+    }
+
+    private static boolean isSingleTarget(int targets, int forced, int target) {
+        if (target == NO_SEAT) {
+            return targets == 0;
+        }
+        return contains(only(targets, forced), target);
+    }
+
+    private static boolean contains(int seats, int seat) {
+        return seat != NO_SEAT && (seats & (1 << seat)) != 0;
+    }
+
+    private static boolean isSeat(int seat) {
+        return seat >= NO_SEAT && seat < Integer.SIZE;
+    }
+}
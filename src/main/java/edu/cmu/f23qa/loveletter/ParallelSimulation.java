@@ -0,0 +1,104 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Spreads independent headless games over the cores of a ForkJoinPool.
+ *
+ * Game i is played with its own seed derived from the master seed and i, and every
+ * worker plays with its own Game, Deck, PlayerList and statistics. The statistics are
+ * plain sums merged when the tasks are joined, so for a given master seed the results
+ * are the same for any number of threads, and the same as a sequential Simulation.
+ *
+ * All seats are played by RandomDecisions, bots attached to the Simulation are not
+ * used since they would be shared between the threads.
+ *
+ * Usage: ParallelSimulation [number of games] [number of players] [seed] [number of threads]
+ */
+public class ParallelSimulation {
+    /**
+     * The number of leaf tasks per thread, more leaves balance the load
+     * better when some games take longer than others.
+     */
+    private static final int LEAVES_PER_THREAD = 8;
+
+    private final Simulation simulation;
+
+    /**
+     * Constructor for a parallel simulation.
+     *
+     * @param numOfPlayers
+     *          the number of players at the table, 2 to 8
+     */
+    public ParallelSimulation(int numOfPlayers) {
+        this.simulation = new Simulation(numOfPlayers);
+    }
+
+    /**
+     * Plays the given number of games on the pool.
+     *
+     * @param games
+     *          the number of games to play
+     * @param masterSeed
+     *          the seed all game seeds are derived from
+     * @param pool
+     *          the pool running the games
+     * @return
+     *          the statistics of all played games
+     */
+    public SimulationStats run(long games, long masterSeed, ForkJoinPool pool) {
+        long leafSize = Math.max(1, games / ((long) pool.getParallelism() * LEAVES_PER_THREAD));
+        return pool.invoke(new GamesTask(0, games, leafSize, masterSeed));
+    }
+
+    /**
+     * Plays the games [from, to), splitting the range until it is small enough.
+     */
+    private class GamesTask extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long leafSize;
+        private final long masterSeed;
+
+        GamesTask(long from, long to, long leafSize, long masterSeed) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.masterSeed = masterSeed;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= leafSize) {
+                return simulation.run(from, to, masterSeed);
+            }
+            long middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle, leafSize, masterSeed);
+            GamesTask right = new GamesTask(middle, to, leafSize, masterSeed);
+            left.fork();
+            SimulationStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        int numOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        ParallelSimulation simulation = new ParallelSimulation(numOfPlayers);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        SimulationStats stats = simulation.run(games, seed, pool);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        System.out.println("Threads: " + threads);
+        Simulation.printReport(stats, elapsed, seed);
+    }
+}
@@ -4,6 +4,7 @@ public class Player {
     private String name;
     private Hand hand;
     private GameUI gameUI;
+    private DecisionProvider decisionProvider;
     private Player jesterToken;
 
     private DiscardPile discarded;
@@ -18,26 +19,78 @@ public class Player {
      */
     private int tokens;
 
+    /**
+     * The seat of the player in its PlayerList, -1 until seated.
+     */
+    private int seat;
+
+    /**
+     * The list the player is seated in, told about every change of the tokens,
+     * the protection, the Jester token and the hand, and about every card
+     * discarded, shown or swapped.
+     */
+    private PlayerList playerList;
+
     public Player(String name) {
         this.name = name;
-        this.hand = new Hand();
-        this.discarded = new DiscardPile();
+        this.hand = new Hand(this);
+        this.discarded = new DiscardPile(this);
         this.isProtected = false;
         this.tokens = 0;
         this.jesterToken = null;
+        this.seat = -1;
+    }
+
+    /**
+     * Copies a player for a forked game. The copy is not seated yet, and its
+     * Jester token still points at the player of the parent game.
+     */
+    private Player(Player parent) {
+        this.name = parent.name;
+        this.hand = new Hand(this);
+        this.hand.copyFrom(parent.hand);
+        this.gameUI = parent.gameUI;
+        this.decisionProvider = parent.decisionProvider;
+        this.jesterToken = parent.jesterToken;
+        this.discarded = parent.discarded.fork(this);
+        this.isProtected = parent.isProtected;
+        this.tokens = parent.tokens;
+        this.seat = -1;
+    }
+
+    Player fork() {
+        return new Player(this);
+    }
+
+    /**
+     * Copies the name, seat and hand of the player, for a decision taken apart from the game.
+     * The copy is not in the player list, changing its hand changes nothing in the game.
+     */
+    Player handCopy() {
+        Player copy = new Player(this.name);
+        copy.hand.copyFrom(this.hand);
+        copy.seat = this.seat;
+        return copy;
     }
 
     public void addToken() {
-        this.tokens++;
+        setTokens(this.tokens + 1);
     }
 
     /**
      * Eliminates the player from the round by discarding their hand.
      */
     public void eliminate() {
+        EventLog eventLog = eventLog();
         if (this.discarded.containsConstable()){
             gameUI.printConstable(this.name);
             this.addToken();
+            if (eventLog != null) {
+                eventLog.token(this, EventLog.CONSTABLE);
+            }
+        }
+        if (eventLog != null) {
+            eventLog.elimination(this);
         }
 
         this.discarded.add(this.hand.remove(0));
@@ -55,7 +108,7 @@ public class Player {
      * Switches the user's level of protection.
      */
     public void switchProtection() {
-        this.isProtected = !this.isProtected;
+        setProtected(!this.isProtected);
     }
 
     /**
@@ -71,11 +124,15 @@ public class Player {
      * Clear jesterToken after each round
      */
     public void clearJesterToken() {
-        this.jesterToken = null;
+        setJesterToken(null);
     }
 
     public void setJesterToken(Player player) {
+        Player oldJesterToken = this.jesterToken;
         this.jesterToken = player;
+        if (this.playerList != null) {
+            this.playerList.jesterTokenChanged(this, oldJesterToken);
+        }
     }
 
     public Player getJesterToken() {
@@ -104,13 +161,26 @@ public class Player {
     }
 
     public void setTokens(int tokens) {
+        int oldTokens = this.tokens;
         this.tokens = tokens;
+        if (this.playerList != null) {
+            this.playerList.tokensChanged(this, oldTokens);
+        }
     }
 
     public String getName() {
         return this.name;
     }
 
+    int getSeat() {
+        return this.seat;
+    }
+
+    void setSeat(PlayerList playerList, int seat) {
+        this.playerList = playerList;
+        this.seat = seat;
+    }
+
     @Override
     public String toString() {
         return this.name + " (" + this.tokens + " tokens)";
@@ -118,6 +188,64 @@ public class Player {
 
     public void setProtected(Boolean isProtected) {
         this.isProtected = isProtected;
+        if (this.playerList != null) {
+            this.playerList.protectionChanged(this);
+        }
+    }
+
+    /**
+     * Called by the hand whenever its cards change.
+     */
+    void handChanged() {
+        if (this.playerList != null) {
+            this.playerList.handChanged(this);
+        }
+    }
+
+    /**
+     * Called by the discard pile for every card discarded.
+     */
+    void cardDiscarded(Card card) {
+        if (this.playerList != null) {
+            this.playerList.cardDiscarded(this, card);
+        }
+    }
+
+    /**
+     * Called by the discard pile once it was cleared.
+     */
+    void discardsCleared() {
+        if (this.playerList != null) {
+            this.playerList.discardsCleared(this);
+        }
+    }
+
+    /**
+     * Called by the hand once it was swapped with the hand of the other player.
+     */
+    void handSwapped(Player other) {
+        if (this.playerList != null) {
+            this.playerList.handsSwapped(this, other);
+        }
+    }
+
+    /**
+     * @return the log of the events of the game of the player, null if they are not logged
+     */
+    EventLog eventLog() {
+        return this.playerList == null ? null : this.playerList.getEventLog();
+    }
+
+    /**
+     * Notes that the card of the holder was shown to this player.
+     *
+     * @param holder
+     *          the player whose card was shown
+     */
+    void sawCardOf(Player holder) {
+        if (this.playerList != null) {
+            this.playerList.cardShown(this, holder);
+        }
     }
 
     public void setDiscardPile(DiscardPile discardPile) {
@@ -141,12 +269,7 @@ public class Player {
      * @return The number of COUNT cards in the player's discarded pile.
      */
     public int countOfCountCards(Player p){
-        int count = 0;
-        for (Card c : p.getDiscarded().getCards()){
-            if (c.equals(Card.COUNT))
-                count ++;
-        }
-        return count;
+        return p.getDiscarded().count(Card.COUNT);
     }
     
     /**
@@ -155,7 +278,7 @@ public class Player {
      * @return
      */
     public int getPlayerHandValue() {
-        if (this.hand.getCards().size() != 1) {
+        if (this.hand.size() != 1) {
             gameUI.printException(
                 "At the end of each round, the player should only have one hand card"
             );
@@ -170,4 +293,16 @@ public class Player {
         this.gameUI = gameUI;
     }
 
+    /**
+     * Attaches the decision maker of this seat, for example a bot.
+     * Without one the decisions are taken through the GameUI.
+     */
+    public void setDecisionProvider(DecisionProvider decisionProvider) {
+        this.decisionProvider = decisionProvider;
+    }
+
+    public DecisionProvider getDecisionProvider() {
+        return this.decisionProvider;
+    }
+
 }
@@ -1,17 +1,137 @@
 package edu.cmu.f23qa.loveletter;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The players of a game, seated in the order they were added.
+ * The seats still in the game form a ring: every seat links to the next seat
+ * in play, and a cursor points at the seat that takes the next turn.
+ *
+ * Seats are also kept in bitmasks, bit i standing for seat i: the seats still
+ * in the game, the seats holding a card and the seats under Handmaiden
+ * protection. The players report every change of their hand and protection.
+ *
+ * The list also keeps the sum of the Zobrist keys of its players: their hands,
+ * discard piles, protection, tokens and Jester tokens. Every change a player
+ * reports only swaps the keys of what changed.
+ */
 public class PlayerList {
+    private static final int INITIAL_SEATS = 8;
+    private static final int MAX_SEATS = Integer.SIZE;
+
+    private Player[] seats;
+    private int[] nextSeat;
+    private int numOfSeats;
+    private int numInGame;
+
+    private int inGameSeats;
+    private int seatsWithCard;
+    private int protectedSeats;
+
+    /**
+     * The seat of the player who takes the next turn.
+     */
+    private int cursor;
+
+    /*
+     * The game winners are tracked as the tokens change: the number of players
+     * in the game with the most tokens, counting only those who reached the
+     * target affection points.
+     */
+    private int leaderTokens;
+    private int numOfLeaders;
 
-    private LinkedList<Player> players;
     int targetAffectionPoints;
 
+    /**
+     * What every seat knows of the cards, null until asked for with trackBeliefs.
+     * A forked list does not track them, unless it is forked with them.
+     */
+    private Beliefs beliefs;
+
+    /**
+     * The sum of the Zobrist keys of the players, and the share of it of each hand and discard pile.
+     */
+    private long hash;
+    private long[] handKeys;
+    private long[] discardKeys;
+
+    /**
+     * The log of the events of the game, null if they are not logged. A forked list does not log them.
+     */
+    private EventLog eventLog;
+
+    /**
+     * The seats by the lower case names of their players, shared with the forks until a player is added.
+     */
+    private Map<String, Integer> seatsByName = new HashMap<>();
 
     public PlayerList() {
-        this.players = new LinkedList<>();
+        this.seats = new Player[INITIAL_SEATS];
+        this.nextSeat = new int[INITIAL_SEATS];
+        this.handKeys = new long[INITIAL_SEATS];
+        this.discardKeys = new long[INITIAL_SEATS];
+    }
+
+    /**
+     * Copies a list and all its players for a forked game.
+     */
+    private PlayerList(PlayerList parent) {
+        this.seats = new Player[parent.seats.length];
+        this.nextSeat = parent.nextSeat.clone();
+        this.numOfSeats = parent.numOfSeats;
+        this.numInGame = parent.numInGame;
+        this.inGameSeats = parent.inGameSeats;
+        this.seatsWithCard = parent.seatsWithCard;
+        this.protectedSeats = parent.protectedSeats;
+        this.cursor = parent.cursor;
+        this.leaderTokens = parent.leaderTokens;
+        this.numOfLeaders = parent.numOfLeaders;
+        this.targetAffectionPoints = parent.targetAffectionPoints;
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            seats[seat] = parent.seats[seat].fork();
+            seats[seat].setSeat(this, seat);
+        }
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            seats[seat].setJesterToken(parent.playerIn(this, seats[seat].getJesterToken()));
+        }
+        this.hash = parent.hash;
+        this.handKeys = parent.handKeys.clone();
+        this.discardKeys = parent.discardKeys.clone();
+        this.seatsByName = parent.seatsByName;
+    }
+
+    /**
+     * Copies the list for a forked game, changes to the copy never reach this list.
+     */
+    PlayerList fork() {
+        return new PlayerList(this);
+    }
+
+    /**
+     * Copies the list for a forked game along with the beliefs of the seats, if they are tracked.
+     */
+    PlayerList forkWithBeliefs() {
+        PlayerList fork = new PlayerList(this);
+        if (beliefs != null) {
+            fork.beliefs = beliefs.copy(fork);
+        }
+        return fork;
+    }
+
+    /**
+     * Finds the copy of a player of this list in a fork of it.
+     *
+     * @return the copy, or the player itself if it does not sit in this list
+     */
+    Player playerIn(PlayerList fork, Player player) {
+        return player != null && isSeated(player) ? fork.seats[player.getSeat()] : player;
     }
 
     /**
@@ -21,31 +141,82 @@ public class PlayerList {
      * @return true if the player is not already in the list and can be added, false if not
      */
     public boolean addPlayer(String name) {
-        for (Player p : players) {
-            if (p.getName().equalsIgnoreCase(name)) {
-                return false;
-            }
+        if (getPlayer(name) != null) {
+            return false;
+        }
+        if (numOfSeats == MAX_SEATS) {
+            throw new IllegalStateException("A table has at most " + MAX_SEATS + " seats");
+        }
+        if (numOfSeats == seats.length) {
+            seats = Arrays.copyOf(seats, 2 * numOfSeats);
+            nextSeat = Arrays.copyOf(nextSeat, 2 * numOfSeats);
+            handKeys = Arrays.copyOf(handKeys, 2 * numOfSeats);
+            discardKeys = Arrays.copyOf(discardKeys, 2 * numOfSeats);
         }
-        players.addLast(new Player(name));
+        Player player = new Player(name);
+        player.setSeat(this, numOfSeats);
+        seats[numOfSeats] = player;
+        seatsByName = new HashMap<>(seatsByName);
+        seatsByName.put(name.toLowerCase(Locale.ROOT), numOfSeats);
+        inGameSeats |= 1 << numOfSeats;
+        numOfSeats++;
+        numInGame++;
+        linkSeats();
+        countLeaders();
         return true;
     }
 
     /**
-     * Gets the first player in the list and adds them to end of the list.
+     * Links every seat still in the game to the next one, in seat order.
+     */
+    private void linkSeats() {
+        int first = -1;
+        int last = -1;
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            if (!isInGame(seat)) {
+                continue;
+            }
+            if (first == -1) {
+                first = seat;
+            } else {
+                nextSeat[last] = seat;
+            }
+            last = seat;
+        }
+        if (last != -1) {
+            nextSeat[last] = first;
+        }
+    }
+
+    /**
+     * Gets the player whose turn it is and moves the cursor past them.
+     * Players knocked out of the round are skipped.
      *
-     * @return the first player in the list
+     * @return the player to take the turn
      */
     public Player getCurrentPlayer() {
-        Player current = players.removeFirst();
-        players.addLast(current);
-        return current;
+        if (numInGame == 0) {
+            throw new NoSuchElementException("There are no players in the game");
+        }
+        int seat = cursor;
+        for (int i = 0; i < numInGame && !seats[seat].getHand().hasCards(); i++) {
+            seat = nextSeat[seat];
+        }
+        if (!seats[seat].getHand().hasCards()) {
+            // nobody holds a card, the turn simply goes around
+            seat = cursor;
+        }
+        cursor = nextSeat[seat];
+        return seats[seat];
     }
 
     /**
      * Resets all players within the list.
      */
     public void reset() {
-        for (Player p : players) {
+        int seat = cursor;
+        for (int i = 0; i < numInGame; i++, seat = nextSeat[seat]) {
+            Player p = seats[seat];
             p.getHand().clear();
             p.getDiscarded().clear();
             p.turnOffProtection();
@@ -53,10 +224,14 @@ public class PlayerList {
         }
     }
 
+    /**
+     * @return the players still in the game, starting with the one who takes the next turn
+     */
     public List<Player> getPlayers() {
-        List<Player> playerList = new ArrayList<>();
-        for (Player p : players) {
-            playerList.add(p);
+        List<Player> playerList = new ArrayList<>(numInGame);
+        int seat = cursor;
+        for (int i = 0; i < numInGame; i++, seat = nextSeat[seat]) {
+            playerList.add(seats[seat]);
         }
         return playerList;
     }
@@ -65,7 +240,231 @@ public class PlayerList {
      * @return the size of the total players to decide standard vs premium version.
      */
     public int getNumberOfPlayers() {
-        return players.size();
+        return numInGame;
+    }
+
+    /**
+     * Checks whether the player still sits at this table, players removed
+     * before a tie break round do not.
+     */
+    private boolean isInGame(Player player) {
+        return isSeated(player) && isInGame(player.getSeat());
+    }
+
+    private boolean isInGame(int seat) {
+        return (inGameSeats & (1 << seat)) != 0;
+    }
+
+    private boolean isSeated(Player player) {
+        int seat = player.getSeat();
+        return seat >= 0 && seat < numOfSeats && seats[seat] == player;
+    }
+
+    /**
+     * Updates the seats holding a card and the hash when the cards of a player change.
+     */
+    void handChanged(Player player) {
+        if (isSeated(player)) {
+            int seat = player.getSeat();
+            Hand hand = player.getHand();
+            seatsWithCard = setSeat(seatsWithCard, seat, hand.hasCards());
+            long key = Zobrist.hand(seat, hand);
+            hash += key - handKeys[seat];
+            handKeys[seat] = key;
+        }
+    }
+
+    /**
+     * Updates the protected seats when a player gains or loses Handmaiden protection.
+     */
+    void protectionChanged(Player player) {
+        if (isSeated(player)) {
+            int seat = player.getSeat();
+            int oldProtectedSeats = protectedSeats;
+            protectedSeats = setSeat(protectedSeats, seat, player.isProtected());
+            if (protectedSeats != oldProtectedSeats) {
+                hash += player.isProtected() ? Zobrist.protection(seat) : -Zobrist.protection(seat);
+            }
+        }
+    }
+
+    /**
+     * Adds a discarded card to the hash and tells the beliefs about it.
+     */
+    void cardDiscarded(Player player, Card card) {
+        if (!isSeated(player)) {
+            return;
+        }
+        long key = Zobrist.discard(player.getSeat(), card);
+        hash += key;
+        discardKeys[player.getSeat()] += key;
+        if (beliefs != null) {
+            beliefs.discarded(player.getSeat(), card);
+        }
+    }
+
+    /**
+     * Takes the cards of a cleared discard pile out of the hash.
+     */
+    void discardsCleared(Player player) {
+        if (isSeated(player)) {
+            hash -= discardKeys[player.getSeat()];
+            discardKeys[player.getSeat()] = 0;
+        }
+    }
+
+    /**
+     * Updates the hash when a player gets or loses a Jester token.
+     */
+    void jesterTokenChanged(Player player, Player oldJesterToken) {
+        if (isSeated(player)) {
+            int seat = player.getSeat();
+            hash += Zobrist.jester(seat, seatOf(player.getJesterToken())) - Zobrist.jester(seat, seatOf(oldJesterToken));
+        }
+    }
+
+    private static int seatOf(Player player) {
+        return player == null ? -1 : player.getSeat();
+    }
+
+    /**
+     * Tells the beliefs and the log that the card of the holder was shown to the viewer.
+     */
+    void cardShown(Player viewer, Player holder) {
+        if (!isSeated(viewer) || !isSeated(holder)) {
+            return;
+        }
+        if (beliefs != null) {
+            beliefs.shown(viewer.getSeat(), holder.getSeat());
+        }
+        if (eventLog != null) {
+            eventLog.peek(viewer, holder);
+        }
+    }
+
+    /**
+     * Tells the beliefs that a Guard or a Bishop guess on the only card of the holder missed.
+     *
+     * @param cards
+     *          the cards guessed, a bit per card ordinal
+     */
+    void guessMissed(Player holder, int cards) {
+        if (beliefs != null && isSeated(holder)) {
+            beliefs.guessMissed(holder.getSeat(), cards);
+        }
+    }
+
+    /**
+     * Tells the beliefs and the log that two players swapped their hands.
+     */
+    void handsSwapped(Player one, Player two) {
+        if (!isSeated(one) || !isSeated(two)) {
+            return;
+        }
+        if (beliefs != null) {
+            beliefs.swapped(one.getSeat(), two.getSeat());
+        }
+        if (eventLog != null) {
+            eventLog.swap(one, two);
+        }
+    }
+
+    /**
+     * Starts tracking what every seat knows of the cards, from the cards already public.
+     *
+     * @param deck
+     *          the deck of the game, for the face up cards
+     * @return the beliefs, kept up to date from now on
+     */
+    public Beliefs trackBeliefs(Deck deck) {
+        if (beliefs == null) {
+            beliefs = new Beliefs(this);
+            beliefs.reset(deck);
+        }
+        return beliefs;
+    }
+
+    /**
+     * @return the beliefs of the seats, null if they are not tracked
+     */
+    public Beliefs getBeliefs() {
+        return beliefs;
+    }
+
+    void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * @return the log of the events of the game, null if they are not logged
+     */
+    EventLog getEventLog() {
+        return eventLog;
+    }
+
+    private static int setSeat(int seatMask, int seat, boolean value) {
+        return value ? seatMask | (1 << seat) : seatMask & ~(1 << seat);
+    }
+
+    /**
+     * Gets the seats that can be targeted: still in the round and not protected.
+     * Bit i of the mask stands for seat i, the players can be looked up with getPlayerAt.
+     * Iterating the mask does not allocate, unlike getTargetablePlayers.
+     *
+     * @return the bitmask of the targetable seats
+     */
+    public int getTargetableSeats() {
+        return inGameSeats & seatsWithCard & ~protectedSeats;
+    }
+
+    /**
+     * Gets the player sitting at the given seat.
+     *
+     * @param seat
+     *          the seat, as numbered in the seat masks
+     * @return the player at the seat
+     */
+    public Player getPlayerAt(int seat) {
+        return seats[seat];
+    }
+
+    /*
+     * The raw state of the list, read and restored by GameSnapshot.
+     */
+
+    int getNumberOfSeats() {
+        return numOfSeats;
+    }
+
+    int getInGameSeats() {
+        return inGameSeats;
+    }
+
+    int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return the sum of the Zobrist keys of the players
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * Restores the seats still in the game, the turn and the target of a snapshot.
+     * The players must all be seated already.
+     */
+    void restore(int inGameSeats, int cursor, int targetAffectionPoints) {
+        if (cursor < 0 || cursor >= Math.max(numOfSeats, 1)) {
+            throw new IllegalArgumentException("No seat " + cursor + " at a table of " + numOfSeats + " seats");
+        }
+        this.inGameSeats = inGameSeats & (int) ((1L << numOfSeats) - 1);
+        this.numInGame = Integer.bitCount(this.inGameSeats);
+        this.cursor = cursor;
+        this.targetAffectionPoints = targetAffectionPoints;
+        linkSeats();
+        countLeaders();
     }
 
     /**
@@ -74,13 +473,20 @@ public class PlayerList {
      * @return true if there are more players
      */
     public boolean moreThanSinglePlayerLeft() {
+        return Integer.bitCount(inGameSeats & seatsWithCard) > 1;
+    }
+
+    /**
+     * Counts the players still in the round who take a turn before the player at the given seat.
+     */
+    int countTurnsBefore(int seat) {
         int count = 0;
-        for (Player p : players) {
-            if (p.getHand().hasCards()) {
+        for (int next = cursor, i = 0; next != seat && i < numInGame; next = nextSeat[next], i++) {
+            if ((seatsWithCard & 1 << next) != 0) {
                 count++;
             }
         }
-        return count > 1;
+        return count;
     }
 
     /**
@@ -89,11 +495,13 @@ public class PlayerList {
      *      a list of players
      */
     public List<Player> getTargetablePlayers() {
-        List<Player> playerList = new ArrayList<>();
+        int targetable = getTargetableSeats();
+        List<Player> playerList = new ArrayList<>(Integer.bitCount(targetable));
 
-        for (Player player : players) {
-            if (player.getHand().hasCards() && !player.isProtected()) {
-                playerList.add(player);
+        int seat = cursor;
+        for (int i = 0; i < numInGame; i++, seat = nextSeat[seat]) {
+            if ((targetable & (1 << seat)) != 0) {
+                playerList.add(seats[seat]);
             }
         }
 
@@ -110,7 +518,7 @@ public class PlayerList {
      */
     public List<Player> getRoundWinners() {
         // copy of all players
-        List<Player> playerList = new ArrayList<>(players);
+        List<Player> playerList = getPlayers();
 
         // filter players with hand
         playerList = filterPlayerWithHand(playerList);
@@ -247,7 +655,7 @@ public class PlayerList {
      *      returns true if there are no game winners
      */
     public boolean isZeroGameWinner() {
-        return getGameWinners().isEmpty();
+        return numOfLeaders == 0;
     }
 
     /**
@@ -256,7 +664,7 @@ public class PlayerList {
      *      returns true if there are two or more game winners
      */
     public boolean isTwoOrMoreGameWinners() {
-        return getGameWinners().size() > 1;
+        return numOfLeaders > 1;
     }
 
     /**
@@ -269,12 +677,74 @@ public class PlayerList {
      *      a list of game winners at a certain point
      */
     public List<Player> getGameWinners() {
-        List<Player> playerList = new ArrayList<>(players);
-        playerList = filterPlayerByWinners(playerList);
-        playerList = filterPlayerByMaxToken(playerList);
+        List<Player> playerList = new ArrayList<>(numOfLeaders);
+        int seat = cursor;
+        for (int i = 0; i < numInGame; i++, seat = nextSeat[seat]) {
+            if (isLeader(seats[seat])) {
+                playerList.add(seats[seat]);
+            }
+        }
         return playerList;
     }
 
+    private boolean isLeader(Player player) {
+        return numOfLeaders > 0 && player.getTokens() == leaderTokens;
+    }
+
+    /**
+     * Counts the game winners again from scratch.
+     */
+    private void countLeaders() {
+        leaderTokens = 0;
+        numOfLeaders = 0;
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            if (isInGame(seat)) {
+                countLeader(seats[seat].getTokens());
+            }
+        }
+    }
+
+    /**
+     * Counts a player with the given tokens who was not a game winner yet.
+     */
+    private void countLeader(int tokens) {
+        if (tokens < targetAffectionPoints) {
+            return;
+        }
+        if (numOfLeaders == 0 || tokens > leaderTokens) {
+            leaderTokens = tokens;
+            numOfLeaders = 1;
+        } else if (tokens == leaderTokens) {
+            numOfLeaders++;
+        }
+    }
+
+    /**
+     * Updates the hash and the game winners when the tokens of a player change.
+     *
+     * @param player
+     *          the player whose tokens changed
+     * @param oldTokens
+     *          the tokens of the player before the change
+     */
+    void tokensChanged(Player player, int oldTokens) {
+        if (!isSeated(player)) {
+            return;
+        }
+        int tokens = player.getTokens();
+        hash += Zobrist.tokens(player.getSeat(), tokens) - Zobrist.tokens(player.getSeat(), oldTokens);
+        if (!isInGame(player.getSeat())) {
+            return;
+        }
+        if (tokens < oldTokens) {
+            // a leader may have lost the lead, rare enough to count again
+            countLeaders();
+        } else if (tokens > oldTokens) {
+            // a winner gaining tokens now leads alone, anybody else was not counted yet
+            countLeader(tokens);
+        }
+    }
+
     /**
      * The methods remove all the players who are not winners for player list
      * If multiple winners are present then remove other non-winning players, this is based on rulebook
@@ -285,15 +755,20 @@ public class PlayerList {
      * and determine who finally wins the hand of the Princess and the game!
      */
     public void removeLosers() {
-        int playerCount = players.size();
-        List<Player> winners = getGameWinners();
-        for(int i=0; i<playerCount; i++) {
-            Player current = players.removeFirst();
-            // if current is a winner, add back to winner list
-            if (winners.contains(current)){
-                players.addLast(current);
+        for (int seat = 0; seat < numOfSeats; seat++) {
+            if (isInGame(seat) && !isLeader(seats[seat])) {
+                inGameSeats &= ~(1 << seat);
+                numInGame--;
             }
         }
+        if (numInGame == 0) {
+            return;
+        }
+        // the next turn goes to the first winner at or after the cursor
+        while (!isInGame(cursor)) {
+            cursor = (cursor + 1) % numOfSeats;
+        }
+        linkSeats();
     }
 
     /**
@@ -363,24 +838,31 @@ public class PlayerList {
      * @param deck the deck of cards
      */
     public void dealCards(Deck deck) {
-        for (Player p : players) {
-            p.getHand().add(deck.draw());
+        if (beliefs != null) {
+            beliefs.reset(deck);
+        }
+        int seat = cursor;
+        for (int i = 0; i < numInGame; i++, seat = nextSeat[seat]) {
+            Card card = deck.draw();
+            seats[seat].getHand().add(card);
+            if (eventLog != null) {
+                eventLog.draw(seats[seat], card);
+            }
         }
     }
 
     /**
-     * Gets the player with the given name.
+     * Gets the player with the given name, in any case.
      *
      * @param name the name of the desired player
      * @return the player with the given name or null if there is no such player
      */
     public Player getPlayer(String name) {
-        for (Player p : players) {
-            if (p.getName().equalsIgnoreCase(name)) {
-                return p;
-            }
+        if (name == null) {
+            return null;
         }
-        return null;
+        Integer seat = seatsByName.get(name.toLowerCase(Locale.ROOT));
+        return seat != null && isInGame(seat) ? seats[seat] : null;
     }
 
     /**
@@ -391,26 +873,56 @@ public class PlayerList {
      * @return
      */
     public boolean isOpponentsAvailable(Player player) {
-        for (Player p : players) {
-            // skip the player as he not an opponent
-            if (p.equals(player)){
-                continue;
-            }
+        int opponents = getTargetableSeats();
+        // skip the player as he not an opponent
+        if (isSeated(player)) {
+            opponents &= ~(1 << player.getSeat());
+        }
+        return opponents != 0;
+    }
 
-            // an opponent has hand with no protection, then
-            // there is an unprotected opponent
-            if (p.getHand().hasCards() && !p.isProtected()) {
-                return true;
-            }
+    /**
+     * Checks a target chosen for a card with the rules of GameUI.getOpponent: a player of this list
+     * in the round, holding a card and not protected, and the user only when they may target themselves.
+     * The player chosen with a Sycophant is always accepted, and is the only target accepted while
+     * they are a valid one. No target is accepted only when there is none to choose.
+     *
+     * @param user
+     *          the player choosing the target
+     * @param target
+     *          the target chosen, or null
+     * @param syncophantFlag
+     *          true while the target is chosen by a Sycophant
+     * @param syncophantChosenPlayer
+     *          the player chosen with the Sycophant, or null
+     * @param includeSelf
+     *          true if the user may target themselves
+     * @return true if the target is legal
+     */
+    boolean isValidTarget(Player user, Player target, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        int targets = getTargetableSeats();
+        if (!includeSelf && isSeated(user)) {
+            targets &= ~(1 << user.getSeat());
+        }
+        Player forced = syncophantFlag ? syncophantChosenPlayer : null;
+        if (forced != null && target == forced) {
+            return true;
         }
-        return false;
+        if (forced != null && isSeated(forced) && (targets & (1 << forced.getSeat())) != 0) {
+            return false;
+        }
+        if (target == null) {
+            return targets == 0;
+        }
+        return isSeated(target) && (targets & (1 << target.getSeat())) != 0;
     }
 
     /**
      * Initialize target affection points based on player size
      */
     public void initializeTargetAffection() {
-        targetAffectionPoints = getTargetAffectionPoints(players.size());
+        targetAffectionPoints = getTargetAffectionPoints(numInGame);
+        countLeaders();
     }
 
     /**
@@ -418,8 +930,11 @@ public class PlayerList {
      * 1) At the start of the game, it follows natural order
      * 2) If there is only one round winner, then they will start the round
      * 3) If there are multiple winners, user is asked 
+     * Round winners that were removed to play a tie break round cannot start it.
      */
-    public void setRoundStarter(List<Player> winners, GameUI gameUI) {
+    public void setRoundStarter(List<Player> roundWinners, GameUI gameUI) {
+        List<Player> winners = getPlayersInGame(roundWinners);
+
         Player starter;
         // start of the round
         if (winners.isEmpty()){
@@ -429,13 +944,30 @@ public class PlayerList {
             starter = winners.get(0);
         // multiple winner
         } else{
-            String name =  gameUI.getStartingPlayerName(players);
-            starter = getPlayer(name);
+            starter = DecisionProvider.forSeat(winners.get(0), gameUI).getStartingPlayer(winners);
         }
 
-        // rotate players until we reach the target player
-        while(!players.getFirst().equals(starter)){
-            getCurrentPlayer();
+        setRoundStarter(starter);
+    }
+
+    /**
+     * @param starter
+     *          the player who starts the round
+     */
+    void setRoundStarter(Player starter) {
+        cursor = starter.getSeat();
+    }
+
+    /**
+     * @return the given players that are still in the game, the ones who may start the next round
+     */
+    List<Player> getPlayersInGame(List<Player> players) {
+        List<Player> inGame = new ArrayList<>();
+        for (Player player : players) {
+            if (isInGame(player)) {
+                inGame.add(player);
+            }
         }
+        return inGame;
     }
 }
@@ -0,0 +1,97 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A bot taking random but legal decisions. The only strategy it has is to never discard the Princess.
+ */
+public class RandomDecisions implements DecisionProvider {
+    private static final Card[] CARDS = Card.values();
+
+    private final RandomGenerator random;
+
+    /**
+     * Constructor for a random bot.
+     *
+     * @param random
+     *          the source of randomness for the decisions
+     */
+    public RandomDecisions(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public Card getCard(Player user) {
+        Hand hand = user.getHand();
+        int idx = random.nextInt(2);
+        if (hand.peek(idx) == Card.PRINCESS) {
+            idx = 1 - idx;
+        }
+        return hand.remove(idx);
+    }
+
+    @Override
+    public Player getOpponent(PlayerList playerList, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+        if (syncophantFlag && syncophantChosenPlayer != null && isValidTarget(syncophantChosenPlayer, user, includeSelf)) {
+            return syncophantChosenPlayer;
+        }
+
+        int targets = playerList.getTargetableSeats();
+        if (!includeSelf && user.getSeat() >= 0) {
+            targets &= ~(1 << user.getSeat());
+        }
+        int count = Integer.bitCount(targets);
+        if (count == 0) {
+            return null;
+        }
+
+        // drop the lowest seats until the picked one is the lowest left
+        for (int pick = random.nextInt(count); pick > 0; pick--) {
+            targets &= targets - 1;
+        }
+        return playerList.getPlayerAt(Integer.numberOfTrailingZeros(targets));
+    }
+
+    private boolean isValidTarget(Player target, Player user, boolean includeSelf) {
+        return target.getHand().hasCards() && !target.isProtected() && (includeSelf || target != user);
+    }
+
+    @Override
+    public Card getGuardGuess(Player user) {
+        // ordinal 0 is the guard, which cannot be guessed
+        return CARDS[1 + random.nextInt(CARDS.length - 1)];
+    }
+
+    @Override
+    public int getBishopGuess(Player user) {
+        return random.nextInt(10);
+    }
+
+    @Override
+    public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+        int targetable = Integer.bitCount(players.getTargetableSeats());
+        if (targetable <= 1) {
+            return 0;
+        }
+        if (targetable == 2) {
+            return 1;
+        }
+        return 1 + random.nextInt(2);
+    }
+
+    @Override
+    public Player cardinalPeekOne(Player user, Player one, Player two) {
+        return random.nextBoolean() ? one : two;
+    }
+
+    @Override
+    public boolean getUserSwapConfirmation(Player opponent) {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public Player getStartingPlayer(List<Player> players) {
+        return players.get(random.nextInt(players.size()));
+    }
+}
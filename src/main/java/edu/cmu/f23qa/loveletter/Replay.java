@@ -0,0 +1,323 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays a recorded game again, from its seed and the decision stream of a DecisionRecorder.
+ * Nothing is printed and every decision is read back from the stream, so the replayed game deals,
+ * plays and scores exactly as the recorded one.
+ *
+ * index plays the game once and keeps a sparse index of it: a snapshot before the first turn of
+ * every round and one every few turns within a round, each with its place in the stream. seek
+ * restores the nearest snapshot before a turn and plays on from there, not from the start.
+ *
+ * A replay is used by one thread at a time.
+ */
+public final class Replay {
+    /**
+     * The number of turns between two snapshots of a round, a snapshot of four players takes
+     * about 70 bytes.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 8;
+
+    private final List<String> names;
+    private final long seed;
+    private final int[] decisions;
+    private final SimulationStats stats;
+    private final HeadlessGameUI gameUI;
+
+    /*
+     * The index, one entry per snapshot in the order of the game: the round and turn it was taken
+     * before, and the number of decisions taken until then.
+     */
+    private int numOfCheckpoints;
+    private int[] checkpointRounds = new int[0];
+    private int[] checkpointTurns = new int[0];
+    private int[] checkpointPositions = new int[0];
+    private byte[][] snapshots = new byte[0][];
+
+    /**
+     * The number of turns of every round, known once the replay is indexed.
+     */
+    private int numOfRounds;
+    private int[] roundTurns = new int[0];
+
+    /**
+     * Constructor for a replay.
+     *
+     * @param names
+     *          the names of the players, in the order of their seats
+     * @param seed
+     *          the seed of the recorded game
+     * @param decisions
+     *          the decisions recorded by a DecisionRecorder
+     */
+    public Replay(List<String> names, long seed, int[] decisions) {
+        this.names = List.copyOf(names);
+        this.seed = seed;
+        this.decisions = decisions;
+        this.stats = new SimulationStats(names.size());
+        this.gameUI = new HeadlessGameUI(stats);
+    }
+
+    /**
+     * @return the number of turns replayed so far, by play, index and seek together
+     */
+    public long getTurnsPlayed() {
+        return stats.getTurns();
+    }
+
+    /**
+     * Plays the whole game.
+     *
+     * @return the game at its end
+     */
+    public Game play() {
+        Game game = newGame(new Decisions(decisions, 0));
+        game.start(gameUI);
+        return game;
+    }
+
+    /**
+     * Plays the whole game with the default checkpoint interval, indexing it.
+     *
+     * @return the game at its end
+     */
+    public Game index() {
+        return index(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Plays the whole game, indexing it. The index of an earlier call is replaced.
+     *
+     * @param checkpointInterval
+     *          the number of turns between two snapshots of a round
+     * @return the game at its end
+     */
+    public Game index(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive, got " + checkpointInterval);
+        }
+        numOfCheckpoints = 0;
+        numOfRounds = 0;
+        Decisions stream = new Decisions(decisions, 0);
+        Game game = newGame(stream);
+        game.watch(new Game.Watcher() {
+            @Override
+            public void roundStarted(Game game) {
+                if (numOfRounds == roundTurns.length) {
+                    roundTurns = Arrays.copyOf(roundTurns, Math.max(16, numOfRounds * 2));
+                }
+                roundTurns[numOfRounds++] = 0;
+            }
+
+            @Override
+            public boolean beforeTurn(Game game) {
+                int round = numOfRounds - 1;
+                int turn = roundTurns[round]++;
+                if (turn % checkpointInterval == 0) {
+                    addCheckpoint(round, turn, stream.position, GameSnapshot.encode(game));
+                }
+                return true;
+            }
+        });
+        game.start(gameUI);
+        game.watch(null);
+        return game;
+    }
+
+    private void addCheckpoint(int round, int turn, int position, byte[] snapshot) {
+        if (numOfCheckpoints == snapshots.length) {
+            int capacity = Math.max(16, numOfCheckpoints * 2);
+            checkpointRounds = Arrays.copyOf(checkpointRounds, capacity);
+            checkpointTurns = Arrays.copyOf(checkpointTurns, capacity);
+            checkpointPositions = Arrays.copyOf(checkpointPositions, capacity);
+            snapshots = Arrays.copyOf(snapshots, capacity);
+        }
+        checkpointRounds[numOfCheckpoints] = round;
+        checkpointTurns[numOfCheckpoints] = turn;
+        checkpointPositions[numOfCheckpoints] = position;
+        snapshots[numOfCheckpoints] = snapshot;
+        numOfCheckpoints++;
+    }
+
+    /**
+     * @return the number of rounds of the game, 0 until the replay is indexed
+     */
+    public int getRounds() {
+        return numOfRounds;
+    }
+
+    /**
+     * @param round
+     *          the round, counted from 0
+     * @return the number of turns of the round
+     */
+    public int getTurns(int round) {
+        if (round < 0 || round >= numOfRounds) {
+            throw new IllegalArgumentException("No round " + round + " in a game of " + numOfRounds + " rounds");
+        }
+        return roundTurns[round];
+    }
+
+    /**
+     * @return the number of snapshots in the index
+     */
+    public int getCheckpoints() {
+        return numOfCheckpoints;
+    }
+
+    /**
+     * Restores the game as it was before a turn, from the nearest snapshot before it. The seats of the
+     * game read their decisions from the stream, so resuming it plays the rest of the recorded game.
+     *
+     * @param round
+     *          the round, counted from 0
+     * @param turn
+     *          the turn in the round, counted from 0
+     * @return the game between the turn before and the turn
+     */
+    public Game seek(int round, int turn) {
+        if (turn < 0 || turn >= getTurns(round)) {
+            throw new IllegalArgumentException("No turn " + turn + " in round " + round + " of " + roundTurns[round] + " turns");
+        }
+
+        // the last checkpoint not after the turn, the first one of a round is before its first turn
+        int low = 0;
+        int high = numOfCheckpoints - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpointRounds[mid] < round || checkpointRounds[mid] == round && checkpointTurns[mid] <= turn) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        Game game = GameSnapshot.decode(snapshots[low], 0, gameUI);
+        attach(game, new Decisions(decisions, checkpointPositions[low]));
+        int[] at = { checkpointRounds[low], checkpointTurns[low] };
+        game.watch(new Game.Watcher() {
+            @Override
+            public void roundStarted(Game game) {
+                at[0]++;
+                at[1] = 0;
+            }
+
+            @Override
+            public boolean beforeTurn(Game game) {
+                if (at[0] == round && at[1] == turn) {
+                    return false;
+                }
+                at[1]++;
+                return true;
+            }
+        });
+        game.resume(gameUI);
+        game.watch(null);
+        return game;
+    }
+
+    private Game newGame(Decisions stream) {
+        PlayerList players = new PlayerList();
+        for (String name : names) {
+            players.addPlayer(name);
+            players.getPlayer(name).setGameUI(gameUI);
+        }
+        Game game = new Game(players, new Deck(seed), new GameActions());
+        attach(game, stream);
+        return game;
+    }
+
+    private void attach(Game game, Decisions stream) {
+        PlayerList players = game.getPlayers();
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            players.getPlayerAt(seat).setDecisionProvider(stream);
+        }
+        gameUI.newGame(players.getPlayers(), stream);
+    }
+
+    /**
+     * Takes every decision of a game from a recorded stream, in order.
+     */
+    private static final class Decisions implements DecisionProvider {
+        private static final Card[] CARDS = Card.values();
+
+        private final int[] decisions;
+        private int position;
+
+        Decisions(int[] decisions, int position) {
+            this.decisions = decisions;
+            this.position = position;
+        }
+
+        private int next() {
+            if (position == decisions.length) {
+                throw new IllegalStateException("The decision stream ended after " + position + " decisions");
+            }
+            return decisions[position++];
+        }
+
+        private Card nextCard() {
+            return CARDS[next()];
+        }
+
+        private Player nextPlayer(PlayerList players) {
+            int seat = next();
+            return seat < 0 ? null : players.getPlayerAt(seat);
+        }
+
+        @Override
+        public Card getCard(Player user) {
+            Hand hand = user.getHand();
+            int idx = hand.getCardPos(nextCard());
+            if (idx < 0) {
+                throw new IllegalStateException("Decision " + (position - 1) + " plays a card " + user.getName() + " does not hold");
+            }
+            return hand.remove(idx);
+        }
+
+        @Override
+        public Player getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+            return nextPlayer(players);
+        }
+
+        @Override
+        public Card getGuardGuess(Player user) {
+            return nextCard();
+        }
+
+        @Override
+        public int getBishopGuess(Player user) {
+            return next();
+        }
+
+        @Override
+        public int getNumOfPlayerForBaroness(PlayerList players, Player user) {
+            return next();
+        }
+
+        @Override
+        public Player cardinalPeekOne(Player user, Player one, Player two) {
+            int seat = next();
+            return seat == one.getSeat() ? one : seat == two.getSeat() ? two : null;
+        }
+
+        @Override
+        public boolean getUserSwapConfirmation(Player opponent) {
+            return next() != 0;
+        }
+
+        @Override
+        public Player getStartingPlayer(List<Player> players) {
+            int seat = next();
+            for (Player player : players) {
+                if (player.getSeat() == seat) {
+                    return player;
+                }
+            }
+            throw new IllegalStateException("Decision " + (position - 1) + " starts the round with seat " + seat + ", not a round winner");
+        }
+    }
+}
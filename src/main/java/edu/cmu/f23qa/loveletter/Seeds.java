@@ -0,0 +1,30 @@
+package edu.cmu.f23qa.loveletter;
+
+/**
+ * Derives independent seeds from one master seed, so that many games (or
+ * the deck and the bots of one game) never share the state of a generator.
+ */
+final class Seeds {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Seeds() {
+    }
+
+    /**
+     * Returns the seed of the given stream, mixed the same way SplittableRandom mixes its output.
+     *
+     * @param seed
+     *          the master seed
+     * @param stream
+     *          the index of the stream, for example the index of a game
+     * @return
+     *          the seed of the stream
+     */
+    static long derive(long seed, long stream) {
+        long z = seed + (stream + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,171 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Headless batch simulation of complete games, used for balance testing the rules.
+ * Nothing is printed while the games are running, only the aggregate
+ * statistics are reported at the end.
+ *
+ * Usage: Simulation [number of games] [number of players] [seed] [event log directory]
+ */
+public class Simulation {
+    private static final int DEFAULT_GAMES = 100000;
+    private static final int DEFAULT_PLAYERS = 4;
+
+    private final int numOfPlayers;
+    private final String[] playerNames;
+    private final DecisionProvider[] seatDecisions;
+    private EventLog eventLog;
+
+    /**
+     * Constructor for a simulation.
+     *
+     * @param numOfPlayers
+     *          the number of players at the table, 2 to 8
+     */
+    public Simulation(int numOfPlayers) {
+        if (numOfPlayers < 2 || numOfPlayers > 8) {
+            throw new IllegalArgumentException("A game needs 2 to 8 players, got " + numOfPlayers);
+        }
+        this.numOfPlayers = numOfPlayers;
+        this.playerNames = new String[numOfPlayers];
+        this.seatDecisions = new DecisionProvider[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            playerNames[i] = "Player " + (i + 1);
+        }
+    }
+
+    public int getNumberOfPlayers() {
+        return numOfPlayers;
+    }
+
+    /**
+     * Lets a bot play a seat instead of the random default.
+     *
+     * @param seat
+     *          the seat, 0 based
+     * @param decisions
+     *          the bot of the seat
+     */
+    public void setSeatDecisions(int seat, DecisionProvider decisions) {
+        seatDecisions[seat] = decisions;
+    }
+
+    /**
+     * Writes the events of every game to a log.
+     *
+     * @param eventLog
+     *          the log, null to not log the games
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Plays the given number of games to the end.
+     *
+     * @param games
+     *          the number of games to play
+     * @param seed
+     *          the master seed, every game is played with its own seed derived from it
+     * @return
+     *          the statistics of all played games
+     */
+    public SimulationStats run(long games, long seed) {
+        return run(0, games, seed);
+    }
+
+    /**
+     * Plays the games [from, to) of a run to the end.
+     *
+     * @param from
+     *          the index of the first game
+     * @param to
+     *          the index after the last game
+     * @param seed
+     *          the master seed of the run
+     * @return
+     *          the statistics of the played games
+     */
+    SimulationStats run(long from, long to, long seed) {
+        SimulationStats stats = new SimulationStats(numOfPlayers);
+        HeadlessGameUI gameUI = new HeadlessGameUI(stats);
+        for (long game = from; game < to; game++) {
+            playGame(gameUI, Seeds.derive(seed, game));
+        }
+        return stats;
+    }
+
+    /**
+     * Plays one game with fresh players. The deck and the random seats
+     * get separate generators derived from the game seed.
+     *
+     * @param gameUI
+     *          the headless UI of the run
+     * @param gameSeed
+     *          the seed of the game
+     */
+    void playGame(HeadlessGameUI gameUI, long gameSeed) {
+        PlayerList players = new PlayerList();
+        for (int i = 0; i < numOfPlayers; i++) {
+            players.addPlayer(playerNames[i]);
+            Player player = players.getPlayer(playerNames[i]);
+            player.setGameUI(gameUI);
+            player.setDecisionProvider(seatDecisions[i]);
+        }
+        Game game = new Game(players, new Deck(gameSeed), new GameActions());
+        RandomDecisions decisions = new RandomDecisions(new SplittableRandom(Seeds.derive(gameSeed, 0)));
+        gameUI.newGame(players.getPlayers(), decisions);
+        game.logEvents(eventLog);
+        game.start(gameUI);
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        int numOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        EventLog eventLog = args.length > 3 ? new EventLog(Path.of(args[3])) : null;
+
+        Simulation simulation = new Simulation(numOfPlayers);
+        simulation.setEventLog(eventLog);
+        long start = System.nanoTime();
+        SimulationStats stats = simulation.run(games, seed);
+        long elapsed = System.nanoTime() - start;
+
+        printReport(stats, elapsed, seed);
+        if (eventLog != null) {
+            eventLog.close();
+            System.out.printf("Logged %d events in %d segments%n", eventLog.getEvents(), eventLog.getSegments());
+        }
+    }
+
+    /**
+     * Prints the aggregate results of a simulation run.
+     *
+     * @param stats
+     *          the statistics of the run
+     * @param elapsedNanos
+     *          the wall clock time of the run
+     * @param seed
+     *          the seed of the run
+     */
+    static void printReport(SimulationStats stats, long elapsedNanos, long seed) {
+        double seconds = elapsedNanos / 1e9;
+        long games = stats.getGames();
+        long rounds = stats.getRounds();
+
+        System.out.printf("Simulated %d games with %d players in %.2f s (%.0f games/sec), seed %d%n",
+            games, stats.getNumberOfSeats(), seconds, games / seconds, seed);
+        System.out.printf("Rounds: %d (%.2f per game), turns: %d (%.2f per round), tied rounds: %d (%.2f%%)%n",
+            rounds, (double) rounds / games, stats.getTurns(), (double) stats.getTurns() / rounds,
+            stats.getTiedRounds(), 100.0 * stats.getTiedRounds() / rounds);
+        System.out.println("Seat  Round wins  Game wins");
+        for (int seat = 0; seat < stats.getNumberOfSeats(); seat++) {
+            System.out.printf("%4d  %9.2f%%  %8.2f%%%n", seat + 1,
+                100.0 * stats.getRoundWins(seat) / rounds, 100.0 * stats.getGameWins(seat) / games);
+        }
+    }
+}
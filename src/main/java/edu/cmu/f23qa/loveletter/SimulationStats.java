@@ -0,0 +1,97 @@
+package edu.cmu.f23qa.loveletter;
+
+/**
+ * Aggregate counters collected while simulating games headlessly.
+ * Seats are numbered in the order the players were added to the game.
+ */
+public class SimulationStats {
+    private final long[] roundWins;
+    private final long[] gameWins;
+    private long games;
+    private long rounds;
+    private long tiedRounds;
+    private long turns;
+
+    /**
+     * Constructor for an empty set of statistics.
+     *
+     * @param numOfSeats
+     *          the number of seats at the simulated table
+     */
+    public SimulationStats(int numOfSeats) {
+        this.roundWins = new long[numOfSeats];
+        this.gameWins = new long[numOfSeats];
+    }
+
+    void recordTurn() {
+        turns++;
+    }
+
+    /**
+     * Records a finished round.
+     *
+     * @param winnerSeats
+     *          the seats of the round winners
+     * @param numOfWinners
+     *          the number of valid entries in winnerSeats
+     */
+    void recordRound(int[] winnerSeats, int numOfWinners) {
+        rounds++;
+        if (numOfWinners > 1) {
+            tiedRounds++;
+        }
+        for (int i = 0; i < numOfWinners; i++) {
+            roundWins[winnerSeats[i]]++;
+        }
+    }
+
+    void recordGame(int winnerSeat) {
+        games++;
+        gameWins[winnerSeat]++;
+    }
+
+    /**
+     * Adds the counters of another run to these statistics.
+     *
+     * @param other
+     *          the statistics of a run with the same number of seats
+     */
+    void merge(SimulationStats other) {
+        games += other.games;
+        rounds += other.rounds;
+        tiedRounds += other.tiedRounds;
+        turns += other.turns;
+        for (int i = 0; i < roundWins.length; i++) {
+            roundWins[i] += other.roundWins[i];
+            gameWins[i] += other.gameWins[i];
+        }
+    }
+
+    public int getNumberOfSeats() {
+        return roundWins.length;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getTiedRounds() {
+        return tiedRounds;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    public long getRoundWins(int seat) {
+        return roundWins[seat];
+    }
+
+    public long getGameWins(int seat) {
+        return gameWins[seat];
+    }
+}
@@ -0,0 +1,42 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The generator of SplittableRandom, with the same output for the same seed, but
+ * whose state can be read and restored. A deck uses it so that a snapshot of a game
+ * keeps dealing the same cards as the game it was taken from.
+ */
+final class SplitMixRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    SplitMixRandom(long seed) {
+        this.state = seed;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+}
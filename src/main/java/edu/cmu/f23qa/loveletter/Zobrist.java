@@ -0,0 +1,138 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.SplittableRandom;
+
+/**
+ * The random keys of the game hash. Every feature of the state, such as a card in the hand of a seat,
+ * a card in its discard pile or a card left in the deck, has a key, and the hash of a state is the sum
+ * of the keys of its features. The keys are added rather than xored, so that two copies of a card
+ * do not cancel out, and a change of the state only adds the keys of what it gains and subtracts
+ * the keys of what it loses.
+ *
+ * PlayerList keeps the sum for the players and Deck for the cards left, Game adds the turn on top.
+ * compute sums the keys again from scratch, to check the kept sums.
+ */
+final class Zobrist {
+    private static final int NUM_CARDS = Card.values().length;
+    private static final int MAX_SEATS = Integer.SIZE;
+
+    private static final long[] HAND = new long[MAX_SEATS * NUM_CARDS];
+    private static final long[] DISCARD = new long[MAX_SEATS * NUM_CARDS];
+    private static final long[] DECK = new long[NUM_CARDS];
+    private static final long[] SET_ASIDE = new long[NUM_CARDS];
+    private static final long[] PROTECTED = new long[MAX_SEATS];
+    private static final long[] TOKEN = new long[MAX_SEATS];
+    private static final long[] JESTER = new long[MAX_SEATS * MAX_SEATS];
+    private static final long[] CURSOR = new long[MAX_SEATS];
+    private static final long[] IN_GAME = new long[MAX_SEATS];
+
+    /*
+     * Indexed by the seat plus one, the first key stands for no seat.
+     */
+    private static final long[] TURN = new long[MAX_SEATS + 1];
+    private static final long[] SYNCOPHANT = new long[MAX_SEATS + 1];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x10E1E77E5L);
+        for (long[] keys : new long[][] { HAND, DISCARD, DECK, SET_ASIDE, PROTECTED, TOKEN, JESTER, CURSOR,
+            IN_GAME, TURN, SYNCOPHANT }) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long hand(int seat, Card card) {
+        return HAND[seat * NUM_CARDS + card.ordinal()];
+    }
+
+    /**
+     * Sums the keys of the cards of a hand.
+     */
+    static long hand(int seat, Hand hand) {
+        long key = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            key += hand(seat, hand.peek(i));
+        }
+        return key;
+    }
+
+    static long discard(int seat, Card card) {
+        return DISCARD[seat * NUM_CARDS + card.ordinal()];
+    }
+
+    static long deck(int ordinal) {
+        return DECK[ordinal];
+    }
+
+    /**
+     * @return the key of the set-aside card, 0 if there is none
+     */
+    static long setAside(Card card) {
+        return card == null ? 0 : SET_ASIDE[card.ordinal()];
+    }
+
+    static long protection(int seat) {
+        return PROTECTED[seat];
+    }
+
+    /**
+     * Every token of a seat adds the same key, so winning a token only adds it once more.
+     */
+    static long tokens(int seat, int tokens) {
+        return tokens * TOKEN[seat];
+    }
+
+    /**
+     * @param holder
+     *          the seat holding the Jester token
+     * @param giver
+     *          the seat who gave it, -1 if the holder has none
+     * @return the key of the token, 0 if there is none
+     */
+    static long jester(int holder, int giver) {
+        return giver < 0 ? 0 : JESTER[holder * MAX_SEATS + giver];
+    }
+
+    /**
+     * Sums the keys of the turn: the next seat to play, the seats still in the game, the player
+     * who began a turn and the seat chosen by a Sycophant.
+     */
+    static long turn(int cursor, int inGameSeats, int turnSeat, int syncophantSeat) {
+        long key = CURSOR[cursor] + TURN[turnSeat + 1] + SYNCOPHANT[syncophantSeat + 1];
+        for (int m = inGameSeats; m != 0; m &= m - 1) {
+            key += IN_GAME[Integer.numberOfTrailingZeros(m)];
+        }
+        return key;
+    }
+
+    /**
+     * Sums all the keys of a game from scratch.
+     */
+    static long compute(Game game) {
+        PlayerList players = game.getPlayers();
+        long key = 0;
+        for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+            Player player = players.getPlayerAt(seat);
+            key += hand(seat, player.getHand());
+            for (Card card : player.getDiscarded().getCards()) {
+                key += discard(seat, card);
+            }
+            if (player.isProtected()) {
+                key += protection(seat);
+            }
+            key += tokens(seat, player.getTokens());
+            key += jester(seat, player.getJesterToken() == null ? -1 : player.getJesterToken().getSeat());
+        }
+
+        Deck deck = game.getDeck();
+        for (int i = 0; i < deck.returnNumberOfCardsRemaining(); i++) {
+            key += deck(deck.ordinalAt(i));
+        }
+        key += setAside(deck.getSetAsideCard());
+        return key + game.turnKey();
+    }
+}
@@ -0,0 +1,238 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncGameTest {
+    private Game newGame(int numOfPlayers, long seed) {
+        return TestTables.newGame(new HeadlessGameUI(new SimulationStats(numOfPlayers)), numOfPlayers, seed, null);
+    }
+
+    /**
+     * Plays a game of random bots the blocking way.
+     */
+    private Game playBlocking(int numOfPlayers, long seed) {
+        Game game = newGame(numOfPlayers, seed);
+        RandomDecisions decisions = new RandomDecisions(new SplittableRandom(seed));
+        for (int seat = 0; seat < numOfPlayers; seat++) {
+            game.getPlayers().getPlayerAt(seat).setDecisionProvider(decisions);
+        }
+        game.start(new HeadlessGameUI(new SimulationStats(numOfPlayers)));
+        return game;
+    }
+
+    private AsyncDecisionProvider randomBots(long seed, Executor executor) {
+        return AsyncDecisionProvider.of(new RandomDecisions(new SplittableRandom(seed)), executor);
+    }
+
+    /**
+     * The same bots answering asynchronously should play the same game as when they block,
+     * Baroness and Cardinal included, with answers arriving on another thread or at once.
+     */
+    @Test
+    public void playsAsTheBlockingGame() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+                for (long seed = 0; seed < 5; seed++) {
+                    Game blocking = playBlocking(numOfPlayers, seed);
+                    Player expected = blocking.getPlayers().getGameWinners().get(0);
+
+                    Game onThread = newGame(numOfPlayers, seed);
+                    HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+                    Player winner = new AsyncGame(onThread, gameUI, randomBots(seed, executor))
+                        .start().get(10, TimeUnit.SECONDS);
+                    assertEquals(expected.getName(), winner.getName());
+                    assertEquals(blocking.getHash(), onThread.getHash());
+
+                    Game atOnce = newGame(numOfPlayers, seed);
+                    CompletableFuture<Player> result = new AsyncGame(atOnce, gameUI, randomBots(seed, Runnable::run)).start();
+                    assertTrue(result.isDone());
+                    assertEquals(expected.getName(), result.get().getName());
+                    assertEquals(blocking.getHash(), atOnce.getHash());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The game should return at every question and go on only once it is answered,
+     * with a single question asked at a time.
+     */
+    @Test
+    public void waitsForEveryAnswer() throws Exception {
+        Queue<Runnable> questions = new ArrayDeque<>();
+        Game game = newGame(4, 7);
+        CompletableFuture<Player> result = new AsyncGame(game, new HeadlessGameUI(new SimulationStats(4)),
+            randomBots(7, questions::add)).start();
+
+        int answered = 0;
+        while (!result.isDone()) {
+            assertEquals(1, questions.size());
+            questions.poll().run();
+            answered++;
+        }
+        assertTrue(answered > 0);
+        assertEquals(playBlocking(4, 7).getHash(), game.getHash());
+    }
+
+    /**
+     * Random bots playing the given card whenever they have to pick one, and choosing
+     * the given target while it gives one.
+     */
+    private static final class Answering implements AsyncDecisionProvider {
+        private final AsyncDecisionProvider random;
+        private final Function<Player, CompletableFuture<Card>> card;
+        private final Function<Player, CompletableFuture<Player>> target;
+
+        Answering(AsyncDecisionProvider random, Function<Player, CompletableFuture<Card>> card,
+                Function<Player, CompletableFuture<Player>> target) {
+            this.random = random;
+            this.card = card;
+            this.target = target;
+        }
+
+        @Override
+        public CompletableFuture<Card> getCard(Player user) {
+            return card.apply(user);
+        }
+
+        @Override
+        public CompletableFuture<Player> getOpponent(PlayerList players, Player user, boolean syncophantFlag, Player syncophantChosenPlayer, boolean includeSelf) {
+            CompletableFuture<Player> chosen = target == null ? null : target.apply(user);
+            return chosen != null ? chosen : random.getOpponent(players, user, syncophantFlag, syncophantChosenPlayer, includeSelf);
+        }
+
+        @Override
+        public CompletableFuture<Card> getGuardGuess(Player user) {
+            return random.getGuardGuess(user);
+        }
+
+        @Override
+        public CompletableFuture<Integer> getBishopGuess(Player user) {
+            return random.getBishopGuess(user);
+        }
+
+        @Override
+        public CompletableFuture<Integer> getNumOfPlayerForBaroness(PlayerList players, Player user) {
+            return random.getNumOfPlayerForBaroness(players, user);
+        }
+
+        @Override
+        public CompletableFuture<Player> cardinalPeekOne(Player user, Player one, Player two) {
+            return random.cardinalPeekOne(user, one, two);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> getUserSwapConfirmation(Player opponent) {
+            return random.getUserSwapConfirmation(opponent);
+        }
+
+        @Override
+        public CompletableFuture<Player> getStartingPlayer(List<Player> players) {
+            return random.getStartingPlayer(players);
+        }
+    }
+
+    /**
+     * A blocking provider should choose the card on a copy of the hand, the hand of the game keeps
+     * its cards in their slots.
+     */
+    @Test
+    public void blockingProvidersLeaveTheHand() throws Exception {
+        Player user = new Player("Ann");
+        user.getHand().add(Card.GUARD);
+        user.getHand().add(Card.PRIEST);
+        AsyncDecisionProvider decisions = randomBots(3, Runnable::run);
+        for (int i = 0; i < 20; i++) {
+            Card card = decisions.getCard(user).get();
+            assertTrue(card == Card.GUARD || card == Card.PRIEST);
+            assertEquals(List.of(Card.GUARD, Card.PRIEST), user.getHand().getCards());
+        }
+    }
+
+    /**
+     * A failed or illegal answer should fail the game rather than hang it.
+     */
+    @Test
+    public void badAnswersFailTheGame() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(2));
+        AsyncDecisionProvider leaving = new Answering(randomBots(3, Runnable::run),
+            user -> CompletableFuture.failedFuture(new IllegalArgumentException("The player left")), null);
+        CompletableFuture<Player> failed = new AsyncGame(newGame(2, 3), gameUI, leaving).start();
+        ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+
+        // the Cardinal is only dealt to five players or more
+        AsyncDecisionProvider cheating = new Answering(randomBots(3, Runnable::run),
+            user -> CompletableFuture.completedFuture(Card.CARDINAL), null);
+        CompletableFuture<Player> illegal = new AsyncGame(newGame(2, 3), gameUI, cheating).start();
+        error = assertThrows(ExecutionException.class, illegal::get);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    /**
+     * Plays the first turn of a three player round with a Guard on the given target.
+     *
+     * @param setUp
+     *          changes the dealt round before the turn
+     * @return the winner of the game, with the error of the illegal target
+     */
+    private CompletableFuture<Player> guardOn(int targetSeat, Consumer<PlayerList> setUp) {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(3));
+        Game game = TestTables.newGame(gameUI, 3, 9, null);
+        TestTables.dealFirstRound(game, gameUI);
+        PlayerList players = game.getPlayers();
+        players.getPlayerAt(0).getHand().clear();
+        players.getPlayerAt(0).getHand().add(Card.GUARD);
+        setUp.accept(players);
+
+        boolean[] targeted = { false };
+        AsyncDecisionProvider guard = new Answering(randomBots(9, Runnable::run),
+            user -> CompletableFuture.completedFuture(user.getHand().peek(0)), user -> {
+                if (targeted[0]) {
+                    return null;
+                }
+                targeted[0] = true;
+                return CompletableFuture.completedFuture(players.getPlayerAt(targetSeat));
+            });
+        return new AsyncGame(game, gameUI, guard).resume();
+    }
+
+    /**
+     * A protected player, a player out of the round and the player themselves cannot be
+     * the target of a Guard, as the GameUI would not take them either.
+     */
+    @Test
+    public void illegalTargetsFailTheGame() {
+        List<CompletableFuture<Player>> illegal = List.of(
+            guardOn(1, players -> players.getPlayerAt(1).setProtected(true)),
+            guardOn(2, players -> players.getPlayerAt(2).eliminate()),
+            guardOn(0, players -> { }));
+        for (CompletableFuture<Player> game : illegal) {
+            ExecutionException error = assertThrows(ExecutionException.class, game::get);
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+            assertTrue(error.getCause().getMessage().endsWith("the TARGET question"));
+        }
+
+        // the same table with a legal target plays to the end
+        CompletableFuture<Player> legal = guardOn(1, players -> players.getPlayerAt(2).setProtected(true));
+        assertNotNull(legal.join());
+    }
+}
@@ -0,0 +1,197 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeliefsTest {
+    /**
+     * Seats random bots at a table tracking the beliefs.
+     */
+    private Game newGame(HeadlessGameUI gameUI, int numOfPlayers, long seed) {
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        game.trackBeliefs();
+        return game;
+    }
+
+    /**
+     * Counts from scratch the copies of a card the observer has not seen: the edition,
+     * less the face up cards, the discard piles, the observer's hand and the known cards.
+     */
+    private int recount(Game game, Player observer, Card card) {
+        PlayerList players = game.getPlayers();
+        Beliefs beliefs = players.getBeliefs();
+        int count = 0;
+        for (byte ordinal : Deck.edition(players.getNumberOfPlayers())) {
+            count += ordinal == card.ordinal() ? 1 : 0;
+        }
+        count -= (int) game.getDeck().getFaceUpCards().stream().filter(c -> c == card).count();
+        for (Player player : players.getPlayers()) {
+            count -= player.getDiscarded().count(card);
+            if (player == observer) {
+                count -= (int) player.getHand().getCards().stream().filter(c -> c == card).count();
+            } else if (beliefs.getKnownCard(observer, player) == card) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Through whole games of random bots, the incremental counts should match a recount,
+     * every known card should be in its holder's hand, and the chances of an opponent's cards
+     * should add up to one.
+     */
+    @Test
+    public void beliefsMatchRecount() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            for (long seed = 0; seed < 10; seed++) {
+                HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+                Game game = newGame(gameUI, numOfPlayers, seed);
+                PlayerList players = game.getPlayers();
+                Beliefs beliefs = players.getBeliefs();
+                TestTables.dealFirstRound(game, gameUI);
+
+                while (players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards() && players.isZeroGameWinner()) {
+                    game.startTurn(players.getCurrentPlayer(), gameUI);
+                    for (Player observer : players.getPlayers()) {
+                        for (Card card : Card.values()) {
+                            assertEquals(recount(game, observer, card), beliefs.getUnseenCount(observer, card));
+                        }
+                        for (Player holder : players.getPlayers()) {
+                            if (holder == observer || !holder.getHand().hasCards()) {
+                                continue;
+                            }
+                            Card known = beliefs.getKnownCard(observer, holder);
+                            assertTrue(known == null || holder.getHand().contains(known));
+                            if (holder.getHand().size() == 1) {
+                                assertFalse(beliefs.isRuledOut(observer, holder, holder.getHand().peek(0)));
+                            }
+                            double total = 0;
+                            for (Card card : Card.values()) {
+                                total += beliefs.getProbability(observer, holder, card);
+                            }
+                            assertEquals(1, total, 1e-9);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A Priest shows the card to the user only, and a King lets the user know the card they gave away
+     * while the Priest's knowledge follows the card to its new holder.
+     */
+    @Test
+    public void peeksAndSwapsAreTracked() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(4));
+        Game game = newGame(gameUI, 4, 3);
+        PlayerList players = game.getPlayers();
+        Beliefs beliefs = players.getBeliefs();
+        game.startRound(players, game.getDeck(), gameUI);
+        Player ann = players.getPlayerAt(0);
+        Player bob = players.getPlayerAt(1);
+        Player cid = players.getPlayerAt(2);
+        Card bobCard = bob.getHand().peek(0);
+        Card cidCard = cid.getHand().peek(0);
+
+        ann.sawCardOf(bob);
+        assertEquals(bobCard, beliefs.getKnownCard(ann, bob));
+        assertEquals(1, beliefs.getProbability(ann, bob, bobCard));
+        assertNull(beliefs.getKnownCard(cid, bob));
+
+        new GameActions().useKing(bob, cid);
+        assertEquals(bobCard, beliefs.getKnownCard(ann, cid));
+        assertNull(beliefs.getKnownCard(ann, bob));
+        assertEquals(bobCard, beliefs.getKnownCard(bob, cid));
+        assertEquals(cidCard, beliefs.getKnownCard(cid, bob));
+
+        cid.getDiscarded().add(cid.getHand().remove(0));
+        assertNull(beliefs.getKnownCard(ann, cid));
+    }
+
+    /**
+     * A Guard guessing wrong rules the card out for the target as every other seat sees it, the rule
+     * follows the hand through a King swap and ends when the hand is discarded.
+     */
+    @Test
+    public void missedGuessesRuleOutCards() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(4));
+        Game game = newGame(gameUI, 4, 3);
+        PlayerList players = game.getPlayers();
+        Beliefs beliefs = players.getBeliefs();
+        game.startRound(players, game.getDeck(), gameUI);
+        Player ann = players.getPlayerAt(0);
+        Player bob = players.getPlayerAt(1);
+        Player cid = players.getPlayerAt(2);
+        Player dee = players.getPlayerAt(3);
+        Card bobCard = bob.getHand().peek(0);
+        assertNotEquals(Card.ASSASSIN, bobCard);
+        Card guess = bobCard == Card.PRIEST ? Card.BARON : Card.PRIEST;
+
+        double before = beliefs.getProbability(cid, bob, bobCard);
+        game.useGuard(ann, bob, guess, gameUI);
+        assertTrue(bob.getHand().hasCards());
+        for (Player observer : List.of(ann, cid, dee)) {
+            assertTrue(beliefs.isRuledOut(observer, bob, guess));
+            assertEquals(0, beliefs.getProbability(observer, bob, guess));
+        }
+        assertFalse(beliefs.isRuledOut(ann, cid, guess));
+        assertTrue(beliefs.getProbability(cid, bob, bobCard) > before);
+
+        new GameActions().useKing(bob, cid);
+        assertTrue(beliefs.isRuledOut(dee, cid, guess));
+        assertFalse(beliefs.isRuledOut(dee, bob, guess));
+        assertFalse(beliefs.isRuledOut(bob, cid, guess));
+
+        cid.getDiscarded().add(cid.getHand().remove(0));
+        assertFalse(beliefs.isRuledOut(dee, cid, guess));
+    }
+
+    /**
+     * The face up cards of a two player round are seen by both players.
+     */
+    @Test
+    public void faceUpCardsAreSeen() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(2));
+        Game game = newGame(gameUI, 2, 5);
+        PlayerList players = game.getPlayers();
+        game.startRound(players, game.getDeck(), gameUI);
+        Player ann = players.getPlayerAt(0);
+
+        assertEquals(3, game.getDeck().getFaceUpCards().size());
+        assertEquals(Deck.edition(2).length - 3 - 1, players.getBeliefs().getUnseenCount(ann));
+    }
+
+    /**
+     * A bot joining the game tracks the beliefs, which should not show the human players any hints.
+     * They only see them once the game is asked to show them.
+     */
+    @Test
+    public void hintsOnlyShownWhenAsked() {
+        int[] hints = new int[1];
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(2)) {
+            @Override
+            void showHints(Player user, PlayerList players) {
+                hints[0]++;
+            }
+        };
+        Game game = TestTables.newGame(gameUI, 2, 5);
+        PlayerList players = game.getPlayers();
+        try (IsmctsDecisions bot = new IsmctsDecisions(1, 1000, 1, 5)) {
+            bot.joinGame(game);
+        }
+        assertNotNull(players.getBeliefs());
+        TestTables.dealFirstRound(game, gameUI);
+
+        game.startTurn(players.getCurrentPlayer(), gameUI);
+        assertEquals(0, hints[0]);
+
+        game.setHintsShown(true);
+        game.startTurn(players.getCurrentPlayer(), gameUI);
+        assertEquals(1, hints[0]);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsoleInputTest {
+
+    private GameUI scripted(String script) {
+        return new GameUI(new BufferedReader(new StringReader(script)));
+    }
+
+    /**
+     * Numbers should parse with spaces and signs around them, anything else gives the invalid number.
+     */
+    @Test
+    public void parseNumberNeverThrows() {
+        assertEquals(7, ConsoleInput.parseNumber(" 7 ", -1));
+        assertEquals(-12, ConsoleInput.parseNumber("-12", 0));
+        assertEquals(3, ConsoleInput.parseNumber("+3", -1));
+        assertEquals(Integer.MIN_VALUE, ConsoleInput.parseNumber("-2147483648", 0));
+        for (String text : new String[] { "", " ", "-", "seven", "7a", "1 2", "2147483648", "99999999999999999999" }) {
+            assertEquals(-1, ConsoleInput.parseNumber(text, -1), text);
+        }
+    }
+
+    /**
+     * Bad numbers should be asked again rather than crash the game.
+     */
+    @Test
+    public void numbersAreAskedAgain() {
+        assertEquals(7, scripted("seven\n12\n 7 \n").getBishopGuess(null));
+
+        PlayerList players = new PlayerList();
+        for (String name : new String[] { "Ann", "Bob", "Cid" }) {
+            players.addPlayer(name);
+            players.getPlayer(name).getHand().add(Card.GUARD);
+        }
+        assertEquals(2, scripted("\nthree\n2\n").getNumOfPlayerForBaroness(players, players.getPlayer("Ann")));
+    }
+
+    /**
+     * Card names should be found in any case, the Guard cannot be guessed.
+     */
+    @Test
+    public void cardNamesInAnyCase() {
+        assertEquals(Card.DOWAGERQUEEN, Card.forName("Dowager QUEEN"));
+        assertEquals(Card.GUARD, Card.forName("guard"));
+        assertNull(Card.forName("queen"));
+        assertEquals(Card.PRINCESS, scripted("GUARD\nprincesse\n  PrinCess \n").getGuardGuess(null));
+    }
+
+    /**
+     * Seat names should be found in any case, in forks too, and not once the player left the game.
+     */
+    @Test
+    public void seatNamesInAnyCase() {
+        PlayerList players = new PlayerList();
+        players.addPlayer("Ann");
+        players.addPlayer("Bob");
+        assertFalse(players.addPlayer("ANN"));
+        assertSame(players.getPlayerAt(1), players.getPlayer("bOB"));
+        assertNull(players.getPlayer("Cid"));
+        assertNull(players.getPlayer(null));
+
+        PlayerList fork = players.fork();
+        assertSame(fork.getPlayerAt(0), fork.getPlayer("ann"));
+        players.addPlayer("Cid");
+        assertNull(fork.getPlayer("cid"));
+        assertSame(players.getPlayerAt(2), players.getPlayer("CID"));
+    }
+
+    /**
+     * The end of the input should end the game as the end of a Scanner does.
+     */
+    @Test
+    public void endOfInputThrows() {
+        assertThrows(NoSuchElementException.class, () -> scripted("").getBishopGuess(null));
+    }
+}
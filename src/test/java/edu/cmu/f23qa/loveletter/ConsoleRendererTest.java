@@ -0,0 +1,99 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsoleRendererTest {
+
+    /**
+     * Counts the writes reaching the console and keeps what they wrote.
+     */
+    private static class CountingStream extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int writes;
+
+        @Override
+        public void write(int b) {
+            writes++;
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes++;
+            bytes.write(b, off, len);
+        }
+
+        String take() {
+            String text = bytes.toString();
+            bytes.reset();
+            return text;
+        }
+    }
+
+    private PlayerList seat(String... names) {
+        PlayerList players = new PlayerList();
+        for (String name : names) {
+            players.addPlayer(name);
+        }
+        return players;
+    }
+
+    /**
+     * A frame of many lines should reach the console in a single write, only when flushed.
+     */
+    @Test
+    public void frameIsWrittenAtOnce() {
+        CountingStream console = new CountingStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(new PrintStream(console));
+        renderer.println().print("Ann").println("'s turn:").println(Card.PRINCESS).print(3).println();
+        assertEquals(0, console.writes);
+
+        renderer.flush();
+        assertEquals(1, console.writes);
+        assertEquals("\nAnn's turn:\nPrincess (8)\n3\n", console.take());
+
+        renderer.flush();
+        assertEquals(1, console.writes);
+    }
+
+    /**
+     * Each seat should only see the discard piles that changed since it last saw them,
+     * a cleared pile included.
+     */
+    @Test
+    public void onlyChangedPilesAreShown() {
+        CountingStream console = new CountingStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(new PrintStream(console));
+        PlayerList players = seat("Ann", "Bob");
+        Player ann = players.getPlayer("Ann");
+        Player bob = players.getPlayer("Bob");
+
+        renderer.usedPiles(ann, players.getPlayers());
+        renderer.flush();
+        assertEquals("\nAnn\n\nBob\n", console.take());
+
+        ann.getDiscarded().add(Card.GUARD);
+        renderer.usedPiles(bob, players.getPlayers());
+        renderer.flush();
+        assertEquals("\nAnn\nGuard (1)\n\nBob\n", console.take());
+
+        renderer.usedPiles(ann, players.getPlayers());
+        renderer.flush();
+        assertEquals("\nAnn\nGuard (1)\n", console.take());
+
+        renderer.usedPiles(bob, players.getPlayers());
+        renderer.flush();
+        assertEquals("", console.take());
+
+        ann.getDiscarded().clear();
+        renderer.usedPiles(bob, players.getPlayers());
+        renderer.flush();
+        assertEquals("\nAnn\n", console.take());
+    }
+}
@@ -0,0 +1,108 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeckTest {
+
+    /**
+     * Draws all the remaining cards of a deck.
+     */
+    private List<Card> drawAll(Deck deck) {
+        List<Card> cards = new ArrayList<>();
+        while (deck.hasMoreCards()) {
+            cards.add(deck.draw());
+        }
+        return cards;
+    }
+
+    /**
+     * Two decks with the same seed should deal the same cards, round after round.
+     */
+    @Test
+    public void sameSeedDealsSameCards() {
+        Deck first = new Deck(1234);
+        Deck second = new Deck(1234);
+
+        for (int round = 0; round < 3; round++) {
+            first.setDeck(4, null);
+            second.setDeck(4, null);
+            assertEquals(first.getSetAsideCard(), second.getSetAsideCard());
+            assertEquals(drawAll(first), drawAll(second));
+        }
+        assertEquals(1234, first.getSeed());
+    }
+
+    /**
+     * Decks with different seeds should not deal the same cards.
+     */
+    @Test
+    public void differentSeedsDealDifferentCards() {
+        Deck first = new Deck(1);
+        Deck second = new Deck(2);
+        first.setDeck(8, null);
+        second.setDeck(8, null);
+
+        assertNotEquals(drawAll(first), drawAll(second));
+    }
+
+    /**
+     * The standard deck has 16 cards and the premium deck 32,
+     * one card is set aside and the rest can be drawn.
+     */
+    @Test
+    public void setDeckLeavesAllButSetAsideCard() {
+        Deck deck = new Deck(7);
+        deck.setDeck(4, null);
+        assertEquals(15, deck.returnNumberOfCardsRemaining());
+
+        deck.setDeck(5, null);
+        assertEquals(31, deck.returnNumberOfCardsRemaining());
+    }
+
+    /**
+     * The card shown by viewNextCard should be the card drawn next.
+     */
+    @Test
+    public void viewNextCardIsNextDrawnCard() {
+        Deck deck = new Deck(99);
+        deck.setDeck(6, null);
+        while (deck.hasMoreCards()) {
+            Card next = deck.viewNextCard();
+            assertEquals(next, deck.viewNextCard());
+            assertEquals(next, deck.draw());
+        }
+    }
+
+    /**
+     * A shuffled deck should still hold every card of the edition exactly once.
+     */
+    @Test
+    public void shuffledDeckKeepsAllCards() {
+        Deck deck = new Deck(5);
+        deck.build(8);
+        deck.shuffle();
+        List<Card> cards = drawAll(deck);
+
+        assertEquals(32, cards.size());
+        assertEquals(8, cards.stream().filter(c -> c == Card.GUARD).count());
+        assertEquals(2, cards.stream().filter(c -> c == Card.CARDINAL).count());
+        assertEquals(1, cards.stream().filter(c -> c == Card.PRINCESS).count());
+    }
+
+    /**
+     * Without shuffling, the last card put on the deck is drawn first.
+     */
+    @Test
+    public void unshuffledDeckDrawsFromTop() {
+        Deck deck = new Deck(5);
+        deck.build(4);
+        assertEquals(Card.PRINCESS, deck.draw());
+        assertEquals(Card.COUNTESS, deck.draw());
+        assertEquals(Card.KING, deck.draw());
+    }
+}
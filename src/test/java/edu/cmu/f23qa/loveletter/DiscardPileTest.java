@@ -0,0 +1,44 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiscardPileTest {
+
+    /**
+     * The value and the card counts should follow every added card and be reset by clear.
+     */
+    @Test
+    public void aggregatesFollowAddAndClear() {
+        DiscardPile pile = new DiscardPile();
+        pile.add(Card.COUNT);
+        pile.add(Card.GUARD);
+        pile.add(Card.COUNT);
+        pile.add(Card.CONSTABLE);
+
+        assertEquals(2 * Card.COUNT.value() + Card.GUARD.value() + Card.CONSTABLE.value(), pile.value());
+        assertEquals(2, pile.count(Card.COUNT));
+        assertEquals(0, pile.count(Card.PRINCESS));
+        assertTrue(pile.containsConstable());
+        assertEquals(List.of(Card.COUNT, Card.GUARD, Card.COUNT, Card.CONSTABLE), pile.getCards());
+
+        pile.clear();
+        assertEquals(0, pile.value());
+        assertEquals(0, pile.count(Card.COUNT));
+        assertFalse(pile.containsConstable());
+        assertTrue(pile.getCards().isEmpty());
+    }
+
+    /**
+     * The cards can only be changed through the pile, so the aggregates cannot go stale.
+     */
+    @Test
+    public void cardsAreReadOnly() {
+        DiscardPile pile = new DiscardPile();
+        pile.add(Card.GUARD);
+        assertThrows(UnsupportedOperationException.class, () -> pile.getCards().add(Card.PRINCESS));
+    }
+}
@@ -0,0 +1,359 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndgameSolverTest {
+    private static final Card[] CARDS = Card.values();
+
+    /**
+     * Solves an endgame the slow way, to check the solver against: every arrangement of the unseen cards,
+     * the hidden hands, the deck and the set-aside card, is dealt from the start, the opponents try every
+     * action of RandomDecisions, and the next turn of the user takes the action with the best sum over
+     * the positions that look the same to the user.
+     */
+    private static final class EagerSearch {
+        private final int user;
+        private final Map<String, double[]> turns = new HashMap<>();
+
+        EagerSearch(int user) {
+            this.user = user;
+        }
+
+        /**
+         * @return the chance to win of the best action of the begun turn of the user
+         */
+        double solve(Game game, Beliefs beliefs) {
+            PlayerList players = game.getPlayers();
+            Player player = players.getPlayerAt(user);
+            List<Player> hidden = new ArrayList<>();
+            for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+                Player opponent = players.getPlayerAt(seat);
+                if (seat != user && opponent.getHand().hasCards() && beliefs.getKnownCard(player, opponent) == null) {
+                    hidden.add(opponent);
+                }
+            }
+            int[] unseen = new int[CARDS.length];
+            for (Card card : CARDS) {
+                unseen[card.ordinal()] = beliefs.getUnseenCount(player, card);
+            }
+            Deck deck = game.getDeck();
+            int[] cards = new int[hidden.size() + deck.returnNumberOfCardsRemaining()
+                + (deck.getSetAsideCard() != null ? 1 : 0)];
+
+            Game root = game.forkWithBeliefs();
+            root.silence();
+            root.setTurnPlayer(root.getPlayers().getPlayerAt(user));
+            List<Game> deals = new ArrayList<>();
+            List<Double> chances = new ArrayList<>();
+            deal(root, player, beliefs, hidden, unseen, cards, 0, 1.0, deals, chances);
+            double total = 0;
+            for (double chance : chances) {
+                total += chance;
+            }
+
+            int[] moves = new int[Moves.MAX_MOVES];
+            int n = Moves.generate(root, moves);
+            double best = 0;
+            for (int i = 0; i < n; i++) {
+                turns.clear();
+                double value = 0;
+                for (int d = 0; d < deals.size(); d++) {
+                    double chance = chances.get(d) / total;
+                    value += chance * play(deals.get(d), moves[i], chance, true);
+                }
+                for (double[] sums : turns.values()) {
+                    value += Arrays.stream(sums).max().orElse(0);
+                }
+                best = Math.max(best, value);
+            }
+            return best;
+        }
+
+        /**
+         * Deals the unseen cards one after the other, each as likely as its copies left, to the hidden
+         * hands first, then the deck and the set-aside card. A card ruled out for a hand is not dealt to it.
+         */
+        private void deal(Game root, Player player, Beliefs beliefs, List<Player> hidden, int[] unseen, int[] cards,
+                          int next, double chance, List<Game> deals, List<Double> chances) {
+            if (next == cards.length) {
+                Game dealt = root.forkWithBeliefs();
+                for (int i = 0; i < hidden.size(); i++) {
+                    dealt.getPlayers().getPlayerAt(hidden.get(i).getSeat()).getHand().setHand(CARDS[cards[i]]);
+                }
+                Deck deck = dealt.getDeck();
+                int size = deck.returnNumberOfCardsRemaining();
+                byte[] ordinals = new byte[size];
+                for (int i = 0; i < size; i++) {
+                    ordinals[i] = (byte) cards[hidden.size() + i];
+                }
+                Card setAside = deck.getSetAsideCard() != null ? CARDS[cards[cards.length - 1]] : null;
+                deck.restore(ordinals, 0, size, false, false, setAside, 0);
+                deals.add(dealt);
+                chances.add(chance);
+                return;
+            }
+            int left = cards.length - next;
+            for (int card = 0; card < CARDS.length; card++) {
+                if (unseen[card] == 0
+                    || (next < hidden.size() && beliefs.isRuledOut(player, hidden.get(next), CARDS[card]))) {
+                    continue;
+                }
+                cards[next] = card;
+                double p = (double) unseen[card] / left;
+                unseen[card]--;
+                deal(root, player, beliefs, hidden, unseen, cards, next + 1, chance * p, deals, chances);
+                unseen[card]++;
+            }
+        }
+
+        /**
+         * Plays an action on a fork, up to the next turn of the user while forward.
+         *
+         * @return the chance of the user to win the round after the action, but for the next turn of the
+         *          user whose chances are summed by what the user sees
+         */
+        private double play(Game game, int action, double reach, boolean forward) {
+            Game played = forward ? game.forkWithBeliefs() : game.fork();
+            played.apply(action);
+            PlayerList players = played.getPlayers();
+            if (!players.moreThanSinglePlayerLeft() || !played.getDeck().hasMoreCards() || !players.isZeroGameWinner()) {
+                List<Player> winners = players.isZeroGameWinner() ? players.getRoundWinners() : players.getGameWinners();
+                for (Player winner : winners) {
+                    if (winner.getSeat() == user) {
+                        return 1.0 / winners.size();
+                    }
+                }
+                return 0;
+            }
+
+            Player mover = played.beginTurn();
+            int[] moves = new int[Moves.MAX_MOVES];
+            if (mover.getSeat() == user) {
+                int n = Moves.generate(played, moves);
+                if (forward) {
+                    double[] sums = turns.computeIfAbsent(key(played), key -> new double[n]);
+                    for (int i = 0; i < n; i++) {
+                        sums[i] += reach * play(played, moves[i], 1, false);
+                    }
+                    return 0;
+                }
+                double best = 0;
+                for (int i = 0; i < n; i++) {
+                    best = Math.max(best, play(played, moves[i], 1, false));
+                }
+                return best;
+            }
+
+            // RandomDecisions never plays the Princess, always the forced Countess, else either card
+            Hand hand = mover.getHand();
+            double value = 0;
+            for (int slot = 0; slot < 2; slot++) {
+                Card card = hand.peek(slot);
+                Card other = hand.peek(1 - slot);
+                double chance = card == Card.PRINCESS || forcesCountess(card, other) ? 0
+                    : other == Card.PRINCESS || forcesCountess(other, card) ? 1 : 0.5;
+                if (chance == 0) {
+                    continue;
+                }
+                int n = Moves.generate(played, slot, moves, 0);
+                for (int i = 0; i < n; i++) {
+                    value += chance / n * play(played, moves[i], reach * chance / n, forward);
+                }
+            }
+            return value;
+        }
+
+        private static boolean forcesCountess(Card card, Card other) {
+            return (card == Card.PRINCE || card == Card.KING) && other == Card.COUNTESS;
+        }
+
+        /**
+         * Writes out what the user sees on their turn: the public cards and state of every seat, their
+         * hand and the cards the Beliefs tell them other seats hold.
+         */
+        private String key(Game game) {
+            PlayerList players = game.getPlayers();
+            Player player = players.getPlayerAt(user);
+            StringBuilder key = new StringBuilder()
+                .append(game.getDeck().returnNumberOfCardsRemaining()).append(' ')
+                .append(players.getCursor()).append(' ')
+                .append(players.getInGameSeats()).append(' ')
+                .append(game.isSyncophantFlag() ? game.getSyncophantChosenPlayer().getSeat() : -1);
+            for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+                Player holder = players.getPlayerAt(seat);
+                List<Card> discarded = new ArrayList<>(holder.getDiscarded().getCards());
+                discarded.sort(null);
+                key.append('|').append(holder.getTokens())
+                    .append(holder.isProtected() ? 'p' : '-')
+                    .append(holder.getJesterToken() == null ? -1 : holder.getJesterToken().getSeat())
+                    .append(discarded);
+                if (seat == user) {
+                    for (int i = 0; i < holder.getHand().size(); i++) {
+                        key.append(holder.getHand().peek(i)).append(',');
+                    }
+                } else if (holder.getHand().hasCards()) {
+                    key.append(players.getBeliefs().getKnownCard(player, holder));
+                }
+            }
+            return key.toString();
+        }
+    }
+    /**
+     * Plays random actions until a turn begins with the given deck size.
+     *
+     * @return the game at that turn, null if the round ended before
+     */
+    private Game playToEndgame(int numOfPlayers, int deckSize, long seed) {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        PlayerList players = game.getPlayers();
+        game.trackBeliefs();
+        TestTables.dealFirstRound(game, gameUI);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] moves = new int[Moves.MAX_MOVES];
+        while (players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards()) {
+            game.beginTurn();
+            if (game.getDeck().returnNumberOfCardsRemaining() == deckSize) {
+                return game;
+            }
+            game.apply(moves[random.nextInt(Moves.generate(game, moves))]);
+        }
+        return null;
+    }
+
+    /**
+     * Endgames of random rounds should be solved with a legal action and a chance to win between 0 and 1,
+     * whether the solver knows what the user saw or only the public cards.
+     */
+    @Test
+    public void endgamesAreSolved() {
+        EndgameSolver solver = new EndgameSolver(EndgameSolver.DEFAULT_MAX_DECK_SIZE, 16, Long.MAX_VALUE);
+        for (int numOfPlayers = 2; numOfPlayers <= 4; numOfPlayers++) {
+            for (long seed = 0; seed < 30; seed++) {
+                Game game = playToEndgame(numOfPlayers, EndgameSolver.DEFAULT_MAX_DECK_SIZE, seed);
+                if (game == null) {
+                    continue;
+                }
+                assertTrue(solver.canSolve(game));
+                Player user = game.getTurnPlayer();
+                for (Beliefs beliefs : new Beliefs[] { game.getPlayers().getBeliefs(), null }) {
+                    int action = solver.solve(game, user, beliefs);
+                    assertTrue(Moves.isLegal(game, action));
+                    assertTrue(solver.getWinProbability() >= 0 && solver.getWinProbability() <= 1 + 1e-9);
+                    assertTrue(solver.getPositions() > 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * A user with a Guard who knows the card of their only opponent wins the round for sure.
+     */
+    @Test
+    public void knownCardIsGuessed() {
+        int solved = 0;
+        for (long seed = 0; seed < 200 && solved < 5; seed++) {
+            Game game = playToEndgame(2, 2, seed);
+            if (game == null) {
+                continue;
+            }
+            Player user = game.getTurnPlayer();
+            Player opponent = game.getPlayers().getPlayerAt(1 - user.getSeat());
+            Card held = opponent.getHand().peek(0);
+            if (!user.getHand().contains(Card.GUARD) || opponent.isProtected() || held == Card.GUARD
+                || held == Card.ASSASSIN || game.isSyncophantFlag()) {
+                continue;
+            }
+            user.sawCardOf(opponent);
+
+            EndgameSolver solver = new EndgameSolver();
+            int action = solver.solve(game, user, game.getPlayers().getBeliefs());
+            assertEquals(1, solver.getWinProbability(), 1e-9);
+            if (user.getHand().peek(Moves.slot(action)) == Card.GUARD) {
+                assertEquals(held.ordinal(), Moves.guess(action));
+            }
+            solved++;
+        }
+        assertTrue(solved > 0);
+    }
+
+    /**
+     * A solve needing more positions than the solver may search should give up, and the next one
+     * should start over.
+     */
+    @Test
+    public void solveGivesUpPastMaxPositions() {
+        Game game = null;
+        for (long seed = 0; game == null; seed++) {
+            game = playToEndgame(4, EndgameSolver.DEFAULT_MAX_DECK_SIZE, seed);
+        }
+        EndgameSolver solver = new EndgameSolver(EndgameSolver.DEFAULT_MAX_DECK_SIZE, 16, 200);
+        assertEquals(EndgameSolver.UNSOLVED, solver.solve(game, game.getTurnPlayer(), game.getPlayers().getBeliefs()));
+        assertTrue(Double.isNaN(solver.getWinProbability()));
+        assertEquals(201, solver.getPositions());
+
+        Game small = playToEndgame(2, 1, 0);
+        assertNotNull(small);
+        EndgameSolver unbounded = new EndgameSolver(1, 16, Long.MAX_VALUE);
+        int action = solver.solve(small, small.getTurnPlayer(), small.getPlayers().getBeliefs());
+        assertEquals(unbounded.solve(small, small.getTurnPlayer(), small.getPlayers().getBeliefs()), action);
+        assertEquals(unbounded.getWinProbability(), solver.getWinProbability(), 1e-9);
+    }
+
+    /**
+     * A solver needs a table and a small enough deck, and the user must have drawn their card.
+     */
+    @Test
+    public void invalidSolveIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(3, 25));
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(3, 10, 0));
+
+        Game game = playToEndgame(4, 10, 1);
+        assertNotNull(game);
+        EndgameSolver solver = new EndgameSolver();
+        assertFalse(solver.canSolve(game));
+        assertThrows(IllegalStateException.class,
+            () -> solver.solve(game, game.getTurnPlayer(), game.getPlayers().getBeliefs()));
+    }
+
+    /**
+     * The solver should find the same chance to win as a search dealing every arrangement of the unseen
+     * cards from the start, on small enough endgames for the latter.
+     */
+    @Test
+    public void solvesLikeAnEagerSearch() {
+        int[][] endgames = { { 2, 1 }, { 2, 2 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 4, 1 } };
+        for (int[] endgame : endgames) {
+            int numOfPlayers = endgame[0];
+            int deckSize = endgame[1];
+            int solved = 0;
+            for (long seed = 0; seed < 200 && solved < 10; seed++) {
+                Game game = playToEndgame(numOfPlayers, deckSize, seed);
+                if (game == null) {
+                    continue;
+                }
+                Player user = game.getTurnPlayer();
+                Beliefs beliefs = game.getPlayers().getBeliefs();
+                EndgameSolver solver = new EndgameSolver(deckSize, 16, Long.MAX_VALUE);
+                solver.solve(game, user, beliefs);
+                double expected = new EagerSearch(user.getSeat()).solve(game, beliefs);
+                assertEquals(expected, solver.getWinProbability(), 1e-9,
+                    numOfPlayers + " players, " + deckSize + " cards left, seed " + seed);
+                solved++;
+            }
+            assertTrue(solved > 0);
+        }
+    }
+}
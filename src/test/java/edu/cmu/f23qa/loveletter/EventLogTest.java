@@ -0,0 +1,106 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Plays a whole game of random bots, logging its events.
+     */
+    private Game playGame(EventLog eventLog, int numOfPlayers, long seed) {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        game.logEvents(eventLog);
+        game.start(gameUI);
+        return game;
+    }
+
+    /**
+     * The log of whole games, spread over many small segments, should read back event for event:
+     * every game starts with its seed, the tokens add up to the tokens of the players and
+     * the game ends with the player holding the most tokens.
+     */
+    @Test
+    public void gamesReadBack() {
+        int numOfGames = 40;
+        Game[] games = new Game[numOfGames];
+        long events;
+        try (EventLog eventLog = new EventLog(directory, 1024)) {
+            for (int i = 0; i < numOfGames; i++) {
+                games[i] = playGame(eventLog, 2 + i % 7, i);
+            }
+            events = eventLog.getEvents();
+            assertTrue(eventLog.getSegments() > 1);
+        }
+
+        EventLog.Reader reader = new EventLog.Reader(directory);
+        long read = 0;
+        int game = -1;
+        int[] tokens = new int[TestTables.NAMES.length];
+        int rounds = 0;
+        while (reader.next()) {
+            read++;
+            switch (reader.getType()) {
+                case EventLog.GAME_START:
+                    game++;
+                    assertEquals(games[game].getSeed(), reader.getSeed());
+                    assertEquals(games[game].getPlayers().getNumberOfSeats(), reader.getFirst());
+                    tokens = new int[TestTables.NAMES.length];
+                    break;
+                case EventLog.DRAW:
+                case EventLog.PLAY:
+                    assertTrue(reader.getSecond() < Card.values().length);
+                    break;
+                case EventLog.TOKEN:
+                    tokens[reader.getFirst()]++;
+                    break;
+                case EventLog.ROUND_START:
+                    rounds++;
+                    break;
+                case EventLog.GAME_END:
+                    PlayerList players = games[game].getPlayers();
+                    Player winner = players.getPlayerAt(reader.getFirst());
+                    assertEquals(players.getGameWinners().get(0), winner);
+                    for (int seat = 0; seat < players.getNumberOfSeats(); seat++) {
+                        assertEquals(players.getPlayerAt(seat).getTokens(), tokens[seat]);
+                    }
+                    break;
+                default:
+                    assertTrue(reader.getType() >= EventLog.GAME_START && reader.getType() <= EventLog.GAME_END);
+            }
+        }
+        assertEquals(numOfGames - 1, game);
+        assertEquals(events, read);
+        assertTrue(rounds >= numOfGames);
+    }
+
+    /**
+     * A new log replaces the segments of the old one, and a segment must hold an event.
+     */
+    @Test
+    public void newLogReplacesOldOne() {
+        try (EventLog eventLog = new EventLog(directory, 256)) {
+            playGame(eventLog, 4, 1);
+        }
+        long events;
+        try (EventLog eventLog = new EventLog(directory, 1 << 20)) {
+            playGame(eventLog, 2, 2);
+            events = eventLog.getEvents();
+        }
+        EventLog.Reader reader = new EventLog.Reader(directory);
+        long read = 0;
+        while (reader.next()) {
+            read++;
+        }
+        assertEquals(events, read);
+
+        assertThrows(IllegalArgumentException.class, () -> new EventLog(directory, 4));
+    }
+}
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
 public class GameActionsTest {
@@ -39,7 +40,7 @@ public class GameActionsTest {
     @Test
     public void useGuardTestCorrectGuess() {
         opponent.getHand().add(Card.PRIEST);
-        boolean result = gameActions.useGuard("priest", opponent);
+        boolean result = gameActions.useGuard(Card.PRIEST, opponent);
         assertEquals(opponent.getHand().hasCards(), false);
         assertEquals(result, true);
     }
@@ -50,7 +51,7 @@ public class GameActionsTest {
     @Test
     public void useGuardTestWrongGuess() {
         opponent.getHand().add(Card.PRIEST);
-        Boolean result = gameActions.useGuard("guard", opponent);
+        Boolean result = gameActions.useGuard(Card.GUARD, opponent);
         assertEquals(result, false);
     }
 
@@ -193,8 +194,8 @@ public class GameActionsTest {
      */
     @Test
     public void useBishopTestUserGuessCorrect() {
-        Mockito.when(gameUI.getBishopGuess()).thenReturn(1);
-        Mockito.when(gameUI.getUserSwapConfirmation()).thenReturn(false);
+        Mockito.when(gameUI.getBishopGuess(any())).thenReturn(1);
+        Mockito.when(gameUI.getUserSwapConfirmation(any())).thenReturn(false);
 
         PlayerList players = new PlayerList();
         players.addPlayer("aPlayer");
@@ -220,8 +221,8 @@ public class GameActionsTest {
      */
     @Test
     public void useBishopTestUserGuessCorrectWinGame() {
-        Mockito.when(gameUI.getBishopGuess()).thenReturn(1);
-        Mockito.when(gameUI.getUserSwapConfirmation()).thenReturn(false);
+        Mockito.when(gameUI.getBishopGuess(any())).thenReturn(1);
+        Mockito.when(gameUI.getUserSwapConfirmation(any())).thenReturn(false);
 
         PlayerList players = new PlayerList();
         players.addPlayer("aPlayer");
@@ -249,8 +250,8 @@ public class GameActionsTest {
      */
     @Test
     public void useBishopTestUserGuessCorrectWithCardChange() {
-        Mockito.when(gameUI.getBishopGuess()).thenReturn(1);
-        Mockito.when(gameUI.getUserSwapConfirmation()).thenReturn(true);
+        Mockito.when(gameUI.getBishopGuess(any())).thenReturn(1);
+        Mockito.when(gameUI.getUserSwapConfirmation(any())).thenReturn(true);
 
         PlayerList players = new PlayerList();
         players.addPlayer("aPlayer");
@@ -277,8 +278,8 @@ public class GameActionsTest {
      */
     @Test
     public void useBishopTestUserGuessInCorrect() {
-        Mockito.when(gameUI.getBishopGuess()).thenReturn(1);
-        Mockito.when(gameUI.getUserSwapConfirmation()).thenReturn(false);
+        Mockito.when(gameUI.getBishopGuess(any())).thenReturn(1);
+        Mockito.when(gameUI.getUserSwapConfirmation(any())).thenReturn(false);
 
         PlayerList players = new PlayerList();
         players.addPlayer("aPlayer");
@@ -373,7 +374,7 @@ public class GameActionsTest {
         opponent.getHand().add(Card.GUARD);
 
         gameActions.useBaroness(1, players, player, gameUI, false, null);
-        verify(gameUI, times(1)).showCard(opponent.getName(), Card.GUARD);
+        verify(gameUI, times(1)).showCard(player, opponent.getName(), Card.GUARD);
     }
 
     /**
@@ -396,8 +397,8 @@ public class GameActionsTest {
         opponent2.getHand().add(Card.HANDMAIDEN);
 
         gameActions.useBaroness(2, players, player, gameUI, false, null);
-        verify(gameUI, times(1)).showCard(opponent1.getName(), Card.GUARD);
-        verify(gameUI, times(1)).showCard(opponent2.getName(), Card.HANDMAIDEN);
+        verify(gameUI, times(1)).showCard(player, opponent1.getName(), Card.GUARD);
+        verify(gameUI, times(1)).showCard(player, opponent2.getName(), Card.HANDMAIDEN);
     }
 
     /**
@@ -412,13 +413,30 @@ public class GameActionsTest {
         Player b = new Player("b");
         b.getHand().add(Card.KING);
 
-        gameActions.useCardinal(a, b, gameUI);
+        gameActions.useCardinal(a, a, b, gameUI);
 
         // check if the cards are swapped
         assertEquals(Card.KING, a.getHand().getCard());
         assertEquals(Card.GUARD, b.getHand().getCard());
     }
 
+    /**
+     * The user of a Cardinal is shown the card of the player peeked after the swap
+     */
+    @Test
+    public void useCardinalPeekTest() {
+        Player a = new Player("a");
+        a.getHand().add(Card.GUARD);
+
+        Player b = new Player("b");
+        b.getHand().add(Card.KING);
+        when(gameUI.cardinalPeekOne(a, a, b)).thenReturn(b);
+
+        gameActions.useCardinal(a, a, b, gameUI);
+
+        verify(gameUI, times(1)).showCardinalPeek(a, "b", Card.GUARD);
+    }
+
     /**
      * When a user targets an opponent, if the opponent has assignn then
      * the user losses and the opponent gets a new card
@@ -431,6 +449,7 @@ public class GameActionsTest {
         user.getHand().add(Card.GUARD);
 
         Deck deck = Mockito.mock(Deck.class);
+        when(deck.hasMoreCards()).thenReturn(true);
         when(deck.draw()).thenReturn(Card.BARON);
 
         boolean eliminated = gameActions.useAssassin(user, opponent, deck);
@@ -445,6 +464,26 @@ public class GameActionsTest {
 
     }
 
+    /**
+     * When the deck is empty, the opponent who discards the Assassin
+     * takes the set aside card instead of drawing
+     */
+    @Test
+    public void useAssasinWithEmptyDeckTest() {
+        Player opponent = new Player("a");
+        opponent.getHand().add(Card.ASSASSIN);
+        Player user = new Player("b");
+        user.getHand().add(Card.GUARD);
+
+        Deck deck = Mockito.mock(Deck.class);
+        when(deck.hasMoreCards()).thenReturn(false);
+        when(deck.getSetAsideCard()).thenReturn(Card.PRIEST);
+
+        assertTrue(gameActions.useAssassin(user, opponent, deck));
+        assertEquals(Card.PRIEST, opponent.getHand().peek(0));
+        assertEquals(1, opponent.getDiscarded().count(Card.ASSASSIN));
+    }
+
     /**
      * Test constable card functionality using useGuard action. 
      * When the opponent has a constable card in discard pile, the opponent should earn a token of affection.
@@ -464,7 +503,7 @@ public class GameActionsTest {
 
         // Simulate successful guess of opponent card
         opponent.getHand().add(Card.PRIEST);
-        boolean result = gameActions.useGuard("priest", opponent);
+        boolean result = gameActions.useGuard(Card.PRIEST, opponent);
 
         // Asssert that the opponent receives a token of affection and is then eliminated
         assertEquals(opponent.getTokens(), 3);
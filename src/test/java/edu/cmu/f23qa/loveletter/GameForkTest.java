@@ -0,0 +1,94 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameForkTest {
+    /**
+     * Starts a game of random bots and plays the given number of turns of its first round.
+     */
+    private Game playTurns(HeadlessGameUI gameUI, int numOfPlayers, long seed, int turns) {
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        PlayerList players = game.getPlayers();
+        TestTables.dealFirstRound(game, gameUI);
+        for (int i = 0; i < turns && players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards(); i++) {
+            game.startTurn(players.getCurrentPlayer(), gameUI);
+        }
+        return game;
+    }
+
+    /**
+     * Playing a fork to the end of the game should leave the parent untouched.
+     */
+    @Test
+    public void forkNeverChangesParent() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+            Game game = playTurns(gameUI, numOfPlayers, 11 * numOfPlayers, 3);
+            byte[] before = GameSnapshot.encode(game);
+
+            for (int branch = 0; branch < 5; branch++) {
+                Game fork = game.fork();
+                assertArrayEquals(before, GameSnapshot.encode(fork));
+
+                gameUI.newGame(fork.getPlayers().getPlayers(), new RandomDecisions(new SplittableRandom(branch)));
+                fork.resume(gameUI);
+                assertArrayEquals(before, GameSnapshot.encode(game));
+            }
+        }
+    }
+
+    /**
+     * A fork should play on exactly like its parent, and the parent should not be changed
+     * by a fork of a fork either.
+     */
+    @Test
+    public void forkResumesLikeParent() {
+        SimulationStats parentStats = new SimulationStats(5);
+        SimulationStats forkStats = new SimulationStats(5);
+        HeadlessGameUI parentUI = new HeadlessGameUI(parentStats);
+        HeadlessGameUI forkUI = new HeadlessGameUI(forkStats);
+        Game game = playTurns(parentUI, 5, 77, 4);
+        Game fork = game.fork().fork();
+
+        forkUI.newGame(fork.getPlayers().getPlayers(), new RandomDecisions(new SplittableRandom(3)));
+        fork.resume(forkUI);
+        parentUI.newGame(game.getPlayers().getPlayers(), new RandomDecisions(new SplittableRandom(3)));
+        game.resume(parentUI);
+
+        assertEquals(parentStats.getTurns() - 4, forkStats.getTurns());
+        assertEquals(parentStats.getRounds(), forkStats.getRounds());
+        for (int seat = 0; seat < 5; seat++) {
+            assertEquals(parentStats.getGameWins(seat), forkStats.getGameWins(seat));
+            assertEquals(game.getPlayers().getPlayerAt(seat).getTokens(), fork.getPlayers().getPlayerAt(seat).getTokens());
+        }
+    }
+
+    /**
+     * The Sycophant choice and the Jester tokens of a fork should point at the players of the fork.
+     */
+    @Test
+    public void forkKeepsSycophantAndJesterState() {
+        Game game = playTurns(new HeadlessGameUI(new SimulationStats(5)), 5, 5, 0);
+        PlayerList players = game.getPlayers();
+        game.setSyncophantFlag(true);
+        game.setSyncophantChosenPlayer(players.getPlayerAt(2));
+        players.getPlayerAt(1).setJesterToken(players.getPlayerAt(4));
+
+        Game fork = game.fork();
+        PlayerList forkedPlayers = fork.getPlayers();
+        assertTrue(fork.isSyncophantFlag());
+        assertSame(forkedPlayers.getPlayerAt(2), fork.getSyncophantChosenPlayer());
+        assertSame(forkedPlayers.getPlayerAt(4), forkedPlayers.getPlayerAt(1).getJesterToken());
+
+        forkedPlayers.getPlayerAt(1).clearJesterToken();
+        forkedPlayers.getPlayerAt(3).getDiscarded().add(Card.COUNT);
+        forkedPlayers.getPlayerAt(3).addToken();
+        assertSame(players.getPlayerAt(4), players.getPlayerAt(1).getJesterToken());
+        assertEquals(0, players.getPlayerAt(3).getDiscarded().count(Card.COUNT));
+        assertEquals(0, players.getPlayerAt(3).getTokens());
+    }
+}
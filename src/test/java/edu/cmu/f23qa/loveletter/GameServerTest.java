@@ -0,0 +1,215 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    private static final String[] NAMES = { "Ann", "Bob", "Cid", "Dee", "Eve", "Fay" };
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Connects a player who answers every question of the table with the first answer that may fit,
+     * trying the names of all the players in turn for a target.
+     *
+     * @return everything the player was shown
+     */
+    private static String play(SocketAddress address, String name, List<String> names) throws IOException {
+        try (SocketChannel channel = address instanceof UnixDomainSocketAddress
+            ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open()) {
+            channel.connect(address);
+            StringBuilder shown = new StringBuilder();
+            int answered = 0;
+            int nextName = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            while (channel.read(buffer.clear()) >= 0) {
+                shown.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+                String pending = shown.substring(answered);
+                String answer = null;
+                if (pending.endsWith("Enter player name: ")) {
+                    answer = name;
+                } else if (pending.endsWith("(0 for first, 1 for second): ")) {
+                    answer = "0";
+                } else if (pending.endsWith("Which card would you like to guess: ")) {
+                    answer = "priest";
+                } else if (pending.endsWith("(0-9): ") || pending.endsWith("1 or 2: ") || pending.endsWith("re-enter: \n")) {
+                    answer = "1";
+                } else if (pending.endsWith("(yes/no): ")) {
+                    answer = "no";
+                } else if (pending.endsWith("target: ") || pending.endsWith("peek: \n")
+                    || pending.contains("choose") && pending.endsWith("]\n")) {
+                    answer = names.get(nextName++ % names.size());
+                }
+                if (answer != null) {
+                    answered = shown.length();
+                    channel.write(ByteBuffer.wrap((answer + "\n").getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+            return shown.toString();
+        }
+    }
+
+    /**
+     * Plays tables of players connecting at the same time until every game is over.
+     */
+    private void playTables(SocketAddress address, int seatsPerTable, int numOfTables) throws Exception {
+        for (String output : playTablesShown(address, seatsPerTable, numOfTables)) {
+            assertTrue(output.contains("has won the game and the heart of the princess!"));
+        }
+    }
+
+    /**
+     * Plays tables of players connecting at the same time until every game is over.
+     *
+     * @return everything every player was shown
+     */
+    private List<String> playTablesShown(SocketAddress address, int seatsPerTable, int numOfTables) throws Exception {
+        try (GameServer server = new GameServer(address, seatsPerTable)) {
+            server.start();
+            SocketAddress bound = server.getAddress();
+            int numOfPlayers = seatsPerTable * numOfTables;
+            ExecutorService clients = Executors.newFixedThreadPool(numOfPlayers);
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < numOfPlayers; i++) {
+                names.add(NAMES[i % NAMES.length] + i);
+            }
+            List<Future<String>> shown = new ArrayList<>();
+            for (String name : names) {
+                shown.add(clients.submit(() -> play(bound, name, names)));
+            }
+            List<String> outputs = new ArrayList<>();
+            for (Future<String> output : shown) {
+                outputs.add(output.get());
+            }
+            clients.shutdown();
+            while (server.getOpenTables() > 0) {
+                Thread.sleep(10);
+            }
+            return outputs;
+        }
+    }
+
+    /**
+     * Tables over TCP should play their games to the end side by side.
+     */
+    @Test
+    public void tablesPlayOverTcp() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60),
+            () -> playTables(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 3));
+    }
+
+    /**
+     * Tables over a Unix-domain socket should play their games to the end as well, and a player
+     * leaving should close the table of the others.
+     */
+    @Test
+    public void tablesPlayOverUnixSockets() {
+        Path socket = directory.resolve("tables.sock");
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            playTables(UnixDomainSocketAddress.of(socket), 3, 2);
+            assertFalse(socket.toFile().exists());
+
+            try (GameServer server = new GameServer(UnixDomainSocketAddress.of(socket), 2)) {
+                server.start();
+                SocketChannel leaving = SocketChannel.open(StandardProtocolFamily.UNIX);
+                leaving.connect(UnixDomainSocketAddress.of(socket));
+                leaving.write(ByteBuffer.wrap("Ann\n".getBytes(StandardCharsets.UTF_8)));
+                ExecutorService client = Executors.newSingleThreadExecutor();
+                Future<String> staying = client.submit(() -> play(UnixDomainSocketAddress.of(socket), "Bob", List.of("Ann", "Bob")));
+                StringBuilder shown = new StringBuilder();
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                while (!shown.toString().contains("Game seed: ")) {
+                    leaving.read(buffer.clear());
+                    shown.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+                }
+                leaving.close();
+                assertTrue(staying.get().endsWith("A player left, the table is closed\n"));
+                client.shutdown();
+            }
+        });
+    }
+
+    /**
+     * The card a player peeks at, with a Priest or otherwise, should be shown to that player alone. Only the player
+     * about to play is asked which card to play, so a turn shown without that question is the turn of
+     * another player, and the seat must not see a peeked card in it.
+     */
+    @Test
+    public void peekedCardsOnlyGoToThePlayerPeeking() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            int peeks = 0;
+            for (String output : playTablesShown(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 3, 3)) {
+                for (String turn : output.split("'s turn:\n")) {
+                    if (turn.contains(" shows you a ")) {
+                        assertTrue(turn.contains("Which card would you like to play"), turn);
+                        peeks++;
+                    }
+                }
+            }
+            assertTrue(peeks > 0);
+        });
+    }
+
+    /**
+     * A table whose players stopped reading should not hold up the other tables, one thread serves them all.
+     */
+    @Test
+    public void silentTablesDoNotHoldUpOthers() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            try (GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+                server.start();
+                SocketAddress bound = server.getAddress();
+                List<SocketChannel> silent = new ArrayList<>();
+                for (String name : List.of("Ann", "Bob")) {
+                    SocketChannel channel = SocketChannel.open(bound);
+                    channel.write(ByteBuffer.wrap((name + "\n").getBytes(StandardCharsets.UTF_8)));
+                    silent.add(channel);
+                }
+                // the silent table is full once its game starts, they read nothing after
+                StringBuilder started = new StringBuilder();
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                while (!started.toString().contains("Game seed: ")) {
+                    silent.get(1).read(buffer.clear());
+                    started.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+                }
+
+                ExecutorService clients = Executors.newFixedThreadPool(2);
+                List<String> names = List.of("Cid", "Dee");
+                List<Future<String>> shown = new ArrayList<>();
+                for (String name : names) {
+                    shown.add(clients.submit(() -> play(bound, name, names)));
+                }
+                for (Future<String> output : shown) {
+                    assertTrue(output.get().contains("has won the game and the heart of the princess!"));
+                }
+                clients.shutdown();
+                while (server.getOpenTables() > 1) {
+                    Thread.sleep(10);
+                }
+                for (SocketChannel channel : silent) {
+                    channel.close();
+                }
+            }
+        });
+    }
+}
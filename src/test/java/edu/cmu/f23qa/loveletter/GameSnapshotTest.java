@@ -0,0 +1,100 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+    /**
+     * Starts a game of random bots and plays the given number of turns of its first round.
+     */
+    private Game playTurns(HeadlessGameUI gameUI, int numOfPlayers, long seed, int turns) {
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        PlayerList players = game.getPlayers();
+        TestTables.dealFirstRound(game, gameUI);
+        for (int i = 0; i < turns && players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards(); i++) {
+            game.startTurn(players.getCurrentPlayer(), gameUI);
+        }
+        return game;
+    }
+
+    /**
+     * Decoding a snapshot and encoding the game again should give the same bytes,
+     * for every edition and at every point of a round.
+     */
+    @Test
+    public void decodedGameEncodesToSameBytes() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(8));
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            for (int turns = 0; turns < 12; turns++) {
+                Game game = playTurns(gameUI, numOfPlayers, 31 * numOfPlayers + turns, turns);
+                byte[] snapshot = GameSnapshot.encode(game);
+
+                Game decoded = GameSnapshot.decode(snapshot, 0, gameUI);
+                assertArrayEquals(snapshot, GameSnapshot.encode(decoded));
+                assertEquals(game.getPlayers().getPlayers().size(), decoded.getPlayers().getPlayers().size());
+                assertEquals(game.getDeck().getSetAsideCard(), decoded.getDeck().getSetAsideCard());
+            }
+        }
+    }
+
+    /**
+     * A snapshot should be written at the given offset and take encodedSize bytes.
+     */
+    @Test
+    public void encodeWritesAtOffset() {
+        Game game = playTurns(new HeadlessGameUI(new SimulationStats(4)), 4, 7, 3);
+        int size = GameSnapshot.encodedSize(game);
+        byte[] buffer = new byte[size + 10];
+
+        assertEquals(size + 5, GameSnapshot.encode(game, buffer, 5));
+        assertTrue(size < 100);
+        assertArrayEquals(GameSnapshot.encode(game), GameSnapshot.encode(GameSnapshot.decode(buffer, 5, null)));
+    }
+
+    /**
+     * A decoded game should play on exactly like the game the snapshot was taken from.
+     */
+    @Test
+    public void decodedGameResumesLikeOriginal() {
+        for (int numOfPlayers : new int[] { 2, 4, 6 }) {
+            SimulationStats original = new SimulationStats(numOfPlayers);
+            HeadlessGameUI originalUI = new HeadlessGameUI(original);
+            Game game = playTurns(originalUI, numOfPlayers, 99, 4);
+            byte[] snapshot = GameSnapshot.encode(game);
+
+            SimulationStats restored = new SimulationStats(numOfPlayers);
+            HeadlessGameUI restoredUI = new HeadlessGameUI(restored);
+            Game decoded = GameSnapshot.decode(snapshot, 0, restoredUI);
+            restoredUI.newGame(decoded.getPlayers().getPlayers(), new RandomDecisions(new SplittableRandom(5)));
+            originalUI.newGame(game.getPlayers().getPlayers(), new RandomDecisions(new SplittableRandom(5)));
+
+            game.resume(originalUI);
+            decoded.resume(restoredUI);
+            assertEquals(1, restored.getGames());
+            assertEquals(original.getTurns() - 4, restored.getTurns());
+            assertEquals(original.getRounds(), restored.getRounds());
+            for (int seat = 0; seat < numOfPlayers; seat++) {
+                assertEquals(original.getGameWins(seat), restored.getGameWins(seat));
+                assertEquals(game.getPlayers().getPlayerAt(seat).getTokens(),
+                    decoded.getPlayers().getPlayerAt(seat).getTokens());
+            }
+        }
+    }
+
+    /**
+     * Snapshots of an unknown version or cut short are rejected.
+     */
+    @Test
+    public void malformedSnapshotIsRejected() {
+        byte[] snapshot = GameSnapshot.encode(playTurns(new HeadlessGameUI(new SimulationStats(4)), 4, 3, 2));
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 3);
+        snapshot[0] = 42;
+
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.decode(snapshot, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.decode(truncated, 0, null));
+    }
+}
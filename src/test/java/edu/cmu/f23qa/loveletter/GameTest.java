@@ -507,8 +507,8 @@ public class GameTest {
 
         when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
         when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(mockOpponent);
-        when(mockUI.getGuardGuess()).thenReturn("Priest");
-        when(mockGameActions.useGuard("Priest", mockOpponent)).thenReturn(true);
+        when(mockUI.getGuardGuess(mockPlayer)).thenReturn(Card.PRIEST);
+        when(mockGameActions.useGuard(Card.PRIEST, mockOpponent)).thenReturn(true);
         doNothing().when(mockUI).showGuardGuess(true);
 
         Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
@@ -517,8 +517,8 @@ public class GameTest {
 
         verify(mockDiscardPile, times(1)).add(guardCard);
         verify(mockUI, times(1)).getOpponent(any(), eq(mockPlayer), eq(false), eq(null), eq(false));
-        verify(mockUI, times(1)).getGuardGuess();
-        verify(mockGameActions, times(1)).useGuard(eq("Priest"), eq(mockOpponent));
+        verify(mockUI, times(1)).getGuardGuess(mockPlayer);
+        verify(mockGameActions, times(1)).useGuard(eq(Card.PRIEST), eq(mockOpponent));
         verify(mockUI, times(1)).showGuardGuess(eq(true));
 
     }
@@ -552,7 +552,7 @@ public class GameTest {
         when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(mockOpponent);
         when(mockGameActions.usePriest(mockOpponent)).thenReturn(opponentCard);
         when(mockOpponent.getName()).thenReturn("Kay");
-        doNothing().when(mockUI).showCard("Kay", opponentCard);
+        doNothing().when(mockUI).showCard(mockPlayer, "Kay", opponentCard);
 
         Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
 
@@ -561,7 +561,7 @@ public class GameTest {
         verify(mockDiscardPile, times(1)).add(priestCard);
         verify(mockUI, times(1)).getOpponent(any(), eq(mockPlayer), eq(false), eq(null), eq(false));
         verify(mockGameActions, times(1)).usePriest(eq(mockOpponent));
-        verify(mockUI, times(1)).showCard(eq("Kay"), eq(opponentCard));
+        verify(mockUI, times(1)).showCard(eq(mockPlayer), eq("Kay"), eq(opponentCard));
 
     }
 
@@ -1033,7 +1033,7 @@ public class GameTest {
         // three calls are made, first call is getting first player, second player is for getting second player
         // as second player is same as first call, a third call is made so a new second player is given
         verify(mockUI, times(3)).getOpponent(mockPlayerList,  mockPlayer, false, null, true);
-        verify(mockGameActions, times(1)).useCardinal(a, b, mockUI);
+        verify(mockGameActions, times(1)).useCardinal(mockPlayer, a, b, mockUI);
     }
 
     /** 
@@ -1057,7 +1057,7 @@ public class GameTest {
         Player mockOpponent = mock(Player.class);
 
         when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
-        when(mockUI.getNumOfPlayerForBaroness(mockPlayerList)).thenReturn(0);
+        when(mockUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer)).thenReturn(0);
         when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(mockOpponent);
 
         Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
@@ -1090,7 +1090,7 @@ public class GameTest {
         Player mockOpponent = mock(Player.class);
 
         when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
-        when(mockUI.getNumOfPlayerForBaroness(mockPlayerList)).thenReturn(1);
+        when(mockUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer)).thenReturn(1);
         when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(mockOpponent);
 
         Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
@@ -1216,4 +1216,137 @@ public class GameTest {
         verify(mockUI, times(1)).getCard(mockPlayer);
         verify(game, times(1)).playCard(mockCard, mockPlayer, mockUI, true, syncophantChosenPlayer);
     }
+
+    /**
+     * TEST-32: Test Play Card Uses The Seat's Decision Provider
+     * @brief  This test makes sure that a player with its own DecisionProvider (for example a bot) takes the
+     *         decisions of a played card, and that the GameUI is only used to show the result.
+     *
+     * @param[in] None
+     *
+     * @mocks  Mocks Player, DiscardPile, GameUI, GameActions, a DecisionProvider and an opponent Player.
+     *
+     * @setup  The player returns the mocked DecisionProvider, which picks the opponent and the Guard guess.
+     *
+     * @execution  Executes playCard on the Game instance with the Guard card, the mocked player, and the GameUI.
+     *
+     * @verify  The opponent and the guess are asked to the DecisionProvider and never to the GameUI.
+     *          The guess result is still shown through the GameUI.
+     */
+    @Test
+    public void testPlayCardUsesSeatDecisionProvider() {
+        Player mockOpponent = mock(Player.class);
+        DecisionProvider mockDecisions = mock(DecisionProvider.class);
+        DiscardPile mockDiscardPile = mock(DiscardPile.class);
+
+        when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
+        when(mockPlayer.getDecisionProvider()).thenReturn(mockDecisions);
+        when(mockDecisions.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(mockOpponent);
+        when(mockDecisions.getGuardGuess(mockPlayer)).thenReturn(Card.KING);
+        when(mockGameActions.useGuard(Card.KING, mockOpponent)).thenReturn(false);
+
+        Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
+
+        game.playCard(Card.GUARD, mockPlayer, mockUI, false, null);
+
+        verify(mockDecisions, times(1)).getOpponent(mockPlayerList, mockPlayer, false, null, false);
+        verify(mockDecisions, times(1)).getGuardGuess(mockPlayer);
+        verify(mockUI, never()).getOpponent(any(), any(), anyBoolean(), any(), anyBoolean());
+        verify(mockUI, never()).getGuardGuess(any());
+        verify(mockUI, times(1)).showGuardGuess(false);
+    }
+
+    /**
+     * TEST-33: Test Play Card With Dowager Queen And No Opponent
+     * @brief  When every other player is protected, no opponent can be chosen for the Dowager Queen. The card is
+     *         then discarded without effect instead of comparing hands with a null opponent.
+     *
+     * @param[in] None
+     *
+     * @mocks  Mocks Player, DiscardPile, GameUI and GameActions.
+     *
+     * @setup  The GameUI returns no opponent for the Dowager Queen.
+     *
+     * @execution  Executes playCard on the Game instance with the Dowager Queen card, the mocked player, and the GameUI.
+     *
+     * @verify  Ensures the Dowager Queen card is added to the discard pile.
+     *          Verifies that neither the comparison nor its result is run.
+     */
+    @Test
+    public void testPlayCardWithDowagerQueenAndNoOpponent() {
+        DiscardPile mockDiscardPile = mock(DiscardPile.class);
+
+        when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
+        when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(null);
+
+        Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
+
+        game.playCard(Card.DOWAGERQUEEN, mockPlayer, mockUI, false, null);
+
+        verify(mockDiscardPile, times(1)).add(Card.DOWAGERQUEEN);
+        verify(mockGameActions, never()).useDowagerQueen(any(), any());
+        verify(mockUI, never()).dowagerQueenResult(any(), any(), any());
+    }
+
+    /**
+     * TEST-34: Test Play Card With Bishop And No Opponent
+     * @brief  When every other player is protected, no opponent can be chosen for the Bishop. The card is then
+     *         discarded without effect instead of asking a null opponent to swap.
+     *
+     * @param[in] None
+     *
+     * @mocks  Mocks Player, DiscardPile, GameUI and GameActions.
+     *
+     * @setup  The GameUI returns no opponent for the Bishop.
+     *
+     * @execution  Executes playCard on the Game instance with the Bishop card, the mocked player, and the GameUI.
+     *
+     * @verify  Ensures the Bishop card is added to the discard pile.
+     *          Verifies that the Bishop's action is not run.
+     */
+    @Test
+    public void testPlayCardWithBishopAndNoOpponent() {
+        DiscardPile mockDiscardPile = mock(DiscardPile.class);
+
+        when(mockPlayer.getDiscarded()).thenReturn(mockDiscardPile);
+        when(mockUI.getOpponent(mockPlayerList, mockPlayer, false, null, false)).thenReturn(null);
+
+        Game game = new Game(mockPlayerList, mockDeck, mockGameActions);
+
+        game.playCard(Card.BISHOP, mockPlayer, mockUI, false, null);
+
+        verify(mockDiscardPile, times(1)).add(Card.BISHOP);
+        verify(mockGameActions, never()).useBishop(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * TEST-35: Test Players Added By Set Players Get The GameUI
+     * @brief  Players read from the GameUI should show their own messages through it, like the Constable token of
+     *         an eliminated player.
+     *
+     * @param[in] None
+     *
+     * @mocks  A mock GameUI object is used.
+     *
+     * @setup  The mock GameUI is configured to return a list of player names. The first player has discarded a
+     *         Constable and holds a Guard.
+     *
+     * @execution  setPlayers on the game object is invoked with the mock GameUI, then the first player is eliminated.
+     *
+     * @verify  The Constable message is shown through the GameUI and the player gets a token.
+     */
+    @Test
+    public void testSetPlayersSetsGameUI() {
+        when(mockUI.getPlayers()).thenReturn(Arrays.asList("Kay", "Jay"));
+
+        gameObj.setPlayers(mockUI);
+
+        Player kay = playerListObj.getPlayer("Kay");
+        kay.getDiscarded().add(Card.CONSTABLE);
+        kay.getHand().add(Card.GUARD);
+        kay.eliminate();
+
+        verify(mockUI, times(1)).printConstable("Kay");
+        Assert.assertEquals(1, kay.getTokens());
+    }
 }
\ No newline at end of file
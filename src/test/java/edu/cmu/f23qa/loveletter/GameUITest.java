@@ -8,6 +8,9 @@ import org.mockito.Mockito;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
@@ -239,7 +242,7 @@ public class GameUITest {
 
         GameUI gameUI = new GameUI(mockScanner);
 
-        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList), 0);
+        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer), 0);
     }
 
     /**
@@ -265,7 +268,7 @@ public class GameUITest {
 
         GameUI gameUI = new GameUI(mockScanner);
 
-        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList), 1);
+        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer), 1);
     }
 
     /**
@@ -294,7 +297,7 @@ public class GameUITest {
         GameUI gameUI = new GameUI(mockScanner);
         when(mockScanner.nextLine()).thenReturn("1");
 
-        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList), 1);
+        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer), 1);
     }
 
     /**
@@ -323,6 +326,32 @@ public class GameUITest {
         GameUI gameUI = new GameUI(mockScanner);
         when(mockScanner.nextLine()).thenReturn("2");
 
-        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList), 2);
+        Assert.assertEquals(gameUI.getNumOfPlayerForBaroness(mockPlayerList, mockPlayer), 2);
+    }
+
+    /**
+     * TEST-10: Test the Cardinal peek shows the name of the card peeked.
+     * @brief  This test checks the message shown to the user of a Cardinal after the swap, which names the card
+     *         peeked by its name, without its value.
+     *
+     * @param[in] None
+     *
+     * @mocks  Mocks Scanner.
+     *
+     * @setup  Builds a GameUI writing to a byte stream.
+     *
+     * @execution  Invokes the showCardinalPeek method and flushes the output.
+     *
+     * @verify  Asserts that the output is "b shows you a Guard".
+     * */
+    @Test
+    public void testShowCardinalPeek() {
+        ByteArrayOutputStream shown = new ByteArrayOutputStream();
+        GameUI gameUI = new GameUI(new ConsoleInput(mockScanner), new PrintStream(shown, true, StandardCharsets.UTF_8));
+
+        gameUI.showCardinalPeek(new Player("a"), "b", Card.GUARD);
+        gameUI.flush();
+
+        Assert.assertEquals("b shows you a Guard\n", shown.toString(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,82 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IsmctsDecisionsTest {
+    /**
+     * Plays a game of random bots with the search bot at the given seat.
+     *
+     * @return the statistics of the game
+     */
+    private SimulationStats playGame(IsmctsDecisions bot, int numOfPlayers, int botSeat, long seed) {
+        SimulationStats stats = new SimulationStats(numOfPlayers);
+        HeadlessGameUI gameUI = new HeadlessGameUI(stats);
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        game.getPlayers().getPlayerAt(botSeat).setDecisionProvider(bot);
+        game.start(gameUI);
+        return stats;
+    }
+
+    /**
+     * Two player games against a random bot should mostly be won by the search bot.
+     */
+    @Test
+    public void botBeatsRandomBot() {
+        int wins = 0;
+        try (IsmctsDecisions bot = new IsmctsDecisions(1, 60_000, 200, 1)) {
+            for (int seed = 0; seed < 20; seed++) {
+                wins += playGame(bot, 2, seed % 2, seed).getGameWins(seed % 2);
+            }
+        }
+        assertTrue(wins >= 14, "The bot won " + wins + " of 20 games");
+    }
+
+    /**
+     * A search spread over several threads should finish the games of every table size.
+     */
+    @Test
+    public void parallelSearchFinishesGames() {
+        try (IsmctsDecisions bot = new IsmctsDecisions(4, 60_000, 100, 2)) {
+            for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers += 3) {
+                SimulationStats stats = playGame(bot, numOfPlayers, numOfPlayers - 1, numOfPlayers);
+
+                long gameWins = 0;
+                for (int seat = 0; seat < numOfPlayers; seat++) {
+                    gameWins += stats.getGameWins(seat);
+                }
+                assertEquals(1, stats.getGames());
+                assertEquals(1, gameWins);
+            }
+        }
+    }
+
+    /**
+     * A bot whose solver gives up on every endgame should search these turns instead.
+     */
+    @Test
+    public void unsolvedEndgamesAreSearched() {
+        try (IsmctsDecisions bot = new IsmctsDecisions(1, 60_000, 50, 3)) {
+            bot.setEndgameSolver(new EndgameSolver(EndgameSolver.DEFAULT_MAX_DECK_SIZE, 10, 1));
+            SimulationStats stats = playGame(bot, 4, 0, 4);
+            assertEquals(1, stats.getGames());
+        }
+    }
+
+    /**
+     * A bot needs a thread and an iteration to search, and a game to decide a card.
+     */
+    @Test
+    public void invalidBotIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IsmctsDecisions(0, 100, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new IsmctsDecisions(1, 100, 0, 0));
+
+        Player player = new Player("Ann");
+        player.getHand().add(Card.GUARD);
+        player.getHand().add(Card.PRIEST);
+        try (IsmctsDecisions bot = new IsmctsDecisions(1, 100, 100, 0)) {
+            assertThrows(IllegalStateException.class, () -> bot.getCard(player));
+        }
+    }
+}
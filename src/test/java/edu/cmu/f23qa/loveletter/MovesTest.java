@@ -0,0 +1,148 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovesTest {
+    private final int[] moves = new int[Moves.MAX_MOVES];
+
+    /**
+     * Starts the first round of a game without decision providers.
+     */
+    private Game startGame(int numOfPlayers, long seed) {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed, null);
+        TestTables.dealFirstRound(game, gameUI);
+        return game;
+    }
+
+    /**
+     * Begins a turn and replaces the hand of the player.
+     */
+    private Player beginTurnWith(Game game, Card first, Card second) {
+        Player user = game.beginTurn();
+        user.getHand().clear();
+        user.getHand().add(first);
+        user.getHand().add(second);
+        return user;
+    }
+
+    /**
+     * Random playouts through beginTurn, generate and apply should only meet distinct legal
+     * actions, and every one of them should be playable.
+     */
+    @Test
+    public void everyGeneratedActionIsLegalAndPlayable() {
+        SplittableRandom random = new SplittableRandom(8);
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            for (long seed = 0; seed < 20; seed++) {
+                Game game = startGame(numOfPlayers, seed);
+                PlayerList players = game.getPlayers();
+                while (players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards() && players.isZeroGameWinner()) {
+                    game.beginTurn();
+                    int n = Moves.generate(game, moves);
+                    assertTrue(n > 0);
+
+                    Set<Integer> distinct = new HashSet<>();
+                    for (int i = 0; i < n; i++) {
+                        assertTrue(Moves.isLegal(game, moves[i]));
+                        assertTrue(distinct.add(moves[i]));
+                        game.fork().apply(moves[i]);
+                    }
+                    game.apply(moves[random.nextInt(n)]);
+                    assertNull(game.getTurnPlayer());
+                }
+            }
+        }
+    }
+
+    /**
+     * A silenced game played to the end of its round with apply should end the round
+     * through its silent UI too.
+     */
+    @Test
+    public void silencedGameEndsItsRound() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            Game game = startGame(numOfPlayers, numOfPlayers).fork();
+            game.silence();
+            PlayerList players = game.getPlayers();
+            while (players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards() && players.isZeroGameWinner()) {
+                game.beginTurn();
+                game.apply(moves[random.nextInt(Moves.generate(game, moves))]);
+            }
+
+            List<Player> roundWinners = game.endRound(game.silentUI());
+            assertFalse(roundWinners.isEmpty());
+            for (Player winner : roundWinners) {
+                assertTrue(winner.getTokens() > 0);
+            }
+        }
+    }
+
+    /**
+     * With 4 players and nobody protected, a Guard can guess 16 cards of 3 opponents and
+     * a Baroness can peek 3 single opponents or 3 pairs.
+     */
+    @Test
+    public void generateListsEveryChoice() {
+        Game game = startGame(4, 1);
+        beginTurnWith(game, Card.GUARD, Card.BARONESS);
+
+        int n = Moves.generate(game, moves);
+        assertEquals(3 * 16 + 3 + 3, n);
+    }
+
+    /**
+     * Only the Countess can be played along with a King or a Prince.
+     */
+    @Test
+    public void countessIsForcedWithRoyalty() {
+        Game game = startGame(4, 2);
+        beginTurnWith(game, Card.KING, Card.COUNTESS);
+
+        assertEquals(1, Moves.generate(game, moves));
+        assertEquals(Moves.of(1, Moves.NO_SEAT, Moves.NO_SEAT, 0, false), moves[0]);
+        assertFalse(Moves.isLegal(game, Moves.of(0, game.getPlayers().getPlayerAt(0).getSeat(), Moves.NO_SEAT, 0, false)));
+    }
+
+    /**
+     * A player chosen with the Sycophant is the only possible target of the next card.
+     */
+    @Test
+    public void sycophantChoiceIsForced() {
+        Game game = startGame(4, 3);
+        Player user = beginTurnWith(game, Card.GUARD, Card.PRIEST);
+        Player chosen = game.getPlayers().getPlayerAt((user.getSeat() + 2) % 4);
+        game.setSyncophantFlag(true);
+        game.setSyncophantChosenPlayer(chosen);
+
+        int n = Moves.generate(game, moves);
+        assertEquals(16 + 1, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(chosen.getSeat(), Moves.target(moves[i]));
+        }
+    }
+
+    /**
+     * An illegal action is rejected before anything is changed.
+     */
+    @Test
+    public void illegalActionIsRejected() {
+        Game game = startGame(4, 4);
+        Player user = beginTurnWith(game, Card.GUARD, Card.PRIEST);
+        byte[] before = GameSnapshot.encode(game);
+
+        int guardOnSelf = Moves.of(0, user.getSeat(), Moves.NO_SEAT, Card.PRINCESS.ordinal(), false);
+        int guessingGuard = Moves.of(0, (user.getSeat() + 1) % 4, Moves.NO_SEAT, Card.GUARD.ordinal(), false);
+        assertThrows(IllegalArgumentException.class, () -> game.apply(guardOnSelf));
+        assertThrows(IllegalArgumentException.class, () -> game.apply(guessingGuard));
+        assertArrayEquals(before, GameSnapshot.encode(game));
+    }
+}
@@ -0,0 +1,128 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerListTest {
+    private PlayerList players;
+    private Player alice;
+    private Player bob;
+    private Player carol;
+    private Player dave;
+
+    @BeforeEach
+    public void setUp() {
+        players = new PlayerList();
+        for (String name : new String[] {"Alice", "Bob", "Carol", "Dave"}) {
+            players.addPlayer(name);
+            players.getPlayer(name).getHand().add(Card.GUARD);
+        }
+        alice = players.getPlayer("Alice");
+        bob = players.getPlayer("Bob");
+        carol = players.getPlayer("Carol");
+        dave = players.getPlayer("Dave");
+    }
+
+    /**
+     * Turns go around the table in seat order and skip the players knocked out of the round.
+     */
+    @Test
+    public void turnsSkipEliminatedPlayers() {
+        bob.getHand().clear();
+
+        assertSame(alice, players.getCurrentPlayer());
+        assertSame(carol, players.getCurrentPlayer());
+        assertSame(dave, players.getCurrentPlayer());
+        assertSame(alice, players.getCurrentPlayer());
+        assertEquals(List.of(bob, carol, dave, alice), players.getPlayers());
+    }
+
+    /**
+     * The round starter takes the next turn, the order around the table stays the same.
+     */
+    @Test
+    public void roundStarterTakesNextTurn() {
+        players.setRoundStarter(List.of(carol), null);
+
+        assertSame(carol, players.getCurrentPlayer());
+        assertSame(dave, players.getCurrentPlayer());
+        assertSame(alice, players.getCurrentPlayer());
+    }
+
+    /**
+     * Only the tied winners stay at the table for the tie break round.
+     */
+    @Test
+    public void removeLosersKeepsTiedWinners() {
+        players.initializeTargetAffection();
+        bob.setTokens(4);
+        dave.setTokens(4);
+        players.getCurrentPlayer();
+
+        players.removeLosers();
+
+        assertEquals(2, players.getNumberOfPlayers());
+        assertEquals(List.of(bob, dave), players.getPlayers());
+        assertNull(players.getPlayer("Alice"));
+        assertSame(bob, players.getCurrentPlayer());
+        assertSame(dave, players.getCurrentPlayer());
+        assertSame(bob, players.getCurrentPlayer());
+    }
+
+    /**
+     * The game winners should follow every token change, including a lead that is lost again.
+     */
+    @Test
+    public void gameWinnersFollowTokens() {
+        players.initializeTargetAffection();
+        assertTrue(players.isZeroGameWinner());
+
+        bob.setTokens(3);
+        bob.addToken();
+        assertFalse(players.isZeroGameWinner());
+        assertEquals(List.of(bob), players.getGameWinners());
+
+        carol.setTokens(4);
+        assertTrue(players.isTwoOrMoreGameWinners());
+
+        carol.addToken();
+        assertFalse(players.isTwoOrMoreGameWinners());
+        assertEquals(List.of(carol), players.getGameWinners());
+
+        carol.setTokens(2);
+        assertEquals(List.of(bob), players.getGameWinners());
+    }
+
+    /**
+     * The seat masks should follow eliminations, Handmaiden protection and a new deal.
+     */
+    @Test
+    public void targetableSeatsFollowHandsAndProtection() {
+        assertEquals(0b1111, players.getTargetableSeats());
+
+        bob.eliminate();
+        carol.switchProtection();
+        assertEquals(0b1001, players.getTargetableSeats());
+        assertEquals(List.of(alice, dave), players.getTargetablePlayers());
+        assertTrue(players.isOpponentsAvailable(alice));
+        assertSame(dave, players.getPlayerAt(Integer.numberOfTrailingZeros(0b1000)));
+
+        dave.eliminate();
+        assertFalse(players.isOpponentsAvailable(alice));
+        assertTrue(players.moreThanSinglePlayerLeft());
+
+        carol.getHand().clear();
+        assertFalse(players.moreThanSinglePlayerLeft());
+
+        players.reset();
+        assertEquals(0, players.getTargetableSeats());
+        Deck deck = new Deck(1);
+        deck.build(4);
+        players.dealCards(deck);
+        assertEquals(0b1111, players.getTargetableSeats());
+    }
+}
@@ -0,0 +1,101 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayTest {
+    /**
+     * Plays and records a whole game of random bots, keeping the hash of the game before every turn
+     * of every round.
+     */
+    private Game recordGame(DecisionRecorder[] recorder, List<List<Long>> hashes, int numOfPlayers, long seed) {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed, null);
+        recorder[0] = new DecisionRecorder(game, new RandomDecisions(new SplittableRandom(seed)));
+        game.watch(new Game.Watcher() {
+            @Override
+            public void roundStarted(Game game) {
+                hashes.add(new ArrayList<>());
+            }
+
+            @Override
+            public boolean beforeTurn(Game game) {
+                hashes.get(hashes.size() - 1).add(game.getHash());
+                return true;
+            }
+        });
+        game.start(gameUI);
+        return game;
+    }
+
+    /**
+     * A replayed game should end as the recorded one, and seeking any turn of any round should give
+     * the game as it was before that turn.
+     */
+    @Test
+    public void replayMatchesRecordedGame() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            for (long seed = 0; seed < 5; seed++) {
+                DecisionRecorder[] recorder = new DecisionRecorder[1];
+                List<List<Long>> hashes = new ArrayList<>();
+                Game recorded = recordGame(recorder, hashes, numOfPlayers, seed);
+
+                Replay replay = new Replay(TestTables.names(numOfPlayers), seed, recorder[0].getDecisions());
+                Game played = replay.play();
+                assertEquals(recorded.getHash(), played.getHash());
+                assertEquals(recorded.getPlayers().getGameWinners().get(0).getName(),
+                    played.getPlayers().getGameWinners().get(0).getName());
+
+                assertEquals(recorded.getHash(), replay.index(3).getHash());
+                assertEquals(hashes.size(), replay.getRounds());
+                for (int round = 0; round < hashes.size(); round++) {
+                    assertEquals(hashes.get(round).size(), replay.getTurns(round));
+                    for (int turn = 0; turn < hashes.get(round).size(); turn++) {
+                        assertEquals(hashes.get(round).get(turn), replay.seek(round, turn).getHash());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A sought game should play the rest of the recorded game when resumed.
+     */
+    @Test
+    public void soughtGameResumes() {
+        DecisionRecorder[] recorder = new DecisionRecorder[1];
+        Game recorded = recordGame(recorder, new ArrayList<>(), 4, 11);
+        Replay replay = new Replay(TestTables.names(4), 11, recorder[0].getDecisions());
+        replay.index();
+        assertTrue(replay.getCheckpoints() >= replay.getRounds());
+
+        int round = replay.getRounds() / 2;
+        Game game = replay.seek(round, replay.getTurns(round) - 1);
+        game.resume(new HeadlessGameUI(new SimulationStats(4)));
+        assertEquals(recorded.getHash(), game.getHash());
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(recorded.getPlayers().getPlayerAt(seat).getTokens(), game.getPlayers().getPlayerAt(seat).getTokens());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(replay.getRounds(), 0));
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(round, replay.getTurns(round)));
+    }
+
+    /**
+     * A stream cut short should fail the replay instead of inventing decisions.
+     */
+    @Test
+    public void truncatedStreamFails() {
+        DecisionRecorder[] recorder = new DecisionRecorder[1];
+        recordGame(recorder, new ArrayList<>(), 3, 5);
+        int[] decisions = recorder[0].getDecisions();
+        Replay replay = new Replay(TestTables.names(3), 5, Arrays.copyOf(decisions, decisions.length / 2));
+        assertThrows(IllegalStateException.class, replay::play);
+    }
+}
@@ -0,0 +1,129 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationTest {
+
+    /**
+     * Every simulated game should end with exactly one game winner,
+     * for the standard and the premium edition.
+     */
+    @Test
+    public void runRecordsOneWinnerPerGame() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            SimulationStats stats = new Simulation(numOfPlayers).run(200, numOfPlayers);
+
+            long gameWins = 0;
+            for (int seat = 0; seat < numOfPlayers; seat++) {
+                gameWins += stats.getGameWins(seat);
+            }
+            assertEquals(200, stats.getGames());
+            assertEquals(200, gameWins);
+            assertTrue(stats.getRounds() >= stats.getGames());
+            assertTrue(stats.getTurns() > stats.getRounds());
+        }
+    }
+
+    /**
+     * A table needs between two and eight players.
+     */
+    @Test
+    public void invalidNumberOfPlayersIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Simulation(1));
+        assertThrows(IllegalArgumentException.class, () -> new Simulation(9));
+    }
+
+    /**
+     * The parallel simulation should give the same results for the same
+     * master seed whatever the number of threads.
+     */
+    @Test
+    public void parallelRunIsIndependentOfThreadCount() {
+        ParallelSimulation simulation = new ParallelSimulation(5);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+
+        SimulationStats expected = simulation.run(300, 42, single);
+        SimulationStats actual = simulation.run(300, 42, multiple);
+        single.shutdown();
+        multiple.shutdown();
+
+        assertEquals(300, actual.getGames());
+        assertEquals(expected.getRounds(), actual.getRounds());
+        assertEquals(expected.getTurns(), actual.getTurns());
+        assertEquals(expected.getTiedRounds(), actual.getTiedRounds());
+        for (int seat = 0; seat < 5; seat++) {
+            assertEquals(expected.getRoundWins(seat), actual.getRoundWins(seat));
+            assertEquals(expected.getGameWins(seat), actual.getGameWins(seat));
+        }
+    }
+
+    /**
+     * A sequential simulation should play the same games as a parallel one with the same master seed.
+     */
+    @Test
+    public void sequentialRunMatchesParallelRun() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        SimulationStats parallel = new ParallelSimulation(3).run(200, 99, pool);
+        pool.shutdown();
+        SimulationStats sequential = new Simulation(3).run(200, 99);
+
+        assertEquals(sequential.getTurns(), parallel.getTurns());
+        assertEquals(sequential.getRounds(), parallel.getRounds());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(sequential.getGameWins(seat), parallel.getGameWins(seat));
+        }
+    }
+
+    /**
+     * The batch simulation should play exactly the games of the sequential one,
+     * whatever the number of lanes, for the face up, standard and premium setups.
+     */
+    @Test
+    public void batchRunMatchesSequentialRun() {
+        int[][] setups = { { 2, 7 }, { 4, 1 }, { 5, 13 }, { 8, 64 } };
+        for (int[] setup : setups) {
+            int numOfPlayers = setup[0];
+            SimulationStats expected = new Simulation(numOfPlayers).run(300, 17);
+            SimulationStats actual = new BatchSimulation(numOfPlayers, setup[1]).run(300, 17);
+
+            assertEquals(300, actual.getGames());
+            assertEquals(expected.getRounds(), actual.getRounds());
+            assertEquals(expected.getTurns(), actual.getTurns());
+            assertEquals(expected.getTiedRounds(), actual.getTiedRounds());
+            for (int seat = 0; seat < numOfPlayers; seat++) {
+                assertEquals(expected.getRoundWins(seat), actual.getRoundWins(seat));
+                assertEquals(expected.getGameWins(seat), actual.getGameWins(seat));
+            }
+        }
+    }
+
+    /**
+     * Every game of the batch simulation should be the game Game plays with the same seed, with the
+     * standard deck that Deck.build deals up to 4 players and the premium deck it deals from 5 players.
+     */
+    @Test
+    public void batchGamesMatchGamesOfTheSameSeed() {
+        assertNotEquals(Deck.edition(4).length, Deck.edition(5).length);
+        for (int numOfPlayers : new int[] { 3, 4, 5, 7 }) {
+            Simulation simulation = new Simulation(numOfPlayers);
+            BatchSimulation batch = new BatchSimulation(numOfPlayers, 4);
+            for (long game = 0; game < 50; game++) {
+                SimulationStats expected = simulation.run(game, game + 1, 23);
+                SimulationStats actual = batch.run(game, game + 1, 23);
+
+                assertEquals(expected.getRounds(), actual.getRounds());
+                assertEquals(expected.getTurns(), actual.getTurns());
+                assertEquals(expected.getTiedRounds(), actual.getTiedRounds());
+                for (int seat = 0; seat < numOfPlayers; seat++) {
+                    assertEquals(expected.getRoundWins(seat), actual.getRoundWins(seat));
+                    assertEquals(expected.getGameWins(seat), actual.getGameWins(seat));
+                }
+            }
+        }
+    }
+}
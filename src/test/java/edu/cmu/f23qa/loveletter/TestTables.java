@@ -0,0 +1,57 @@
+package edu.cmu.f23qa.loveletter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The headless tables the game tests play on.
+ */
+final class TestTables {
+    /**
+     * The names of the players, in seat order.
+     */
+    static final String[] NAMES = { "Ann", "Bob", "Cid", "Dee", "Eve", "Fay", "Gus", "Hal" };
+
+    private TestTables() {
+    }
+
+    /**
+     * @return the names of the players of the first seats
+     */
+    static List<String> names(int numOfPlayers) {
+        return Arrays.asList(NAMES).subList(0, numOfPlayers);
+    }
+
+    /**
+     * Seats the players of a new game, every seat showing the game on the gameUI.
+     *
+     * @param decisions
+     *          the decisions of the seats without their own provider, null if every seat gets one
+     */
+    static Game newGame(HeadlessGameUI gameUI, int numOfPlayers, long seed, DecisionProvider decisions) {
+        PlayerList players = new PlayerList();
+        for (int i = 0; i < numOfPlayers; i++) {
+            players.addPlayer(NAMES[i]);
+            players.getPlayerAt(i).setGameUI(gameUI);
+        }
+        gameUI.newGame(players.getPlayers(), decisions);
+        return new Game(players, new Deck(seed), new GameActions());
+    }
+
+    /**
+     * Seats random bots at a new game, the bots and the deck use the same seed.
+     */
+    static Game newGame(HeadlessGameUI gameUI, int numOfPlayers, long seed) {
+        return newGame(gameUI, numOfPlayers, seed, new RandomDecisions(new SplittableRandom(seed)));
+    }
+
+    /**
+     * Deals the first round of a game, as Game.start does before the first turn.
+     */
+    static void dealFirstRound(Game game, GameUI gameUI) {
+        PlayerList players = game.getPlayers();
+        players.initializeTargetAffection();
+        game.startRound(players, game.getDeck(), gameUI);
+    }
+}
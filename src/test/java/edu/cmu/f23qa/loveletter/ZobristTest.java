@@ -0,0 +1,94 @@
+package edu.cmu.f23qa.loveletter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristTest {
+    /**
+     * Seats random bots at a table whose hash is checked every time it is read.
+     */
+    private Game newGame(HeadlessGameUI gameUI, int numOfPlayers, long seed) {
+        Game game = TestTables.newGame(gameUI, numOfPlayers, seed);
+        game.setHashChecked(true);
+        return game;
+    }
+
+    /**
+     * Through rounds of random actions the kept hash should match the hash summed from scratch,
+     * and a fork and a decoded snapshot should have the hash of their game.
+     */
+    @Test
+    public void hashMatchesRecount() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers++) {
+            for (long seed = 0; seed < 10; seed++) {
+                HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+                Game game = newGame(gameUI, numOfPlayers, seed);
+                PlayerList players = game.getPlayers();
+                TestTables.dealFirstRound(game, gameUI);
+
+                SplittableRandom random = new SplittableRandom(seed);
+                int[] moves = new int[Moves.MAX_MOVES];
+                while (players.moreThanSinglePlayerLeft() && game.getDeck().hasMoreCards() && players.isZeroGameWinner()) {
+                    game.beginTurn();
+                    long hash = game.getHash();
+                    assertEquals(hash, game.fork().getHash());
+                    assertEquals(hash, GameSnapshot.decode(GameSnapshot.encode(game), 0, gameUI).getHash());
+                    game.apply(moves[random.nextInt(Moves.generate(game, moves))]);
+                    game.getHash();
+                }
+                game.declareRoundWinner(players);
+                game.getHash();
+            }
+        }
+    }
+
+    /**
+     * Whole games, with their resets, tokens and Jester tokens, should keep the hash right.
+     */
+    @Test
+    public void hashSurvivesWholeGames() {
+        for (int numOfPlayers = 2; numOfPlayers <= 8; numOfPlayers += 2) {
+            HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(numOfPlayers));
+            Game game = newGame(gameUI, numOfPlayers, numOfPlayers);
+            game.start(gameUI);
+            game.getHash();
+        }
+    }
+
+    /**
+     * The hash depends on what the players hold, not on the order of the cards in a hand,
+     * and a change undone gives the hash back.
+     */
+    @Test
+    public void equalStatesHashEqual() {
+        HeadlessGameUI gameUI = new HeadlessGameUI(new SimulationStats(3));
+        Game game = newGame(gameUI, 3, 7);
+        PlayerList players = game.getPlayers();
+        TestTables.dealFirstRound(game, gameUI);
+        Player player = game.beginTurn();
+        Hand hand = player.getHand();
+        long hash = game.getHash();
+
+        Card first = hand.remove(0);
+        assertNotEquals(hash, game.getHash());
+        hand.add(first);
+        assertEquals(hash, game.getHash());
+
+        player.setProtected(true);
+        long protectedHash = game.getHash();
+        assertNotEquals(hash, protectedHash);
+        player.setProtected(false);
+        assertEquals(hash, game.getHash());
+
+        Player opponent = players.getPlayerAt((player.getSeat() + 1) % 3);
+        opponent.setJesterToken(player);
+        opponent.addToken();
+        assertNotEquals(hash, game.getHash());
+        opponent.clearJesterToken();
+        opponent.setTokens(0);
+        assertEquals(hash, game.getHash());
+    }
+}